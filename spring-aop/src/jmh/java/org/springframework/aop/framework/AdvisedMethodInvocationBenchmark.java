@@ -0,0 +1,88 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.aop.framework;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmark for calls on AOP proxies with a varying number of advisors.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class AdvisedMethodInvocationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"jdk", "cglib"})
+		public String proxyType;
+
+		@Param({"0", "1", "4", "8"})
+		public int advisorCount;
+
+		@Param({"true", "false"})
+		public boolean frozen;
+
+		public Service proxy;
+
+		public String input = "input";
+
+		@Setup
+		public void setup() {
+			ProxyFactory proxyFactory = new ProxyFactory(new DefaultService());
+			if (this.proxyType.equals("jdk")) {
+				proxyFactory.addInterface(Service.class);
+			}
+			else {
+				proxyFactory.setProxyTargetClass(true);
+			}
+			for (int i = 0; i < this.advisorCount; i++) {
+				proxyFactory.addAdvice((MethodInterceptor) invocation -> invocation.proceed());
+			}
+			proxyFactory.setFrozen(this.frozen);
+			this.proxy = (Service) proxyFactory.getProxy();
+		}
+	}
+
+
+	@Benchmark
+	public String advisedCall(BenchmarkState state) {
+		return state.proxy.process(state.input);
+	}
+
+
+	public interface Service {
+
+		String process(String input);
+	}
+
+
+	public static class DefaultService implements Service {
+
+		@Override
+		public String process(String input) {
+			return input;
+		}
+	}
+
+}
@@ -85,6 +85,9 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	/** Cache with Method as key and advisor chain List as value. */
 	private transient Map<MethodCacheKey, List<Object>> methodCache;
 
+	/** Number of advice changes so far, for proxies holding on to chains themselves. */
+	private transient volatile int adviceChangeCount;
+
 	/**
 	 * Interfaces to be implemented by the proxy. Held in List to keep the order
 	 * of registration, to create JDK proxy with specified order of interfaces.
@@ -480,6 +483,17 @@ public class AdvisedSupport extends ProxyConfig implements Advised {
 	 */
 	protected void adviceChanged() {
 		this.methodCache.clear();
+		this.adviceChangeCount++;
+	}
+
+	/**
+	 * Return the number of advice changes so far, allowing proxies to detect
+	 * that interception chains obtained before have become stale.
+	 * @since 5.3.37
+	 * @see #adviceChanged()
+	 */
+	int getAdviceChangeCount() {
+		return this.adviceChangeCount;
 	}
 
 	/**
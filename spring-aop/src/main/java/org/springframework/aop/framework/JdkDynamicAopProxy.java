@@ -21,6 +21,8 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.apache.commons.logging.Log;
@@ -95,6 +97,12 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	 */
 	private boolean hashCodeDefined;
 
+	/**
+	 * Interception chains by method, while the configuration is frozen.
+	 */
+	@Nullable
+	private transient volatile FixedChains fixedChains;
+
 
 	/**
 	 * Construct a new JdkDynamicAopProxy for the given AOP configuration.
@@ -222,7 +230,7 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 			Class<?> targetClass = (target != null ? target.getClass() : null);
 
 			// Get the interception chain for this method.
-			List<Object> chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			List<Object> chain = getInterceptionChain(method, targetClass);
 
 			// Check whether we have any advice. If we don't, we can fall back on direct
 			// reflective invocation of the target, and avoid creating a MethodInvocation.
@@ -270,6 +278,31 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 	}
 
 
+	/**
+	 * Determine the interception chain for the given method, using a fixed chain
+	 * for that method while the configuration is frozen and the target static.
+	 * <p>Fixed chains are dropped as soon as the advice has changed in the
+	 * meantime, e.g. after unfreezing, adding advice and freezing again.
+	 */
+	private List<Object> getInterceptionChain(Method method, @Nullable Class<?> targetClass) {
+		if (!this.advised.isFrozen() || !this.advised.getTargetSource().isStatic()) {
+			return this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+		}
+		int adviceChangeCount = this.advised.getAdviceChangeCount();
+		FixedChains fixedChains = this.fixedChains;
+		if (fixedChains == null || fixedChains.adviceChangeCount != adviceChangeCount) {
+			fixedChains = new FixedChains(adviceChangeCount);
+			this.fixedChains = fixedChains;
+		}
+		List<Object> chain = fixedChains.chains.get(method);
+		if (chain == null) {
+			chain = this.advised.getInterceptorsAndDynamicInterceptionAdvice(method, targetClass);
+			fixedChains.chains.put(method, chain);
+		}
+		return chain;
+	}
+
+
 	/**
 	 * Equality means interfaces, advisors and TargetSource are equal.
 	 * <p>The compared object may be a JdkDynamicAopProxy instance itself
@@ -312,4 +345,19 @@ final class JdkDynamicAopProxy implements AopProxy, InvocationHandler, Serializa
 		return JdkDynamicAopProxy.class.hashCode() * 13 + this.advised.getTargetSource().hashCode();
 	}
 
+
+	/**
+	 * Interception chains by method for a given state of the advice.
+	 */
+	private static final class FixedChains {
+
+		final int adviceChangeCount;
+
+		final Map<Method, List<Object>> chains = new ConcurrentHashMap<>(32);
+
+		FixedChains(int adviceChangeCount) {
+			this.adviceChangeCount = adviceChangeCount;
+		}
+	}
+
 }
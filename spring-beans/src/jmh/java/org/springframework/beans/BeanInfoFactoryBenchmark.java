@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.beans.testfixture.beans.TestBean;
+
+/**
+ * Benchmark for the {@link BeanInfoFactory} strategies used by
+ * {@link CachedIntrospectionResults}, comparing the default {@link Introspector}
+ * based introspection with {@link SimpleBeanInfoFactory}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanInfoFactoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"introspector", "simple"})
+		public String strategy;
+
+		@Param({"TestBean", "FluentBean"})
+		public String beanClassName;
+
+		public Class<?> beanClass;
+
+		public BeanInfoFactory beanInfoFactory;
+
+		@Setup
+		public void setup() {
+			this.beanClass = (this.beanClassName.equals("TestBean") ? TestBean.class : FluentBean.class);
+			this.beanInfoFactory = (this.strategy.equals("simple") ?
+					new SimpleBeanInfoFactory() : new IntrospectorBeanInfoFactory());
+		}
+	}
+
+
+	@Benchmark
+	public BeanInfo getBeanInfo(BenchmarkState state) throws IntrospectionException {
+		return state.beanInfoFactory.getBeanInfo(state.beanClass);
+	}
+
+
+	/**
+	 * Mirrors the default arrangement in {@link CachedIntrospectionResults}:
+	 * {@link ExtendedBeanInfoFactory} with a fallback to the {@link Introspector},
+	 * flushing the {@code Introspector} cache for the class hierarchy afterwards.
+	 */
+	private static class IntrospectorBeanInfoFactory implements BeanInfoFactory {
+
+		private final ExtendedBeanInfoFactory extendedBeanInfoFactory = new ExtendedBeanInfoFactory();
+
+		@Override
+		public BeanInfo getBeanInfo(Class<?> beanClass) throws IntrospectionException {
+			BeanInfo beanInfo = this.extendedBeanInfoFactory.getBeanInfo(beanClass);
+			if (beanInfo == null) {
+				beanInfo = Introspector.getBeanInfo(beanClass);
+			}
+			for (Class<?> classToFlush = beanClass; classToFlush != null; classToFlush = classToFlush.getSuperclass()) {
+				Introspector.flushFromCaches(classToFlush);
+			}
+			return beanInfo;
+		}
+	}
+
+
+	public static class FluentBean {
+
+		private String name;
+
+		private int age;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public FluentBean setName(String name) {
+			this.name = name;
+			return this;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public FluentBean setAge(int age) {
+			this.age = age;
+			return this;
+		}
+	}
+
+}
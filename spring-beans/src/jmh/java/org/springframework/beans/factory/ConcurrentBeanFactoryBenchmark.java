@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,9 +25,11 @@ import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.infra.Blackhole;
 
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.factory.xml.XmlBeanDefinitionReader;
 import org.springframework.beans.propertyeditors.CustomDateEditor;
 
@@ -37,6 +39,8 @@ import static org.springframework.core.testfixture.io.ResourceTestUtils.qualifie
  * Benchmark for creating prototype beans in a concurrent fashion.
  * This benchmark requires to customize the number of worker threads {@code -t <int>} on the
  * CLI when running this particular benchmark to leverage concurrency.
+ * The singleton lookup benchmarks run with a fixed number of 32 threads, in order to
+ * highlight contention on the singleton registry.
  *
  * @author Brian Clozel
  */
@@ -68,6 +72,43 @@ public class ConcurrentBeanFactoryBenchmark {
 	}
 
 
+	@State(Scope.Benchmark)
+	public static class SingletonState {
+
+		public DefaultListableBeanFactory factory;
+
+		@Setup
+		public void setup() {
+			this.factory = new DefaultListableBeanFactory();
+			this.factory.registerBeanDefinition("singleton", new RootBeanDefinition(ConcurrentBean.class));
+			this.factory.registerBeanDefinition("factoryBean", new RootBeanDefinition(ConcurrentBeanFactoryBean.class));
+			this.factory.registerSingleton("manualSingleton", new ConcurrentBean());
+			this.factory.freezeConfiguration();
+			this.factory.preInstantiateSingletons();
+		}
+	}
+
+	@Benchmark
+	@Threads(32)
+	public void concurrentSingletonLookup(SingletonState state, Blackhole bh) {
+		bh.consume(state.factory.getBean("singleton"));
+		bh.consume(state.factory.getBean("manualSingleton"));
+	}
+
+	@Benchmark
+	@Threads(32)
+	public void concurrentFactoryBeanObjectLookup(SingletonState state, Blackhole bh) {
+		bh.consume(state.factory.getBean("factoryBean"));
+	}
+
+	@Benchmark
+	@Threads(32)
+	public void concurrentSingletonNames(SingletonState state, Blackhole bh) {
+		bh.consume(state.factory.getSingletonNames());
+		bh.consume(state.factory.getSingletonCount());
+	}
+
+
 	public static class ConcurrentBean {
 
 		private Date date;
@@ -80,4 +121,19 @@ public class ConcurrentBeanFactoryBenchmark {
 			this.date = date;
 		}
 	}
+
+
+	public static class ConcurrentBeanFactoryBean implements FactoryBean<ConcurrentBean> {
+
+		@Override
+		public ConcurrentBean getObject() {
+			return new ConcurrentBean();
+		}
+
+		@Override
+		public Class<?> getObjectType() {
+			return ConcurrentBean.class;
+		}
+	}
+
 }
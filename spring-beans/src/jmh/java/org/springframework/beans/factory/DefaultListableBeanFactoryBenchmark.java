@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,9 +24,13 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.AutowiredAnnotationBeanPostProcessor;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.RuntimeBeanReference;
+import org.springframework.beans.factory.support.CglibSubclassingInstantiationStrategy;
 import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.MethodHandleInstantiationStrategy;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.beans.testfixture.beans.LifecycleBean;
 import org.springframework.beans.testfixture.beans.TestBean;
@@ -46,12 +50,18 @@ public class DefaultListableBeanFactoryBenchmark {
 	@State(Scope.Benchmark)
 	public static class PrototypeCreationState extends Shared {
 
-		@Param({"simple", "dependencyCheck", "constructor", "constructorArgument", "properties", "resolvedProperties"})
+		@Param({"simple", "dependencyCheck", "constructor", "constructorArgument", "properties", "resolvedProperties",
+				"autowiredFields"})
 		public String mode;
 
+		@Param({"reflective", "methodHandle"})
+		public String instantiation;
+
 		@Setup
 		public void setup() {
 			this.beanFactory = new DefaultListableBeanFactory();
+			this.beanFactory.setInstantiationStrategy("methodHandle".equals(this.instantiation) ?
+					new MethodHandleInstantiationStrategy() : new CglibSubclassingInstantiationStrategy());
 			RootBeanDefinition rbd = new RootBeanDefinition(TestBean.class);
 
 			switch (this.mode) {
@@ -79,6 +89,13 @@ public class DefaultListableBeanFactoryBenchmark {
 					rbd.getPropertyValues().add("spouse", new RuntimeBeanReference("spouse"));
 					this.beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
 					break;
+				case "autowiredFields":
+					rbd = new RootBeanDefinition(AutowiredFieldsBean.class);
+					AutowiredAnnotationBeanPostProcessor bpp = new AutowiredAnnotationBeanPostProcessor();
+					bpp.setBeanFactory(this.beanFactory);
+					this.beanFactory.addBeanPostProcessor(bpp);
+					this.beanFactory.registerBeanDefinition("spouse", new RootBeanDefinition(TestBean.class));
+					break;
 			}
 			rbd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
 			this.beanFactory.registerBeanDefinition("test", rbd);
@@ -136,6 +153,20 @@ public class DefaultListableBeanFactoryBenchmark {
 	static class A {
 	}
 
+	static class AutowiredFieldsBean {
+
+		@Autowired TestBean field0;
+		@Autowired TestBean field1;
+		@Autowired TestBean field2;
+		@Autowired TestBean field3;
+		@Autowired TestBean field4;
+		@Autowired TestBean field5;
+		@Autowired TestBean field6;
+		@Autowired TestBean field7;
+		@Autowired TestBean field8;
+		@Autowired TestBean field9;
+	}
+
 	static class B {
 	}
 
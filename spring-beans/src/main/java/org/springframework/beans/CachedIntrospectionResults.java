@@ -24,6 +24,7 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.net.URL;
 import java.security.ProtectionDomain;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -37,6 +38,7 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 
 import org.springframework.core.SpringProperties;
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.core.convert.TypeDescriptor;
 import org.springframework.core.io.support.SpringFactoriesLoader;
 import org.springframework.lang.Nullable;
@@ -69,6 +71,9 @@ import org.springframework.util.StringUtils;
  * recreates much-requested entries every time the garbage collector removed them. In
  * such a scenario, consider the {@link #IGNORE_BEANINFO_PROPERTY_NAME} system property.
  *
+ * <p>For faster introspection without the JavaBeans {@link Introspector}, consider
+ * the {@link #SIMPLE_BEANINFO_PROPERTY_NAME} system property.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @since 05 May 2001
@@ -97,13 +102,28 @@ public final class CachedIntrospectionResults {
 	 */
 	public static final String IGNORE_BEANINFO_PROPERTY_NAME = "spring.beaninfo.ignore";
 
+	/**
+	 * System property that instructs Spring to determine bean properties from getter and
+	 * setter method signatures instead of calling the JavaBeans {@link Introspector}:
+	 * "spring.beaninfo.simple", with a value of "true" registering a
+	 * {@link SimpleBeanInfoFactory} ahead of the default {@link ExtendedBeanInfoFactory}.
+	 * <p>The default is "false", using the {@code Introspector} for full JavaBeans
+	 * compliance. Consider switching this flag to "true" for a faster introspection
+	 * step on startup or on lazy loading if no {@code BeanInfo} classes and no indexed
+	 * properties are relied upon, as commonly the case for data binding in Spring.
+	 * This is equivalent to declaring {@code SimpleBeanInfoFactory} in a custom
+	 * {@code META-INF/spring.factories} file.
+	 * @since 5.3.37
+	 * @see SimpleBeanInfoFactory
+	 */
+	public static final String SIMPLE_BEANINFO_PROPERTY_NAME = "spring.beaninfo.simple";
+
 
 	private static final boolean shouldIntrospectorIgnoreBeaninfoClasses =
 			SpringProperties.getFlag(IGNORE_BEANINFO_PROPERTY_NAME);
 
 	/** Stores the BeanInfoFactory instances. */
-	private static final List<BeanInfoFactory> beanInfoFactories = SpringFactoriesLoader.loadFactories(
-			BeanInfoFactory.class, CachedIntrospectionResults.class.getClassLoader());
+	private static final List<BeanInfoFactory> beanInfoFactories = loadBeanInfoFactories();
 
 	private static final Log logger = LogFactory.getLog(CachedIntrospectionResults.class);
 
@@ -235,6 +255,23 @@ public final class CachedIntrospectionResults {
 		return false;
 	}
 
+	/**
+	 * Load the {@link BeanInfoFactory} instances from {@code META-INF/spring.factories},
+	 * adding a {@link SimpleBeanInfoFactory} if {@link #SIMPLE_BEANINFO_PROPERTY_NAME}
+	 * has been set.
+	 */
+	static List<BeanInfoFactory> loadBeanInfoFactories() {
+		List<BeanInfoFactory> factories = SpringFactoriesLoader.loadFactories(
+				BeanInfoFactory.class, CachedIntrospectionResults.class.getClassLoader());
+		if (SpringProperties.getFlag(SIMPLE_BEANINFO_PROPERTY_NAME) &&
+				factories.stream().noneMatch(SimpleBeanInfoFactory.class::isInstance)) {
+			factories = new ArrayList<>(factories);
+			factories.add(new SimpleBeanInfoFactory());
+			AnnotationAwareOrderComparator.sort(factories);
+		}
+		return factories;
+	}
+
 	/**
 	 * Retrieve a {@link BeanInfo} descriptor for the given target class.
 	 * @param beanClass the target class to introspect
@@ -242,6 +279,20 @@ public final class CachedIntrospectionResults {
 	 * @throws IntrospectionException from the underlying {@link Introspector}
 	 */
 	private static BeanInfo getBeanInfo(Class<?> beanClass) throws IntrospectionException {
+		return getBeanInfo(beanClass, beanInfoFactories);
+	}
+
+	/**
+	 * Retrieve a {@link BeanInfo} descriptor for the given target class,
+	 * consulting the given {@link BeanInfoFactory} instances first.
+	 * @param beanClass the target class to introspect
+	 * @param beanInfoFactories the factories to try in order
+	 * @return the resulting {@code BeanInfo} descriptor (never {@code null})
+	 * @throws IntrospectionException from the underlying {@link Introspector}
+	 */
+	static BeanInfo getBeanInfo(Class<?> beanClass, List<BeanInfoFactory> beanInfoFactories)
+			throws IntrospectionException {
+
 		for (BeanInfoFactory beanInfoFactory : beanInfoFactories) {
 			BeanInfo beanInfo = beanInfoFactory.getBeanInfo(beanClass);
 			if (beanInfo != null) {
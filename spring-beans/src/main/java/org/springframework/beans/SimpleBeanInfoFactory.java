@@ -33,6 +33,9 @@ import org.springframework.lang.NonNull;
  * <p>To be configured via a {@code META-INF/spring.factories} file with the following content,
  * overriding other custom {@code org.springframework.beans.BeanInfoFactory} declarations:
  * {@code org.springframework.beans.BeanInfoFactory=org.springframework.beans.SimpleBeanInfoFactory}
+ * As of 5.3.37, this can alternatively be activated through the
+ * {@link CachedIntrospectionResults#SIMPLE_BEANINFO_PROPERTY_NAME "spring.beaninfo.simple"}
+ * system property.
  *
  * <p>Ordered at {@code Ordered.LOWEST_PRECEDENCE - 1} to override {@link ExtendedBeanInfoFactory}
  * (registered by default in 5.3) if necessary while still allowing other user-defined
@@ -77,6 +77,8 @@ import org.springframework.core.NativeDetector;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.PriorityOrdered;
 import org.springframework.core.ResolvableType;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
@@ -437,7 +439,17 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
 		Object result = existingBean;
 		for (BeanPostProcessor processor : getBeanPostProcessors()) {
-			Object current = processor.postProcessBeforeInitialization(result, beanName);
+			StartupStep postProcess =
+					startPostProcessorStep("spring.beans.post-process.before-initialization", processor, beanName);
+			Object current;
+			try {
+				current = processor.postProcessBeforeInitialization(result, beanName);
+			}
+			finally {
+				if (postProcess != null) {
+					postProcess.end();
+				}
+			}
 			if (current == null) {
 				return result;
 			}
@@ -452,7 +464,17 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 
 		Object result = existingBean;
 		for (BeanPostProcessor processor : getBeanPostProcessors()) {
-			Object current = processor.postProcessAfterInitialization(result, beanName);
+			StartupStep postProcess =
+					startPostProcessorStep("spring.beans.post-process.after-initialization", processor, beanName);
+			Object current;
+			try {
+				current = processor.postProcessAfterInitialization(result, beanName);
+			}
+			finally {
+				if (postProcess != null) {
+					postProcess.end();
+				}
+			}
 			if (current == null) {
 				return result;
 			}
@@ -461,6 +483,23 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 		return result;
 	}
 
+	/**
+	 * Start a {@link StartupStep} for the invocation of the given post-processor,
+	 * allowing startup recorders to attribute time to individual post-processors.
+	 * @return the started step, or {@code null} if no custom
+	 * {@link ApplicationStartup} is set (avoiding any per-invocation overhead)
+	 */
+	@Nullable
+	private StartupStep startPostProcessorStep(String stepName, Object processor, String beanName) {
+		ApplicationStartup applicationStartup = getApplicationStartup();
+		if (applicationStartup == ApplicationStartup.DEFAULT) {
+			return null;
+		}
+		return applicationStartup.start(stepName)
+				.tag("postProcessor", () -> processor.getClass().getName())
+				.tag("beanName", beanName);
+	}
+
 	@Override
 	public void destroyBean(Object existingBean) {
 		new DisposableBeanAdapter(
@@ -1003,6 +1042,15 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 	 */
 	@Nullable
 	private FactoryBean<?> getSingletonFactoryBeanForTypeCheck(String beanName, RootBeanDefinition mbd) {
+		// Quick check for an existing FactoryBean instance without full singleton lock
+		BeanWrapper existingWrapper = this.factoryBeanInstanceCache.get(beanName);
+		if (existingWrapper != null) {
+			return (FactoryBean<?>) existingWrapper.getWrappedInstance();
+		}
+		Object existingInstance = getSingleton(beanName, false);
+		if (existingInstance instanceof FactoryBean) {
+			return (FactoryBean<?>) existingInstance;
+		}
 		synchronized (getSingletonMutex()) {
 			BeanWrapper bw = this.factoryBeanInstanceCache.get(beanName);
 			if (bw != null) {
@@ -1428,17 +1476,25 @@ public abstract class AbstractAutowireCapableBeanFactory extends AbstractBeanFac
 				pvs = mbd.getPropertyValues();
 			}
 			for (InstantiationAwareBeanPostProcessor bp : getBeanPostProcessorCache().instantiationAware) {
-				PropertyValues pvsToUse = bp.postProcessProperties(pvs, bw.getWrappedInstance(), beanName);
-				if (pvsToUse == null) {
-					if (filteredPds == null) {
-						filteredPds = filterPropertyDescriptorsForDependencyCheck(bw, mbd.allowCaching);
-					}
-					pvsToUse = bp.postProcessPropertyValues(pvs, filteredPds, bw.getWrappedInstance(), beanName);
+				StartupStep postProcess = startPostProcessorStep("spring.beans.post-process.properties", bp, beanName);
+				try {
+					PropertyValues pvsToUse = bp.postProcessProperties(pvs, bw.getWrappedInstance(), beanName);
 					if (pvsToUse == null) {
-						return;
+						if (filteredPds == null) {
+							filteredPds = filterPropertyDescriptorsForDependencyCheck(bw, mbd.allowCaching);
+						}
+						pvsToUse = bp.postProcessPropertyValues(pvs, filteredPds, bw.getWrappedInstance(), beanName);
+						if (pvsToUse == null) {
+							return;
+						}
+					}
+					pvs = pvsToUse;
+				}
+				finally {
+					if (postProcess != null) {
+						postProcess.end();
 					}
 				}
-				pvs = pvsToUse;
 			}
 		}
 		if (needsDepCheck) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -166,12 +166,22 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map from bean name to merged BeanDefinitionHolder. */
 	private final Map<String, BeanDefinitionHolder> mergedBeanDefinitionHolders = new ConcurrentHashMap<>(256);
 
-	/** Map of singleton and non-singleton bean names, keyed by dependency type. */
+	/**
+	 * Map of singleton and non-singleton bean names, keyed by dependency type.
+	 * Only populated once the configuration is frozen, then maintained
+	 * incrementally on registration of further beans.
+	 */
 	private final Map<Class<?>, String[]> allBeanNamesByType = new ConcurrentHashMap<>(64);
 
 	/** Map of singleton-only bean names, keyed by dependency type. */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+	/** Map of singleton and non-singleton bean names, keyed by generic dependency type. */
+	private final Map<ResolvableType, String[]> allBeanNamesByGenericType = new ConcurrentHashMap<>(64);
+
+	/** Map of singleton-only bean names, keyed by generic dependency type. */
+	private final Map<ResolvableType, String[]> singletonBeanNamesByGenericType = new ConcurrentHashMap<>(64);
+
 	/** List of bean definition names, in registration order. */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
 
@@ -526,9 +536,37 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (resolved != null && !type.hasGenerics()) {
 			return getBeanNamesForType(resolved, includeNonSingletons, allowEagerInit);
 		}
-		else {
+		if (!isConfigurationFrozen() || resolved == null || !allowEagerInit) {
 			return doGetBeanNamesForType(type, includeNonSingletons, allowEagerInit);
 		}
+		Map<ResolvableType, String[]> cache =
+				(includeNonSingletons ? this.allBeanNamesByGenericType : this.singletonBeanNamesByGenericType);
+		String[] resolvedBeanNames = cache.get(type);
+		if (resolvedBeanNames != null) {
+			return resolvedBeanNames;
+		}
+		resolvedBeanNames = doGetBeanNamesForType(type, includeNonSingletons, true);
+		if (isCacheSafe(type)) {
+			cache.put(type, resolvedBeanNames);
+		}
+		return resolvedBeanNames;
+	}
+
+	/**
+	 * Check whether the given generic type and all of its generics are
+	 * cache-safe in the context of this factory's bean class loader.
+	 */
+	private boolean isCacheSafe(ResolvableType type) {
+		Class<?> resolved = type.resolve();
+		if (resolved == null || !ClassUtils.isCacheSafe(resolved, getBeanClassLoader())) {
+			return false;
+		}
+		for (ResolvableType generic : type.getGenerics()) {
+			if (generic != ResolvableType.NONE && !isCacheSafe(generic)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Override
@@ -538,6 +576,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 	@Override
 	public String[] getBeanNamesForType(@Nullable Class<?> type, boolean includeNonSingletons, boolean allowEagerInit) {
+		// No by-type caching before freezing: definitions may still change without notice
 		if (!isConfigurationFrozen() || type == null || !allowEagerInit) {
 			return doGetBeanNamesForType(ResolvableType.forRawClass(type), includeNonSingletons, allowEagerInit);
 		}
@@ -1054,7 +1093,7 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 			resetBeanDefinition(beanName);
 		}
 		else if (isConfigurationFrozen()) {
-			clearByTypeCache();
+			addToByTypeCache(beanName, false);
 		}
 	}
 
@@ -1147,8 +1186,14 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	@Override
 	public void registerSingleton(String beanName, Object singletonObject) throws IllegalStateException {
 		super.registerSingleton(beanName, singletonObject);
-		updateManualSingletonNames(set -> set.add(beanName), set -> !this.beanDefinitionMap.containsKey(beanName));
-		clearByTypeCache();
+		boolean manualSingleton = !this.beanDefinitionMap.containsKey(beanName);
+		updateManualSingletonNames(set -> set.add(beanName), set -> manualSingleton);
+		if (manualSingleton && !(singletonObject instanceof FactoryBean)) {
+			addToByTypeCache(beanName, true);
+		}
+		else {
+			clearByTypeCache();
+		}
 	}
 
 	@Override
@@ -1160,9 +1205,15 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 
 	@Override
 	public void destroySingleton(String beanName) {
+		boolean manualSingleton = this.manualSingletonNames.contains(beanName);
 		super.destroySingleton(beanName);
 		removeManualSingletonName(beanName);
-		clearByTypeCache();
+		if (manualSingleton && !this.beanDefinitionMap.containsKey(beanName)) {
+			removeFromByTypeCache(beanName);
+		}
+		else {
+			clearByTypeCache();
+		}
 	}
 
 	private void removeManualSingletonName(String beanName) {
@@ -1200,6 +1251,107 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private void clearByTypeCache() {
 		this.allBeanNamesByType.clear();
 		this.singletonBeanNamesByType.clear();
+		this.allBeanNamesByGenericType.clear();
+		this.singletonBeanNamesByGenericType.clear();
+	}
+
+	/**
+	 * Incrementally add the given newly registered bean to the by-type mappings,
+	 * preserving the order of {@link #doGetBeanNamesForType}: bean definitions
+	 * in registration order, followed by manually registered singletons.
+	 * <p>Falls back to {@link #clearByTypeCache()} for beans that cannot be
+	 * matched without side effects, e.g. FactoryBean definitions.
+	 * @param beanName the name of the new bean
+	 * @param manualSingleton whether the bean is a manually registered singleton
+	 * (as opposed to a bean definition)
+	 */
+	private void addToByTypeCache(String beanName, boolean manualSingleton) {
+		if (this.allBeanNamesByType.isEmpty() && this.singletonBeanNamesByType.isEmpty() &&
+				this.allBeanNamesByGenericType.isEmpty() && this.singletonBeanNamesByGenericType.isEmpty()) {
+			return;
+		}
+		boolean singleton = true;
+		if (!manualSingleton) {
+			try {
+				RootBeanDefinition mbd = getMergedLocalBeanDefinition(beanName);
+				if (mbd.isAbstract()) {
+					// Never matched by type -> existing mappings remain valid.
+					return;
+				}
+				if (mbd.getDecoratedDefinition() != null || isFactoryBean(beanName, mbd)) {
+					clearByTypeCache();
+					return;
+				}
+				singleton = isSingleton(beanName);
+			}
+			catch (BeansException ex) {
+				clearByTypeCache();
+				return;
+			}
+		}
+		try {
+			addToByTypeCache(this.allBeanNamesByType, beanName, manualSingleton, type -> isTypeMatch(beanName, type));
+			addToByTypeCache(this.allBeanNamesByGenericType, beanName, manualSingleton, type -> isTypeMatch(beanName, type));
+			if (singleton) {
+				addToByTypeCache(this.singletonBeanNamesByType, beanName, manualSingleton,
+						type -> isTypeMatch(beanName, type));
+				addToByTypeCache(this.singletonBeanNamesByGenericType, beanName, manualSingleton,
+						type -> isTypeMatch(beanName, type));
+			}
+		}
+		catch (BeansException ex) {
+			clearByTypeCache();
+		}
+	}
+
+	private <T> void addToByTypeCache(Map<T, String[]> cache, String beanName, boolean manualSingleton,
+			Predicate<T> typeMatcher) {
+
+		cache.replaceAll((type, beanNames) -> {
+			if (!typeMatcher.test(type)) {
+				return beanNames;
+			}
+			int index = beanNames.length;
+			if (!manualSingleton) {
+				// Bean definitions come before manually registered singletons
+				for (int i = 0; i < beanNames.length; i++) {
+					if (this.manualSingletonNames.contains(BeanFactoryUtils.transformedBeanName(beanNames[i]))) {
+						index = i;
+						break;
+					}
+				}
+			}
+			String[] updatedBeanNames = new String[beanNames.length + 1];
+			System.arraycopy(beanNames, 0, updatedBeanNames, 0, index);
+			updatedBeanNames[index] = beanName;
+			System.arraycopy(beanNames, index, updatedBeanNames, index + 1, beanNames.length - index);
+			return updatedBeanNames;
+		});
+	}
+
+	/**
+	 * Incrementally remove the given manually registered singleton
+	 * from the by-type mappings.
+	 * @param beanName the name of the removed singleton
+	 */
+	private void removeFromByTypeCache(String beanName) {
+		String factoryBeanName = FACTORY_BEAN_PREFIX + beanName;
+		Predicate<String> removed = name -> (name.equals(beanName) || name.equals(factoryBeanName));
+		removeFromByTypeCache(this.allBeanNamesByType, removed);
+		removeFromByTypeCache(this.singletonBeanNamesByType, removed);
+		removeFromByTypeCache(this.allBeanNamesByGenericType, removed);
+		removeFromByTypeCache(this.singletonBeanNamesByGenericType, removed);
+	}
+
+	private <T> void removeFromByTypeCache(Map<T, String[]> cache, Predicate<String> removed) {
+		cache.replaceAll((type, beanNames) -> {
+			for (String beanName : beanNames) {
+				if (removed.test(beanName)) {
+					return Arrays.stream(beanNames).filter(removed.negate()).toArray(String[]::new);
+				}
+			}
+			return beanNames;
+		});
 	}
 
 
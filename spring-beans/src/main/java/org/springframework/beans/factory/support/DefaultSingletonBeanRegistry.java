@@ -86,6 +86,10 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	/** Set of registered singletons, containing the bean names in registration order. */
 	private final Set<String> registeredSingletons = new LinkedHashSet<>(256);
 
+	/** Cached array of registered singleton names, reset on every registration change. */
+	@Nullable
+	private volatile String[] registeredSingletonNames;
+
 	/** Names of beans that are currently in creation. */
 	private final Set<String> singletonsCurrentlyInCreation =
 			Collections.newSetFromMap(new ConcurrentHashMap<>(16));
@@ -140,6 +144,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
 			this.registeredSingletons.add(beanName);
+			this.registeredSingletonNames = null;
 		}
 	}
 
@@ -158,6 +163,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 				this.singletonFactories.put(beanName, singletonFactory);
 				this.earlySingletonObjects.remove(beanName);
 				this.registeredSingletons.add(beanName);
+				this.registeredSingletonNames = null;
 			}
 		}
 	}
@@ -213,6 +219,11 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 	 */
 	public Object getSingleton(String beanName, ObjectFactory<?> singletonFactory) {
 		Assert.notNull(beanName, "Bean name must not be null");
+		// Quick check for existing instance without full singleton lock
+		Object existingObject = this.singletonObjects.get(beanName);
+		if (existingObject != null) {
+			return existingObject;
+		}
 		synchronized (this.singletonObjects) {
 			Object singletonObject = this.singletonObjects.get(beanName);
 			if (singletonObject == null) {
@@ -293,6 +304,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			this.singletonFactories.remove(beanName);
 			this.earlySingletonObjects.remove(beanName);
 			this.registeredSingletons.remove(beanName);
+			this.registeredSingletonNames = null;
 		}
 	}
 
@@ -303,16 +315,30 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 
 	@Override
 	public String[] getSingletonNames() {
-		synchronized (this.singletonObjects) {
-			return StringUtils.toStringArray(this.registeredSingletons);
-		}
+		return getRegisteredSingletonNames().clone();
 	}
 
 	@Override
 	public int getSingletonCount() {
-		synchronized (this.singletonObjects) {
-			return this.registeredSingletons.size();
+		return getRegisteredSingletonNames().length;
+	}
+
+	/**
+	 * Return the cached array of registered singleton names, building it
+	 * within the full singleton lock after a registration change only.
+	 */
+	private String[] getRegisteredSingletonNames() {
+		String[] singletonNames = this.registeredSingletonNames;
+		if (singletonNames == null) {
+			synchronized (this.singletonObjects) {
+				singletonNames = this.registeredSingletonNames;
+				if (singletonNames == null) {
+					singletonNames = StringUtils.toStringArray(this.registeredSingletons);
+					this.registeredSingletonNames = singletonNames;
+				}
+			}
 		}
+		return singletonNames;
 	}
 
 
@@ -537,6 +563,7 @@ public class DefaultSingletonBeanRegistry extends SimpleAliasRegistry implements
 			this.singletonFactories.clear();
 			this.earlySingletonObjects.clear();
 			this.registeredSingletons.clear();
+			this.registeredSingletonNames = null;
 			this.singletonsCurrentlyInDestruction = false;
 		}
 	}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.BeanUtils;
+import org.springframework.core.KotlinDetector;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Instantiation strategy that invokes bean constructors through
+ * {@link MethodHandle MethodHandles} instead of reflective
+ * {@link Constructor#newInstance} calls.
+ *
+ * <p>A handle is created the first time a given constructor is used and
+ * cached for subsequent invocations, which pays off for prototype-scoped and
+ * request-scoped beans that are created over and over again. Kotlin classes
+ * (which may rely on optional parameters) and constructor invocations with
+ * {@code null} arguments for primitive parameters are delegated to
+ * {@link BeanUtils#instantiateClass(Constructor, Object...)}, as are
+ * beans with <em>Method Injection</em> requirements via the inherited
+ * CGLIB subclassing support.
+ *
+ * <p>Can be registered through
+ * {@link AbstractAutowireCapableBeanFactory#setInstantiationStrategy}.
+ *
+ * @since 5.3.37
+ * @see BeanUtils#instantiateClass(Constructor, Object...)
+ */
+public class MethodHandleInstantiationStrategy extends CglibSubclassingInstantiationStrategy {
+
+	private static final MethodHandle NO_HANDLE = MethodHandles.constant(Object.class, null);
+
+	private static final MethodType GENERIC_CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+
+	private final Map<Constructor<?>, MethodHandle> constructorHandleCache = new ConcurrentReferenceHashMap<>(256);
+
+
+	@Override
+	protected Object instantiateClass(Constructor<?> ctor, Object... args) throws BeanInstantiationException {
+		MethodHandle handle = getConstructorHandle(ctor);
+		if (handle == NO_HANDLE || !hasApplicableArguments(ctor, args)) {
+			return super.instantiateClass(ctor, args);
+		}
+		try {
+			return (Object) handle.invokeExact(args);
+		}
+		catch (Throwable ex) {
+			// Arguments have been checked upfront: anything thrown here
+			// comes from the constructor body itself.
+			throw new BeanInstantiationException(ctor, "Constructor threw exception", ex);
+		}
+	}
+
+	/**
+	 * Obtain a cached {@link MethodHandle} for the given constructor, adapted to
+	 * a generic {@code (Object[])Object} signature, or {@link #NO_HANDLE} if
+	 * the constructor is not eligible for handle-based invocation.
+	 */
+	private MethodHandle getConstructorHandle(Constructor<?> ctor) {
+		MethodHandle handle = this.constructorHandleCache.get(ctor);
+		if (handle == null) {
+			handle = createConstructorHandle(ctor);
+			this.constructorHandleCache.put(ctor, handle);
+		}
+		return handle;
+	}
+
+	private MethodHandle createConstructorHandle(Constructor<?> ctor) {
+		Class<?> declaringClass = ctor.getDeclaringClass();
+		if (Modifier.isAbstract(declaringClass.getModifiers()) || ctor.isVarArgs() ||
+				(KotlinDetector.isKotlinReflectPresent() && KotlinDetector.isKotlinType(declaringClass))) {
+			return NO_HANDLE;
+		}
+		try {
+			ReflectionUtils.makeAccessible(ctor);
+			return MethodHandles.lookup().unreflectConstructor(ctor)
+					.asSpreader(Object[].class, ctor.getParameterCount())
+					.asType(GENERIC_CONSTRUCTOR_TYPE);
+		}
+		catch (IllegalAccessException | RuntimeException ex) {
+			// Not accessible through a MethodHandle -> fall back to reflection
+			return NO_HANDLE;
+		}
+	}
+
+	/**
+	 * Check whether the given arguments can be passed to the handle as-is:
+	 * that is, an argument of a matching type for each parameter and no
+	 * {@code null} values for primitive parameters (which {@link BeanUtils}
+	 * replaces with defaults). Anything else is left to {@link BeanUtils},
+	 * reporting illegal arguments the same way as for reflective invocation.
+	 */
+	private static boolean hasApplicableArguments(Constructor<?> ctor, Object[] args) {
+		if (args.length != ctor.getParameterCount()) {
+			return false;
+		}
+		if (args.length > 0) {
+			Class<?>[] parameterTypes = ctor.getParameterTypes();
+			for (int i = 0; i < args.length; i++) {
+				if (!ClassUtils.isAssignableValue(parameterTypes[i], args[i]) ||
+						(args[i] == null && parameterTypes[i].isPrimitive())) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,13 @@ package org.springframework.beans;
 import java.beans.BeanInfo;
 import java.beans.PropertyDescriptor;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.core.OverridingClassLoader;
+import org.springframework.core.SpringProperties;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -90,4 +92,41 @@ public class CachedIntrospectionResultsTests {
 		assertThat(pd.getWriteMethod()).isEqualTo(C.class.getMethod("setFoo", String.class));
 	}
 
+	@Test
+	public void simpleBeanInfoFlag() throws Exception {
+		List<BeanInfoFactory> factories = CachedIntrospectionResults.loadBeanInfoFactories();
+		assertThat(factories).noneMatch(SimpleBeanInfoFactory.class::isInstance);
+		BeanInfo beanInfo = CachedIntrospectionResults.getBeanInfo(FluentBean.class, factories);
+		assertThat(beanInfo).isInstanceOf(ExtendedBeanInfo.class);
+
+		SpringProperties.setFlag(CachedIntrospectionResults.SIMPLE_BEANINFO_PROPERTY_NAME);
+		try {
+			factories = CachedIntrospectionResults.loadBeanInfoFactories();
+			assertThat(factories.get(0)).isInstanceOf(SimpleBeanInfoFactory.class);
+			beanInfo = CachedIntrospectionResults.getBeanInfo(FluentBean.class, factories);
+			assertThat(beanInfo).isNotInstanceOf(ExtendedBeanInfo.class);
+			assertThat(beanInfo.getClass().getEnclosingClass()).isEqualTo(SimpleBeanInfoFactory.class);
+			assertThat(beanInfo.getPropertyDescriptors()).extracting(PropertyDescriptor::getName)
+					.contains("name");
+		}
+		finally {
+			SpringProperties.setProperty(CachedIntrospectionResults.SIMPLE_BEANINFO_PROPERTY_NAME, null);
+		}
+	}
+
+
+	public static class FluentBean {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public FluentBean setName(String name) {
+			this.name = name;
+			return this;
+		}
+	}
+
 }
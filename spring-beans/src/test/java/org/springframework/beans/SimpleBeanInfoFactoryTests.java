@@ -0,0 +1,117 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link SimpleBeanInfoFactory}.
+ */
+class SimpleBeanInfoFactoryTests {
+
+	private final SimpleBeanInfoFactory factory = new SimpleBeanInfoFactory();
+
+
+	@Test
+	void samePropertiesAsIntrospector() throws IntrospectionException {
+		Map<String, PropertyDescriptor> simple = propertiesByName(this.factory.getBeanInfo(TestBean.class));
+		Map<String, PropertyDescriptor> standard = propertiesByName(
+				Introspector.getBeanInfo(TestBean.class, Introspector.IGNORE_ALL_BEANINFO));
+
+		assertThat(simple).containsOnlyKeys(standard.keySet());
+		standard.forEach((name, pd) -> {
+			assertThat(simple.get(name).getReadMethod()).as(name).isEqualTo(pd.getReadMethod());
+			assertThat(simple.get(name).getWriteMethod()).as(name).isEqualTo(pd.getWriteMethod());
+			assertThat(simple.get(name).getPropertyType()).as(name).isEqualTo(pd.getPropertyType());
+		});
+	}
+
+	@Test
+	void nonVoidReturningSetter() throws IntrospectionException {
+		PropertyDescriptor pd = propertiesByName(this.factory.getBeanInfo(FluentBean.class)).get("name");
+		assertThat(pd).isNotNull();
+		assertThat(pd.getReadMethod().getName()).isEqualTo("getName");
+		assertThat(pd.getWriteMethod().getName()).isEqualTo("setName");
+		assertThat(pd.getPropertyType()).isEqualTo(String.class);
+	}
+
+	@Test
+	void booleanReadMethodPreferredOverGetter() throws IntrospectionException {
+		PropertyDescriptor pd = propertiesByName(this.factory.getBeanInfo(BooleanBean.class)).get("active");
+		assertThat(pd.getReadMethod().getName()).isEqualTo("isActive");
+		assertThat(pd.getWriteMethod().getName()).isEqualTo("setActive");
+	}
+
+	@Test
+	void beanDescriptor() throws IntrospectionException {
+		assertThat(this.factory.getBeanInfo(TestBean.class).getBeanDescriptor().getBeanClass())
+				.isEqualTo(TestBean.class);
+	}
+
+
+	private static Map<String, PropertyDescriptor> propertiesByName(BeanInfo beanInfo) {
+		return Arrays.stream(beanInfo.getPropertyDescriptors())
+				.collect(Collectors.toMap(PropertyDescriptor::getName, Function.identity()));
+	}
+
+
+	public static class FluentBean {
+
+		private String name;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public FluentBean setName(String name) {
+			this.name = name;
+			return this;
+		}
+	}
+
+
+	public static class BooleanBean {
+
+		private boolean active;
+
+		public boolean getActive() {
+			return this.active;
+		}
+
+		public boolean isActive() {
+			return this.active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+	}
+
+}
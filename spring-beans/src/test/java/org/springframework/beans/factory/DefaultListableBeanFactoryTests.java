@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -1394,6 +1394,52 @@ class DefaultListableBeanFactoryTests {
 		assertThat(bean.getBeanName()).isEqualTo("bd1");
 	}
 
+	@Test
+	void getBeanNamesForTypeWithLateRegistrationsAgainstFrozen() {
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(TestBean.class));
+		lbf.registerSingleton("singleton1", new TestBean());
+		lbf.freezeConfiguration();
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1", "singleton1");
+		assertThat(lbf.getBeanNamesForType(NestedTestBean.class)).isEmpty();
+
+		lbf.registerBeanDefinition("bd2", new RootBeanDefinition(TestBean.class));
+		lbf.registerSingleton("singleton2", new TestBean());
+		lbf.registerSingleton("nested", new NestedTestBean());
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1", "bd2", "singleton1", "singleton2");
+		assertThat(lbf.getBeanNamesForType(NestedTestBean.class)).containsExactly("nested");
+
+		RootBeanDefinition prototype = new RootBeanDefinition(TestBean.class);
+		prototype.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("bd3", prototype);
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1", "bd2", "bd3", "singleton1", "singleton2");
+		assertThat(lbf.getBeanNamesForType(TestBean.class, false, true)).containsExactly("bd1", "bd2", "singleton1", "singleton2");
+
+		lbf.destroySingleton("singleton1");
+		assertThat(lbf.getBeanNamesForType(TestBean.class)).containsExactly("bd1", "bd2", "bd3", "singleton2");
+		assertThat(lbf.getBeanNamesForType(TestBean.class, false, true)).containsExactly("bd1", "bd2", "singleton2");
+	}
+
+	@Test
+	void getBeanNamesForGenericTypeWithLateRegistrationsAgainstFrozen() {
+		RootBeanDefinition bd1 = new RootBeanDefinition(NumberStore.class);
+		bd1.setTargetType(ResolvableType.forClassWithGenerics(NumberStore.class, Double.class));
+		lbf.registerBeanDefinition("doubleStore", bd1);
+		lbf.freezeConfiguration();
+		ResolvableType doubleStoreType = ResolvableType.forClassWithGenerics(NumberStore.class, Double.class);
+		ResolvableType floatStoreType = ResolvableType.forClassWithGenerics(NumberStore.class, Float.class);
+		assertThat(lbf.getBeanNamesForType(doubleStoreType)).containsExactly("doubleStore");
+		assertThat(lbf.getBeanNamesForType(floatStoreType)).isEmpty();
+
+		RootBeanDefinition bd2 = new RootBeanDefinition(NumberStore.class);
+		bd2.setTargetType(ResolvableType.forClassWithGenerics(NumberStore.class, Float.class));
+		lbf.registerBeanDefinition("floatStore", bd2);
+		assertThat(lbf.getBeanNamesForType(doubleStoreType)).containsExactly("doubleStore");
+		assertThat(lbf.getBeanNamesForType(floatStoreType)).containsExactly("floatStore");
+
+		lbf.removeBeanDefinition("floatStore");
+		assertThat(lbf.getBeanNamesForType(floatStoreType)).isEmpty();
+	}
+
 	@Test
 	void getBeanByTypeDefinedInParent() {
 		DefaultListableBeanFactory parent = new DefaultListableBeanFactory();
@@ -3149,4 +3195,8 @@ class DefaultListableBeanFactoryTests {
 		}
 	}
 
+
+	static class NumberStore<T extends Number> {
+	}
+
 }
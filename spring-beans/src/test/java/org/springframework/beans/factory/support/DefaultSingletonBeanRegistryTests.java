@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -52,6 +52,24 @@ class DefaultSingletonBeanRegistryTests {
 		assertThat(beanRegistry.getSingletonNames()).isEmpty();
 	}
 
+	@Test
+	void singletonNamesAfterRemoval() {
+		beanRegistry.registerSingleton("tb", new TestBean());
+		beanRegistry.registerSingleton("tb2", new TestBean());
+		String[] singletonNames = beanRegistry.getSingletonNames();
+		assertThat(singletonNames).containsExactly("tb", "tb2");
+		singletonNames[0] = "modified";
+		assertThat(beanRegistry.getSingletonNames()).containsExactly("tb", "tb2");
+
+		beanRegistry.destroySingleton("tb");
+		assertThat(beanRegistry.getSingletonCount()).isEqualTo(1);
+		assertThat(beanRegistry.getSingletonNames()).containsExactly("tb2");
+
+		beanRegistry.registerSingleton("tb3", new TestBean());
+		assertThat(beanRegistry.getSingletonCount()).isEqualTo(2);
+		assertThat(beanRegistry.getSingletonNames()).containsExactly("tb2", "tb3");
+	}
+
 	@Test
 	void disposableBean() {
 		DerivedTestBean tb = new DerivedTestBean();
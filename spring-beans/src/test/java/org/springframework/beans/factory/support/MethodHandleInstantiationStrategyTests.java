@@ -0,0 +1,160 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory.support;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.BeanInstantiationException;
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.testfixture.beans.TestBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Unit tests for {@link MethodHandleInstantiationStrategy}.
+ */
+class MethodHandleInstantiationStrategyTests {
+
+	private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+
+	@BeforeEach
+	void setup() {
+		this.beanFactory.setInstantiationStrategy(new MethodHandleInstantiationStrategy());
+	}
+
+
+	@Test
+	void defaultConstructor() {
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getPropertyValues().add("name", "juergen");
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		TestBean bean1 = (TestBean) this.beanFactory.getBean("test");
+		TestBean bean2 = (TestBean) this.beanFactory.getBean("test");
+		assertThat(bean1).isNotSameAs(bean2);
+		assertThat(bean1.getName()).isEqualTo("juergen");
+		assertThat(bean2.getName()).isEqualTo("juergen");
+	}
+
+	@Test
+	void constructorWithArguments() {
+		RootBeanDefinition bd = new RootBeanDefinition(TestBean.class);
+		bd.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		bd.getConstructorArgumentValues().addGenericArgumentValue("juergen");
+		bd.getConstructorArgumentValues().addGenericArgumentValue("99");
+		this.beanFactory.registerBeanDefinition("test", bd);
+
+		for (int i = 0; i < 3; i++) {
+			TestBean bean = (TestBean) this.beanFactory.getBean("test");
+			assertThat(bean.getName()).isEqualTo("juergen");
+			assertThat(bean.getAge()).isEqualTo(99);
+		}
+	}
+
+	@Test
+	void nonPublicConstructor() {
+		this.beanFactory.registerBeanDefinition("test", new RootBeanDefinition(PrivateConstructorBean.class));
+		assertThat(this.beanFactory.getBean("test")).isInstanceOf(PrivateConstructorBean.class);
+	}
+
+	@Test
+	void nullArgumentForPrimitiveParameter() {
+		MethodHandleInstantiationStrategy strategy = new MethodHandleInstantiationStrategy();
+		PrimitiveConstructorBean bean = (PrimitiveConstructorBean) strategy.instantiateClass(
+				PrimitiveConstructorBean.class.getDeclaredConstructors()[0], (Object) null);
+		assertThat(bean.value).isEqualTo(0);
+	}
+
+	@Test
+	void constructorThrowsException() {
+		this.beanFactory.registerBeanDefinition("test", new RootBeanDefinition(FailingBean.class));
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(() -> this.beanFactory.getBean("test"))
+				.withCauseInstanceOf(BeanInstantiationException.class)
+				.withRootCauseInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void constructorThrowsIllegalArgumentException() {
+		MethodHandleInstantiationStrategy strategy = new MethodHandleInstantiationStrategy();
+		assertThatExceptionOfType(BeanInstantiationException.class)
+				.isThrownBy(() -> strategy.instantiateClass(
+						IllegalArgumentBean.class.getDeclaredConstructors()[0], "value"))
+				.withMessageContaining("Constructor threw exception")
+				.withCauseExactlyInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void argumentOfWrongType() {
+		MethodHandleInstantiationStrategy strategy = new MethodHandleInstantiationStrategy();
+		assertThatExceptionOfType(BeanInstantiationException.class)
+				.isThrownBy(() -> strategy.instantiateClass(
+						IllegalArgumentBean.class.getDeclaredConstructors()[0], 1))
+				.withMessageContaining("Illegal arguments for constructor");
+	}
+
+	@Test
+	void abstractClass() {
+		this.beanFactory.registerBeanDefinition("test", new RootBeanDefinition(AbstractBean.class));
+		assertThatExceptionOfType(BeanCreationException.class)
+				.isThrownBy(() -> this.beanFactory.getBean("test"))
+				.withCauseInstanceOf(BeanInstantiationException.class);
+	}
+
+
+	static class PrivateConstructorBean {
+
+		private PrivateConstructorBean() {
+		}
+	}
+
+
+	static class PrimitiveConstructorBean {
+
+		final int value;
+
+		PrimitiveConstructorBean(int value) {
+			this.value = value;
+		}
+	}
+
+
+	static class FailingBean {
+
+		FailingBean() {
+			throw new IllegalStateException("Expected");
+		}
+	}
+
+
+	static class IllegalArgumentBean {
+
+		IllegalArgumentBean(String value) {
+			throw new IllegalArgumentException(value);
+		}
+	}
+
+
+	abstract static class AbstractBean {
+	}
+
+}
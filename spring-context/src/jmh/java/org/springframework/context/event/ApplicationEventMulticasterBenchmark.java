@@ -0,0 +1,144 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Benchmark for publishing payload events of various types to a large number
+ * of {@code @EventListener} methods, either through cached listener retrievers
+ * or with a listener retrieval for every published event type.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ApplicationEventMulticasterBenchmark {
+
+	private static final int EVENT_COUNT = 1_000_000;
+
+	private static final Object[] PAYLOADS = {"text", 1, 2L, 3.0d, 4.0f, (short) 5, (byte) 6, 'c', true, new StringBuilder()};
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"50", "500"})
+		public int listenerCount;
+
+		public SimpleApplicationEventMulticaster multicaster;
+
+		public List<PayloadApplicationEvent<Object>> events;
+
+		@Setup
+		public void setup() {
+			this.multicaster = new SimpleApplicationEventMulticaster();
+			List<Method> methods = new ArrayList<>();
+			ReflectionUtils.doWithMethods(PayloadListeners.class, methods::add,
+					method -> method.isAnnotationPresent(EventListener.class));
+			for (int i = 0; i < this.listenerCount; i++) {
+				Method method = methods.get(i % methods.size());
+				// Not invoking the target bean, only measuring listener retrieval and dispatch
+				this.multicaster.addApplicationListener(
+						new ApplicationListenerMethodAdapter("listener" + i, PayloadListeners.class, method) {
+							@Override
+							public void processEvent(ApplicationEvent event) {
+							}
+						});
+			}
+			this.events = new ArrayList<>(PAYLOADS.length);
+			for (Object payload : PAYLOADS) {
+				this.events.add(new PayloadApplicationEvent<>(this, payload));
+			}
+		}
+
+		@Setup(Level.Invocation)
+		public void resetRetrievers() {
+			// Registering a listener bean discards all cached retrievers
+			this.multicaster.addApplicationListenerBean("none");
+			this.multicaster.removeApplicationListenerBean("none");
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(EVENT_COUNT)
+	public void publishCached(BenchmarkState state) {
+		List<PayloadApplicationEvent<Object>> events = state.events;
+		for (int i = 0; i < EVENT_COUNT; i++) {
+			state.multicaster.multicastEvent(events.get(i % events.size()));
+		}
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(10)
+	public void retrieveListeners(BenchmarkState state, Blackhole bh) {
+		for (PayloadApplicationEvent<Object> event : state.events) {
+			bh.consume(state.multicaster.getApplicationListeners(event, event.getResolvableType()));
+		}
+	}
+
+
+	public static class PayloadListeners {
+
+		@EventListener
+		public void onString(String payload) {
+		}
+
+		@EventListener
+		public void onInteger(Integer payload) {
+		}
+
+		@EventListener
+		public void onLong(Long payload) {
+		}
+
+		@EventListener
+		public void onNumber(Number payload) {
+		}
+
+		@EventListener
+		public void onCharSequence(CharSequence payload) {
+		}
+
+		@EventListener
+		public void onBoolean(Boolean payload) {
+		}
+
+		@EventListener
+		public void onCharacter(Character payload) {
+		}
+
+		@EventListener
+		public void onComparable(Comparable<?> payload) {
+		}
+	}
+
+}
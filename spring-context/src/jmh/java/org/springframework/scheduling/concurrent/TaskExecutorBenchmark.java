@@ -0,0 +1,111 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+/**
+ * Benchmark for blocking, JDBC-style workloads on platform threads, a
+ * thread pool and virtual threads. Each task blocks for a millisecond,
+ * simulating a database round trip.
+ * <p>The "virtual" variants require JDK 21+.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class TaskExecutorBenchmark {
+
+	private static final int TASK_COUNT = 1000;
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"platform", "pool", "virtual", "virtual-throttled"})
+		public String executorType;
+
+		public TaskExecutor executor;
+
+		private ThreadPoolTaskExecutor pool;
+
+		@Setup
+		public void setup() {
+			switch (this.executorType) {
+				case "platform":
+					this.executor = new SimpleAsyncTaskExecutor();
+					break;
+				case "pool":
+					this.pool = new ThreadPoolTaskExecutor();
+					this.pool.setCorePoolSize(200);
+					this.pool.initialize();
+					this.executor = this.pool;
+					break;
+				case "virtual":
+					this.executor = new VirtualThreadTaskExecutor();
+					break;
+				case "virtual-throttled":
+					SimpleAsyncTaskExecutor throttled = new SimpleAsyncTaskExecutor();
+					throttled.setVirtualThreads(true);
+					throttled.setConcurrencyLimit(200);
+					this.executor = throttled;
+					break;
+				default:
+					throw new IllegalStateException("Unknown executor type: " + this.executorType);
+			}
+		}
+
+		@TearDown
+		public void tearDown() {
+			if (this.pool != null) {
+				this.pool.shutdown();
+			}
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(TASK_COUNT)
+	public void blockingTasks(BenchmarkState state) throws InterruptedException {
+		CountDownLatch latch = new CountDownLatch(TASK_COUNT);
+		for (int i = 0; i < TASK_COUNT; i++) {
+			state.executor.execute(() -> {
+				try {
+					TimeUnit.MILLISECONDS.sleep(1);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				latch.countDown();
+			});
+		}
+		latch.await();
+	}
+
+}
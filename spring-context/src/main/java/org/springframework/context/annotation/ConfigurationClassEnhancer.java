@@ -37,6 +37,7 @@ import org.springframework.beans.factory.support.SimpleInstantiationStrategy;
 import org.springframework.cglib.core.ClassGenerator;
 import org.springframework.cglib.core.ClassLoaderAwareGeneratorStrategy;
 import org.springframework.cglib.core.Constants;
+import org.springframework.cglib.core.GeneratedClassCache;
 import org.springframework.cglib.core.SpringNamingPolicy;
 import org.springframework.cglib.proxy.Callback;
 import org.springframework.cglib.proxy.CallbackFilter;
@@ -171,7 +172,7 @@ class ConfigurationClassEnhancer {
 	 * A {@link CallbackFilter} that works by interrogating {@link Callback Callbacks} in the order
 	 * that they are defined via {@link ConditionalCallback}.
 	 */
-	private static class ConditionalCallbackFilter implements CallbackFilter {
+	private static class ConditionalCallbackFilter implements CallbackFilter, GeneratedClassCache.ValueBasedKey {
 
 		private final Callback[] callbacks;
 
@@ -199,6 +200,33 @@ class ConfigurationClassEnhancer {
 		public Class<?>[] getCallbackTypes() {
 			return this.callbackTypes;
 		}
+
+		// Stable across JVM runs, as part of the key for generated classes
+		// (relevant for their names and for the persistent GeneratedClassCache)
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			return (this == other || (other instanceof ConditionalCallbackFilter &&
+					Arrays.equals(this.callbackTypes, ((ConditionalCallbackFilter) other).callbackTypes)));
+		}
+
+		@Override
+		public int hashCode() {
+			int hashCode = 0;
+			for (Class<?> callbackType : this.callbackTypes) {
+				hashCode = 31 * hashCode + callbackType.getName().hashCode();
+			}
+			return hashCode;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder(getClass().getSimpleName()).append(':');
+			for (Class<?> callbackType : this.callbackTypes) {
+				sb.append(' ').append(callbackType.getName());
+			}
+			return sb.toString();
+		}
 	}
 
 
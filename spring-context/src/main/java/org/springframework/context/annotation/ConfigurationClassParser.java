@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,6 +45,7 @@ import org.springframework.beans.factory.BeanDefinitionStoreException;
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.parsing.Location;
 import org.springframework.beans.factory.parsing.Problem;
 import org.springframework.beans.factory.parsing.ProblemReporter;
@@ -70,6 +71,8 @@ import org.springframework.core.io.support.DefaultPropertySourceFactory;
 import org.springframework.core.io.support.EncodedResource;
 import org.springframework.core.io.support.PropertySourceFactory;
 import org.springframework.core.io.support.ResourcePropertySource;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.MethodMetadata;
 import org.springframework.core.type.StandardAnnotationMetadata;
@@ -146,6 +149,8 @@ class ConfigurationClassParser {
 
 	private final SourceClass objectSourceClass = new SourceClass(Object.class);
 
+	private final ApplicationStartup applicationStartup;
+
 
 	/**
 	 * Create a new {@link ConfigurationClassParser} instance that will be used
@@ -163,6 +168,8 @@ class ConfigurationClassParser {
 		this.componentScanParser = new ComponentScanAnnotationParser(
 				environment, resourceLoader, componentScanBeanNameGenerator, registry);
 		this.conditionEvaluator = new ConditionEvaluator(registry, environment, resourceLoader);
+		this.applicationStartup = (registry instanceof ConfigurableBeanFactory ?
+				((ConfigurableBeanFactory) registry).getApplicationStartup() : ApplicationStartup.DEFAULT);
 	}
 
 
@@ -244,11 +251,18 @@ class ConfigurationClassParser {
 		}
 
 		// Recursively process the configuration class and its superclass hierarchy.
-		SourceClass sourceClass = asSourceClass(configClass, filter);
-		do {
-			sourceClass = doProcessConfigurationClass(configClass, sourceClass, filter);
+		StartupStep processConfigClass = this.applicationStartup.start("spring.context.config-classes.parse.class")
+				.tag("className", () -> configClass.getMetadata().getClassName());
+		try {
+			SourceClass sourceClass = asSourceClass(configClass, filter);
+			do {
+				sourceClass = doProcessConfigurationClass(configClass, sourceClass, filter);
+			}
+			while (sourceClass != null);
+		}
+		finally {
+			processConfigClass.end();
 		}
-		while (sourceClass != null);
 
 		this.configurationClasses.put(configClass, configClass);
 	}
@@ -16,8 +16,12 @@
 
 package org.springframework.context.event;
 
+import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -34,12 +38,14 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.context.ApplicationEvent;
 import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ObjectUtils;
+import org.springframework.util.ReflectionUtils;
 
 /**
  * Abstract implementation of the {@link ApplicationEventMulticaster} interface,
@@ -50,6 +56,11 @@ import org.springframework.util.ObjectUtils;
  * ApplicationListener objects can be overridden through the "collectionClass"
  * bean property.
  *
+ * <p>Programmatically registered listeners are indexed by their declared event
+ * type, so that retrieving the listeners for a new event type only evaluates
+ * the potentially matching ones. Registering or removing a listener updates
+ * the already cached listener retrievers in place.
+ *
  * <p>Implementing ApplicationEventMulticaster's actual {@link #multicastEvent} method
  * is left to subclasses. {@link SimpleApplicationEventMulticaster} simply multicasts
  * all events to all registered listeners, invoking them in the calling thread.
@@ -68,6 +79,10 @@ public abstract class AbstractApplicationEventMulticaster
 
 	final Map<ListenerCacheKey, CachedListenerRetriever> retrieverCache = new ConcurrentHashMap<>(64);
 
+	// Only usable if supportsEvent has not been customized by a subclass
+	@Nullable
+	private final ListenerIndex listenerIndex = (isDefaultSupportsEvent() ? new ListenerIndex() : null);
+
 	@Nullable
 	private ClassLoader beanClassLoader;
 
@@ -107,10 +122,16 @@ public abstract class AbstractApplicationEventMulticaster
 			// in order to avoid double invocations of the same listener.
 			Object singletonTarget = AopProxyUtils.getSingletonTarget(listener);
 			if (singletonTarget instanceof ApplicationListener) {
-				this.defaultRetriever.applicationListeners.remove(singletonTarget);
+				if (this.defaultRetriever.applicationListeners.remove(singletonTarget)) {
+					removeFromIndex(singletonTarget::equals);
+				}
+			}
+			if (this.defaultRetriever.applicationListeners.add(listener)) {
+				if (this.listenerIndex != null) {
+					this.listenerIndex.add(listener);
+				}
+				addToCachedRetrievers(listener);
 			}
-			this.defaultRetriever.applicationListeners.add(listener);
-			this.retrieverCache.clear();
 		}
 	}
 
@@ -125,8 +146,9 @@ public abstract class AbstractApplicationEventMulticaster
 	@Override
 	public void removeApplicationListener(ApplicationListener<?> listener) {
 		synchronized (this.defaultRetriever) {
-			this.defaultRetriever.applicationListeners.remove(listener);
-			this.retrieverCache.clear();
+			if (this.defaultRetriever.applicationListeners.remove(listener)) {
+				removeFromIndex(listener::equals);
+			}
 		}
 	}
 
@@ -141,8 +163,9 @@ public abstract class AbstractApplicationEventMulticaster
 	@Override
 	public void removeApplicationListeners(Predicate<ApplicationListener<?>> predicate) {
 		synchronized (this.defaultRetriever) {
-			this.defaultRetriever.applicationListeners.removeIf(predicate);
-			this.retrieverCache.clear();
+			if (this.defaultRetriever.applicationListeners.removeIf(predicate)) {
+				removeFromIndex(predicate);
+			}
 		}
 	}
 
@@ -159,10 +182,87 @@ public abstract class AbstractApplicationEventMulticaster
 		synchronized (this.defaultRetriever) {
 			this.defaultRetriever.applicationListeners.clear();
 			this.defaultRetriever.applicationListenerBeans.clear();
+			if (this.listenerIndex != null) {
+				this.listenerIndex.clear();
+			}
 			this.retrieverCache.clear();
 		}
 	}
 
+	/**
+	 * Remove the matching listeners from the index and the cached retrievers.
+	 * <p>To be called with the default retriever lock held.
+	 */
+	private void removeFromIndex(Predicate<? super ApplicationListener<?>> predicate) {
+		if (this.listenerIndex != null) {
+			this.listenerIndex.removeIf(predicate);
+		}
+		for (Map.Entry<ListenerCacheKey, CachedListenerRetriever> entry : this.retrieverCache.entrySet()) {
+			CachedListenerRetriever retriever = entry.getValue();
+			if (!retriever.isPopulated()) {
+				// Being populated from a listener snapshot taken before this change
+				this.retrieverCache.remove(entry.getKey(), retriever);
+			}
+			else {
+				this.retrieverCache.replace(entry.getKey(), retriever, retriever.without(predicate));
+			}
+		}
+	}
+
+	/**
+	 * Add a newly registered listener to each cached retriever for an event type
+	 * that it supports, instead of discarding all cached retrievers.
+	 * <p>To be called with the default retriever lock held.
+	 */
+	private void addToCachedRetrievers(ApplicationListener<?> listener) {
+		if (this.retrieverCache.isEmpty()) {
+			return;
+		}
+		// The listener may also be a listener bean (possibly still in creation when
+		// registered by ApplicationListenerDetector), with additional BeanDefinition metadata
+		String listenerBeanName = null;
+		ConfigurableBeanFactory beanFactory = this.beanFactory;
+		if (beanFactory != null && !this.defaultRetriever.applicationListenerBeans.isEmpty()) {
+			for (String beanName : this.defaultRetriever.applicationListenerBeans) {
+				if (isListenerBean(beanFactory, beanName, listener)) {
+					listenerBeanName = beanName;
+					break;
+				}
+			}
+		}
+		for (Map.Entry<ListenerCacheKey, CachedListenerRetriever> entry : this.retrieverCache.entrySet()) {
+			ListenerCacheKey cacheKey = entry.getKey();
+			CachedListenerRetriever retriever = entry.getValue();
+			if (!retriever.isPopulated()) {
+				// Being populated from a listener snapshot taken before this change
+				this.retrieverCache.remove(cacheKey, retriever);
+			}
+			else if (supportsEvent(listener, cacheKey.eventType, cacheKey.sourceType) && (listenerBeanName == null ||
+					supportsEvent(beanFactory, listenerBeanName, cacheKey.eventType))) {
+				this.retrieverCache.replace(cacheKey, retriever, retriever.with(listener));
+			}
+		}
+	}
+
+	private static boolean isListenerBean(
+			ConfigurableBeanFactory beanFactory, String beanName, ApplicationListener<?> listener) {
+
+		if (beanFactory.containsSingleton(beanName)) {
+			return (beanFactory.getSingleton(beanName) == listener);
+		}
+		if (beanFactory.isCurrentlyInCreation(beanName)) {
+			Class<?> beanType = beanFactory.getType(beanName);
+			return (beanType != null && beanType.isInstance(listener));
+		}
+		return false;
+	}
+
+	private boolean isDefaultSupportsEvent() {
+		Method supportsEvent = ReflectionUtils.findMethod(getClass(), "supportsEvent",
+				ApplicationListener.class, ResolvableType.class, Class.class);
+		return (supportsEvent != null && supportsEvent.getDeclaringClass() == AbstractApplicationEventMulticaster.class);
+	}
+
 
 	/**
 	 * Return a Collection containing all ApplicationListeners.
@@ -237,15 +337,18 @@ public abstract class AbstractApplicationEventMulticaster
 
 		Set<ApplicationListener<?>> listeners;
 		Set<String> listenerBeans;
+		Set<ApplicationListener<?>> candidates;
 		synchronized (this.defaultRetriever) {
 			listeners = new LinkedHashSet<>(this.defaultRetriever.applicationListeners);
 			listenerBeans = new LinkedHashSet<>(this.defaultRetriever.applicationListenerBeans);
+			candidates = (this.listenerIndex != null ? this.listenerIndex.getCandidates(eventType) : null);
 		}
 
 		// Add programmatically registered listeners, including ones coming
 		// from ApplicationListenerDetector (singleton beans and inner beans).
 		for (ApplicationListener<?> listener : listeners) {
-			if (supportsEvent(listener, eventType, sourceType)) {
+			if ((candidates == null || candidates.contains(listener)) &&
+					supportsEvent(listener, eventType, sourceType)) {
 				if (retriever != null) {
 					filteredListeners.add(listener);
 				}
@@ -477,6 +580,145 @@ public abstract class AbstractApplicationEventMulticaster
 			}
 			return allListeners;
 		}
+
+		public boolean isPopulated() {
+			return (this.applicationListenerBeans != null && this.applicationListeners != null);
+		}
+
+		/**
+		 * Return a copy of this populated retriever that includes the given listener.
+		 */
+		public CachedListenerRetriever with(ApplicationListener<?> listener) {
+			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
+			Set<String> applicationListenerBeans = this.applicationListenerBeans;
+			Assert.state(applicationListeners != null && applicationListenerBeans != null, "Not populated");
+			List<ApplicationListener<?>> listeners = new ArrayList<>(applicationListeners.size() + 1);
+			listeners.addAll(applicationListeners);
+			listeners.add(listener);
+			if (applicationListenerBeans.isEmpty()) {
+				// Pre-sorted as in retrieveApplicationListeners, otherwise sorted on retrieval
+				AnnotationAwareOrderComparator.sort(listeners);
+			}
+			CachedListenerRetriever retriever = new CachedListenerRetriever();
+			retriever.applicationListeners = new LinkedHashSet<>(listeners);
+			retriever.applicationListenerBeans = applicationListenerBeans;
+			return retriever;
+		}
+
+		/**
+		 * Return a copy of this populated retriever without the matching listeners,
+		 * or this retriever itself if none of its listeners match.
+		 */
+		public CachedListenerRetriever without(Predicate<? super ApplicationListener<?>> predicate) {
+			Set<ApplicationListener<?>> applicationListeners = this.applicationListeners;
+			Set<String> applicationListenerBeans = this.applicationListenerBeans;
+			Assert.state(applicationListeners != null && applicationListenerBeans != null, "Not populated");
+			Set<ApplicationListener<?>> listeners = new LinkedHashSet<>(applicationListeners);
+			if (!listeners.removeIf(predicate)) {
+				return this;
+			}
+			CachedListenerRetriever retriever = new CachedListenerRetriever();
+			retriever.applicationListeners = listeners;
+			retriever.applicationListenerBeans = applicationListenerBeans;
+			return retriever;
+		}
+	}
+
+
+	/**
+	 * Index of programmatically registered listeners by the raw classes of their
+	 * declared event types, narrowing down the candidates for a new event type.
+	 * <p>Listeners without a statically declared event type, as well as custom
+	 * {@link GenericApplicationListener} and {@link SmartApplicationListener}
+	 * implementations, are candidates for every event type.
+	 * <p>Access is guarded by the default retriever lock.
+	 */
+	private static class ListenerIndex {
+
+		private final Map<Class<?>, Set<ApplicationListener<?>>> listenersByEventClass = new HashMap<>();
+
+		private final Set<ApplicationListener<?>> unindexedListeners = new HashSet<>();
+
+		public void add(ApplicationListener<?> listener) {
+			List<ResolvableType> declaredEventTypes = getDeclaredEventTypes(listener);
+			if (declaredEventTypes == null) {
+				this.unindexedListeners.add(listener);
+			}
+			else {
+				for (ResolvableType declaredEventType : declaredEventTypes) {
+					this.listenersByEventClass.computeIfAbsent(
+							declaredEventType.toClass(), key -> new HashSet<>()).add(listener);
+				}
+			}
+		}
+
+		public void removeIf(Predicate<? super ApplicationListener<?>> predicate) {
+			this.unindexedListeners.removeIf(predicate);
+			this.listenersByEventClass.values().removeIf(listeners -> {
+				listeners.removeIf(predicate);
+				return listeners.isEmpty();
+			});
+		}
+
+		public void clear() {
+			this.listenersByEventClass.clear();
+			this.unindexedListeners.clear();
+		}
+
+		/**
+		 * Return the listeners that may support the given event type,
+		 * or {@code null} if all listeners need to be checked.
+		 */
+		@Nullable
+		public Set<ApplicationListener<?>> getCandidates(ResolvableType eventType) {
+			if (eventType.hasUnresolvableGenerics()) {
+				// Supported by any @EventListener method, see ApplicationListenerMethodAdapter
+				return null;
+			}
+			Set<ApplicationListener<?>> candidates = new HashSet<>(this.unindexedListeners);
+			Class<?> eventClass = eventType.toClass();
+			addCandidates(eventClass, candidates);
+			if (PayloadApplicationEvent.class.isAssignableFrom(eventClass)) {
+				addCandidates(eventType.as(PayloadApplicationEvent.class).getGeneric().toClass(), candidates);
+			}
+			return candidates;
+		}
+
+		private void addCandidates(Class<?> eventClass, Set<ApplicationListener<?>> candidates) {
+			Class<?> candidateClass = eventClass;
+			while (candidateClass != null) {
+				addCandidatesForClass(candidateClass, candidates);
+				candidateClass = candidateClass.getSuperclass();
+			}
+			for (Class<?> ifc : ClassUtils.getAllInterfacesForClassAsSet(eventClass)) {
+				addCandidatesForClass(ifc, candidates);
+			}
+			// Also covers event types declared as primitive or array payloads
+			addCandidatesForClass(Object.class, candidates);
+		}
+
+		private void addCandidatesForClass(Class<?> eventClass, Set<ApplicationListener<?>> candidates) {
+			Set<ApplicationListener<?>> listeners = this.listenersByEventClass.get(eventClass);
+			if (listeners != null) {
+				candidates.addAll(listeners);
+			}
+		}
+
+		@Nullable
+		private static List<ResolvableType> getDeclaredEventTypes(ApplicationListener<?> listener) {
+			if (listener instanceof ApplicationListenerMethodAdapter) {
+				Method supportsEventType = ReflectionUtils.findMethod(
+						listener.getClass(), "supportsEventType", ResolvableType.class);
+				return (supportsEventType != null &&
+						supportsEventType.getDeclaringClass() == ApplicationListenerMethodAdapter.class ?
+						((ApplicationListenerMethodAdapter) listener).getDeclaredEventTypes() : null);
+			}
+			if (listener instanceof GenericApplicationListener || listener instanceof SmartApplicationListener) {
+				return null;
+			}
+			ResolvableType declaredEventType = GenericApplicationListenerAdapter.resolveDeclaredEventType(listener);
+			return (declaredEventType != null ? Collections.singletonList(declaredEventType) : null);
+		}
 	}
 
 
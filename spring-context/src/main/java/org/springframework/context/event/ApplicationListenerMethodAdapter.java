@@ -218,6 +218,14 @@ public class ApplicationListenerMethodAdapter implements GenericApplicationListe
 		return ClassUtils.getQualifiedMethodName(method) + sj.toString();
 	}
 
+	/**
+	 * Return the event types declared by the target method, as used for
+	 * indexing this listener by event type.
+	 */
+	List<ResolvableType> getDeclaredEventTypes() {
+		return this.declaredEventTypes;
+	}
+
 
 	/**
 	 * Process the specified {@link ApplicationEvent}, checking if the condition
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.event;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Extended variant of the standard {@link ApplicationListener} interface,
+ * able to process several events at once.
+ *
+ * <p>With a {@link SimpleApplicationEventMulticaster} configured for
+ * {@linkplain SimpleApplicationEventMulticaster#setListenerQueueCapacity queued}
+ * asynchronous dispatch, the events queued for such a listener get drained
+ * in batches, in publication order. Otherwise, each event is passed on
+ * individually as a singleton list.
+ *
+ * @since 5.3.37
+ * @param <E> the specific {@code ApplicationEvent} subclass to listen to
+ * @see SimpleApplicationEventMulticaster#setListenerBatchSize
+ */
+public interface BatchApplicationListener<E extends ApplicationEvent> extends ApplicationListener<E> {
+
+	/**
+	 * Handle the given events, in the order of their publication.
+	 * @param events the events to respond to (never empty)
+	 */
+	void onApplicationEvents(List<E> events);
+
+	/**
+	 * Handle a single application event.
+	 * <p>The default implementation delegates to {@link #onApplicationEvents}
+	 * with a singleton list.
+	 * @param event the event to respond to
+	 */
+	@Override
+	default void onApplicationEvent(E event) {
+		onApplicationEvents(Collections.singletonList(event));
+	}
+
+}
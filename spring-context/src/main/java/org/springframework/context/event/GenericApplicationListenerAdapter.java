@@ -98,7 +98,7 @@ public class GenericApplicationListenerAdapter implements GenericApplicationList
 
 
 	@Nullable
-	private static ResolvableType resolveDeclaredEventType(ApplicationListener<ApplicationEvent> listener) {
+	static ResolvableType resolveDeclaredEventType(ApplicationListener<?> listener) {
 		ResolvableType declaredEventType = resolveDeclaredEventType(listener.getClass());
 		if (declaredEventType == null || declaredEventType.isAssignableFrom(ApplicationEvent.class)) {
 			Class<?> targetClass = AopUtils.getTargetClass(listener);
@@ -16,7 +16,15 @@
 
 package org.springframework.context.event;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -27,6 +35,7 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.core.ResolvableType;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ErrorHandler;
 
 /**
@@ -42,6 +51,14 @@ import org.springframework.util.ErrorHandler;
  * but adds minimal overhead. Specify an alternative task executor to have
  * listeners executed in different threads, for example from a thread pool.
  *
+ * <p>With a {@linkplain #setListenerQueueCapacity listener queue capacity}
+ * on top of a task executor, events are buffered in a bounded queue per
+ * listener instead of being submitted to the executor one by one. Each queue
+ * is drained by at most one task at a time, preserving the publication order
+ * per listener, and a {@link BatchApplicationListener} receives the queued
+ * events in batches. A full queue is handled according to the configured
+ * {@link OverflowPolicy}.
+ *
  * @author Rod Johnson
  * @author Juergen Hoeller
  * @author Stephane Nicoll
@@ -50,12 +67,29 @@ import org.springframework.util.ErrorHandler;
  */
 public class SimpleApplicationEventMulticaster extends AbstractApplicationEventMulticaster {
 
+	/**
+	 * Default maximum number of queued events passed to a
+	 * {@link BatchApplicationListener} at once: {@value}.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+
 	@Nullable
 	private Executor taskExecutor;
 
 	@Nullable
 	private ErrorHandler errorHandler;
 
+	private int listenerQueueCapacity;
+
+	private int listenerBatchSize = DEFAULT_BATCH_SIZE;
+
+	private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+
+	private final Map<ApplicationListener<?>, ListenerEventQueue> listenerQueues = new ConcurrentHashMap<>();
+
+	private final AtomicLong droppedEventCount = new AtomicLong();
+
 	@Nullable
 	private volatile Log lazyLogger;
 
@@ -128,6 +162,78 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return this.errorHandler;
 	}
 
+	/**
+	 * Set the maximum number of events to buffer per listener for asynchronous
+	 * dispatch through the {@linkplain #setTaskExecutor task executor}.
+	 * <p>Default is 0, submitting a separate task for every listener and event,
+	 * without any ordering guarantee. A positive capacity switches to a bounded
+	 * queue per listener, drained by one task at a time in publication order.
+	 * @since 5.3.37
+	 * @see #setListenerBatchSize
+	 * @see #setOverflowPolicy
+	 */
+	public void setListenerQueueCapacity(int listenerQueueCapacity) {
+		Assert.isTrue(listenerQueueCapacity >= 0, "Listener queue capacity must not be negative");
+		this.listenerQueueCapacity = listenerQueueCapacity;
+	}
+
+	/**
+	 * Set the maximum number of queued events to pass to a
+	 * {@link BatchApplicationListener} at once, as well as the maximum number
+	 * of events that a single drain task delivers to any other listener before
+	 * yielding to other tasks in the executor.
+	 * <p>Default is {@value #DEFAULT_BATCH_SIZE}.
+	 * @since 5.3.37
+	 * @see #setListenerQueueCapacity
+	 */
+	public void setListenerBatchSize(int listenerBatchSize) {
+		Assert.isTrue(listenerBatchSize > 0, "Listener batch size must be greater than 0");
+		this.listenerBatchSize = listenerBatchSize;
+	}
+
+	/**
+	 * Specify how to handle an event for a listener whose queue is full.
+	 * <p>Default is {@link OverflowPolicy#BLOCK}.
+	 * @since 5.3.37
+	 * @see #setListenerQueueCapacity
+	 */
+	public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+		Assert.notNull(overflowPolicy, "OverflowPolicy must not be null");
+		this.overflowPolicy = overflowPolicy;
+	}
+
+	/**
+	 * Return the number of events currently queued for all listeners.
+	 * @since 5.3.37
+	 * @see #setListenerQueueCapacity
+	 */
+	public int getQueuedEventCount() {
+		int count = 0;
+		for (ListenerEventQueue queue : this.listenerQueues.values()) {
+			count += queue.size();
+		}
+		return count;
+	}
+
+	/**
+	 * Return the number of events currently queued for the given listener.
+	 * @since 5.3.37
+	 * @see #setListenerQueueCapacity
+	 */
+	public int getQueuedEventCount(ApplicationListener<?> listener) {
+		ListenerEventQueue queue = this.listenerQueues.get(listener);
+		return (queue != null ? queue.size() : 0);
+	}
+
+	/**
+	 * Return the number of events dropped so far because of a full listener
+	 * queue with {@link OverflowPolicy#DROP}.
+	 * @since 5.3.37
+	 */
+	public long getDroppedEventCount() {
+		return this.droppedEventCount.get();
+	}
+
 	@Override
 	public void multicastEvent(ApplicationEvent event) {
 		multicastEvent(event, resolveDefaultEventType(event));
@@ -138,7 +244,10 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		ResolvableType type = (eventType != null ? eventType : resolveDefaultEventType(event));
 		Executor executor = getTaskExecutor();
 		for (ApplicationListener<?> listener : getApplicationListeners(event, type)) {
-			if (executor != null) {
+			if (executor != null && this.listenerQueueCapacity > 0) {
+				enqueueEvent(executor, listener, event);
+			}
+			else if (executor != null) {
 				executor.execute(() -> invokeListener(listener, event));
 			}
 			else {
@@ -147,6 +256,31 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		}
 	}
 
+	private void enqueueEvent(Executor executor, ApplicationListener<?> listener, ApplicationEvent event) {
+		while (true) {
+			ListenerEventQueue queue = this.listenerQueues.computeIfAbsent(listener,
+					key -> new ListenerEventQueue(executor, key, this.listenerQueueCapacity));
+			Boolean enqueued = queue.offer(event, this.overflowPolicy == OverflowPolicy.BLOCK);
+			if (enqueued == null) {
+				// Queue retired after having been drained -> retry with a new one
+				continue;
+			}
+			if (!enqueued) {
+				if (this.overflowPolicy == OverflowPolicy.CALLER_RUNS) {
+					invokeListener(listener, event);
+				}
+				else {
+					this.droppedEventCount.incrementAndGet();
+					Log loggerToUse = getLogger();
+					if (loggerToUse.isDebugEnabled()) {
+						loggerToUse.debug("Dropped event for listener with full queue: " + listener);
+					}
+				}
+			}
+			return;
+		}
+	}
+
 	private ResolvableType resolveDefaultEventType(ApplicationEvent event) {
 		return ResolvableType.forInstance(event);
 	}
@@ -172,6 +306,28 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		}
 	}
 
+	/**
+	 * Invoke the given batch listener with the given events.
+	 * @param listener the BatchApplicationListener to invoke
+	 * @param events the queued events to propagate
+	 * @since 5.3.37
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	protected void invokeBatchListener(BatchApplicationListener<?> listener, List<ApplicationEvent> events) {
+		ErrorHandler errorHandler = getErrorHandler();
+		if (errorHandler != null) {
+			try {
+				((BatchApplicationListener) listener).onApplicationEvents(events);
+			}
+			catch (Throwable err) {
+				errorHandler.handleError(err);
+			}
+		}
+		else {
+			((BatchApplicationListener) listener).onApplicationEvents(events);
+		}
+	}
+
 	@SuppressWarnings({"rawtypes", "unchecked"})
 	private void doInvokeListener(ApplicationListener listener, ApplicationEvent event) {
 		try {
@@ -184,11 +340,7 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 							matchesClassCastMessage(msg, ((PayloadApplicationEvent) event).getPayload().getClass()))) {
 				// Possibly a lambda-defined listener which we could not resolve the generic event type for
 				// -> let's suppress the exception.
-				Log loggerToUse = this.lazyLogger;
-				if (loggerToUse == null) {
-					loggerToUse = LogFactory.getLog(getClass());
-					this.lazyLogger = loggerToUse;
-				}
+				Log loggerToUse = getLogger();
 				if (loggerToUse.isTraceEnabled()) {
 					loggerToUse.trace("Non-matching event type for listener: " + listener, ex);
 				}
@@ -199,6 +351,15 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		}
 	}
 
+	private Log getLogger() {
+		Log loggerToUse = this.lazyLogger;
+		if (loggerToUse == null) {
+			loggerToUse = LogFactory.getLog(getClass());
+			this.lazyLogger = loggerToUse;
+		}
+		return loggerToUse;
+	}
+
 	private boolean matchesClassCastMessage(String classCastMessage, Class<?> eventClass) {
 		// On Java 8, the message starts with the class name: "java.lang.String cannot be cast..."
 		if (classCastMessage.startsWith(eventClass.getName())) {
@@ -217,4 +378,212 @@ public class SimpleApplicationEventMulticaster extends AbstractApplicationEventM
 		return false;
 	}
 
+
+	/**
+	 * Policy for an event published to a listener with a full queue.
+	 * @since 5.3.37
+	 * @see #setOverflowPolicy
+	 */
+	public enum OverflowPolicy {
+
+		/**
+		 * Block the publishing thread until the listener's queue has room.
+		 * <p>Not suitable for listeners that publish further events to themselves.
+		 */
+		BLOCK,
+
+		/**
+		 * Discard the event for the listener, counting it as dropped.
+		 * @see #getDroppedEventCount()
+		 */
+		DROP,
+
+		/**
+		 * Invoke the listener in the publishing thread, bypassing the queue.
+		 * <p>Note that the event may then be processed before earlier events
+		 * still waiting in the queue.
+		 */
+		CALLER_RUNS
+	}
+
+
+	/**
+	 * Bounded queue of events for a specific listener, drained by at most one
+	 * executor task at a time. Retired and removed once drained, so that
+	 * queues for transient listener instances do not accumulate.
+	 */
+	private class ListenerEventQueue {
+
+		private final Executor executor;
+
+		private final ApplicationListener<?> listener;
+
+		private final int capacity;
+
+		private final ArrayDeque<ApplicationEvent> events = new ArrayDeque<>();
+
+		private final ReentrantLock lock = new ReentrantLock();
+
+		private final Condition notFull = this.lock.newCondition();
+
+		private boolean draining;
+
+		private boolean retired;
+
+		public ListenerEventQueue(Executor executor, ApplicationListener<?> listener, int capacity) {
+			this.executor = executor;
+			this.listener = listener;
+			this.capacity = capacity;
+		}
+
+		/**
+		 * Add the given event to this queue, scheduling a drain task if necessary.
+		 * <p>If the executor rejects the drain task, the event is removed again
+		 * and the rejection is thrown to the caller.
+		 * @return {@code true} if enqueued, {@code false} if the queue is full,
+		 * or {@code null} if this queue has been retired
+		 */
+		@Nullable
+		public Boolean offer(ApplicationEvent event, boolean block) {
+			while (true) {
+				boolean added = false;
+				this.lock.lock();
+				try {
+					if (this.retired) {
+						return null;
+					}
+					if (this.events.size() < this.capacity) {
+						this.events.add(event);
+						added = true;
+					}
+					else if (!block) {
+						return false;
+					}
+					else if (this.draining) {
+						this.notFull.awaitUninterruptibly();
+						continue;
+					}
+					if (this.draining) {
+						return true;
+					}
+					// Start draining: for a newly added event, or for a full queue
+					// whose previous drain task has been rejected by the executor
+					this.draining = true;
+				}
+				finally {
+					this.lock.unlock();
+				}
+				try {
+					this.executor.execute(this::drain);
+				}
+				catch (RuntimeException ex) {
+					drainRejected(added ? event : null);
+					throw ex;
+				}
+				if (added) {
+					return true;
+				}
+			}
+		}
+
+		public int size() {
+			this.lock.lock();
+			try {
+				return this.events.size();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private void drain() {
+			List<ApplicationEvent> batch = new ArrayList<>(Math.min(this.capacity, listenerBatchSize));
+			this.lock.lock();
+			try {
+				while (batch.size() < listenerBatchSize && !this.events.isEmpty()) {
+					batch.add(this.events.poll());
+				}
+				this.notFull.signalAll();
+			}
+			finally {
+				this.lock.unlock();
+			}
+
+			try {
+				deliver(batch);
+			}
+			catch (RuntimeException | Error ex) {
+				rescheduleOrRetire(ex);
+				throw ex;
+			}
+			rescheduleOrRetire(null);
+		}
+
+		private void rescheduleOrRetire(@Nullable Throwable deliveryFailure) {
+			this.lock.lock();
+			try {
+				if (this.events.isEmpty()) {
+					this.draining = false;
+					this.retired = true;
+					listenerQueues.remove(this.listener, this);
+					return;
+				}
+			}
+			finally {
+				this.lock.unlock();
+			}
+			try {
+				this.executor.execute(this::drain);
+			}
+			catch (RuntimeException ex) {
+				// Remaining events are picked up by the next offer for this queue
+				drainRejected(null);
+				if (deliveryFailure == null) {
+					throw ex;
+				}
+				deliveryFailure.addSuppressed(ex);
+			}
+		}
+
+		private void drainRejected(@Nullable ApplicationEvent event) {
+			this.lock.lock();
+			try {
+				if (event != null) {
+					this.events.removeLastOccurrence(event);
+				}
+				this.draining = false;
+				// Let blocked publishers retry scheduling a drain task themselves
+				this.notFull.signalAll();
+			}
+			finally {
+				this.lock.unlock();
+			}
+		}
+
+		private void deliver(List<ApplicationEvent> batch) {
+			if (this.listener instanceof BatchApplicationListener) {
+				invokeBatchListener((BatchApplicationListener<?>) this.listener, batch);
+				return;
+			}
+			RuntimeException failure = null;
+			for (ApplicationEvent event : batch) {
+				try {
+					invokeListener(this.listener, event);
+				}
+				catch (RuntimeException ex) {
+					// Keep delivering subsequent events, as with a task per event
+					if (failure == null) {
+						failure = ex;
+					}
+					else {
+						failure.addSuppressed(ex);
+					}
+				}
+			}
+			if (failure != null) {
+				throw failure;
+			}
+		}
+	}
+
 }
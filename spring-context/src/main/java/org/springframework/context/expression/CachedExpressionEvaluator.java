@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,8 @@ import java.util.Map;
 import org.springframework.core.DefaultParameterNameDiscoverer;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
@@ -30,12 +32,22 @@ import org.springframework.util.ObjectUtils;
  * Shared utility class used to evaluate and cache SpEL expressions that
  * are defined on {@link java.lang.reflect.AnnotatedElement}.
  *
+ * <p>As of 5.3.37, expressions are obtained from the bounded
+ * {@link SpelExpressionParser#getExpressionCache() expression cache} of the
+ * parser if enabled, sharing parsed and compiled expressions across all
+ * elements. A default parser has such a cache enabled unless the SpEL
+ * compiler runs in {@link SpelCompilerMode#IMMEDIATE IMMEDIATE} mode,
+ * where the argument types of different elements would be incompatible
+ * with a shared compiled expression.
+ *
  * @author Stephane Nicoll
  * @since 4.2
  * @see AnnotatedElementKey
  */
 public abstract class CachedExpressionEvaluator {
 
+	private static final int DEFAULT_EXPRESSION_CACHE_LIMIT = 256;
+
 	private final SpelExpressionParser parser;
 
 	private final ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
@@ -53,7 +65,16 @@ public abstract class CachedExpressionEvaluator {
 	 * Create a new instance with a default {@link SpelExpressionParser}.
 	 */
 	protected CachedExpressionEvaluator() {
-		this(new SpelExpressionParser());
+		this(createDefaultParser());
+	}
+
+	private static SpelExpressionParser createDefaultParser() {
+		SpelParserConfiguration configuration = new SpelParserConfiguration();
+		SpelExpressionParser parser = new SpelExpressionParser(configuration);
+		if (configuration.getCompilerMode() != SpelCompilerMode.IMMEDIATE) {
+			parser.setExpressionCacheLimit(DEFAULT_EXPRESSION_CACHE_LIMIT);
+		}
+		return parser;
 	}
 
 
@@ -76,6 +97,8 @@ public abstract class CachedExpressionEvaluator {
 	/**
 	 * Return the {@link Expression} for the specified SpEL value
 	 * <p>{@link #parseExpression(String) Parse the expression} if it hasn't been already.
+	 * If the parser has an expression cache enabled, the expression is obtained
+	 * from that cache instead, ignoring the given cache.
 	 * @param cache the cache to use
 	 * @param elementKey the element on which the expression is defined
 	 * @param expression the expression to parse
@@ -83,6 +106,10 @@ public abstract class CachedExpressionEvaluator {
 	protected Expression getExpression(Map<ExpressionKey, Expression> cache,
 			AnnotatedElementKey elementKey, String expression) {
 
+		SpelExpressionParser parser = getParser();
+		if (parser.getExpressionCache() != null) {
+			return parser.parseCachedExpression(expression, null);
+		}
 		ExpressionKey expressionKey = createKey(elementKey, expression);
 		Expression expr = cache.get(expressionKey);
 		if (expr == null) {
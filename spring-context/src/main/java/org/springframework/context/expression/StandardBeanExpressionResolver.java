@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -28,6 +28,7 @@ import org.springframework.core.convert.support.DefaultConversionService;
 import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
 import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
@@ -61,6 +62,8 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	/** Default expression suffix: "}". */
 	public static final String DEFAULT_EXPRESSION_SUFFIX = "}";
 
+	private static final int DEFAULT_EXPRESSION_CACHE_LIMIT = 256;
+
 
 	private String expressionPrefix = DEFAULT_EXPRESSION_PREFIX;
 
@@ -92,7 +95,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	 * Create a new {@code StandardBeanExpressionResolver} with default settings.
 	 */
 	public StandardBeanExpressionResolver() {
-		this.expressionParser = new SpelExpressionParser();
+		this.expressionParser = createDefaultParser(new SpelParserConfiguration());
 	}
 
 	/**
@@ -101,7 +104,15 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	 * @param beanClassLoader the factory's bean class loader
 	 */
 	public StandardBeanExpressionResolver(@Nullable ClassLoader beanClassLoader) {
-		this.expressionParser = new SpelExpressionParser(new SpelParserConfiguration(null, beanClassLoader));
+		this.expressionParser = createDefaultParser(new SpelParserConfiguration(null, beanClassLoader));
+	}
+
+	private static SpelExpressionParser createDefaultParser(SpelParserConfiguration configuration) {
+		SpelExpressionParser parser = new SpelExpressionParser(configuration);
+		if (configuration.getCompilerMode() != SpelCompilerMode.IMMEDIATE) {
+			parser.setExpressionCacheLimit(DEFAULT_EXPRESSION_CACHE_LIMIT);
+		}
+		return parser;
 	}
 
 
@@ -128,7 +139,12 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 	/**
 	 * Specify the EL parser to use for expression parsing.
 	 * <p>Default is a {@link org.springframework.expression.spel.standard.SpelExpressionParser},
-	 * compatible with standard Unified EL style expression syntax.
+	 * compatible with standard Unified EL style expression syntax. As of 5.3.37,
+	 * the default parser keeps parsed expressions in a bounded
+	 * {@link SpelExpressionParser#getExpressionCache() expression cache} unless
+	 * the SpEL compiler runs in {@link SpelCompilerMode#IMMEDIATE IMMEDIATE} mode.
+	 * A given {@code SpelExpressionParser} is used with its own expression cache
+	 * if enabled; otherwise, parsed expressions are cached by this resolver.
 	 */
 	public void setExpressionParser(ExpressionParser expressionParser) {
 		Assert.notNull(expressionParser, "ExpressionParser must not be null");
@@ -143,11 +159,7 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 			return value;
 		}
 		try {
-			Expression expr = this.expressionCache.get(value);
-			if (expr == null) {
-				expr = this.expressionParser.parseExpression(value, this.beanExpressionParserContext);
-				this.expressionCache.put(value, expr);
-			}
+			Expression expr = getExpression(value);
 			StandardEvaluationContext sec = this.evaluationCache.get(beanExpressionContext);
 			if (sec == null) {
 				sec = new StandardEvaluationContext(beanExpressionContext);
@@ -171,6 +183,19 @@ public class StandardBeanExpressionResolver implements BeanExpressionResolver {
 		}
 	}
 
+	private Expression getExpression(String value) {
+		ExpressionParser parser = this.expressionParser;
+		if (parser instanceof SpelExpressionParser && ((SpelExpressionParser) parser).getExpressionCache() != null) {
+			return ((SpelExpressionParser) parser).parseCachedExpression(value, this.beanExpressionParserContext);
+		}
+		Expression expr = this.expressionCache.get(value);
+		if (expr == null) {
+			expr = parser.parseExpression(value, this.beanExpressionParserContext);
+			this.expressionCache.put(value, expr);
+		}
+		return expr;
+	}
+
 	/**
 	 * Template method for customizing the expression evaluation context.
 	 * <p>The default implementation is empty.
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.support;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.metrics.buffering.BufferedStartupReport;
+import org.springframework.core.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationListener} that reports on the steps recorded by a
+ * {@link BufferingApplicationStartup} once the application context has been
+ * refreshed.
+ *
+ * <p>Logs a summary of the most expensive steps by self time at info level
+ * and, if an {@link #setOutputDirectory output directory} is specified, writes
+ * the summary as well as a flame graph compatible file in folded stacks format
+ * to that directory.
+ *
+ * <p>Typical setup:
+ * <pre class="code">
+ * BufferingApplicationStartup startup = new BufferingApplicationStartup(10000);
+ * context.setApplicationStartup(startup);
+ * context.addApplicationListener(new StartupReportListener(startup));
+ * context.refresh();
+ * </pre>
+ *
+ * @since 5.3.37
+ * @see BufferedStartupReport
+ */
+public class StartupReportListener implements ApplicationListener<ContextRefreshedEvent> {
+
+	/** Name of the flame graph compatible file within the output directory. */
+	public static final String FOLDED_STACKS_FILE_NAME = "startup.folded";
+
+	/** Name of the summary file within the output directory. */
+	public static final String SUMMARY_FILE_NAME = "startup-summary.txt";
+
+	private static final Log logger = LogFactory.getLog(StartupReportListener.class);
+
+
+	private final BufferingApplicationStartup applicationStartup;
+
+	@Nullable
+	private File outputDirectory;
+
+	private int topSteps = 20;
+
+
+	/**
+	 * Create a new {@code StartupReportListener} for the given startup recorder.
+	 * @param applicationStartup the startup recorder to report on
+	 */
+	public StartupReportListener(BufferingApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "BufferingApplicationStartup must not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+
+	/**
+	 * Set the directory to write the report files to.
+	 * <p>Default is none, only logging the summary.
+	 * @see #FOLDED_STACKS_FILE_NAME
+	 * @see #SUMMARY_FILE_NAME
+	 */
+	public void setOutputDirectory(@Nullable File outputDirectory) {
+		this.outputDirectory = outputDirectory;
+	}
+
+	/**
+	 * Set the number of steps to include in the summary.
+	 * <p>Default is 20.
+	 */
+	public void setTopSteps(int topSteps) {
+		Assert.isTrue(topSteps > 0, "'topSteps' must be greater than 0");
+		this.topSteps = topSteps;
+	}
+
+
+	@Override
+	public void onApplicationEvent(ContextRefreshedEvent event) {
+		BufferedStartupReport report = new BufferedStartupReport(this.applicationStartup.getBufferedSteps());
+		if (logger.isInfoEnabled()) {
+			logger.info("Startup report for " + event.getApplicationContext().getDisplayName() + "\n" +
+					report.getSummary(this.topSteps));
+		}
+		if (this.outputDirectory != null) {
+			try {
+				writeReport(report, this.outputDirectory);
+			}
+			catch (IOException ex) {
+				logger.warn("Failed to write startup report to " + this.outputDirectory, ex);
+			}
+		}
+	}
+
+	private void writeReport(BufferedStartupReport report, File outputDirectory) throws IOException {
+		Files.createDirectories(outputDirectory.toPath());
+		try (Writer writer = Files.newBufferedWriter(
+				new File(outputDirectory, FOLDED_STACKS_FILE_NAME).toPath(), StandardCharsets.UTF_8)) {
+			report.writeFoldedStacks(writer);
+		}
+		try (Writer writer = Files.newBufferedWriter(
+				new File(outputDirectory, SUMMARY_FILE_NAME).toPath(), StandardCharsets.UTF_8)) {
+			report.writeSummary(writer, this.topSteps);
+		}
+	}
+
+}
@@ -0,0 +1,735 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
+import org.springframework.scheduling.support.SimpleTriggerContext;
+import org.springframework.scheduling.support.TaskUtils;
+import org.springframework.util.Assert;
+import org.springframework.util.ErrorHandler;
+
+/**
+ * {@link TaskScheduler} implementation based on a hashed timing wheel, for
+ * large numbers of short-lived, mostly cancelled timeouts such as heartbeats
+ * and request timeouts.
+ *
+ * <p>Scheduling and cancelling a task are constant-time operations that only
+ * append to a lock-free queue. In contrast, the binary heap behind a
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor} needs logarithmic
+ * time under a single lock. A dedicated timer thread advances the wheel once
+ * per {@link #setTickDuration tick}. It hands expired tasks to a pool of
+ * {@link #setPoolSize worker threads}, or to a given
+ * {@link #setTaskExecutor task executor}. Tasks therefore run up to one tick
+ * after their scheduled time, and never before it.
+ *
+ * <p>Periodic tasks never run concurrently with themselves: a fixed-rate task
+ * whose execution takes longer than its period runs again right after the
+ * previous execution, at the next tick. As with a
+ * {@link java.util.concurrent.ScheduledExecutorService}, an exception thrown
+ * from a task (after {@link #setErrorHandler error handling}) suppresses its
+ * subsequent executions and is exposed through its future.
+ *
+ * <p>This scheduler can replace a {@link ThreadPoolTaskScheduler}, for example
+ * for STOMP and SockJS heartbeats in the messaging and WebSocket modules.
+ *
+ * @since 5.3.37
+ * @see #setTickDuration
+ * @see #setTicksPerWheel
+ * @see ThreadPoolTaskScheduler
+ */
+@SuppressWarnings("serial")
+public class HashedWheelTaskScheduler extends ExecutorConfigurationSupport implements TaskScheduler {
+
+	private static final int MAX_TRANSFERS_PER_TICK = 100000;
+
+
+	private Duration tickDuration = Duration.ofMillis(10);
+
+	private int ticksPerWheel = 512;
+
+	private int poolSize = 1;
+
+	@Nullable
+	private Executor taskExecutor;
+
+	@Nullable
+	private volatile ErrorHandler errorHandler;
+
+	private Clock clock = Clock.systemDefaultZone();
+
+	@Nullable
+	private ThreadPoolExecutor threadPoolExecutor;
+
+	@Nullable
+	private Wheel wheel;
+
+
+	/**
+	 * Set the duration of a single tick of the timing wheel, i.e. the
+	 * precision at which tasks are triggered.
+	 * <p>Default is 10 milliseconds. The minimum is 1 millisecond.
+	 */
+	public void setTickDuration(Duration tickDuration) {
+		Assert.isTrue(tickDuration.toMillis() >= 1, "'tickDuration' must be at least 1 millisecond");
+		this.tickDuration = tickDuration;
+	}
+
+	/**
+	 * Set the number of slots in the timing wheel, rounded up to a power of two.
+	 * <p>Default is 512. Tasks further away than {@code tickDuration * ticksPerWheel}
+	 * stay in their slot for several rounds of the wheel, which is cheap but
+	 * visited once per round.
+	 */
+	public void setTicksPerWheel(int ticksPerWheel) {
+		Assert.isTrue(ticksPerWheel > 0 && ticksPerWheel <= (1 << 30), "'ticksPerWheel' must be between 1 and 2^30");
+		this.ticksPerWheel = ticksPerWheel;
+	}
+
+	/**
+	 * Set the number of worker threads executing expired tasks, in addition
+	 * to the timer thread. Default is 1.
+	 * <p>Ignored if a {@link #setTaskExecutor task executor} is specified.
+	 */
+	public void setPoolSize(int poolSize) {
+		Assert.isTrue(poolSize > 0, "'poolSize' must be 1 or higher");
+		this.poolSize = poolSize;
+	}
+
+	/**
+	 * Set an {@link Executor} to hand expired tasks to,
+	 * instead of the scheduler's own worker threads.
+	 * <p>The executor's lifecycle is not managed by this scheduler.
+	 */
+	public void setTaskExecutor(@Nullable Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Set a custom {@link ErrorHandler} strategy.
+	 */
+	public void setErrorHandler(ErrorHandler errorHandler) {
+		this.errorHandler = errorHandler;
+	}
+
+	/**
+	 * Set the clock to use for scheduling purposes.
+	 * <p>The default clock is the system clock for the default time zone.
+	 * @see Clock#systemDefaultZone()
+	 */
+	public void setClock(Clock clock) {
+		this.clock = clock;
+	}
+
+	@Override
+	public Clock getClock() {
+		return this.clock;
+	}
+
+
+	@Override
+	protected ExecutorService initializeExecutor(
+			ThreadFactory threadFactory, RejectedExecutionHandler rejectedExecutionHandler) {
+
+		int threads = (this.taskExecutor != null ? 1 : this.poolSize + 1);
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new LinkedBlockingQueue<>(), threadFactory, rejectedExecutionHandler);
+		Wheel wheel = new Wheel(executor, (this.taskExecutor != null ? this.taskExecutor : executor));
+		executor.execute(wheel);
+		this.threadPoolExecutor = executor;
+		this.wheel = wheel;
+		return executor;
+	}
+
+	/**
+	 * Return the underlying ThreadPoolExecutor, running the timer thread as
+	 * well as the worker threads (unless a task executor has been specified).
+	 * @throws IllegalStateException if the HashedWheelTaskScheduler hasn't been initialized yet
+	 */
+	public ThreadPoolExecutor getThreadPoolExecutor() throws IllegalStateException {
+		Assert.state(this.threadPoolExecutor != null, "HashedWheelTaskScheduler not initialized");
+		return this.threadPoolExecutor;
+	}
+
+	/**
+	 * Return the number of tasks currently waiting in the timing wheel.
+	 */
+	public int getScheduledTaskCount() {
+		Wheel wheel = this.wheel;
+		return (wheel != null ? wheel.size() : 0);
+	}
+
+	private Wheel getWheel() {
+		Wheel wheel = this.wheel;
+		Assert.state(wheel != null, "HashedWheelTaskScheduler not initialized");
+		if (wheel.timerExecutor.isShutdown()) {
+			throw new TaskRejectedException("HashedWheelTaskScheduler has been shut down");
+		}
+		return wheel;
+	}
+
+
+	// TaskScheduler implementation
+
+	@Override
+	@Nullable
+	public ScheduledFuture<?> schedule(Runnable task, Trigger trigger) {
+		Wheel wheel = getWheel();
+		ErrorHandler errorHandler = this.errorHandler;
+		if (errorHandler == null) {
+			errorHandler = TaskUtils.getDefaultErrorHandler(true);
+		}
+		WheelTask wheelTask = new WheelTask(wheel, TaskUtils.decorateTaskWithErrorHandler(task, errorHandler, true),
+				0, new TriggerState(trigger, this.clock));
+		return (wheelTask.scheduleNextExecution() ? wheelTask : null);
+	}
+
+	@Override
+	public ScheduledFuture<?> schedule(Runnable task, Date startTime) {
+		Wheel wheel = getWheel();
+		return wheel.schedule(new WheelTask(wheel, errorHandlingTask(task, false), 0, null), delayUntil(startTime));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, Date startTime, long period) {
+		return schedulePeriodic(task, delayUntil(startTime), TimeUnit.MILLISECONDS.toNanos(period));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long period) {
+		return schedulePeriodic(task, 0, TimeUnit.MILLISECONDS.toNanos(period));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, Date startTime, long delay) {
+		return schedulePeriodic(task, delayUntil(startTime), -TimeUnit.MILLISECONDS.toNanos(delay));
+	}
+
+	@Override
+	public ScheduledFuture<?> scheduleWithFixedDelay(Runnable task, long delay) {
+		return schedulePeriodic(task, 0, -TimeUnit.MILLISECONDS.toNanos(delay));
+	}
+
+	private ScheduledFuture<?> schedulePeriodic(Runnable task, long initialDelayNanos, long periodNanos) {
+		Assert.isTrue(periodNanos != 0, "Period must be greater than 0");
+		Wheel wheel = getWheel();
+		return wheel.schedule(new WheelTask(wheel, errorHandlingTask(task, true), periodNanos, null), initialDelayNanos);
+	}
+
+	private long delayUntil(Date startTime) {
+		return TimeUnit.MILLISECONDS.toNanos(startTime.getTime() - this.clock.millis());
+	}
+
+	private Runnable errorHandlingTask(Runnable task, boolean isRepeatingTask) {
+		return TaskUtils.decorateTaskWithErrorHandler(task, this.errorHandler, isRepeatingTask);
+	}
+
+
+	/**
+	 * The timing wheel, advanced by the timer thread. Only the timer thread
+	 * touches the buckets; other threads communicate through the queues.
+	 */
+	private final class Wheel implements Runnable {
+
+		final ExecutorService timerExecutor;
+
+		private final Executor workerExecutor;
+
+		private final long tickNanos;
+
+		private final Bucket[] buckets;
+
+		private final int mask;
+
+		private final long startNanos = System.nanoTime();
+
+		private final Queue<WheelTask> pendingTasks = new ConcurrentLinkedQueue<>();
+
+		private final Queue<WheelTask> cancelledTasks = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger size = new AtomicInteger();
+
+		private long tick;
+
+		Wheel(ExecutorService timerExecutor, Executor workerExecutor) {
+			this.timerExecutor = timerExecutor;
+			this.workerExecutor = workerExecutor;
+			this.tickNanos = tickDuration.toNanos();
+			int length = 1;
+			while (length < ticksPerWheel) {
+				length <<= 1;
+			}
+			this.buckets = new Bucket[length];
+			for (int i = 0; i < length; i++) {
+				this.buckets[i] = new Bucket();
+			}
+			this.mask = length - 1;
+		}
+
+		long now() {
+			return System.nanoTime() - this.startNanos;
+		}
+
+		int size() {
+			return this.size.get();
+		}
+
+		WheelTask schedule(WheelTask task, long delayNanos) {
+			task.deadline = now() + Math.max(delayNanos, 0);
+			this.size.incrementAndGet();
+			this.pendingTasks.add(task);
+			return task;
+		}
+
+		void cancelled(WheelTask task) {
+			this.cancelledTasks.add(task);
+		}
+
+		@Override
+		public void run() {
+			while (!this.timerExecutor.isShutdown()) {
+				long deadline = waitForNextTick();
+				if (deadline < 0) {
+					break;
+				}
+				Bucket bucket = this.buckets[(int) (this.tick & this.mask)];
+				removeCancelledTasks();
+				transferPendingTasks();
+				bucket.expireTasks(deadline);
+				this.tick++;
+			}
+			cancelRemainingTasks();
+		}
+
+		private long waitForNextTick() {
+			long deadline = this.tickNanos * (this.tick + 1);
+			while (true) {
+				long current = now();
+				long sleepMillis = (deadline - current + 999999) / 1000000;
+				if (sleepMillis <= 0) {
+					return current;
+				}
+				try {
+					Thread.sleep(sleepMillis);
+				}
+				catch (InterruptedException ex) {
+					if (this.timerExecutor.isShutdown()) {
+						return -1;
+					}
+				}
+			}
+		}
+
+		private void cancelRemainingTasks() {
+			for (Bucket bucket : this.buckets) {
+				WheelTask task;
+				while ((task = bucket.head) != null) {
+					bucket.remove(task);
+					task.cancel(false);
+				}
+			}
+			WheelTask task;
+			while ((task = this.pendingTasks.poll()) != null) {
+				task.cancel(false);
+			}
+			this.cancelledTasks.clear();
+			this.size.set(0);
+		}
+
+		private void removeCancelledTasks() {
+			WheelTask task;
+			while ((task = this.cancelledTasks.poll()) != null) {
+				if (task.bucket != null) {
+					task.bucket.remove(task);
+					this.size.decrementAndGet();
+				}
+			}
+		}
+
+		private void transferPendingTasks() {
+			for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+				WheelTask task = this.pendingTasks.poll();
+				if (task == null) {
+					break;
+				}
+				if (task.isCancelled()) {
+					this.size.decrementAndGet();
+					continue;
+				}
+				long expirationTick = task.deadline / this.tickNanos;
+				task.remainingRounds = (expirationTick - this.tick) / this.buckets.length;
+				this.buckets[(int) (Math.max(expirationTick, this.tick) & this.mask)].add(task);
+			}
+		}
+
+		void expire(WheelTask task) {
+			this.size.decrementAndGet();
+			if (task.markRunning()) {
+				try {
+					this.workerExecutor.execute(task);
+				}
+				catch (RejectedExecutionException ex) {
+					task.cancel(false);
+					if (!this.timerExecutor.isShutdown()) {
+						logger.warn("Executor did not accept task " + task.task, ex);
+					}
+				}
+			}
+		}
+
+		void reschedule(WheelTask task) {
+			this.size.incrementAndGet();
+			this.pendingTasks.add(task);
+		}
+	}
+
+
+	/**
+	 * A slot of the timing wheel: a doubly-linked list of tasks.
+	 */
+	private static final class Bucket {
+
+		@Nullable
+		private WheelTask head;
+
+		@Nullable
+		private WheelTask tail;
+
+		void add(WheelTask task) {
+			task.bucket = this;
+			if (this.tail == null) {
+				this.head = task;
+				this.tail = task;
+			}
+			else {
+				this.tail.next = task;
+				task.prev = this.tail;
+				this.tail = task;
+			}
+		}
+
+		void remove(WheelTask task) {
+			WheelTask next = task.next;
+			if (task.prev != null) {
+				task.prev.next = next;
+			}
+			if (task.next != null) {
+				task.next.prev = task.prev;
+			}
+			if (task == this.head) {
+				this.head = next;
+			}
+			if (task == this.tail) {
+				this.tail = task.prev;
+			}
+			task.prev = null;
+			task.next = null;
+			task.bucket = null;
+		}
+
+		void expireTasks(long deadline) {
+			WheelTask task = this.head;
+			while (task != null) {
+				WheelTask next = task.next;
+				if (task.remainingRounds <= 0) {
+					remove(task);
+					if (task.deadline <= deadline) {
+						task.wheel.expire(task);
+					}
+					else {
+						// Not due in this round after all - place it again
+						task.wheel.pendingTasks.add(task);
+					}
+				}
+				else {
+					task.remainingRounds--;
+				}
+				task = next;
+			}
+		}
+	}
+
+
+	/**
+	 * Trigger-based scheduling state for a {@link WheelTask}.
+	 */
+	private static final class TriggerState {
+
+		final Trigger trigger;
+
+		final SimpleTriggerContext triggerContext;
+
+		@Nullable
+		Date scheduledExecutionTime;
+
+		TriggerState(Trigger trigger, Clock clock) {
+			this.trigger = trigger;
+			this.triggerContext = new SimpleTriggerContext(clock);
+		}
+	}
+
+
+	/**
+	 * A task in the timing wheel, serving as its own {@link ScheduledFuture}.
+	 */
+	private static final class WheelTask implements ScheduledFuture<Object>, Runnable {
+
+		private static final int WAITING = 0;
+
+		private static final int RUNNING = 1;
+
+		private static final int DONE = 2;
+
+		private static final int CANCELLED = 3;
+
+		private static final AtomicIntegerFieldUpdater<WheelTask> STATE_UPDATER =
+				AtomicIntegerFieldUpdater.newUpdater(WheelTask.class, "state");
+
+		final Wheel wheel;
+
+		final Runnable task;
+
+		// > 0: fixed rate, < 0: fixed delay, 0: one-time or trigger-based
+		private final long period;
+
+		@Nullable
+		private final TriggerState triggerState;
+
+		private volatile int state = WAITING;
+
+		@Nullable
+		private volatile Throwable failure;
+
+		// Relative to the wheel's start time, in nanoseconds
+		volatile long deadline;
+
+		// Only accessed by the timer thread
+		long remainingRounds;
+
+		@Nullable
+		Bucket bucket;
+
+		@Nullable
+		WheelTask prev;
+
+		@Nullable
+		WheelTask next;
+
+		WheelTask(Wheel wheel, Runnable task, long period, @Nullable TriggerState triggerState) {
+			this.wheel = wheel;
+			this.task = task;
+			this.period = period;
+			this.triggerState = triggerState;
+		}
+
+		boolean scheduleNextExecution() {
+			TriggerState triggerState = this.triggerState;
+			Assert.state(triggerState != null, "No trigger");
+			Date nextExecutionTime = triggerState.trigger.nextExecutionTime(triggerState.triggerContext);
+			triggerState.scheduledExecutionTime = nextExecutionTime;
+			if (nextExecutionTime == null) {
+				return false;
+			}
+			long delay = nextExecutionTime.getTime() - triggerState.triggerContext.getClock().millis();
+			this.wheel.schedule(this, TimeUnit.MILLISECONDS.toNanos(delay));
+			return true;
+		}
+
+		boolean markRunning() {
+			return STATE_UPDATER.compareAndSet(this, WAITING, RUNNING);
+		}
+
+		@Override
+		public void run() {
+			if (this.state != RUNNING) {
+				return;
+			}
+			TriggerState triggerState = this.triggerState;
+			Date actualExecutionTime = null;
+			if (triggerState != null) {
+				actualExecutionTime = new Date(triggerState.triggerContext.getClock().millis());
+			}
+			try {
+				this.task.run();
+			}
+			catch (Throwable ex) {
+				this.failure = ex;
+				complete(DONE);
+				return;
+			}
+			if (triggerState != null) {
+				Date completionTime = new Date(triggerState.triggerContext.getClock().millis());
+				Assert.state(triggerState.scheduledExecutionTime != null, "No scheduled execution");
+				triggerState.triggerContext.update(
+						triggerState.scheduledExecutionTime, actualExecutionTime, completionTime);
+				rescheduleOrComplete();
+			}
+			else if (this.period != 0) {
+				rescheduleOrComplete();
+			}
+			else {
+				complete(DONE);
+			}
+		}
+
+		private void rescheduleOrComplete() {
+			TriggerState triggerState = this.triggerState;
+			if (triggerState != null) {
+				Date nextExecutionTime = triggerState.trigger.nextExecutionTime(triggerState.triggerContext);
+				triggerState.scheduledExecutionTime = nextExecutionTime;
+				if (nextExecutionTime == null) {
+					complete(DONE);
+					return;
+				}
+				long delay = nextExecutionTime.getTime() - triggerState.triggerContext.getClock().millis();
+				this.deadline = this.wheel.now() + Math.max(TimeUnit.MILLISECONDS.toNanos(delay), 0);
+			}
+			else if (this.period > 0) {
+				this.deadline += this.period;
+			}
+			else {
+				this.deadline = this.wheel.now() - this.period;
+			}
+			if (STATE_UPDATER.compareAndSet(this, RUNNING, WAITING)) {
+				this.wheel.reschedule(this);
+			}
+		}
+
+		private void complete(int finalState) {
+			if (STATE_UPDATER.compareAndSet(this, RUNNING, finalState)) {
+				synchronized (this) {
+					notifyAll();
+				}
+			}
+		}
+
+		@Override
+		public boolean cancel(boolean mayInterruptIfRunning) {
+			while (true) {
+				int currentState = this.state;
+				if (currentState == DONE || currentState == CANCELLED) {
+					return false;
+				}
+				if (STATE_UPDATER.compareAndSet(this, currentState, CANCELLED)) {
+					if (currentState == WAITING) {
+						this.wheel.cancelled(this);
+					}
+					synchronized (this) {
+						notifyAll();
+					}
+					return true;
+				}
+			}
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return (this.state == CANCELLED);
+		}
+
+		@Override
+		public boolean isDone() {
+			int currentState = this.state;
+			return (currentState == DONE || currentState == CANCELLED);
+		}
+
+		@Override
+		@Nullable
+		public Object get() throws InterruptedException, ExecutionException {
+			synchronized (this) {
+				while (!isDone()) {
+					wait();
+				}
+			}
+			return result();
+		}
+
+		@Override
+		@Nullable
+		public Object get(long timeout, TimeUnit unit)
+				throws InterruptedException, ExecutionException, TimeoutException {
+
+			long remaining = unit.toNanos(timeout);
+			long end = System.nanoTime() + remaining;
+			synchronized (this) {
+				while (!isDone()) {
+					if (remaining <= 0) {
+						throw new TimeoutException();
+					}
+					TimeUnit.NANOSECONDS.timedWait(this, remaining);
+					remaining = end - System.nanoTime();
+				}
+			}
+			return result();
+		}
+
+		@Nullable
+		private Object result() throws ExecutionException {
+			if (isCancelled()) {
+				throw new CancellationException();
+			}
+			Throwable failure = this.failure;
+			if (failure != null) {
+				throw new ExecutionException(failure);
+			}
+			return null;
+		}
+
+		@Override
+		public long getDelay(TimeUnit unit) {
+			return unit.convert(this.deadline - this.wheel.now(), TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public int compareTo(Delayed other) {
+			if (this == other) {
+				return 0;
+			}
+			long diff = getDelay(TimeUnit.NANOSECONDS) - other.getDelay(TimeUnit.NANOSECONDS);
+			return (diff == 0 ? 0 : ((diff < 0) ? -1 : 1));
+		}
+
+		@Override
+		public String toString() {
+			return "WheelTask for " + this.task;
+		}
+	}
+
+}
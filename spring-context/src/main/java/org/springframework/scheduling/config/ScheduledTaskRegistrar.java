@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,7 @@ import java.util.concurrent.ScheduledExecutorService;
 
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.Trigger;
@@ -352,11 +353,17 @@ public class ScheduledTaskRegistrar implements ScheduledTaskHolder, Initializing
 	/**
 	 * Schedule all registered tasks against the underlying
 	 * {@linkplain #setTaskScheduler(TaskScheduler) task scheduler}.
+	 * <p>Without a task scheduler, a local single-threaded scheduler is used,
+	 * running on a virtual thread if
+	 * {@linkplain VirtualThreadTaskExecutor#isEnabledByDefault() enabled}.
 	 */
 	@SuppressWarnings("deprecation")
 	protected void scheduleTasks() {
 		if (this.taskScheduler == null) {
-			this.localExecutor = Executors.newSingleThreadScheduledExecutor();
+			this.localExecutor = (VirtualThreadTaskExecutor.isEnabledByDefault() ?
+					Executors.newSingleThreadScheduledExecutor(
+							new VirtualThreadTaskExecutor("scheduling-").getVirtualThreadFactory()) :
+					Executors.newSingleThreadScheduledExecutor());
 			this.taskScheduler = new ConcurrentTaskScheduler(this.localExecutor);
 		}
 		if (this.triggerTasks != null) {
@@ -809,6 +809,28 @@ public abstract class AbstractAopProxyTests {
 		assertThat(advised.getAdvisors().length).isEqualTo(0);
 	}
 
+	@Test
+	public void testFrozenBeforeProxyCreation() throws Throwable {
+		TestBean target = new TestBean();
+		target.setAge(21);
+		ProxyFactory pc = new ProxyFactory(target);
+		NopInterceptor di = new NopInterceptor();
+		pc.addAdvice(di);
+		pc.setFrozen(true);
+		ITestBean proxied = (ITestBean) createProxy(pc);
+		assertThat(proxied.getAge()).isEqualTo(21);
+		assertThat(proxied.getAge()).isEqualTo(21);
+		assertThat(di.getCount()).isEqualTo(2);
+
+		pc.setFrozen(false);
+		NopInterceptor di2 = new NopInterceptor();
+		pc.addAdvice(di2);
+		ITestBean reproxied = (ITestBean) createProxy(pc);
+		assertThat(reproxied.getAge()).isEqualTo(21);
+		assertThat(di.getCount()).isEqualTo(3);
+		assertThat(di2.getCount()).isEqualTo(1);
+	}
+
 	@Test
 	public void testUseAsHashKey() {
 		TestBean target1 = new TestBean();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import org.junit.jupiter.api.Test;
 
 import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
 import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.testfixture.interceptor.NopInterceptor;
 import org.springframework.beans.testfixture.beans.IOther;
 import org.springframework.beans.testfixture.beans.ITestBean;
 import org.springframework.beans.testfixture.beans.TestBean;
@@ -140,6 +141,35 @@ public class JdkDynamicProxyTests extends AbstractAopProxyTests implements Seria
 		assertThat(named.hashCode()).isEqualTo(proxy.hashCode());
 	}
 
+	@Test
+	public void testRefreezeAfterAddingAdvice() {
+		TestBean target = new TestBean();
+		target.setAge(21);
+		ProxyFactory pf = new ProxyFactory(target);
+		pf.setInterfaces(ITestBean.class);
+		NopInterceptor di = new NopInterceptor();
+		pf.addAdvice(di);
+		pf.setFrozen(true);
+		ITestBean proxy = (ITestBean) new JdkDynamicAopProxy(pf).getProxy();
+		assertThat(proxy.getAge()).isEqualTo(21);
+		assertThat(di.getCount()).isEqualTo(1);
+
+		pf.setFrozen(false);
+		NopInterceptor di2 = new NopInterceptor();
+		pf.addAdvice(di2);
+		pf.setFrozen(true);
+		assertThat(proxy.getAge()).isEqualTo(21);
+		assertThat(di.getCount()).isEqualTo(2);
+		assertThat(di2.getCount()).isEqualTo(1);
+
+		pf.setFrozen(false);
+		pf.removeAdvice(di);
+		pf.setFrozen(true);
+		assertThat(proxy.getAge()).isEqualTo(21);
+		assertThat(di.getCount()).isEqualTo(2);
+		assertThat(di2.getCount()).isEqualTo(2);
+	}
+
 	@Test  // SPR-13328
 	@SuppressWarnings("unchecked")
 	public void testVarargsWithEnumArray() {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,14 @@
 package org.springframework.context.event;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.aopalliance.intercept.MethodInvocation;
 import org.junit.jupiter.api.Test;
@@ -48,10 +53,13 @@ import org.springframework.context.testfixture.beans.BeanThatListens;
 import org.springframework.core.Ordered;
 import org.springframework.core.ResolvableType;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.support.TaskUtils;
 import org.springframework.util.ReflectionUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatRuntimeException;
 import static org.mockito.ArgumentMatchers.isA;
 import static org.mockito.BDDMockito.given;
@@ -180,6 +188,238 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		smc.multicastEvent(evt);
 	}
 
+	@Test
+	public void queuedMulticasterWithDropPolicy() {
+		List<Runnable> tasks = new ArrayList<>();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.setListenerQueueCapacity(3);
+		smc.setOverflowPolicy(SimpleApplicationEventMulticaster.OverflowPolicy.DROP);
+		MyOrderedListener1 listener = new MyOrderedListener1();
+		smc.addApplicationListener(listener);
+
+		List<MyEvent> events = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			MyEvent event = new MyEvent(this);
+			events.add(event);
+			smc.multicastEvent(event);
+		}
+		assertThat(tasks).hasSize(1);
+		assertThat(smc.getQueuedEventCount()).isEqualTo(3);
+		assertThat(smc.getQueuedEventCount(listener)).isEqualTo(3);
+		assertThat(smc.getDroppedEventCount()).isEqualTo(2);
+
+		tasks.remove(0).run();
+		assertThat(listener.seenEvents).containsExactlyElementsOf(events.subList(0, 3));
+		assertThat(smc.getQueuedEventCount()).isEqualTo(0);
+		assertThat(tasks).isEmpty();
+	}
+
+	@Test
+	public void queuedMulticasterWithCallerRunsPolicy() {
+		List<Runnable> tasks = new ArrayList<>();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.setListenerQueueCapacity(1);
+		smc.setOverflowPolicy(SimpleApplicationEventMulticaster.OverflowPolicy.CALLER_RUNS);
+		MyOrderedListener1 listener = new MyOrderedListener1();
+		smc.addApplicationListener(listener);
+
+		MyEvent event1 = new MyEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		smc.multicastEvent(event1);
+		smc.multicastEvent(event2);
+		assertThat(listener.seenEvents).containsExactly(event2);
+
+		tasks.remove(0).run();
+		assertThat(listener.seenEvents).containsExactly(event2, event1);
+	}
+
+	@Test
+	public void queuedMulticasterWithBatchListener() {
+		List<Runnable> tasks = new ArrayList<>();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(tasks::add);
+		smc.setListenerQueueCapacity(10);
+		smc.setListenerBatchSize(2);
+		List<List<MyEvent>> batches = new ArrayList<>();
+		smc.addApplicationListener((BatchApplicationListener<MyEvent>) events -> batches.add(new ArrayList<>(events)));
+
+		MyEvent event1 = new MyEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		MyEvent event3 = new MyEvent(this);
+		smc.multicastEvent(event1);
+		smc.multicastEvent(event2);
+		smc.multicastEvent(event3);
+		while (!tasks.isEmpty()) {
+			tasks.remove(0).run();
+		}
+		assertThat(batches).containsExactly(Arrays.asList(event1, event2), Collections.singletonList(event3));
+	}
+
+	@Test
+	public void queuedMulticasterWithRejectingExecutor() {
+		AtomicBoolean rejecting = new AtomicBoolean();
+		List<Runnable> tasks = new ArrayList<>();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(task -> {
+			if (rejecting.get()) {
+				throw new TaskRejectedException("Executor shut down");
+			}
+			tasks.add(task);
+		});
+		smc.setListenerQueueCapacity(2);
+		smc.setListenerBatchSize(1);
+		MyOrderedListener1 listener = new MyOrderedListener1();
+		smc.addApplicationListener(listener);
+
+		// Rejected drain task for a new event -> event not queued
+		rejecting.set(true);
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() -> smc.multicastEvent(new MyEvent(this)));
+		assertThat(smc.getQueuedEventCount()).isEqualTo(0);
+
+		// Rejected follow-up drain task -> remaining event stays queued
+		rejecting.set(false);
+		MyEvent event1 = new MyEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		smc.multicastEvent(event1);
+		smc.multicastEvent(event2);
+		assertThat(tasks).hasSize(1);
+		rejecting.set(true);
+		assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() -> tasks.remove(0).run());
+		assertThat(listener.seenEvents).containsExactly(event1);
+		assertThat(smc.getQueuedEventCount()).isEqualTo(1);
+
+		// Next event schedules a new drain task for the remaining event
+		rejecting.set(false);
+		MyEvent event3 = new MyEvent(this);
+		smc.multicastEvent(event3);
+		while (!tasks.isEmpty()) {
+			tasks.remove(0).run();
+		}
+		assertThat(listener.seenEvents).containsExactly(event1, event2, event3);
+		assertThat(smc.getQueuedEventCount()).isEqualTo(0);
+	}
+
+	@Test
+	public void queuedMulticasterRetriesRejectedDrainBeforeBlocking() throws Exception {
+		AtomicBoolean rejecting = new AtomicBoolean();
+		CountDownLatch rejected = new CountDownLatch(1);
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(task -> {
+			if (rejecting.get()) {
+				rejected.countDown();
+				throw new TaskRejectedException("Executor busy");
+			}
+			new Thread(task).start();
+		});
+		smc.setListenerQueueCapacity(1);
+		MyEvent event1 = new MyEvent(this);
+		MyEvent event2 = new MyEvent(this);
+		MyEvent event3 = new MyEvent(this);
+		List<ApplicationEvent> seenEvents = Collections.synchronizedList(new ArrayList<>());
+		CountDownLatch latch = new CountDownLatch(3);
+		smc.addApplicationListener(event -> {
+			seenEvents.add(event);
+			if (event == event1) {
+				// Fill the queue, then reject the drain task for it
+				smc.multicastEvent(event2);
+				rejecting.set(true);
+			}
+			latch.countDown();
+		});
+
+		smc.multicastEvent(event1);
+		assertThat(rejected.await(10, TimeUnit.SECONDS)).isTrue();
+		rejecting.set(false);
+		// Queue is full without a drain task -> has to schedule one rather than wait
+		smc.multicastEvent(event3);
+		assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(seenEvents).containsExactly(event1, event2, event3);
+	}
+
+	@Test
+	public void queuedMulticasterPreservesOrderPerListener() throws Exception {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(4);
+		executor.initialize();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.setTaskExecutor(executor);
+		smc.setListenerQueueCapacity(16);
+		CountDownLatch latch = new CountDownLatch(4 * 500);
+		List<List<ApplicationEvent>> seenEvents = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			List<ApplicationEvent> seen = new ArrayList<>();
+			seenEvents.add(seen);
+			smc.addApplicationListener(event -> {
+				seen.add(event);
+				latch.countDown();
+			});
+		}
+
+		List<MyEvent> events = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			MyEvent event = new MyEvent(this);
+			events.add(event);
+			smc.multicastEvent(event);
+		}
+		try {
+			assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+			for (List<ApplicationEvent> seen : seenEvents) {
+				assertThat(seen).containsExactlyElementsOf(events);
+			}
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void listenerRegistrationUpdatesCachedRetrievers() {
+		MyOrderedListener3 listener3 = new MyOrderedListener3();
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		smc.addApplicationListener(listener3);
+		MyEvent event = new MyEvent(this);
+		MyOtherEvent otherEvent = new MyOtherEvent(this);
+		smc.multicastEvent(event);
+		smc.multicastEvent(otherEvent);
+		assertThat(smc.retrieverCache).hasSize(2);
+
+		MyOrderedListener1 listener1 = new MyOrderedListener1();
+		MyOrderedListener4 listener4 = new MyOrderedListener4(listener3);
+		smc.addApplicationListener(listener4);
+		smc.addApplicationListener(listener1);
+		assertThat(smc.retrieverCache).hasSize(2);
+		assertThat(smc.getApplicationListeners(event, ResolvableType.forInstance(event)))
+				.containsExactly(listener1, listener3, listener4);
+		assertThat(smc.getApplicationListeners(otherEvent, ResolvableType.forInstance(otherEvent)))
+				.containsExactly(listener1, listener3);
+
+		smc.multicastEvent(event);
+		assertThat(listener1.seenEvents).containsExactly(event);
+
+		smc.removeApplicationListener(listener1);
+		smc.removeApplicationListeners(listener -> listener == listener4);
+		assertThat(smc.retrieverCache).hasSize(2);
+		assertThat(smc.getApplicationListeners(event, ResolvableType.forInstance(event))).containsExactly(listener3);
+		assertThat(smc.getApplicationListeners(otherEvent, ResolvableType.forInstance(otherEvent)))
+				.containsExactly(listener3);
+	}
+
+	@Test
+	public void indexedListenersWithPayloadEvents() {
+		SimpleApplicationEventMulticaster smc = new SimpleApplicationEventMulticaster();
+		MyPayloadListener payloadListener = new MyPayloadListener();
+		MyOrderedListener4 listener4 = new MyOrderedListener4(new MyOrderedListener3());
+		smc.addApplicationListener(payloadListener);
+		smc.addApplicationListener(listener4);
+
+		PayloadApplicationEvent<String> event = new PayloadApplicationEvent<>(this, "payload");
+		smc.multicastEvent(event);
+		assertThat(payloadListener.seenPayloads).containsExactly("payload");
+		assertThat(smc.getApplicationListeners(event, event.getResolvableType())).containsExactly(payloadListener);
+	}
+
 	@Test
 	public void orderedListeners() {
 		MyOrderedListener1 listener1 = new MyOrderedListener1();
@@ -298,7 +538,8 @@ public class ApplicationContextEventTests extends AbstractApplicationEventListen
 		assertThat(listener1.seenEvents.contains(event4)).isTrue();
 
 		AbstractApplicationEventMulticaster multicaster = context.getBean(AbstractApplicationEventMulticaster.class);
-		assertThat(multicaster.retrieverCache.size()).isEqualTo(2);
+		// Retrievers for earlier event types are updated rather than discarded by the lazy listener2 registration
+		assertThat(multicaster.retrieverCache.size()).isEqualTo(3);
 
 		context.close();
 	}
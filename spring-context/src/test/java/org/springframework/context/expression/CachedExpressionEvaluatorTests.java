@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.ReflectionUtils;
 
@@ -67,6 +68,36 @@ public class CachedExpressionEvaluatorTests {
 		assertThat(expressionEvaluator.testCache.size()).as("Cached expression should be based on type").isEqualTo(2);
 	}
 
+	@Test
+	public void defaultParserSharesExpressionsAcrossElements() {
+		DefaultExpressionEvaluator evaluator = new DefaultExpressionEvaluator();
+		Method toString = ReflectionUtils.findMethod(getClass(), "toString");
+		Method hashCode = ReflectionUtils.findMethod(getClass(), "hashCode");
+
+		Expression expression = evaluator.getTestExpression("1 + 1", toString, getClass());
+		assertThat(evaluator.getTestExpression("1 + 1", hashCode, getClass())).isSameAs(expression);
+		assertThat(evaluator.testCache).isEmpty();
+
+		SpelExpressionCache expressionCache = evaluator.getParser().getExpressionCache();
+		assertThat(expressionCache).isNotNull();
+		assertThat(expressionCache.getMissCount()).isEqualTo(1);
+		assertThat(expressionCache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void parserWithExpressionCacheIsUsedForLookups() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		parser.setExpressionCacheLimit(1);
+		DefaultExpressionEvaluator evaluator = new DefaultExpressionEvaluator(parser);
+		Method method = ReflectionUtils.findMethod(getClass(), "toString");
+
+		Expression expression = evaluator.getTestExpression("true", method, getClass());
+		assertThat(evaluator.getTestExpression("true", method, Object.class)).isSameAs(expression);
+		evaluator.getTestExpression("false", method, getClass());
+		assertThat(evaluator.getTestExpression("true", method, getClass())).isNotSameAs(expression);
+		assertThat(parser.getExpressionCache().size()).isEqualTo(1);
+	}
+
 	private void hasParsedExpression(String expression) {
 		verify(expressionEvaluator.getParser(), times(1)).parseExpression(expression);
 	}
@@ -89,4 +120,20 @@ public class CachedExpressionEvaluatorTests {
 		}
 	}
 
+	private static class DefaultExpressionEvaluator extends CachedExpressionEvaluator {
+
+		private final Map<ExpressionKey, Expression> testCache = new ConcurrentHashMap<>();
+
+		DefaultExpressionEvaluator() {
+		}
+
+		DefaultExpressionEvaluator(SpelExpressionParser parser) {
+			super(parser);
+		}
+
+		Expression getTestExpression(String expression, Method method, Class<?> type) {
+			return getExpression(this.testCache, new AnnotatedElementKey(method, type), expression);
+		}
+	}
+
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.expression;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.beans.factory.config.BeanExpressionContext;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.expression.spel.standard.SpelExpressionCache;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StandardBeanExpressionResolver}.
+ */
+class StandardBeanExpressionResolverTests {
+
+	private final BeanExpressionContext context = new BeanExpressionContext(new DefaultListableBeanFactory(), null);
+
+
+	@Test
+	void expressionCacheOfParserIsUsed() {
+		SpelExpressionParser parser = new SpelExpressionParser();
+		parser.setExpressionCacheLimit(16);
+		StandardBeanExpressionResolver resolver = new StandardBeanExpressionResolver();
+		resolver.setExpressionParser(parser);
+
+		assertThat(resolver.evaluate("#{1 + 2}", this.context)).isEqualTo(3);
+		assertThat(resolver.evaluate("#{1 + 2}", this.context)).isEqualTo(3);
+		SpelExpressionCache expressionCache = parser.getExpressionCache();
+		assertThat(expressionCache.getMissCount()).isEqualTo(1);
+		assertThat(expressionCache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void expressionPrefixChangeIsRespected() {
+		StandardBeanExpressionResolver resolver = new StandardBeanExpressionResolver();
+		assertThat(resolver.evaluate("#{1 + 2}", this.context)).isEqualTo(3);
+
+		resolver.setExpressionPrefix("${");
+		assertThat(resolver.evaluate("#{1 + 2}", this.context)).isEqualTo("#{1 + 2}");
+		assertThat(resolver.evaluate("${1 + 2}", this.context)).isEqualTo(3);
+	}
+
+	@Test
+	void parserWithoutExpressionCache() {
+		StandardBeanExpressionResolver resolver = new StandardBeanExpressionResolver();
+		resolver.setExpressionParser(new SpelExpressionParser());
+		assertThat(resolver.evaluate("#{'a' + 'b'}", this.context)).isEqualTo("ab");
+		assertThat(resolver.evaluate("#{'a' + 'b'}", this.context)).isEqualTo("ab");
+	}
+
+}
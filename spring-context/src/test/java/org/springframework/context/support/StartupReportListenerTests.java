@@ -0,0 +1,99 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.context.support;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StartupReportListener}.
+ */
+class StartupReportListenerTests {
+
+	@Test
+	void writesReportOnRefresh(@TempDir Path tempDir) throws Exception {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(1000);
+		StartupReportListener listener = new StartupReportListener(startup);
+		File outputDirectory = tempDir.resolve("report").toFile();
+		listener.setOutputDirectory(outputDirectory);
+		listener.setTopSteps(5);
+
+		AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+		context.setApplicationStartup(startup);
+		context.addApplicationListener(listener);
+		context.register(ReportConfig.class);
+		context.refresh();
+
+		assertThat(startup.getBufferedSteps()).extracting(StartupStep::getName).contains(
+				"spring.context.config-classes.parse.class", "spring.context.conditions.evaluate",
+				"spring.beans.instantiate", "spring.beans.post-process.after-initialization");
+
+		String foldedStacks = new String(Files.readAllBytes(
+				new File(outputDirectory, StartupReportListener.FOLDED_STACKS_FILE_NAME).toPath()),
+				StandardCharsets.UTF_8);
+		assertThat(foldedStacks).contains("spring.context.refresh;");
+		assertThat(foldedStacks).contains("spring.beans.instantiate[myBean]");
+		String summary = new String(Files.readAllBytes(
+				new File(outputDirectory, StartupReportListener.SUMMARY_FILE_NAME).toPath()),
+				StandardCharsets.UTF_8);
+		assertThat(summary).startsWith("Top 5 of ");
+		context.close();
+	}
+
+
+	@Configuration
+	static class ReportConfig {
+
+		@Bean
+		String myBean() {
+			return "myBean";
+		}
+
+		@Bean
+		@Conditional(NeverMatchingCondition.class)
+		String skippedBean() {
+			return "skippedBean";
+		}
+	}
+
+
+	static class NeverMatchingCondition implements Condition {
+
+		@Override
+		public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.scheduling.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.Trigger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link HashedWheelTaskScheduler}.
+ */
+class HashedWheelTaskSchedulerTests {
+
+	private final HashedWheelTaskScheduler scheduler = new HashedWheelTaskScheduler();
+
+
+	@BeforeEach
+	void setup() {
+		this.scheduler.setThreadNamePrefix("wheel-");
+		this.scheduler.setTickDuration(Duration.ofMillis(1));
+		this.scheduler.setTicksPerWheel(64);
+		this.scheduler.setPoolSize(2);
+		this.scheduler.afterPropertiesSet();
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.scheduler.destroy();
+	}
+
+
+	@Test
+	void scheduleOneTimeTask() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		ScheduledFuture<?> future = this.scheduler.schedule(count::incrementAndGet, new Date());
+		assertThat(future.get(1000, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(future.isDone()).isTrue();
+		assertThat(count.get()).isEqualTo(1);
+	}
+
+	@Test
+	void scheduleDelayedTaskNotBeforeStartTime() throws Exception {
+		long startTime = System.currentTimeMillis() + 150;
+		List<Long> executionTimes = new ArrayList<>();
+		ScheduledFuture<?> future = this.scheduler.schedule(
+				() -> executionTimes.add(System.currentTimeMillis()), new Date(startTime));
+		assertThat(future.getDelay(TimeUnit.MILLISECONDS)).isGreaterThan(0);
+		future.get(1000, TimeUnit.MILLISECONDS);
+		assertThat(executionTimes).hasSize(1);
+		assertThat(executionTimes.get(0)).isGreaterThanOrEqualTo(startTime - 1);
+	}
+
+	@Test
+	void scheduleOneTimeFailingTaskWithoutErrorHandler() {
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("failed");
+		}, new Date());
+		assertThatExceptionOfType(ExecutionException.class)
+				.isThrownBy(() -> future.get(1000, TimeUnit.MILLISECONDS))
+				.withCauseInstanceOf(IllegalStateException.class);
+		assertThat(future.isDone()).isTrue();
+	}
+
+	@Test
+	void scheduleOneTimeFailingTaskWithErrorHandler() throws Exception {
+		List<Throwable> errors = new ArrayList<>();
+		this.scheduler.setErrorHandler(errors::add);
+		ScheduledFuture<?> future = this.scheduler.schedule(() -> {
+			throw new IllegalStateException("failed");
+		}, new Date());
+		assertThat(future.get(1000, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(errors).hasSize(1);
+	}
+
+	@Test
+	void scheduleAtFixedRate() throws Exception {
+		CountDownLatch latch = new CountDownLatch(5);
+		ScheduledFuture<?> future = this.scheduler.scheduleAtFixedRate(latch::countDown, Duration.ofMillis(5));
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		assertThat(future.isDone()).isFalse();
+		assertThat(future.cancel(false)).isTrue();
+		assertThat(future.isCancelled()).isTrue();
+		assertThat(future.isDone()).isTrue();
+	}
+
+	@Test
+	void scheduleWithFixedDelay() throws Exception {
+		CountDownLatch latch = new CountDownLatch(3);
+		ScheduledFuture<?> future = this.scheduler.scheduleWithFixedDelay(latch::countDown, Duration.ofMillis(5));
+		assertThat(latch.await(1000, TimeUnit.MILLISECONDS)).isTrue();
+		future.cancel(false);
+	}
+
+	@Test
+	void scheduleTriggerTask() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		Trigger trigger = triggerContext -> (count.get() < 3 ? new Date() : null);
+		ScheduledFuture<?> future = this.scheduler.schedule(count::incrementAndGet, trigger);
+		assertThat(future).isNotNull();
+		assertThat(future.get(1000, TimeUnit.MILLISECONDS)).isNull();
+		assertThat(count.get()).isEqualTo(3);
+	}
+
+	@Test
+	void cancelledTasksAreNotExecuted() throws Exception {
+		AtomicInteger count = new AtomicInteger();
+		List<ScheduledFuture<?>> futures = new ArrayList<>();
+		for (int i = 0; i < 10000; i++) {
+			futures.add(this.scheduler.schedule(count::incrementAndGet, new Date(System.currentTimeMillis() + 100 + i % 50)));
+		}
+		assertThat(this.scheduler.getScheduledTaskCount()).isEqualTo(10000);
+		for (ScheduledFuture<?> future : futures) {
+			assertThat(future.cancel(false)).isTrue();
+		}
+		ScheduledFuture<?> last = this.scheduler.schedule(count::incrementAndGet, new Date(System.currentTimeMillis() + 200));
+		last.get(1000, TimeUnit.MILLISECONDS);
+		assertThat(count.get()).isEqualTo(1);
+		assertThat(this.scheduler.getScheduledTaskCount()).isEqualTo(0);
+	}
+
+	@Test
+	void rejectsTasksAfterShutdown() {
+		this.scheduler.shutdown();
+		assertThatExceptionOfType(TaskRejectedException.class)
+				.isThrownBy(() -> this.scheduler.schedule(() -> {}, new Date()));
+	}
+
+}
@@ -194,6 +194,16 @@ abstract public class AbstractClassGenerator<T> implements ClassGenerator {
 	public void setContextClass(Class contextClass) {
 		this.contextClass = contextClass;
 	}
+
+	/**
+	 * Whether the key of this generator has a value-based identity which is
+	 * stable across JVM runs, i.e. does not depend on identity hash codes or on
+	 * object creation order. This is a precondition for storing generated classes
+	 * in a {@link GeneratedClassCache}. Default is <code>false</code>.
+	 */
+	protected boolean hasStableKey() {
+		return false;
+	}
 	// SPRING PATCH END
 
 	/**
@@ -355,7 +365,12 @@ abstract public class AbstractClassGenerator<T> implements ClassGenerator {
 					// ignore
 				}
 			}
-			byte[] b = strategy.generate(this);
+			// SPRING PATCH BEGIN
+			GeneratedClassCache classCache = GeneratedClassCache.getSharedInstance();
+			byte[] b = (classCache != null && key != null && contextClass != null && hasStableKey() ?
+					classCache.getClassBytes(getClassName(), key, contextClass, this, strategy) :
+					strategy.generate(this));
+			// SPRING PATCH END
 			String className = ClassNameReader.getClassName(new ClassReader(b));
 			ProtectionDomain protectionDomain = getProtectionDomain();
 			synchronized (classLoader) { // just in case
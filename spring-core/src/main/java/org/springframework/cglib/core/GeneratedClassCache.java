@@ -0,0 +1,296 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cglib.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.asm.ClassReader;
+import org.springframework.core.SpringProperties;
+import org.springframework.core.SpringVersion;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.StringUtils;
+
+/**
+ * Persistent cache for the bytes of CGLIB-generated classes, allowing for the
+ * ASM-based generation step to be skipped on subsequent starts of the same
+ * application, e.g. for {@code @Configuration} class enhancement.
+ *
+ * <p>Activated through the {@link #CACHE_DIRECTORY_PROPERTY_NAME} system property,
+ * pointing to a writable directory which gets populated on first use. This can
+ * happen on a regular start of the application or in a build step which starts
+ * the application context once. The directory needs to be as trustworthy as the
+ * application's class path since its content gets defined as classes.
+ *
+ * <p>Only used for generators whose key has a value-based identity which is
+ * stable across JVM runs: see {@link AbstractClassGenerator#hasStableKey()}.
+ * For an {@code Enhancer}, this means that its callback filter needs to
+ * implement {@link ValueBasedKey}. Cache entries are keyed by the generated class
+ * name, the generator key and a digest of the class files of the source class
+ * hierarchy, as well as the Spring and Java versions. Changes to any of them
+ * simply lead to a new entry being generated, with outdated entries remaining
+ * in the directory until it gets cleared.
+ *
+ * <p>Each entry carries a SHA-256 digest over its fingerprint and class bytes,
+ * which is verified along with the contained class name before the bytes are
+ * returned. Entries failing verification get regenerated.
+ *
+ * @since 5.3.37
+ * @see AbstractClassGenerator
+ */
+public final class GeneratedClassCache {
+
+	/**
+	 * System property that specifies the directory to keep generated class bytes in:
+	 * "spring.cglib.cache.dir". Not set by default, generating classes on every start.
+	 */
+	public static final String CACHE_DIRECTORY_PROPERTY_NAME = "spring.cglib.cache.dir";
+
+	private static final String CLASS_FILE_SUFFIX = ".class";
+
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+
+	private static final int DIGEST_LENGTH = 32;
+
+	/** Digests of class files, computed once per class within the source class hierarchies. */
+	private static final Map<Class<?>, byte[]> classFileDigests = new ConcurrentReferenceHashMap<>(64);
+
+	private static final byte[] NO_CLASS_FILE = new byte[0];
+
+	private static final Log logger = LogFactory.getLog(GeneratedClassCache.class);
+
+	@Nullable
+	private static final GeneratedClassCache sharedInstance = createSharedInstance();
+
+
+	private final Path directory;
+
+
+	GeneratedClassCache(File directory) {
+		this.directory = directory.toPath();
+	}
+
+
+	/**
+	 * Return the cache for the directory specified through the
+	 * {@link #CACHE_DIRECTORY_PROPERTY_NAME} system property, if any.
+	 */
+	@Nullable
+	public static GeneratedClassCache getSharedInstance() {
+		return sharedInstance;
+	}
+
+	/**
+	 * Obtain the bytes of the given class to generate, either from the cache
+	 * directory or from the given strategy, storing them for subsequent use.
+	 * <p>Callers need to make sure that the given key has a value-based
+	 * {@code toString()} representation which is stable across JVM runs.
+	 * @param className the name of the class to generate
+	 * @param key the generator key
+	 * @param sourceClass the class to derive the generated class from
+	 * @param generator the generator that defines the class to generate
+	 * @param strategy the strategy to generate the class bytes with
+	 * @return the class bytes
+	 * @throws Exception if thrown by the given strategy
+	 */
+	public byte[] getClassBytes(String className, Object key, Class<?> sourceClass,
+			ClassGenerator generator, GeneratorStrategy strategy) throws Exception {
+
+		byte[] fingerprint = fingerprint(className, key, sourceClass);
+		if (fingerprint == null) {
+			return strategy.generate(generator);
+		}
+
+		Path entry = this.directory.resolve(className + '-' + toHex(fingerprint) + CLASS_FILE_SUFFIX);
+		if (Files.isRegularFile(entry)) {
+			try {
+				byte[] bytes = verify(Files.readAllBytes(entry), fingerprint, className);
+				if (bytes != null) {
+					return bytes;
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring cached class bytes that failed verification: " + entry);
+				}
+			}
+			catch (IOException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Failed to read cached class bytes from " + entry, ex);
+				}
+			}
+		}
+
+		byte[] bytes = strategy.generate(generator);
+		try {
+			Files.createDirectories(this.directory);
+			Path tempFile = Files.createTempFile(this.directory, className, ".tmp");
+			try {
+				byte[] content = new byte[DIGEST_LENGTH + bytes.length];
+				System.arraycopy(digest(fingerprint, bytes), 0, content, 0, DIGEST_LENGTH);
+				System.arraycopy(bytes, 0, content, DIGEST_LENGTH, bytes.length);
+				Files.write(tempFile, content);
+				Files.move(tempFile, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			finally {
+				Files.deleteIfExists(tempFile);
+			}
+		}
+		catch (IOException ex) {
+			if (logger.isDebugEnabled()) {
+				logger.debug("Failed to write generated class bytes to " + entry, ex);
+			}
+		}
+		return bytes;
+	}
+
+	/**
+	 * Verify the given cache entry content against the expected fingerprint
+	 * and class name.
+	 * @return the contained class bytes, or {@code null} if verification failed
+	 */
+	@Nullable
+	private static byte[] verify(byte[] content, byte[] fingerprint, String className) {
+		if (content.length <= DIGEST_LENGTH) {
+			return null;
+		}
+		byte[] bytes = Arrays.copyOfRange(content, DIGEST_LENGTH, content.length);
+		if (!MessageDigest.isEqual(Arrays.copyOf(content, DIGEST_LENGTH), digest(fingerprint, bytes))) {
+			return null;
+		}
+		try {
+			return (className.equals(ClassNameReader.getClassName(new ClassReader(bytes))) ? bytes : null);
+		}
+		catch (RuntimeException ex) {
+			// Not a readable class file
+			return null;
+		}
+	}
+
+	/**
+	 * Compute a fingerprint for the given class to generate.
+	 * @return the fingerprint, or {@code null} if the class file of a class
+	 * within the source class hierarchy cannot be read
+	 */
+	@Nullable
+	private static byte[] fingerprint(String className, Object key, Class<?> sourceClass) {
+		MessageDigest digest = createDigest();
+		update(digest, className);
+		update(digest, key.toString());
+		update(digest, String.valueOf(SpringVersion.getVersion()));
+		update(digest, System.getProperty("java.version"));
+
+		Set<Class<?>> hierarchy = new LinkedHashSet<>();
+		for (Class<?> clazz = sourceClass; clazz != null; clazz = clazz.getSuperclass()) {
+			hierarchy.add(clazz);
+			hierarchy.addAll(ClassUtils.getAllInterfacesForClassAsSet(clazz));
+		}
+		for (Class<?> clazz : hierarchy) {
+			if (clazz.getClassLoader() == null) {
+				// JDK class: covered by the Java version
+				continue;
+			}
+			byte[] classFileDigest = classFileDigests.computeIfAbsent(clazz, GeneratedClassCache::digestClassFile);
+			if (classFileDigest == NO_CLASS_FILE) {
+				return null;
+			}
+			update(digest, clazz.getName());
+			digest.update(classFileDigest);
+		}
+		return digest.digest();
+	}
+
+	private static byte[] digestClassFile(Class<?> clazz) {
+		String resourceName = ClassUtils.convertClassNameToResourcePath(clazz.getName()) + CLASS_FILE_SUFFIX;
+		try (InputStream inputStream = clazz.getClassLoader().getResourceAsStream(resourceName)) {
+			if (inputStream == null) {
+				return NO_CLASS_FILE;
+			}
+			MessageDigest digest = createDigest();
+			byte[] buffer = new byte[4096];
+			int bytesRead;
+			while ((bytesRead = inputStream.read(buffer)) != -1) {
+				digest.update(buffer, 0, bytesRead);
+			}
+			return digest.digest();
+		}
+		catch (IOException ex) {
+			return NO_CLASS_FILE;
+		}
+	}
+
+	private static byte[] digest(byte[] fingerprint, byte[] bytes) {
+		MessageDigest digest = createDigest();
+		digest.update(fingerprint);
+		digest.update(bytes);
+		return digest.digest();
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest createDigest() {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		}
+		catch (NoSuchAlgorithmException ex) {
+			throw new IllegalStateException("Could not find MessageDigest with algorithm \"" + DIGEST_ALGORITHM + "\"", ex);
+		}
+	}
+
+	private static String toHex(byte[] bytes) {
+		StringBuilder sb = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return sb.toString();
+	}
+
+	@Nullable
+	private static GeneratedClassCache createSharedInstance() {
+		String location = SpringProperties.getProperty(CACHE_DIRECTORY_PROPERTY_NAME);
+		return (StringUtils.hasText(location) ? new GeneratedClassCache(new File(location.trim())) : null);
+	}
+
+
+	/**
+	 * Marker interface for generator key components, typically callback filters,
+	 * whose {@code equals}, {@code hashCode} and {@code toString} implementations
+	 * are derived from their configuration only: that is, stable across JVM runs
+	 * and independent of object creation order. Only generated classes with such
+	 * keys are stored in a {@code GeneratedClassCache}.
+	 */
+	public interface ValueBasedKey {
+	}
+
+}
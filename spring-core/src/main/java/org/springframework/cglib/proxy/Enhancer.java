@@ -42,6 +42,7 @@ import org.springframework.cglib.core.CollectionUtils;
 import org.springframework.cglib.core.Constants;
 import org.springframework.cglib.core.DuplicatesPredicate;
 import org.springframework.cglib.core.EmitUtils;
+import org.springframework.cglib.core.GeneratedClassCache;
 import org.springframework.cglib.core.KeyFactory;
 import org.springframework.cglib.core.Local;
 import org.springframework.cglib.core.MethodInfo;
@@ -585,6 +586,15 @@ public class Enhancer extends AbstractClassGenerator {
 		return super.generate(data);
 	}
 
+	// SPRING PATCH BEGIN
+	@Override
+	protected boolean hasStableKey() {
+		// All other key parts are names, ASM types and flags: only the callback
+		// filter may be identity-based unless it explicitly declares otherwise.
+		return (filter == null || filter == ALL_ZERO || filter instanceof GeneratedClassCache.ValueBasedKey);
+	}
+	// SPRING PATCH END
+
 	protected ClassLoader getDefaultClassLoader() {
 		if (superclass != null) {
 			return superclass.getClassLoader();
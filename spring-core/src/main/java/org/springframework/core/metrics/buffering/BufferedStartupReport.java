@@ -0,0 +1,202 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.buffering;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+/**
+ * Report on the {@link BufferedStartupStep steps} recorded by a
+ * {@link BufferingApplicationStartup}.
+ *
+ * <p>Steps are identified by their name and, if available, their first tag
+ * value (e.g. the bean name for a {@code spring.beans.instantiate} step).
+ * The report can be written in two formats:
+ * <ul>
+ * <li>{@link #writeFoldedStacks(Writer) folded stacks}, one line per distinct
+ * stack of steps with its self time in microseconds, as consumed by common
+ * flame graph tools;
+ * <li>a {@link #writeSummary(Writer, int) summary} of the most expensive steps
+ * by self time, with their total time and number of occurrences.
+ * </ul>
+ *
+ * @since 5.3.37
+ * @see BufferingApplicationStartup#getBufferedSteps()
+ */
+public class BufferedStartupReport {
+
+	private final List<BufferedStartupStep> steps;
+
+
+	/**
+	 * Create a new report for the given steps.
+	 * @param steps the steps to report on; steps that did not end are ignored
+	 */
+	public BufferedStartupReport(Collection<BufferedStartupStep> steps) {
+		Assert.notNull(steps, "Steps must not be null");
+		this.steps = new ArrayList<>(steps.size());
+		for (BufferedStartupStep step : steps) {
+			if (step.isEnded()) {
+				this.steps.add(step);
+			}
+		}
+	}
+
+
+	/**
+	 * Write the recorded steps in folded stacks format: for each distinct stack
+	 * of steps, a line with the semicolon-separated frames from the root step,
+	 * followed by a space and the accumulated self time in microseconds.
+	 * @param writer the writer to write to
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeFoldedStacks(Writer writer) throws IOException {
+		Map<String, Long> stacks = new LinkedHashMap<>();
+		for (BufferedStartupStep step : this.steps) {
+			StringBuilder stack = new StringBuilder(getFrame(step));
+			for (BufferedStartupStep parent = step.getParent(); parent != null; parent = parent.getParent()) {
+				stack.insert(0, ';').insert(0, getFrame(parent));
+			}
+			long selfTime = TimeUnit.NANOSECONDS.toMicros(step.getSelfDuration().toNanos());
+			stacks.merge(stack.toString(), selfTime, Long::sum);
+		}
+		for (Map.Entry<String, Long> entry : stacks.entrySet()) {
+			writer.write(entry.getKey());
+			writer.write(' ');
+			writer.write(Long.toString(entry.getValue()));
+			writer.write('\n');
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Write a summary of the top steps, ordered by descending self time.
+	 * @param writer the writer to write to
+	 * @param topSteps the maximum number of steps to include
+	 * @throws IOException in case of I/O errors
+	 */
+	public void writeSummary(Writer writer, int topSteps) throws IOException {
+		List<StepSummary> summaries = getTopSteps(topSteps);
+		writer.write(String.format("Top %d of %d startup steps by self time:%n", summaries.size(), this.steps.size()));
+		writer.write(String.format("%12s %12s %8s  %s%n", "self (ms)", "total (ms)", "count", "step"));
+		for (StepSummary summary : summaries) {
+			writer.write(String.format("%12.3f %12.3f %8d  %s%n", summary.getSelfTime() / 1_000_000d,
+					summary.getTotalTime() / 1_000_000d, summary.getCount(), summary.getStep()));
+		}
+		writer.flush();
+	}
+
+	/**
+	 * Return a summary of the top steps as a String.
+	 * @param topSteps the maximum number of steps to include
+	 * @see #writeSummary(Writer, int)
+	 */
+	public String getSummary(int topSteps) {
+		StringWriter writer = new StringWriter();
+		try {
+			writeSummary(writer, topSteps);
+		}
+		catch (IOException ex) {
+			throw new IllegalStateException(ex);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * Return the top steps, aggregated by step identifier and ordered by
+	 * descending self time.
+	 * @param topSteps the maximum number of steps to return
+	 */
+	public List<StepSummary> getTopSteps(int topSteps) {
+		Map<String, StepSummary> summaries = new LinkedHashMap<>();
+		for (BufferedStartupStep step : this.steps) {
+			summaries.computeIfAbsent(step.toString(), StepSummary::new).add(step);
+		}
+		List<StepSummary> result = new ArrayList<>(summaries.values());
+		result.sort(Comparator.comparingLong(StepSummary::getSelfTime).reversed());
+		return (result.size() > topSteps ? result.subList(0, topSteps) : result);
+	}
+
+	private static String getFrame(BufferedStartupStep step) {
+		// Semicolons separate frames and whitespace separates the sample count
+		return step.toString().replace(';', ',').replace(' ', '_');
+	}
+
+
+	/**
+	 * Aggregated timing information for all steps with the same identifier.
+	 */
+	public static final class StepSummary {
+
+		private final String step;
+
+		private long selfTime;
+
+		private long totalTime;
+
+		private int count;
+
+		StepSummary(String step) {
+			this.step = step;
+		}
+
+		void add(BufferedStartupStep step) {
+			this.selfTime += step.getSelfDuration().toNanos();
+			this.totalTime += step.getDuration().toNanos();
+			this.count++;
+		}
+
+		/**
+		 * Return the step identifier: its name and its first tag value, if any.
+		 */
+		public String getStep() {
+			return this.step;
+		}
+
+		/**
+		 * Return the accumulated self time in nanoseconds.
+		 */
+		public long getSelfTime() {
+			return this.selfTime;
+		}
+
+		/**
+		 * Return the accumulated total time in nanoseconds, including child steps.
+		 */
+		public long getTotalTime() {
+			return this.totalTime;
+		}
+
+		/**
+		 * Return the number of recorded occurrences of the step.
+		 */
+		public int getCount() {
+			return this.count;
+		}
+	}
+
+}
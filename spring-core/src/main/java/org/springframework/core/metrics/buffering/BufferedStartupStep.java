@@ -0,0 +1,217 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.buffering;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link StartupStep} implementation recorded by a {@link BufferingApplicationStartup}.
+ *
+ * <p>Keeps track of its start time and duration, as well as of the accumulated
+ * duration of its child steps in order to expose the time spent in the step itself.
+ *
+ * @since 5.3.37
+ */
+public final class BufferedStartupStep implements StartupStep {
+
+	private final long id;
+
+	private final String name;
+
+	@Nullable
+	private final BufferedStartupStep parent;
+
+	private final long startTime;
+
+	private final BufferedTags tags = new BufferedTags();
+
+	private final AtomicLong childNanos = new AtomicLong();
+
+	private final Consumer<BufferedStartupStep> recordingCallback;
+
+	private volatile long endTime = -1;
+
+
+	BufferedStartupStep(long id, String name, @Nullable BufferedStartupStep parent, long startTime,
+			Consumer<BufferedStartupStep> recordingCallback) {
+
+		this.id = id;
+		this.name = name;
+		this.parent = parent;
+		this.startTime = startTime;
+		this.recordingCallback = recordingCallback;
+	}
+
+
+	@Override
+	public String getName() {
+		return this.name;
+	}
+
+	@Override
+	public long getId() {
+		return this.id;
+	}
+
+	@Override
+	@Nullable
+	public Long getParentId() {
+		return (this.parent != null ? this.parent.getId() : null);
+	}
+
+	/**
+	 * Return the parent step, if any.
+	 */
+	@Nullable
+	public BufferedStartupStep getParent() {
+		return this.parent;
+	}
+
+	@Override
+	public StartupStep tag(String key, String value) {
+		Assert.state(!isEnded(), "StartupStep has already ended");
+		this.tags.add(key, value);
+		return this;
+	}
+
+	@Override
+	public StartupStep tag(String key, Supplier<String> value) {
+		return tag(key, value.get());
+	}
+
+	@Override
+	public Tags getTags() {
+		return this.tags;
+	}
+
+	@Override
+	public void end() {
+		if (isEnded()) {
+			return;
+		}
+		this.endTime = System.nanoTime();
+		if (this.parent != null) {
+			this.parent.childNanos.addAndGet(this.endTime - this.startTime);
+		}
+		this.recordingCallback.accept(this);
+	}
+
+	/**
+	 * Return whether this step has ended already.
+	 */
+	public boolean isEnded() {
+		return (this.endTime != -1);
+	}
+
+	/**
+	 * Return the start time of this step, in terms of {@link System#nanoTime()}.
+	 */
+	public long getStartTime() {
+		return this.startTime;
+	}
+
+	/**
+	 * Return the total duration of this step, including its child steps.
+	 * @throws IllegalStateException if the step has not ended yet
+	 */
+	public Duration getDuration() {
+		Assert.state(isEnded(), "StartupStep has not ended yet");
+		return Duration.ofNanos(this.endTime - this.startTime);
+	}
+
+	/**
+	 * Return the duration of this step excluding the time spent in child steps.
+	 * @throws IllegalStateException if the step has not ended yet
+	 */
+	public Duration getSelfDuration() {
+		Assert.state(isEnded(), "StartupStep has not ended yet");
+		return Duration.ofNanos(Math.max(0, this.endTime - this.startTime - this.childNanos.get()));
+	}
+
+	/**
+	 * Return the first tag value of this step, if any.
+	 * <p>Typically identifies the subject of the step, e.g. a bean name.
+	 */
+	@Nullable
+	public String getPrimaryTagValue() {
+		Iterator<Tag> it = this.tags.iterator();
+		return (it.hasNext() ? it.next().getValue() : null);
+	}
+
+	@Override
+	public String toString() {
+		String tagValue = getPrimaryTagValue();
+		return (tagValue != null ? this.name + "[" + tagValue + "]" : this.name);
+	}
+
+
+	private static class BufferedTags implements Tags {
+
+		private final List<Tag> tags = Collections.synchronizedList(new ArrayList<>(2));
+
+		void add(String key, String value) {
+			this.tags.add(new BufferedTag(key, value));
+		}
+
+		@Override
+		public Iterator<Tag> iterator() {
+			synchronized (this.tags) {
+				return new ArrayList<>(this.tags).iterator();
+			}
+		}
+	}
+
+
+	private static class BufferedTag implements Tag {
+
+		private final String key;
+
+		private final String value;
+
+		BufferedTag(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+
+		@Override
+		public String toString() {
+			return this.key + "=" + this.value;
+		}
+	}
+
+}
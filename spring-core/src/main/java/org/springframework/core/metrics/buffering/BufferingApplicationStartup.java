@@ -0,0 +1,138 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.buffering;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that buffers {@link StartupStep steps}
+ * in memory and records their timing, so that they can be reported on once
+ * startup has completed, e.g. through a {@link BufferedStartupReport}.
+ *
+ * <p>Steps are linked to the step that was most recently started on the same
+ * thread and that has not ended yet, even if steps end out of order. This
+ * allows for attributing the time spent in a step to the step itself (its
+ * "self time") as opposed to the time spent in nested steps (its "child time").
+ *
+ * <p>The number of buffered steps is limited to the given capacity: steps that
+ * end once the buffer is full are not recorded but still contribute to the
+ * child time of their parent step.
+ *
+ * @since 5.3.37
+ * @see BufferedStartupReport
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+	private final int capacity;
+
+	private final AtomicLong idSequence = new AtomicLong();
+
+	private final AtomicInteger bufferedCount = new AtomicInteger();
+
+	private final Queue<BufferedStartupStep> bufferedSteps = new ConcurrentLinkedQueue<>();
+
+	private final ThreadLocal<Deque<BufferedStartupStep>> activeSteps = new NamedThreadLocal<>("Active startup steps");
+
+
+	/**
+	 * Create a new {@code BufferingApplicationStartup} with the given capacity.
+	 * @param capacity the maximum number of steps to buffer
+	 */
+	public BufferingApplicationStartup(int capacity) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		this.capacity = capacity;
+	}
+
+
+	@Override
+	public StartupStep start(String name) {
+		Deque<BufferedStartupStep> steps = this.activeSteps.get();
+		if (steps == null) {
+			steps = new ArrayDeque<>();
+			this.activeSteps.set(steps);
+		}
+		BufferedStartupStep parent = popEndedSteps(steps);
+		BufferedStartupStep step = new BufferedStartupStep(
+				this.idSequence.incrementAndGet(), name, parent, System.nanoTime(), this::record);
+		steps.push(step);
+		return step;
+	}
+
+	private void record(BufferedStartupStep step) {
+		Deque<BufferedStartupStep> steps = this.activeSteps.get();
+		if (steps != null && popEndedSteps(steps) == null) {
+			this.activeSteps.remove();
+		}
+		if (this.bufferedCount.incrementAndGet() <= this.capacity) {
+			this.bufferedSteps.add(step);
+		}
+		else {
+			this.bufferedCount.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Pop all steps that have ended in the meantime off the given stack,
+	 * possibly out of order or on a different thread.
+	 * @return the nearest step that is still active, or {@code null} if none
+	 */
+	@Nullable
+	private static BufferedStartupStep popEndedSteps(Deque<BufferedStartupStep> steps) {
+		BufferedStartupStep step = steps.peek();
+		while (step != null && step.isEnded()) {
+			steps.pop();
+			step = steps.peek();
+		}
+		return step;
+	}
+
+	/**
+	 * Return the maximum number of steps to buffer.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Return a snapshot of all buffered steps, in the order in which they ended.
+	 */
+	public List<BufferedStartupStep> getBufferedSteps() {
+		return new ArrayList<>(this.bufferedSteps);
+	}
+
+	/**
+	 * Remove all buffered steps, making room for new ones.
+	 */
+	public void clear() {
+		this.bufferedSteps.clear();
+		this.bufferedCount.set(0);
+	}
+
+}
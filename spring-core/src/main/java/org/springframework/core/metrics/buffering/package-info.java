@@ -0,0 +1,10 @@
+/**
+ * Support package for buffering startup steps in memory and reporting
+ * on them, e.g. as a flame graph or as a summary of the most expensive steps.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.core.metrics.buffering;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,10 @@ import org.springframework.util.concurrent.ListenableFutureTask;
  * <p>Supports limiting concurrent threads through {@link #setConcurrencyLimit}.
  * By default, the number of concurrent task executions is unlimited.
  *
+ * <p>Supports virtual threads on JDK 21+, through {@link #setVirtualThreads}
+ * or globally through the {@link VirtualThreadTaskExecutor#VIRTUAL_THREADS_PROPERTY_NAME}
+ * flag.
+ *
  * <p><b>NOTE: This implementation does not reuse threads!</b> Consider a
  * thread-pooling TaskExecutor implementation instead, in particular for
  * executing a large number of short-lived tasks.
@@ -73,6 +77,11 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	@Nullable
 	private TaskDecorator taskDecorator;
 
+	private boolean virtualThreads = VirtualThreadTaskExecutor.isEnabledByDefault();
+
+	@Nullable
+	private transient volatile ThreadFactory virtualThreadFactory;
+
 
 	/**
 	 * Create a new SimpleAsyncTaskExecutor with default thread name prefix.
@@ -98,6 +107,12 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	}
 
 
+	@Override
+	public void setThreadNamePrefix(@Nullable String threadNamePrefix) {
+		super.setThreadNamePrefix(threadNamePrefix);
+		this.virtualThreadFactory = null;
+	}
+
 	/**
 	 * Specify an external factory to use for creating new Threads,
 	 * instead of relying on the local properties of this executor.
@@ -118,6 +133,33 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 		return this.threadFactory;
 	}
 
+	/**
+	 * Switch this executor to virtual threads. Requires Java 21 or higher.
+	 * <p>The default is {@code false}, indicating platform threads, unless the
+	 * {@link VirtualThreadTaskExecutor#VIRTUAL_THREADS_PROPERTY_NAME} flag is set.
+	 * Virtual threads are named according to the
+	 * {@link #setThreadNamePrefix thread name prefix}. An external
+	 * {@link #setThreadFactory ThreadFactory} takes precedence over this setting.
+	 * @throws IllegalStateException if virtual threads are not supported
+	 * @since 5.3.37
+	 * @see VirtualThreadTaskExecutor#isSupported()
+	 */
+	public void setVirtualThreads(boolean virtual) {
+		if (virtual && !VirtualThreadTaskExecutor.isSupported()) {
+			throw new IllegalStateException("Virtual threads not supported on this JVM");
+		}
+		this.virtualThreads = virtual;
+		this.virtualThreadFactory = null;
+	}
+
+	/**
+	 * Return whether this executor creates virtual threads.
+	 * @since 5.3.37
+	 */
+	public boolean isVirtualThreads() {
+		return this.virtualThreads;
+	}
+
 	/**
 	 * Specify a custom {@link TaskDecorator} to be applied to any {@link Runnable}
 	 * about to be executed.
@@ -238,14 +280,33 @@ public class SimpleAsyncTaskExecutor extends CustomizableThreadCreator
 	 * <p>The default implementation creates a new Thread and starts it.
 	 * @param task the Runnable to execute
 	 * @see #setThreadFactory
+	 * @see #setVirtualThreads
 	 * @see #createThread
 	 * @see java.lang.Thread#start()
 	 */
 	protected void doExecute(Runnable task) {
-		Thread thread = (this.threadFactory != null ? this.threadFactory.newThread(task) : createThread(task));
+		Thread thread;
+		if (this.threadFactory != null) {
+			thread = this.threadFactory.newThread(task);
+		}
+		else if (this.virtualThreads) {
+			thread = obtainVirtualThreadFactory().newThread(task);
+		}
+		else {
+			thread = createThread(task);
+		}
 		thread.start();
 	}
 
+	private ThreadFactory obtainVirtualThreadFactory() {
+		ThreadFactory factory = this.virtualThreadFactory;
+		if (factory == null) {
+			factory = VirtualThreadTaskExecutor.createVirtualThreadFactory(getThreadNamePrefix());
+			this.virtualThreadFactory = factory;
+		}
+		return factory;
+	}
+
 
 	/**
 	 * Subclass of the general ConcurrencyThrottleSupport class,
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.task;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+import org.springframework.core.SpringProperties;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.ListenableFutureTask;
+
+/**
+ * A {@link TaskExecutor} implementation based on virtual threads in JDK 21+.
+ * The only configuration option is a thread name prefix.
+ *
+ * <p>Virtual threads are created reflectively, so this class can be loaded on
+ * any JDK. Check {@link #isSupported()} before instantiating it on a runtime
+ * that may not support virtual threads.
+ *
+ * <p>For additional features such as concurrency limiting or task decoration,
+ * consider using {@link SimpleAsyncTaskExecutor#setVirtualThreads} instead.
+ *
+ * @since 5.3.37
+ * @see SimpleAsyncTaskExecutor#setVirtualThreads
+ * @see #VIRTUAL_THREADS_PROPERTY_NAME
+ */
+public class VirtualThreadTaskExecutor implements AsyncListenableTaskExecutor {
+
+	/**
+	 * System property that instructs Spring to use virtual threads by default
+	 * where supported: for every {@link SimpleAsyncTaskExecutor} without an
+	 * external thread factory, which includes the default executors for
+	 * {@code @Async} methods and for asynchronous Spring MVC request
+	 * processing, as well as for the local scheduler behind
+	 * {@code @Scheduled} methods.
+	 * <p>Ignored on a JVM without virtual thread support.
+	 */
+	public static final String VIRTUAL_THREADS_PROPERTY_NAME = "spring.threads.virtual.enabled";
+
+	@Nullable
+	private static final Method ofVirtualMethod;
+
+	@Nullable
+	private static final Method nameMethod;
+
+	@Nullable
+	private static final Method factoryMethod;
+
+	static {
+		Method ofVirtual = ClassUtils.getMethodIfAvailable(Thread.class, "ofVirtual");
+		Method name = null;
+		Method factory = null;
+		if (ofVirtual != null) {
+			try {
+				Class<?> builderClass = ClassUtils.forName(
+						"java.lang.Thread$Builder", VirtualThreadTaskExecutor.class.getClassLoader());
+				name = builderClass.getMethod("name", String.class, long.class);
+				factory = builderClass.getMethod("factory");
+				// Preview API on JDK 19/20: fails unless preview features are enabled
+				ofVirtual.invoke(null);
+			}
+			catch (Throwable ex) {
+				ofVirtual = null;
+			}
+		}
+		ofVirtualMethod = ofVirtual;
+		nameMethod = name;
+		factoryMethod = factory;
+	}
+
+
+	private final ThreadFactory virtualThreadFactory;
+
+
+	/**
+	 * Create a new {@code VirtualThreadTaskExecutor} without thread naming.
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	public VirtualThreadTaskExecutor() {
+		this.virtualThreadFactory = createVirtualThreadFactory(null);
+	}
+
+	/**
+	 * Create a new {@code VirtualThreadTaskExecutor} with thread names based
+	 * on the given thread name prefix followed by a counter (e.g. "test-0").
+	 * @param threadNamePrefix the prefix for thread names (e.g. "test-")
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	public VirtualThreadTaskExecutor(String threadNamePrefix) {
+		this.virtualThreadFactory = createVirtualThreadFactory(threadNamePrefix);
+	}
+
+
+	/**
+	 * Return the underlying virtual {@link ThreadFactory}.
+	 * Can also be used for custom thread submissions.
+	 */
+	public final ThreadFactory getVirtualThreadFactory() {
+		return this.virtualThreadFactory;
+	}
+
+	@Override
+	public void execute(Runnable task) {
+		Assert.notNull(task, "Runnable must not be null");
+		this.virtualThreadFactory.newThread(task).start();
+	}
+
+	@Deprecated
+	@Override
+	public void execute(Runnable task, long startTimeout) {
+		execute(task);
+	}
+
+	@Override
+	public Future<?> submit(Runnable task) {
+		FutureTask<Object> future = new FutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> Future<T> submit(Callable<T> task) {
+		FutureTask<T> future = new FutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public ListenableFuture<?> submitListenable(Runnable task) {
+		ListenableFutureTask<Object> future = new ListenableFutureTask<>(task, null);
+		execute(future);
+		return future;
+	}
+
+	@Override
+	public <T> ListenableFuture<T> submitListenable(Callable<T> task) {
+		ListenableFutureTask<T> future = new ListenableFutureTask<>(task);
+		execute(future);
+		return future;
+	}
+
+
+	/**
+	 * Return whether the current JVM supports virtual threads.
+	 */
+	public static boolean isSupported() {
+		return (ofVirtualMethod != null);
+	}
+
+	/**
+	 * Return whether virtual threads are to be used by default, i.e. whether
+	 * the {@link #VIRTUAL_THREADS_PROPERTY_NAME} flag is set and the current
+	 * JVM supports virtual threads.
+	 */
+	public static boolean isEnabledByDefault() {
+		return (SpringProperties.getFlag(VIRTUAL_THREADS_PROPERTY_NAME) && isSupported());
+	}
+
+	/**
+	 * Create a virtual {@link ThreadFactory} with the given thread name prefix.
+	 * @param threadNamePrefix the prefix for thread names, or {@code null}
+	 * for unnamed threads
+	 * @throws IllegalStateException if virtual threads are not supported
+	 */
+	static ThreadFactory createVirtualThreadFactory(@Nullable String threadNamePrefix) {
+		if (ofVirtualMethod == null || nameMethod == null || factoryMethod == null) {
+			throw new IllegalStateException("Virtual threads not supported on this JVM");
+		}
+		try {
+			Object builder = ofVirtualMethod.invoke(null);
+			if (threadNamePrefix != null) {
+				builder = nameMethod.invoke(builder, threadNamePrefix, 0L);
+			}
+			return (ThreadFactory) factoryMethod.invoke(builder);
+		}
+		catch (InvocationTargetException ex) {
+			ReflectionUtils.rethrowRuntimeException(ex.getTargetException());
+			throw new IllegalStateException(ex);
+		}
+		catch (IllegalAccessException ex) {
+			throw new IllegalStateException("Failed to create virtual thread factory", ex);
+		}
+	}
+
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.cglib.core;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.Opcodes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link GeneratedClassCache}.
+ */
+class GeneratedClassCacheTests {
+
+	private static final String CLASS_NAME = "com.example.Sample$$EnhancerBySpringCGLIB$$1234";
+
+	private final AtomicInteger generated = new AtomicInteger();
+
+	private final GeneratorStrategy strategy = cg -> {
+		this.generated.incrementAndGet();
+		return classBytes(CLASS_NAME);
+	};
+
+	private final ClassGenerator generator = cv -> {};
+
+
+	@Test
+	void storesGeneratedClassBytes(@TempDir File directory) throws Exception {
+		GeneratedClassCache cache = new GeneratedClassCache(directory);
+		assertThat(cache.getClassBytes(CLASS_NAME, "key", GeneratedClassCacheTests.class, this.generator, this.strategy))
+				.isEqualTo(classBytes(CLASS_NAME));
+		assertThat(directory.list()).singleElement().asString().startsWith(CLASS_NAME).endsWith(".class");
+
+		GeneratedClassCache otherCache = new GeneratedClassCache(directory);
+		assertThat(otherCache.getClassBytes(CLASS_NAME, "key", GeneratedClassCacheTests.class, this.generator, this.strategy))
+				.isEqualTo(classBytes(CLASS_NAME));
+		assertThat(this.generated).hasValue(1);
+	}
+
+	@Test
+	void generatesClassBytesForDifferentKey(@TempDir File directory) throws Exception {
+		GeneratedClassCache cache = new GeneratedClassCache(directory);
+		cache.getClassBytes(CLASS_NAME, "key", GeneratedClassCacheTests.class, this.generator, this.strategy);
+		cache.getClassBytes(CLASS_NAME, "otherKey", GeneratedClassCacheTests.class, this.generator, this.strategy);
+		assertThat(this.generated).hasValue(2);
+		assertThat(directory.list()).hasSize(2);
+	}
+
+	@Test
+	void generatesClassBytesForDifferentSourceClass(@TempDir File directory) throws Exception {
+		GeneratedClassCache cache = new GeneratedClassCache(directory);
+		cache.getClassBytes(CLASS_NAME, "key", GeneratedClassCacheTests.class, this.generator, this.strategy);
+		cache.getClassBytes(CLASS_NAME, "key", SampleClass.class, this.generator, this.strategy);
+		assertThat(this.generated).hasValue(2);
+	}
+
+	@Test
+	void doesNotCacheWithoutClassFile(@TempDir File directory) throws Exception {
+		GeneratedClassCache cache = new GeneratedClassCache(directory);
+		Class<?> lambdaClass = this.generator.getClass();
+		cache.getClassBytes(CLASS_NAME, "key", lambdaClass, this.generator, this.strategy);
+		cache.getClassBytes(CLASS_NAME, "key", lambdaClass, this.generator, this.strategy);
+		assertThat(this.generated).hasValue(2);
+		assertThat(directory.list()).isEmpty();
+	}
+
+	@Test
+	void regeneratesTamperedEntry(@TempDir File directory) throws Exception {
+		GeneratedClassCache cache = new GeneratedClassCache(directory);
+		cache.getClassBytes(CLASS_NAME, "key", GeneratedClassCacheTests.class, this.generator, this.strategy);
+		Path entry = directory.toPath().resolve(directory.list()[0]);
+		byte[] content = Files.readAllBytes(entry);
+		content[content.length - 1] ^= 1;
+		Files.write(entry, content);
+
+		assertThat(cache.getClassBytes(CLASS_NAME, "key", GeneratedClassCacheTests.class, this.generator, this.strategy))
+				.isEqualTo(classBytes(CLASS_NAME));
+		assertThat(this.generated).hasValue(2);
+		assertThat(cache.getClassBytes(CLASS_NAME, "key", GeneratedClassCacheTests.class, this.generator, this.strategy))
+				.isEqualTo(classBytes(CLASS_NAME));
+		assertThat(this.generated).hasValue(2);
+	}
+
+	@Test
+	void regeneratesEntryForDifferentClassName(@TempDir File directory) throws Exception {
+		GeneratedClassCache cache = new GeneratedClassCache(directory);
+		GeneratorStrategy otherStrategy = cg -> {
+			this.generated.incrementAndGet();
+			return classBytes("com.example.Other");
+		};
+		cache.getClassBytes(CLASS_NAME, "key", GeneratedClassCacheTests.class, this.generator, otherStrategy);
+		cache.getClassBytes(CLASS_NAME, "key", GeneratedClassCacheTests.class, this.generator, this.strategy);
+		assertThat(this.generated).hasValue(2);
+	}
+
+
+	private static byte[] classBytes(String className) {
+		ClassWriter cw = new ClassWriter(0);
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, className.replace('.', '/'), null, "java/lang/Object", null);
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+
+	static class SampleClass {
+	}
+
+}
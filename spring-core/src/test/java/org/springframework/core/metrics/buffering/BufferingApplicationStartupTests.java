@@ -0,0 +1,143 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics.buffering;
+
+import java.io.StringWriter;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.metrics.StartupStep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BufferingApplicationStartup} and {@link BufferedStartupReport}.
+ */
+class BufferingApplicationStartupTests {
+
+	private final BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(10);
+
+
+	@Test
+	void nestedStepsAreLinkedToParent() {
+		StartupStep root = this.applicationStartup.start("root");
+		StartupStep child = this.applicationStartup.start("child").tag("beanName", "first");
+		child.end();
+		StartupStep sibling = this.applicationStartup.start("child").tag("beanName", "second");
+		sibling.end();
+		root.end();
+
+		assertThat(child.getParentId()).isEqualTo(root.getId());
+		assertThat(sibling.getParentId()).isEqualTo(root.getId());
+		assertThat(root.getParentId()).isNull();
+		assertThat(this.applicationStartup.getBufferedSteps()).extracting(StartupStep::getName)
+				.containsExactly("child", "child", "root");
+
+		StartupStep next = this.applicationStartup.start("next");
+		assertThat(next.getParentId()).isNull();
+	}
+
+	@Test
+	void stepsEndingOutOfOrderAreNotUsedAsParent() {
+		StartupStep root = this.applicationStartup.start("root");
+		StartupStep first = this.applicationStartup.start("first");
+		StartupStep second = this.applicationStartup.start("second");
+		first.end();
+
+		StartupStep third = this.applicationStartup.start("third");
+		assertThat(third.getParentId()).isEqualTo(second.getId());
+		third.end();
+		second.end();
+
+		StartupStep fourth = this.applicationStartup.start("fourth");
+		assertThat(fourth.getParentId()).isEqualTo(root.getId());
+		fourth.end();
+		root.end();
+
+		assertThat(this.applicationStartup.start("next").getParentId()).isNull();
+	}
+
+	@Test
+	void selfDurationExcludesChildSteps() throws InterruptedException {
+		BufferedStartupStep root = (BufferedStartupStep) this.applicationStartup.start("root");
+		BufferedStartupStep child = (BufferedStartupStep) this.applicationStartup.start("child");
+		Thread.sleep(20);
+		child.end();
+		root.end();
+
+		assertThat(child.getSelfDuration()).isEqualTo(child.getDuration());
+		assertThat(root.getDuration()).isGreaterThanOrEqualTo(child.getDuration());
+		assertThat(root.getSelfDuration()).isEqualTo(root.getDuration().minus(child.getDuration()));
+	}
+
+	@Test
+	void tagAfterEndIsNotAllowed() {
+		StartupStep step = this.applicationStartup.start("step");
+		step.end();
+		assertThatIllegalStateException().isThrownBy(() -> step.tag("key", "value"));
+	}
+
+	@Test
+	void bufferIsLimitedToCapacity() {
+		for (int i = 0; i < 15; i++) {
+			this.applicationStartup.start("step").end();
+		}
+		assertThat(this.applicationStartup.getBufferedSteps()).hasSize(10);
+
+		this.applicationStartup.clear();
+		assertThat(this.applicationStartup.getBufferedSteps()).isEmpty();
+		this.applicationStartup.start("step").end();
+		assertThat(this.applicationStartup.getBufferedSteps()).hasSize(1);
+	}
+
+	@Test
+	void foldedStacks() throws Exception {
+		StartupStep root = this.applicationStartup.start("root");
+		this.applicationStartup.start("child").tag("beanName", "my bean;1").end();
+		this.applicationStartup.start("child").tag("beanName", "my bean;1").end();
+		root.end();
+
+		StringWriter writer = new StringWriter();
+		new BufferedStartupReport(this.applicationStartup.getBufferedSteps()).writeFoldedStacks(writer);
+		String[] lines = writer.toString().split("\n");
+		assertThat(lines).hasSize(2);
+		assertThat(lines[0]).matches("root;child\\[my_bean,1] \\d+");
+		assertThat(lines[1]).matches("root \\d+");
+	}
+
+	@Test
+	void topSteps() {
+		StartupStep root = this.applicationStartup.start("root");
+		this.applicationStartup.start("child").tag("beanName", "a").end();
+		this.applicationStartup.start("child").tag("beanName", "a").end();
+		this.applicationStartup.start("child").tag("beanName", "b").end();
+		this.applicationStartup.start("unfinished");
+
+		BufferedStartupReport report = new BufferedStartupReport(this.applicationStartup.getBufferedSteps());
+		List<BufferedStartupReport.StepSummary> topSteps = report.getTopSteps(10);
+		assertThat(topSteps).extracting(BufferedStartupReport.StepSummary::getStep)
+				.containsExactlyInAnyOrder("child[a]", "child[b]");
+		assertThat(topSteps).filteredOn(summary -> summary.getStep().equals("child[a]"))
+				.singleElement().extracting(BufferedStartupReport.StepSummary::getCount).isEqualTo(2);
+		assertThat(report.getTopSteps(1)).hasSize(1);
+		assertThat(report.getSummary(10)).contains("Top 2 of 3 startup steps", "child[a]", "child[b]");
+		root.end();
+	}
+
+}
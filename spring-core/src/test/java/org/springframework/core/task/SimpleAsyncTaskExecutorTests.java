@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,10 @@
 
 package org.springframework.core.task;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.util.ConcurrencyThrottleSupport;
@@ -23,6 +27,8 @@ import org.springframework.util.ConcurrencyThrottleSupport;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 /**
  * @author Rick Evans
@@ -65,6 +71,49 @@ class SimpleAsyncTaskExecutorTests {
 		assertThat(task.getThreadName()).isEqualTo("test");
 	}
 
+	@Test
+	void concurrencyLimitIsApplied() throws Exception {
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+		executor.setConcurrencyLimit(2);
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger maxActive = new AtomicInteger();
+		CountDownLatch latch = new CountDownLatch(6);
+		for (int i = 0; i < 6; i++) {
+			executor.execute(() -> {
+				maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(20);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+				active.decrementAndGet();
+				latch.countDown();
+			});
+		}
+		assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(maxActive.get()).isLessThanOrEqualTo(2);
+	}
+
+	@Test
+	void virtualThreadsWithThreadNamePrefix() throws Exception {
+		assumeTrue(VirtualThreadTaskExecutor.isSupported());
+		final Object monitor = new Object();
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("virtual#");
+		executor.setVirtualThreads(true);
+		ThreadNameHarvester task = new ThreadNameHarvester(monitor);
+		executeAndWait(executor, task, monitor);
+		assertThat(task.getThreadName()).startsWith("virtual#");
+	}
+
+	@Test
+	void virtualThreadsNotSupported() {
+		assumeFalse(VirtualThreadTaskExecutor.isSupported());
+		SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor();
+		assertThatIllegalStateException().isThrownBy(() -> executor.setVirtualThreads(true));
+		assertThat(executor.isVirtualThreads()).isFalse();
+	}
+
 	@Test
 	void throwsExceptionWhenSuppliedWithNullRunnable() throws Exception {
 		assertThatIllegalArgumentException().isThrownBy(() ->
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,13 +16,17 @@
 
 package org.springframework.expression.spel;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 
 import org.springframework.expression.EvaluationContext;
@@ -103,4 +107,62 @@ public class SpelBenchmark {
 		return data.expression.getValue(data.context);
 	}
 
+	@State(Scope.Benchmark)
+	public static class CompilerBenchmarkData {
+
+		@Param({"OFF", "IMMEDIATE"})
+		public SpelCompilerMode compilerMode;
+
+		@Param({"?[length() > 3]", "^[#this.startsWith('b')]", "![length()]", "{a:{b:'c'}}", "#root[0].toString() matches '[a-z]+'"})
+		public String expressionString;
+
+		public List<String> root;
+
+		public Expression expression;
+
+		@Setup
+		public void setup() {
+			this.root = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				this.root.add("item" + i);
+			}
+			this.root.add(0, "bar");
+			SpelParserConfiguration configuration = new SpelParserConfiguration(this.compilerMode, getClass().getClassLoader());
+			this.expression = new SpelExpressionParser(configuration).parseExpression(this.expressionString);
+			// First evaluation is interpreted and triggers compilation if enabled
+			this.expression.getValue(this.root);
+		}
+	}
+
+	@Benchmark
+	public Object compilerModeExecution(CompilerBenchmarkData data) {
+		return data.expression.getValue(data.root);
+	}
+
+	/**
+	 * Interpreted arithmetic, comparisons and logical operators, best run with
+	 * {@code -prof gc} for the allocation rate per evaluation.
+	 */
+	@State(Scope.Benchmark)
+	public static class OperatorBenchmarkData {
+
+		public EvaluationContext context;
+
+		public Expression expression;
+
+		public OperatorBenchmarkData() {
+			StandardEvaluationContext context = new StandardEvaluationContext();
+			context.setVariable("count", 42);
+			context.setVariable("ratio", 0.75d);
+			this.context = context;
+			this.expression = new SpelExpressionParser().parseExpression(
+					"(#count * 2 + 1 > 40 and #ratio * 100 - 5 <= 90.0) or !(#count % 7 == -1) ? 1 : 0");
+		}
+	}
+
+	@Benchmark
+	public Object interpretedOperators(OperatorBenchmarkData data) {
+		return data.expression.getValue(data.context);
+	}
+
 }
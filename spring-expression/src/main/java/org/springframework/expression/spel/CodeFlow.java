@@ -22,12 +22,14 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.asm.ClassWriter;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.asm.Opcodes;
 import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 
 /**
  * Manages the class being generated by the compilation process.
@@ -41,6 +43,12 @@ import org.springframework.util.CollectionUtils;
  */
 public class CodeFlow implements Opcodes {
 
+	/**
+	 * Cache of descriptors for the runtime types of evaluated values, since
+	 * interpreted evaluation records operand descriptors on every invocation.
+	 */
+	private static final Map<Class<?>, String> descriptorCache = new ConcurrentReferenceHashMap<>(64);
+
 	/**
 	 * Name of the class being generated. Typically used when generating code
 	 * that accesses freshly generated fields on the generated type.
@@ -85,9 +93,16 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * When code generation requires an intermediate variable within a method,
-	 * this method records the next available variable (variable 0 is 'this').
+	 * this method records the next available variable (variable 0 is 'this',
+	 * variables 1 and 2 are the target and the evaluation context).
+	 */
+	private int nextFreeVariableId = 3;
+
+	/**
+	 * Local variables holding the currently active context object, e.g. the
+	 * current element during a collection selection or projection.
 	 */
-	private int nextFreeVariableId = 1;
+	private final Deque<Integer> activeContextVariables = new ArrayDeque<>();
 
 
 	/**
@@ -105,11 +120,33 @@ public class CodeFlow implements Opcodes {
 
 	/**
 	 * Push the byte code to load the target (i.e. what was passed as the first argument
-	 * to CompiledExpression.getValue(target, context))
+	 * to CompiledExpression.getValue(target, context)), or the active context object
+	 * if one has been set via {@link #enterActiveContext(int)}.
 	 * @param mv the visitor into which the load instruction should be inserted
 	 */
 	public void loadTarget(MethodVisitor mv) {
-		mv.visitVarInsn(ALOAD, 1);
+		Integer activeContextVariable = this.activeContextVariables.peek();
+		mv.visitVarInsn(ALOAD, (activeContextVariable != null ? activeContextVariable : 1));
+	}
+
+	/**
+	 * Make the object held in the given local variable the active context object,
+	 * i.e. the target for code subsequently generated through {@link #loadTarget}.
+	 * @param variable the local variable holding the active context object
+	 * @since 5.3.37
+	 * @see #nextFreeVariableId()
+	 */
+	public void enterActiveContext(int variable) {
+		this.activeContextVariables.push(variable);
+	}
+
+	/**
+	 * Restore the active context object that was in place before the last
+	 * {@link #enterActiveContext(int)} call.
+	 * @since 5.3.37
+	 */
+	public void exitActiveContext() {
+		this.activeContextVariables.pop();
 	}
 
 	/**
@@ -525,7 +562,13 @@ public class CodeFlow implements Opcodes {
 			return "Ljava/lang/Object";
 		}
 		else {
-			return toDescriptor(value.getClass());
+			Class<?> type = value.getClass();
+			String descriptor = descriptorCache.get(type);
+			if (descriptor == null) {
+				descriptor = toDescriptor(type);
+				descriptorCache.put(type, descriptor);
+			}
+			return descriptor;
 		}
 	}
 
@@ -18,6 +18,7 @@ package org.springframework.expression.spel.ast;
 
 import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.support.BooleanTypedValue;
 
 /**
@@ -43,6 +44,11 @@ public class BooleanLiteral extends Literal {
 		return this.value;
 	}
 
+	@Override
+	public boolean getBooleanValue(ExpressionState state) {
+		return (this.value == BooleanTypedValue.TRUE);
+	}
+
 	@Override
 	public boolean isCompilable() {
 		return true;
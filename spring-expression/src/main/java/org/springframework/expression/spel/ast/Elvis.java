@@ -54,6 +54,10 @@ public class Elvis extends SpelNodeImpl {
 		TypedValue value = this.children[0].getValueInternal(state);
 		// If this check is changed, the generateCode method will need changing too
 		if (value.getValue() != null && !"".equals(value.getValue())) {
+			if (CodeFlow.isPrimitive(this.children[0].exitTypeDescriptor)) {
+				// A primitive condition is never null: the result is always the condition
+				this.exitTypeDescriptor = this.children[0].exitTypeDescriptor;
+			}
 			return value;
 		}
 		else {
@@ -72,12 +76,25 @@ public class Elvis extends SpelNodeImpl {
 	public boolean isCompilable() {
 		SpelNodeImpl condition = this.children[0];
 		SpelNodeImpl ifNullValue = this.children[1];
+		if (condition.isCompilable() && CodeFlow.isPrimitive(condition.exitTypeDescriptor)) {
+			return true;
+		}
 		return (condition.isCompilable() && ifNullValue.isCompilable() &&
 				condition.exitTypeDescriptor != null && ifNullValue.exitTypeDescriptor != null);
 	}
 
 	@Override
 	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		String conditionDescriptor = this.children[0].exitTypeDescriptor;
+		if (CodeFlow.isPrimitive(conditionDescriptor)) {
+			// A primitive value is neither null nor an empty String
+			cf.enterCompilationScope();
+			this.children[0].generateCode(mv, cf);
+			cf.exitCompilationScope();
+			this.exitTypeDescriptor = conditionDescriptor;
+			cf.pushDescriptor(conditionDescriptor);
+			return;
+		}
 		// exit type descriptor can be null if both components are literal expressions
 		computeExitTypeDescriptor();
 		cf.enterCompilationScope();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,6 +64,11 @@ public class MethodReference extends SpelNodeImpl {
 	@Nullable
 	private volatile CachedMethodExecutor cachedExecutor;
 
+	// Descriptors for the runtime argument types of the last invocation,
+	// reused as long as the same types are passed in
+	@Nullable
+	private volatile List<TypeDescriptor> cachedArgumentTypes;
+
 
 	public MethodReference(boolean nullSafe, String methodName, int startPos, int endPos, SpelNodeImpl... arguments) {
 		super(startPos, endPos, arguments);
@@ -171,11 +176,32 @@ public class MethodReference extends SpelNodeImpl {
 	}
 
 	private List<TypeDescriptor> getArgumentTypes(Object... arguments) {
+		List<TypeDescriptor> cachedTypes = this.cachedArgumentTypes;
+		if (cachedTypes != null && isSameArgumentTypes(cachedTypes, arguments)) {
+			return cachedTypes;
+		}
 		List<TypeDescriptor> descriptors = new ArrayList<>(arguments.length);
 		for (Object argument : arguments) {
 			descriptors.add(TypeDescriptor.forObject(argument));
 		}
-		return Collections.unmodifiableList(descriptors);
+		List<TypeDescriptor> argumentTypes = Collections.unmodifiableList(descriptors);
+		this.cachedArgumentTypes = argumentTypes;
+		return argumentTypes;
+	}
+
+	private static boolean isSameArgumentTypes(List<TypeDescriptor> argumentTypes, Object[] arguments) {
+		if (argumentTypes.size() != arguments.length) {
+			return false;
+		}
+		for (int i = 0; i < arguments.length; i++) {
+			Object argument = arguments[i];
+			TypeDescriptor argumentType = argumentTypes.get(i);
+			if (argument == null ? argumentType != null :
+					argumentType == null || argumentType.getType() != argument.getClass()) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	@Nullable
@@ -0,0 +1,138 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.ast;
+
+import org.springframework.expression.TypedValue;
+import org.springframework.lang.Nullable;
+
+/**
+ * Mutable holder for an intermediate result of interpreted evaluation, keeping
+ * {@code int}, {@code long} and {@code double} values unboxed while they are
+ * passed between arithmetic and relational operators.
+ *
+ * <p>A single holder is used for an entire tree of operators: a binary operator
+ * reads the result of its left operand before evaluating its right operand into
+ * the same holder.
+ *
+ * @since 5.3.37
+ * @see SpelNodeImpl#getNumericValue(org.springframework.expression.spel.ExpressionState, NumericValue)
+ */
+final class NumericValue {
+
+	/** Any value other than an {@code int}, {@code long} or {@code double}. */
+	static final int OTHER = 0;
+
+	static final int INT = 1;
+
+	static final int LONG = 2;
+
+	static final int DOUBLE = 3;
+
+
+	int kind;
+
+	// The value for INT and LONG
+	long longValue;
+
+	// The value for all numeric kinds, widened from INT and LONG
+	double doubleValue;
+
+	// The value for OTHER, or the original value for a boxed number
+	@Nullable
+	TypedValue typedValue;
+
+
+	void setInt(int value) {
+		this.kind = INT;
+		this.longValue = value;
+		this.doubleValue = value;
+		this.typedValue = null;
+	}
+
+	void setLong(long value) {
+		this.kind = LONG;
+		this.longValue = value;
+		this.doubleValue = value;
+		this.typedValue = null;
+	}
+
+	void setDouble(double value) {
+		this.kind = DOUBLE;
+		this.longValue = 0;
+		this.doubleValue = value;
+		this.typedValue = null;
+	}
+
+	void setTypedValue(TypedValue typedValue) {
+		Object value = typedValue.getValue();
+		if (value instanceof Integer) {
+			setInt((Integer) value);
+		}
+		else if (value instanceof Long) {
+			setLong((Long) value);
+		}
+		else if (value instanceof Double) {
+			setDouble((Double) value);
+		}
+		else {
+			this.kind = OTHER;
+		}
+		this.typedValue = typedValue;
+	}
+
+	TypedValue toTypedValue() {
+		return toTypedValue(this.kind, this.longValue, this.doubleValue, this.typedValue);
+	}
+
+
+	/**
+	 * Box the given state of a holder, as saved by a binary operator for its left operand.
+	 */
+	static TypedValue toTypedValue(int kind, long longValue, double doubleValue, @Nullable TypedValue typedValue) {
+		if (typedValue != null) {
+			return typedValue;
+		}
+		switch (kind) {
+			case INT:
+				return new TypedValue((int) longValue);
+			case LONG:
+				return new TypedValue(longValue);
+			case DOUBLE:
+				return new TypedValue(doubleValue);
+			default:
+				throw new IllegalStateException("No value for kind " + kind);
+		}
+	}
+
+	/**
+	 * Return the descriptor of the boxed type for the given numeric kind,
+	 * as recorded for the actual operand types of an operator.
+	 */
+	static String toDescriptor(int kind) {
+		switch (kind) {
+			case INT:
+				return "Ljava/lang/Integer";
+			case LONG:
+				return "Ljava/lang/Long";
+			case DOUBLE:
+				return "Ljava/lang/Double";
+			default:
+				throw new IllegalStateException("No descriptor for kind " + kind);
+		}
+	}
+
+}
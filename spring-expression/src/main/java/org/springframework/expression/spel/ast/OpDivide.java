@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -46,8 +46,26 @@ public class OpDivide extends Operator {
 
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
-		Object leftOperand = getLeftOperand().getValueInternal(state).getValue();
-		Object rightOperand = getRightOperand().getValueInternal(state).getValue();
+		return getNumericResult(state);
+	}
+
+	@Override
+	void getNumericValue(ExpressionState state, NumericValue result) throws EvaluationException {
+		getNumericValue(state, result, (left, right) -> left / right,
+				(left, right) -> left / right, (left, right) -> left / right);
+	}
+
+	@Override
+	boolean hasNumericValue() {
+		return true;
+	}
+
+	@Override
+	TypedValue operate(ExpressionState state, TypedValue leftValue, TypedValue rightValue)
+			throws EvaluationException {
+
+		Object leftOperand = leftValue.getValue();
+		Object rightOperand = rightValue.getValue();
 
 		if (leftOperand instanceof Number && rightOperand instanceof Number) {
 			Number leftNumber = (Number) leftOperand;
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import org.springframework.expression.EvaluationException;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.support.BooleanTypedValue;
+import org.springframework.lang.Nullable;
 
 /**
  * Implements the equality operator.
@@ -39,11 +40,27 @@ public class OpEQ extends Operator {
 
 	@Override
 	public BooleanTypedValue getValueInternal(ExpressionState state) throws EvaluationException {
-		Object left = getLeftOperand().getValueInternal(state).getValue();
-		Object right = getRightOperand().getValueInternal(state).getValue();
-		this.leftActualDescriptor = CodeFlow.toDescriptorFromObject(left);
-		this.rightActualDescriptor = CodeFlow.toDescriptorFromObject(right);
-		return BooleanTypedValue.forValue(equalityCheck(state.getEvaluationContext(), left, right));
+		return BooleanTypedValue.forValue(getBooleanValue(state));
+	}
+
+	@Override
+	public boolean getBooleanValue(ExpressionState state) throws EvaluationException {
+		return compareOperands(state);
+	}
+
+	@Override
+	boolean compare(long left, long right) {
+		return (left == right);
+	}
+
+	@Override
+	boolean compare(double left, double right) {
+		return (left == right);
+	}
+
+	@Override
+	boolean compare(ExpressionState state, @Nullable Object left, @Nullable Object right) {
+		return equalityCheck(state.getEvaluationContext(), left, right);
 	}
 
 	// This check is different to the one in the other numeric operators (OpLt/etc)
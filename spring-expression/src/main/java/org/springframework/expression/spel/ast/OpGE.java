@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import org.springframework.expression.EvaluationException;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.support.BooleanTypedValue;
+import org.springframework.lang.Nullable;
 import org.springframework.util.NumberUtils;
 
 /**
@@ -44,12 +45,26 @@ public class OpGE extends Operator {
 
 	@Override
 	public BooleanTypedValue getValueInternal(ExpressionState state) throws EvaluationException {
-		Object left = getLeftOperand().getValueInternal(state).getValue();
-		Object right = getRightOperand().getValueInternal(state).getValue();
+		return BooleanTypedValue.forValue(getBooleanValue(state));
+	}
+
+	@Override
+	public boolean getBooleanValue(ExpressionState state) throws EvaluationException {
+		return compareOperands(state);
+	}
+
+	@Override
+	boolean compare(long left, long right) {
+		return (left >= right);
+	}
 
-		this.leftActualDescriptor = CodeFlow.toDescriptorFromObject(left);
-		this.rightActualDescriptor = CodeFlow.toDescriptorFromObject(right);
+	@Override
+	boolean compare(double left, double right) {
+		return (left >= right);
+	}
 
+	@Override
+	boolean compare(ExpressionState state, @Nullable Object left, @Nullable Object right) {
 		if (left instanceof Number && right instanceof Number) {
 			Number leftNumber = (Number) left;
 			Number rightNumber = (Number) right;
@@ -57,38 +72,38 @@ public class OpGE extends Operator {
 			if (leftNumber instanceof BigDecimal || rightNumber instanceof BigDecimal) {
 				BigDecimal leftBigDecimal = NumberUtils.convertNumberToTargetClass(leftNumber, BigDecimal.class);
 				BigDecimal rightBigDecimal = NumberUtils.convertNumberToTargetClass(rightNumber, BigDecimal.class);
-				return BooleanTypedValue.forValue(leftBigDecimal.compareTo(rightBigDecimal) >= 0);
+				return (leftBigDecimal.compareTo(rightBigDecimal) >= 0);
 			}
 			else if (leftNumber instanceof Double || rightNumber instanceof Double) {
-				return BooleanTypedValue.forValue(leftNumber.doubleValue() >= rightNumber.doubleValue());
+				return (leftNumber.doubleValue() >= rightNumber.doubleValue());
 			}
 			else if (leftNumber instanceof Float || rightNumber instanceof Float) {
-				return BooleanTypedValue.forValue(leftNumber.floatValue() >= rightNumber.floatValue());
+				return (leftNumber.floatValue() >= rightNumber.floatValue());
 			}
 			else if (leftNumber instanceof BigInteger || rightNumber instanceof BigInteger) {
 				BigInteger leftBigInteger = NumberUtils.convertNumberToTargetClass(leftNumber, BigInteger.class);
 				BigInteger rightBigInteger = NumberUtils.convertNumberToTargetClass(rightNumber, BigInteger.class);
-				return BooleanTypedValue.forValue(leftBigInteger.compareTo(rightBigInteger) >= 0);
+				return (leftBigInteger.compareTo(rightBigInteger) >= 0);
 			}
 			else if (leftNumber instanceof Long || rightNumber instanceof Long) {
-				return BooleanTypedValue.forValue(leftNumber.longValue() >= rightNumber.longValue());
+				return (leftNumber.longValue() >= rightNumber.longValue());
 			}
 			else if (leftNumber instanceof Integer || rightNumber instanceof Integer) {
-				return BooleanTypedValue.forValue(leftNumber.intValue() >= rightNumber.intValue());
+				return (leftNumber.intValue() >= rightNumber.intValue());
 			}
 			else if (leftNumber instanceof Short || rightNumber instanceof Short) {
-				return BooleanTypedValue.forValue(leftNumber.shortValue() >= rightNumber.shortValue());
+				return (leftNumber.shortValue() >= rightNumber.shortValue());
 			}
 			else if (leftNumber instanceof Byte || rightNumber instanceof Byte) {
-				return BooleanTypedValue.forValue(leftNumber.byteValue() >= rightNumber.byteValue());
+				return (leftNumber.byteValue() >= rightNumber.byteValue());
 			}
 			else {
 				// Unknown Number subtypes -> best guess is double comparison
-				return BooleanTypedValue.forValue(leftNumber.doubleValue() >= rightNumber.doubleValue());
+				return (leftNumber.doubleValue() >= rightNumber.doubleValue());
 			}
 		}
 
-		return BooleanTypedValue.forValue(state.getTypeComparator().compare(left, right) >= 0);
+		return (state.getTypeComparator().compare(left, right) >= 0);
 	}
 
 	@Override
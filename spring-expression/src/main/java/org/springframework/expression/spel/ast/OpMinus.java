@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import org.springframework.expression.Operation;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.NumberUtils;
 
@@ -54,49 +55,74 @@ public class OpMinus extends Operator {
 
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
-		SpelNodeImpl leftOp = getLeftOperand();
+		return getNumericResult(state);
+	}
 
+	@Override
+	void getNumericValue(ExpressionState state, NumericValue result) throws EvaluationException {
 		if (this.children.length < 2) {  // if only one operand, then this is unary minus
-			Object operand = leftOp.getValueInternal(state).getValue();
-			if (operand instanceof Number) {
-				if (operand instanceof BigDecimal) {
-					return new TypedValue(((BigDecimal) operand).negate());
-				}
-				else if (operand instanceof Double) {
-					this.exitTypeDescriptor = "D";
-					return new TypedValue(0 - ((Number) operand).doubleValue());
-				}
-				else if (operand instanceof Float) {
-					this.exitTypeDescriptor = "F";
-					return new TypedValue(0 - ((Number) operand).floatValue());
-				}
-				else if (operand instanceof BigInteger) {
-					return new TypedValue(((BigInteger) operand).negate());
-				}
-				else if (operand instanceof Long) {
-					this.exitTypeDescriptor = "J";
-					return new TypedValue(0 - ((Number) operand).longValue());
-				}
-				else if (operand instanceof Integer) {
+			getLeftOperand().getNumericValue(state, result);
+			switch (result.kind) {
+				case NumericValue.INT:
 					this.exitTypeDescriptor = "I";
-					return new TypedValue(0 - ((Number) operand).intValue());
-				}
-				else if (operand instanceof Short) {
-					return new TypedValue(0 - ((Number) operand).shortValue());
-				}
-				else if (operand instanceof Byte) {
-					return new TypedValue(0 - ((Number) operand).byteValue());
-				}
-				else {
-					// Unknown Number subtypes -> best guess is double subtraction
-					return new TypedValue(0 - ((Number) operand).doubleValue());
-				}
-			}
-			return state.operate(Operation.SUBTRACT, operand, null);
+					result.setInt(0 - (int) result.longValue);
+					break;
+				case NumericValue.LONG:
+					this.exitTypeDescriptor = "J";
+					result.setLong(0 - result.longValue);
+					break;
+				case NumericValue.DOUBLE:
+					this.exitTypeDescriptor = "D";
+					result.setDouble(0 - result.doubleValue);
+					break;
+				default:
+					result.setTypedValue(negate(state, result.toTypedValue().getValue()));
+			}
+		}
+		else {
+			getNumericValue(state, result, (left, right) -> left - right,
+					(left, right) -> left - right, (left, right) -> left - right);
 		}
+	}
+
+	@Override
+	boolean hasNumericValue() {
+		return true;
+	}
+
+	// Unary minus for operands other than int, long and double values
+	private TypedValue negate(ExpressionState state, @Nullable Object operand) {
+		if (operand instanceof Number) {
+			if (operand instanceof BigDecimal) {
+				return new TypedValue(((BigDecimal) operand).negate());
+			}
+			else if (operand instanceof Float) {
+				this.exitTypeDescriptor = "F";
+				return new TypedValue(0 - ((Number) operand).floatValue());
+			}
+			else if (operand instanceof BigInteger) {
+				return new TypedValue(((BigInteger) operand).negate());
+			}
+			else if (operand instanceof Short) {
+				return new TypedValue(0 - ((Number) operand).shortValue());
+			}
+			else if (operand instanceof Byte) {
+				return new TypedValue(0 - ((Number) operand).byteValue());
+			}
+			else {
+				// Unknown Number subtypes -> best guess is double subtraction
+				return new TypedValue(0 - ((Number) operand).doubleValue());
+			}
+		}
+		return state.operate(Operation.SUBTRACT, operand, null);
+	}
+
+	@Override
+	TypedValue operate(ExpressionState state, TypedValue leftValue, TypedValue rightValue)
+			throws EvaluationException {
 
-		Object left = leftOp.getValueInternal(state).getValue();
-		Object right = getRightOperand().getValueInternal(state).getValue();
+		Object left = leftValue.getValue();
+		Object right = rightValue.getValue();
 
 		if (left instanceof Number && right instanceof Number) {
 			Number leftNumber = (Number) left;
@@ -22,9 +22,7 @@ import org.springframework.expression.EvaluationException;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
-import org.springframework.expression.spel.SpelMessage;
 import org.springframework.expression.spel.support.BooleanTypedValue;
-import org.springframework.lang.Nullable;
 
 /**
  * Represents the boolean OR operation.
@@ -44,18 +42,18 @@ public class OpOr extends Operator {
 
 	@Override
 	public BooleanTypedValue getValueInternal(ExpressionState state) throws EvaluationException {
-		if (getBooleanValue(state, getLeftOperand())) {
-			// no need to evaluate right operand
-			return BooleanTypedValue.TRUE;
-		}
-		return BooleanTypedValue.forValue(getBooleanValue(state, getRightOperand()));
+		return BooleanTypedValue.forValue(getBooleanValue(state));
+	}
+
+	@Override
+	public boolean getBooleanValue(ExpressionState state) throws EvaluationException {
+		// no need to evaluate right operand if the left one is true
+		return (getBooleanValue(state, getLeftOperand()) || getBooleanValue(state, getRightOperand()));
 	}
 
 	private boolean getBooleanValue(ExpressionState state, SpelNodeImpl operand) {
 		try {
-			Boolean value = operand.getValue(state, Boolean.class);
-			assertValueNotNull(value);
-			return value;
+			return operand.getBooleanValue(state);
 		}
 		catch (SpelEvaluationException ee) {
 			ee.setPosition(operand.getStartPosition());
@@ -63,12 +61,6 @@ public class OpOr extends Operator {
 		}
 	}
 
-	private void assertValueNotNull(@Nullable Boolean value) {
-		if (value == null) {
-			throw new SpelEvaluationException(SpelMessage.TYPE_CONVERSION_ERROR, "null", "boolean");
-		}
-	}
-
 	@Override
 	public boolean isCompilable() {
 		SpelNodeImpl left = getLeftOperand();
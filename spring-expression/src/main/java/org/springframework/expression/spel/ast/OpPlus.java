@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -90,9 +90,30 @@ public class OpPlus extends Operator {
 			return state.operate(Operation.ADD, operandOne, null);
 		}
 
-		TypedValue operandOneValue = leftOp.getValueInternal(state);
+		return getNumericResult(state);
+	}
+
+	@Override
+	void getNumericValue(ExpressionState state, NumericValue result) throws EvaluationException {
+		if (this.children.length < 2) {
+			super.getNumericValue(state, result);
+		}
+		else {
+			getNumericValue(state, result, (left, right) -> left + right,
+					(left, right) -> left + right, (left, right) -> left + right);
+		}
+	}
+
+	@Override
+	boolean hasNumericValue() {
+		return (this.children.length > 1);
+	}
+
+	@Override
+	TypedValue operate(ExpressionState state, TypedValue operandOneValue, TypedValue operandTwoValue)
+			throws EvaluationException {
+
 		Object leftOperand = operandOneValue.getValue();
-		TypedValue operandTwoValue = getRightOperand().getValueInternal(state);
 		Object rightOperand = operandTwoValue.getValue();
 
 		if (leftOperand instanceof Number && rightOperand instanceof Number) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,11 +18,17 @@ package org.springframework.expression.spel.ast;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
 
 import org.springframework.asm.Label;
 import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.CodeFlow;
+import org.springframework.expression.spel.ExpressionState;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.NumberUtils;
@@ -88,6 +94,135 @@ public abstract class Operator extends SpelNodeImpl {
 		return sb.toString();
 	}
 
+	/**
+	 * Evaluate this arithmetic operator through {@link #getNumericValue}, boxing
+	 * only the final result rather than every intermediate one.
+	 * @since 5.3.37
+	 */
+	final TypedValue getNumericResult(ExpressionState state) throws EvaluationException {
+		NumericValue result = new NumericValue();
+		getNumericValue(state, result);
+		return result.toTypedValue();
+	}
+
+	/**
+	 * Evaluate both operands of this binary arithmetic operator into the given holder,
+	 * applying the standard promotions to {@code int}, {@code long} and {@code double}
+	 * operands without boxing them. Any other operands are passed on to
+	 * {@link #operate(ExpressionState, TypedValue, TypedValue)}.
+	 * @since 5.3.37
+	 */
+	final void getNumericValue(ExpressionState state, NumericValue result, IntBinaryOperator intOperation,
+			LongBinaryOperator longOperation, DoubleBinaryOperator doubleOperation) throws EvaluationException {
+
+		getLeftOperand().getNumericValue(state, result);
+		int leftKind = result.kind;
+		long leftLong = result.longValue;
+		double leftDouble = result.doubleValue;
+		TypedValue leftValue = result.typedValue;
+		getRightOperand().getNumericValue(state, result);
+		int rightKind = result.kind;
+
+		if (leftKind == NumericValue.OTHER || rightKind == NumericValue.OTHER) {
+			result.setTypedValue(operate(state,
+					NumericValue.toTypedValue(leftKind, leftLong, leftDouble, leftValue), result.toTypedValue()));
+		}
+		else if (leftKind == NumericValue.DOUBLE || rightKind == NumericValue.DOUBLE) {
+			this.exitTypeDescriptor = "D";
+			result.setDouble(doubleOperation.applyAsDouble(leftDouble, result.doubleValue));
+		}
+		else if (leftKind == NumericValue.LONG || rightKind == NumericValue.LONG) {
+			this.exitTypeDescriptor = "J";
+			result.setLong(longOperation.applyAsLong(leftLong, result.longValue));
+		}
+		else {
+			this.exitTypeDescriptor = "I";
+			result.setInt(intOperation.applyAsInt((int) leftLong, (int) result.longValue));
+		}
+	}
+
+	/**
+	 * Apply this binary arithmetic operator to operands other than a combination
+	 * of {@code int}, {@code long} and {@code double} values.
+	 * @since 5.3.37
+	 */
+	TypedValue operate(ExpressionState state, TypedValue leftValue, TypedValue rightValue)
+			throws EvaluationException {
+
+		throw new IllegalStateException(getClass().getName() + " is not an arithmetic operator");
+	}
+
+	/**
+	 * Compare both operands of this relational operator, evaluating arithmetic
+	 * operands without boxing their results. A combination of {@code int},
+	 * {@code long} and {@code double} values computed that way is compared through
+	 * {@link #compare(long, long)} or {@link #compare(double, double)}; anything
+	 * else is passed on to {@link #compare(ExpressionState, Object, Object)}.
+	 * @since 5.3.37
+	 */
+	final boolean compareOperands(ExpressionState state) throws EvaluationException {
+		SpelNodeImpl leftOp = getLeftOperand();
+		SpelNodeImpl rightOp = getRightOperand();
+		Object left;
+		Object right;
+
+		if (leftOp.hasNumericValue() || rightOp.hasNumericValue()) {
+			NumericValue result = new NumericValue();
+			leftOp.getNumericValue(state, result);
+			int leftKind = result.kind;
+			long leftLong = result.longValue;
+			double leftDouble = result.doubleValue;
+			TypedValue leftValue = result.typedValue;
+			rightOp.getNumericValue(state, result);
+			int rightKind = result.kind;
+
+			if (leftKind != NumericValue.OTHER && rightKind != NumericValue.OTHER) {
+				this.leftActualDescriptor = NumericValue.toDescriptor(leftKind);
+				this.rightActualDescriptor = NumericValue.toDescriptor(rightKind);
+				if (leftKind == NumericValue.DOUBLE || rightKind == NumericValue.DOUBLE) {
+					return compare(leftDouble, result.doubleValue);
+				}
+				return compare(leftLong, result.longValue);
+			}
+			left = NumericValue.toTypedValue(leftKind, leftLong, leftDouble, leftValue).getValue();
+			right = result.toTypedValue().getValue();
+		}
+		else {
+			left = leftOp.getValueInternal(state).getValue();
+			right = rightOp.getValueInternal(state).getValue();
+		}
+
+		this.leftActualDescriptor = CodeFlow.toDescriptorFromObject(left);
+		this.rightActualDescriptor = CodeFlow.toDescriptorFromObject(right);
+		return compare(state, left, right);
+	}
+
+	/**
+	 * Apply this relational operator to {@code int} or {@code long} operands.
+	 * @since 5.3.37
+	 */
+	boolean compare(long left, long right) {
+		throw new IllegalStateException(getClass().getName() + " is not a relational operator");
+	}
+
+	/**
+	 * Apply this relational operator to operands of which at least one is a {@code double}.
+	 * @since 5.3.37
+	 */
+	boolean compare(double left, double right) {
+		throw new IllegalStateException(getClass().getName() + " is not a relational operator");
+	}
+
+	/**
+	 * Apply this relational operator to any other operands.
+	 * @since 5.3.37
+	 */
+	boolean compare(ExpressionState state, @Nullable Object left, @Nullable Object right)
+			throws EvaluationException {
+
+		throw new IllegalStateException(getClass().getName() + " is not a relational operator");
+	}
+
 
 	protected boolean isCompilableOperatorUsingNumerics() {
 		SpelNodeImpl left = getLeftOperand();
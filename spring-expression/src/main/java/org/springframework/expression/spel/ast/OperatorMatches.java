@@ -22,11 +22,14 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
+import org.springframework.asm.MethodVisitor;
 import org.springframework.expression.EvaluationException;
+import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
 import org.springframework.expression.spel.SpelMessage;
 import org.springframework.expression.spel.support.BooleanTypedValue;
+import org.springframework.lang.Nullable;
 
 /**
  * Implements the matches operator. Matches takes two operands:
@@ -70,6 +73,7 @@ public class OperatorMatches extends Operator {
 	public OperatorMatches(ConcurrentMap<String, Pattern> patternCache, int startPos, int endPos, SpelNodeImpl... operands) {
 		super("matches", startPos, endPos, operands);
 		this.patternCache = patternCache;
+		this.exitTypeDescriptor = "Z";
 	}
 
 	/**
@@ -105,8 +109,7 @@ public class OperatorMatches extends Operator {
 				pattern = Pattern.compile(regex);
 				this.patternCache.putIfAbsent(regex, pattern);
 			}
-			Matcher matcher = pattern.matcher(new MatcherInput(input, new AccessCount()));
-			return BooleanTypedValue.forValue(matcher.matches());
+			return BooleanTypedValue.forValue(matches(pattern, input));
 		}
 		catch (PatternSyntaxException ex) {
 			throw new SpelEvaluationException(
@@ -118,6 +121,66 @@ public class OperatorMatches extends Operator {
 		}
 	}
 
+	/**
+	 * Compilation is supported for a literal regex and a {@code String} input,
+	 * with the regex having been validated through interpreted evaluation already.
+	 */
+	@Override
+	public boolean isCompilable() {
+		SpelNodeImpl leftOp = getLeftOperand();
+		SpelNodeImpl rightOp = getRightOperand();
+		return (rightOp instanceof StringLiteral && leftOp.isCompilable() &&
+				"Ljava/lang/String".equals(leftOp.exitTypeDescriptor) &&
+				this.patternCache.containsKey(getLiteralRegex()));
+	}
+
+	@Override
+	public void generateCode(MethodVisitor mv, CodeFlow cf) {
+		String regex = getLiteralRegex();
+		String patternFieldName = "pattern$" + cf.nextFieldId();
+		String className = cf.getClassName();
+
+		cf.registerNewField((cw, codeflow) ->
+				cw.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, patternFieldName, "Ljava/util/regex/Pattern;", null, null));
+		cf.registerNewClinit((clinit, codeflow) -> {
+			clinit.visitLdcInsn(regex);
+			clinit.visitMethodInsn(INVOKESTATIC, "java/util/regex/Pattern", "compile",
+					"(Ljava/lang/String;)Ljava/util/regex/Pattern;", false);
+			clinit.visitFieldInsn(PUTSTATIC, className, patternFieldName, "Ljava/util/regex/Pattern;");
+		});
+
+		mv.visitFieldInsn(GETSTATIC, className, patternFieldName, "Ljava/util/regex/Pattern;");
+		cf.enterCompilationScope();
+		getLeftOperand().generateCode(mv, cf);
+		cf.exitCompilationScope();
+		mv.visitMethodInsn(INVOKESTATIC, "org/springframework/expression/spel/ast/OperatorMatches", "matches",
+				"(Ljava/util/regex/Pattern;Ljava/lang/String;)Z", false);
+		cf.pushDescriptor("Z");
+	}
+
+	private String getLiteralRegex() {
+		return (String) ((StringLiteral) getRightOperand()).getLiteralValue().getValue();
+	}
+
+	/**
+	 * Check whether the given input matches the given pattern, limiting the number
+	 * of character accesses in order to guard against catastrophic backtracking.
+	 * <p>Public for use in compiled expressions.
+	 * @param pattern the compiled regex
+	 * @param input the input to match
+	 * @return {@code true} if the input matches the pattern
+	 * @throws SpelEvaluationException if the input is {@code null}
+	 * @throws IllegalStateException if the access threshold has been exceeded
+	 * @since 5.3.37
+	 */
+	public static boolean matches(Pattern pattern, @Nullable String input) {
+		if (input == null) {
+			throw new SpelEvaluationException(SpelMessage.INVALID_FIRST_OPERAND_FOR_MATCHES_OPERATOR, (Object) null);
+		}
+		Matcher matcher = pattern.matcher(new MatcherInput(input, new AccessCount()));
+		return matcher.matches();
+	}
+
 	private void checkRegexLength(String regex) {
 		if (regex.length() > MAX_REGEX_LENGTH) {
 			throw new SpelEvaluationException(getStartPosition(),
@@ -22,7 +22,6 @@ import org.springframework.expression.EvaluationException;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
 import org.springframework.expression.spel.SpelEvaluationException;
-import org.springframework.expression.spel.SpelMessage;
 import org.springframework.expression.spel.support.BooleanTypedValue;
 
 /**
@@ -43,12 +42,13 @@ public class OperatorNot extends SpelNodeImpl {  // Not is a unary operator so d
 
 	@Override
 	public BooleanTypedValue getValueInternal(ExpressionState state) throws EvaluationException {
+		return BooleanTypedValue.forValue(getBooleanValue(state));
+	}
+
+	@Override
+	public boolean getBooleanValue(ExpressionState state) throws EvaluationException {
 		try {
-			Boolean value = this.children[0].getValue(state, Boolean.class);
-			if (value == null) {
-				throw new SpelEvaluationException(SpelMessage.TYPE_CONVERSION_ERROR, "null", "boolean");
-			}
-			return BooleanTypedValue.forValue(!value);
+			return !this.children[0].getBooleanValue(state);
 		}
 		catch (SpelEvaluationException ex) {
 			ex.setPosition(getChild(0).getStartPosition());
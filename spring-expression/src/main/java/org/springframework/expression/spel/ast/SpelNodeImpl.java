@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -212,6 +212,54 @@ public abstract class SpelNodeImpl implements SpelNode, Opcodes {
 		return ExpressionUtils.convertTypedValue(state.getEvaluationContext(), getValueInternal(state), desiredReturnType);
 	}
 
+	/**
+	 * Evaluate this node to a primitive {@code boolean}, as required by logical
+	 * operators and conditions.
+	 * <p>The default implementation only consults the type converter if the
+	 * value is not a {@code Boolean} already. Boolean-valued nodes override this
+	 * to pass their result on without an intermediate {@link TypedValue}.
+	 * @param state the current expression state
+	 * @return the boolean value of this node
+	 * @throws EvaluationException if the value is {@code null} or cannot be
+	 * converted to a {@code boolean}
+	 * @since 5.3.37
+	 */
+	public boolean getBooleanValue(ExpressionState state) throws EvaluationException {
+		TypedValue typedValue = getValueInternal(state);
+		Object value = typedValue.getValue();
+		if (!(value instanceof Boolean)) {
+			value = ExpressionUtils.convertTypedValue(state.getEvaluationContext(), typedValue, Boolean.class);
+			if (value == null) {
+				throw new SpelEvaluationException(getStartPosition(),
+						SpelMessage.TYPE_CONVERSION_ERROR, "null", "boolean");
+			}
+		}
+		return (Boolean) value;
+	}
+
+	/**
+	 * Evaluate this node into the given holder, keeping an {@code int}, {@code long}
+	 * or {@code double} result unboxed if this node computes it itself.
+	 * <p>The default implementation holds the value returned by
+	 * {@link #getValueInternal(ExpressionState)}.
+	 * @param state the current expression state
+	 * @param result the holder for the value of this node
+	 * @since 5.3.37
+	 * @see #hasNumericValue()
+	 */
+	void getNumericValue(ExpressionState state, NumericValue result) throws EvaluationException {
+		result.setTypedValue(getValueInternal(state));
+	}
+
+	/**
+	 * Return whether this node overrides {@link #getNumericValue} in order
+	 * to compute its result without boxing.
+	 * @since 5.3.37
+	 */
+	boolean hasNumericValue() {
+		return false;
+	}
+
 	protected ValueRef getValueRef(ExpressionState state) throws EvaluationException {
 		throw new SpelEvaluationException(getStartPosition(), SpelMessage.NOT_ASSIGNABLE, toStringAST());
 	}
@@ -22,8 +22,6 @@ import org.springframework.expression.EvaluationException;
 import org.springframework.expression.TypedValue;
 import org.springframework.expression.spel.CodeFlow;
 import org.springframework.expression.spel.ExpressionState;
-import org.springframework.expression.spel.SpelEvaluationException;
-import org.springframework.expression.spel.SpelMessage;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
 
@@ -51,11 +49,7 @@ public class Ternary extends SpelNodeImpl {
 	 */
 	@Override
 	public TypedValue getValueInternal(ExpressionState state) throws EvaluationException {
-		Boolean value = this.children[0].getValue(state, Boolean.class);
-		if (value == null) {
-			throw new SpelEvaluationException(getChild(0).getStartPosition(),
-					SpelMessage.TYPE_CONVERSION_ERROR, "null", "boolean");
-		}
+		boolean value = this.children[0].getBooleanValue(state);
 		TypedValue result = this.children[value ? 1 : 2].getValueInternal(state);
 		computeExitTypeDescriptor();
 		return result;
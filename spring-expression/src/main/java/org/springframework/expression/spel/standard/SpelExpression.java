@@ -78,6 +78,10 @@ public class SpelExpression implements Expression {
 	// give up trying to compile it when it just doesn't seem to be possible.
 	private final AtomicInteger failedAttempts = new AtomicInteger();
 
+	// Notified on successful compilation, e.g. for the statistics of a shared expression cache
+	@Nullable
+	private Runnable compilationCallback;
+
 
 	/**
 	 * Construct an expression, only used by the parser.
@@ -108,6 +112,14 @@ public class SpelExpression implements Expression {
 		return this.evaluationContext;
 	}
 
+	/**
+	 * Set a callback to be notified once this expression has been compiled.
+	 * @see SpelExpressionCache
+	 */
+	void setCompilationCallback(@Nullable Runnable compilationCallback) {
+		this.compilationCallback = compilationCallback;
+	}
+
 
 	// implementing Expression
 
@@ -529,6 +541,10 @@ public class SpelExpression implements Expression {
 				if (compiledAst != null) {
 					// Successfully compiled
 					this.compiledAst = compiledAst;
+					Runnable compilationCallback = this.compilationCallback;
+					if (compilationCallback != null) {
+						compilationCallback.run();
+					}
 					return true;
 				}
 				else {
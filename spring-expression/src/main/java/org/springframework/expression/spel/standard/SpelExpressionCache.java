@@ -0,0 +1,205 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.ParseException;
+import org.springframework.expression.ParserContext;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentLruCache;
+
+/**
+ * Bounded cache of parsed SpEL {@link Expression expressions} for a specific
+ * {@link SpelExpressionParser}, keyed by expression string and template
+ * {@link ParserContext} prefix and suffix.
+ *
+ * <p>Opt-in through {@link SpelExpressionParser#setExpressionCacheLimit}:
+ * all callers of {@link SpelExpressionParser#parseCachedExpression} on that
+ * parser share the same expression instances, so that a frequently used
+ * expression is only parsed and compiled once per parser. Cached expressions
+ * must therefore be evaluated against an explicitly passed evaluation context.
+ * Note that in {@link org.springframework.expression.spel.SpelCompilerMode#IMMEDIATE
+ * IMMEDIATE} compiler mode, a shared expression must always be evaluated against
+ * the same types of root and target objects.
+ *
+ * @since 5.3.37
+ * @see SpelExpressionParser#parseCachedExpression(String, ParserContext)
+ */
+public class SpelExpressionCache {
+
+	private final SpelExpressionParser parser;
+
+	private final ConcurrentLruCache<ExpressionKey, Expression> cache;
+
+	private final AtomicLong requestCount = new AtomicLong();
+
+	private final AtomicLong parseCount = new AtomicLong();
+
+	private final AtomicLong compileCount = new AtomicLong();
+
+
+	/**
+	 * Create a new cache for the given parser with the given size limit.
+	 * @param parser the parser to parse expressions with
+	 * @param sizeLimit the maximum number of expressions to keep
+	 */
+	SpelExpressionCache(SpelExpressionParser parser, int sizeLimit) {
+		this.parser = parser;
+		this.cache = new ConcurrentLruCache<>(sizeLimit, this::parseExpression);
+	}
+
+
+	/**
+	 * Return the expression for the given expression string, parsing it
+	 * if not cached yet.
+	 * @param expressionString the raw expression string to parse
+	 * @param context a context for influencing the parsing routine
+	 * (may be {@code null} for a non-template expression)
+	 * @return the cached or newly parsed expression
+	 * @throws ParseException if an exception occurred during parsing
+	 */
+	public Expression getExpression(String expressionString, @Nullable ParserContext context)
+			throws ParseException {
+
+		Assert.notNull(expressionString, "Expression string must not be null");
+		this.requestCount.incrementAndGet();
+		return this.cache.get(new ExpressionKey(expressionString, context));
+	}
+
+	/**
+	 * Return the number of expressions currently held in this cache.
+	 */
+	public int size() {
+		return this.cache.size();
+	}
+
+	/**
+	 * Return the maximum number of expressions held in this cache.
+	 */
+	public int getSizeLimit() {
+		return this.cache.sizeLimit();
+	}
+
+	/**
+	 * Return the number of lookups served by an already parsed expression.
+	 */
+	public long getHitCount() {
+		return this.requestCount.get() - this.parseCount.get();
+	}
+
+	/**
+	 * Return the number of lookups that required parsing the expression.
+	 */
+	public long getMissCount() {
+		return this.parseCount.get();
+	}
+
+	/**
+	 * Return the number of cached expressions that have been compiled.
+	 * @see org.springframework.expression.spel.SpelCompilerMode
+	 */
+	public long getCompileCount() {
+		return this.compileCount.get();
+	}
+
+	/**
+	 * Remove all cached expressions; the statistics are retained.
+	 */
+	public void clear() {
+		this.cache.clear();
+	}
+
+	private Expression parseExpression(ExpressionKey key) {
+		this.parseCount.incrementAndGet();
+		Expression expression = this.parser.parseExpression(key.expressionString, key.parserContext);
+		if (expression instanceof SpelExpression) {
+			((SpelExpression) expression).setCompilationCallback(this.compileCount::incrementAndGet);
+		}
+		else if (expression instanceof CompositeStringExpression) {
+			for (Expression part : ((CompositeStringExpression) expression).getExpressions()) {
+				if (part instanceof SpelExpression) {
+					((SpelExpression) part).setCompilationCallback(this.compileCount::incrementAndGet);
+				}
+			}
+		}
+		return expression;
+	}
+
+	@Override
+	public String toString() {
+		return "SpelExpressionCache: size=" + size() + ", limit=" + getSizeLimit() +
+				", hits=" + getHitCount() + ", misses=" + getMissCount() + ", compiled=" + getCompileCount();
+	}
+
+
+	/**
+	 * Cache key for an expression, comparing a template context by value.
+	 */
+	private static final class ExpressionKey {
+
+		final String expressionString;
+
+		// Snapshot of a template context since a ParserContext may be mutable
+		@Nullable
+		final ParserContext parserContext;
+
+		ExpressionKey(String expressionString, @Nullable ParserContext parserContext) {
+			this.expressionString = expressionString;
+			// A non-template context does not influence parsing
+			this.parserContext = (parserContext != null && parserContext.isTemplate() ?
+					new TemplateParserContext(parserContext.getExpressionPrefix(), parserContext.getExpressionSuffix()) :
+					null);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ExpressionKey)) {
+				return false;
+			}
+			ExpressionKey otherKey = (ExpressionKey) other;
+			return (this.expressionString.equals(otherKey.expressionString) &&
+					isEquivalent(this.parserContext, otherKey.parserContext));
+		}
+
+		@Override
+		public int hashCode() {
+			int hashCode = this.expressionString.hashCode();
+			if (this.parserContext != null) {
+				hashCode = 29 * hashCode + this.parserContext.getExpressionPrefix().hashCode();
+				hashCode = 29 * hashCode + this.parserContext.getExpressionSuffix().hashCode();
+			}
+			return hashCode;
+		}
+
+		private static boolean isEquivalent(@Nullable ParserContext context, @Nullable ParserContext other) {
+			if (context == null || other == null) {
+				return (context == other);
+			}
+			return (context.getExpressionPrefix().equals(other.getExpressionPrefix()) &&
+					context.getExpressionSuffix().equals(other.getExpressionSuffix()));
+		}
+	}
+
+}
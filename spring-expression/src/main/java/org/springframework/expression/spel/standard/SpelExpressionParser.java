@@ -16,6 +16,7 @@
 
 package org.springframework.expression.spel.standard;
 
+import org.springframework.expression.Expression;
 import org.springframework.expression.ParseException;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.common.TemplateAwareExpressionParser;
@@ -35,6 +36,9 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 
 	private final SpelParserConfiguration configuration;
 
+	@Nullable
+	private volatile SpelExpressionCache expressionCache;
+
 
 	/**
 	 * Create a parser with default settings.
@@ -53,6 +57,53 @@ public class SpelExpressionParser extends TemplateAwareExpressionParser {
 	}
 
 
+	/**
+	 * Enable a bounded cache of parsed expressions for this parser, to be used
+	 * through {@link #parseCachedExpression}. Not active by default.
+	 * <p>Replaces any previously configured cache, dropping its content.
+	 * @param cacheLimit the maximum number of expressions to keep
+	 * (0 or less to turn off caching again)
+	 * @since 5.3.37
+	 * @see #getExpressionCache()
+	 */
+	public void setExpressionCacheLimit(int cacheLimit) {
+		this.expressionCache = (cacheLimit > 0 ? new SpelExpressionCache(this, cacheLimit) : null);
+	}
+
+	/**
+	 * Return the cache of parsed expressions for this parser, if enabled,
+	 * e.g. for exposing its statistics.
+	 * @since 5.3.37
+	 * @see #setExpressionCacheLimit
+	 */
+	@Nullable
+	public SpelExpressionCache getExpressionCache() {
+		return this.expressionCache;
+	}
+
+	/**
+	 * Parse the given expression string through the expression cache of this
+	 * parser, if enabled, returning an {@link Expression} that may be shared
+	 * with other callers of this method on the same parser. Without a cache,
+	 * this is equivalent to {@link #parseExpression(String, ParserContext)}.
+	 * <p>Cached expressions must be evaluated against an explicitly passed
+	 * evaluation context since their default context is shared as well.
+	 * @param expressionString the raw expression string to parse
+	 * @param context a context for influencing this expression parsing routine
+	 * (may be {@code null} for a non-template expression)
+	 * @return the cached or newly parsed expression
+	 * @throws ParseException if an exception occurred during parsing
+	 * @since 5.3.37
+	 * @see #setExpressionCacheLimit
+	 */
+	public Expression parseCachedExpression(String expressionString, @Nullable ParserContext context)
+			throws ParseException {
+
+		SpelExpressionCache expressionCache = this.expressionCache;
+		return (expressionCache != null ? expressionCache.getExpression(expressionString, context) :
+				parseExpression(expressionString, context));
+	}
+
 	public SpelExpression parseRaw(String expressionString) throws ParseException {
 		Assert.hasText(expressionString, "'expressionString' must not be null or blank");
 		return doParseExpression(expressionString, null);
@@ -72,6 +72,14 @@ public class BooleanExpressionTests extends AbstractExpressionTests {
 		evaluate("true and false or false", Boolean.FALSE, Boolean.class);
 	}
 
+	@Test
+	public void testCombinationsWithComparisons() {
+		evaluate("1 < 2 and 3 >= 3 or 4 != 4", Boolean.TRUE, Boolean.class);
+		evaluate("'abc' > 'abd' or 2.5 <= 2L", Boolean.FALSE, Boolean.class);
+		evaluate("!(1 == 1) ? 'yes' : 'no'", "no", String.class);
+		evaluate("'true' and 1 > 0", Boolean.TRUE, Boolean.class);
+	}
+
 	@Test
 	public void testWritability() {
 		evaluate("true and true", Boolean.TRUE, Boolean.class, false);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -64,6 +64,20 @@ public class MethodInvocationTests extends AbstractExpressionTests {
 		evaluate("'   abcba '.trim()", "abcba", String.class);
 	}
 
+	@Test
+	public void testArgumentTypesChangingBetweenInvocations() {
+		Expression expression = parser.parseExpression("T(String).valueOf(#value)");
+		StandardEvaluationContext context = new StandardEvaluationContext();
+		context.setVariable("value", 'c');
+		assertThat(expression.getValue(context)).isEqualTo("c");
+		context.setVariable("value", new char[] {'a', 'b'});
+		assertThat(expression.getValue(context)).isEqualTo("ab");
+		context.setVariable("value", 42);
+		assertThat(expression.getValue(context)).isEqualTo("42");
+		context.setVariable("value", 'c');
+		assertThat(expression.getValue(context)).isEqualTo("c");
+	}
+
 	@Test
 	public void testNonExistentMethods() {
 		// name is ok but madeup() does not exist
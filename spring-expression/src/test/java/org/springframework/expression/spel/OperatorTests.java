@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -386,6 +386,47 @@ class OperatorTests extends AbstractExpressionTests {
 		evaluate("3 MOD 2", 1, Integer.class);
 	}
 
+	@Test
+	void nestedArithmetic() {
+		evaluate("2 * 3L + 1", 7L, Long.class);
+		evaluate("2 * 3L + 0.5", 6.5d, Double.class);
+		evaluate("10 / 4 * 2.0", 4.0d, Double.class);
+		evaluate("-(2 * 3) % 4", -2, Integer.class);
+		evaluate("-(2L * 3)", -6L, Long.class);
+		evaluate("2147483647 + 1 - 1", 2147483647, Integer.class);
+		evaluate("2 * 3 + new java.math.BigDecimal('0.5')", new BigDecimal("6.5"), BigDecimal.class);
+		evaluate("1 + 2 + 'a' + 1 + 2", "3a12", String.class);
+		evaluate("'c' - (1 + 1)", "a", String.class);
+		evaluate("2 * 3f + 1", 7f, Float.class);
+	}
+
+	@Test
+	void comparisonsOfNestedArithmetic() {
+		evaluate("1 + 1 == 2L", true, Boolean.class);
+		evaluate("2 * 3 != 6.0", false, Boolean.class);
+		evaluate("-(2 * 3) < -5", true, Boolean.class);
+		evaluate("2 * 3 >= 5.5 + 1", false, Boolean.class);
+		evaluate("2 * 3 > new java.math.BigDecimal('5.5')", true, Boolean.class);
+		evaluate("1 + 2 + 'a' == '3a'", true, Boolean.class);
+		evaluate("0.0 / 0.0 == 0.0 / 0.0", false, Boolean.class);
+		evaluate("0.0 / 0.0 != 0.0 / 0.0", true, Boolean.class);
+		evaluate("0.0 / 0.0 < 1 + 1", false, Boolean.class);
+		evaluate("0.0 / 0.0 >= 1 + 1", false, Boolean.class);
+	}
+
+	@Test
+	void nestedArithmeticCompilesAfterInterpretedEvaluation() {
+		SpelExpression expr = (SpelExpression) parser.parseExpression("-(2 * 3) + 1 < 2 * 4 - 10");
+		assertThat(expr.getValue()).isEqualTo(true);
+		assertThat(expr.compileExpression()).isTrue();
+		assertThat(expr.getValue()).isEqualTo(true);
+
+		expr = (SpelExpression) parser.parseExpression("2.5 * 2 - 1");
+		assertThat(expr.getValue()).isEqualTo(4.0d);
+		assertThat(expr.compileExpression()).isTrue();
+		assertThat(expr.getValue()).isEqualTo(4.0d);
+	}
+
 	@Test
 	void plus() {
 		evaluate("7 + 2", "9", Integer.class);
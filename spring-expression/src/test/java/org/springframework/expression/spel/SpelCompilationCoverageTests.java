@@ -935,6 +935,103 @@ public class SpelCompilationCoverageTests extends AbstractExpressionTests {
 		assertThat(o).isEqualTo("op");
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	void inlineMap() throws Exception {
+		expression = parser.parseExpression("{a:1,b:'two',c:{d:3},e:{4,5}}");
+		Map<?, ?> m = (Map<?, ?>) expression.getValue();
+		assertThat(m.toString()).isEqualTo("{a=1, b=two, c={d=3}, e=[4, 5]}");
+		assertCanCompile(expression);
+		m = (Map<?, ?>) expression.getValue();
+		assertThat(m.toString()).isEqualTo("{a=1, b=two, c={d=3}, e=[4, 5]}");
+		assertThatExceptionOfType(UnsupportedOperationException.class).isThrownBy(() ->
+				((Map<Object, Object>) expression.getValue()).put("f", 6));
+
+		expression = parser.parseExpression("{'a':1,'b':2}['b']");
+		assertThat(expression.getValue()).isEqualTo(2);
+		assertCanCompile(expression);
+		assertThat(expression.getValue()).isEqualTo(2);
+
+		// Not constant, so not compilable
+		expression = parser.parseExpression("{a:#root}");
+		expression.getValue("x");
+		assertCantCompile(expression);
+	}
+
+	@Test
+	void selectionOnList() throws Exception {
+		List<String> names = Arrays.asList("a", "bb", "ccc", "dddd");
+
+		expression = parser.parseExpression("?[length() > 1]");
+		assertThat(expression.getValue(names)).isEqualTo(Arrays.asList("bb", "ccc", "dddd"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(names)).isEqualTo(Arrays.asList("bb", "ccc", "dddd"));
+
+		expression = parser.parseExpression("^[#this.length() > 1]");
+		assertThat(expression.getValue(names)).isEqualTo("bb");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(names)).isEqualTo("bb");
+
+		expression = parser.parseExpression("$[#this.length() < 4]");
+		assertThat(expression.getValue(names)).isEqualTo("ccc");
+		assertCanCompile(expression);
+		assertThat(expression.getValue(names)).isEqualTo("ccc");
+
+		expression = parser.parseExpression("^[length() > 10]");
+		assertThat(expression.getValue(names)).isNull();
+		assertCanCompile(expression);
+		assertThat(expression.getValue(names)).isNull();
+
+		expression = parser.parseExpression("?[length() > 1].size()");
+		assertThat(expression.getValue(names)).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue(names)).isEqualTo(3);
+	}
+
+	@Test
+	void projectionOnList() throws Exception {
+		List<String> names = Arrays.asList("a", "bb", "ccc");
+
+		expression = parser.parseExpression("![length()]");
+		assertThat(expression.getValue(names)).isEqualTo(Arrays.asList(1, 2, 3));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(names)).isEqualTo(Arrays.asList(1, 2, 3));
+
+		expression = parser.parseExpression("![#this.toUpperCase()]");
+		assertThat(expression.getValue(names)).isEqualTo(Arrays.asList("A", "BB", "CCC"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(names)).isEqualTo(Arrays.asList("A", "BB", "CCC"));
+
+		expression = parser.parseExpression("?[length() > 1]![#this + '!']");
+		assertThat(expression.getValue(names)).isEqualTo(Arrays.asList("bb!", "ccc!"));
+		assertCanCompile(expression);
+		assertThat(expression.getValue(names)).isEqualTo(Arrays.asList("bb!", "ccc!"));
+	}
+
+	@Test
+	void operatorMatches() throws Exception {
+		expression = parser.parseExpression("#root matches 'a.c'");
+		assertThat(expression.getValue("abc", Boolean.class)).isTrue();
+		assertCanCompile(expression);
+		assertThat(expression.getValue("abc", Boolean.class)).isTrue();
+		assertThat(expression.getValue("abd", Boolean.class)).isFalse();
+
+		expression = parser.parseExpression("toString() matches '[0-9]+'");
+		assertThat(expression.getValue("123", Boolean.class)).isTrue();
+		assertCanCompile(expression);
+		assertThat(expression.getValue("123", Boolean.class)).isTrue();
+		assertThat(expression.getValue("12a", Boolean.class)).isFalse();
+	}
+
+	@Test
+	void elvisWithPrimitiveCondition() throws Exception {
+		expression = parser.parseExpression("length() ?: 'none'");
+		assertThat(expression.getValue("abc")).isEqualTo(3);
+		assertCanCompile(expression);
+		assertThat(expression.getValue("abc")).isEqualTo(3);
+		assertThat(expression.getValue("", Integer.class)).isEqualTo(0);
+	}
+
 	@Test
 	void intLiteral() throws Exception {
 		expression = parser.parseExpression("42");
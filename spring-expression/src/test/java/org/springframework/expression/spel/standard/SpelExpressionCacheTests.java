@@ -0,0 +1,118 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel.standard;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SpelExpressionCache}.
+ */
+class SpelExpressionCacheTests {
+
+	private final SpelExpressionParser parser = new SpelExpressionParser();
+
+
+	@Test
+	void cachingIsNotActiveByDefault() {
+		Expression first = this.parser.parseCachedExpression("1 + 1", null);
+		Expression second = this.parser.parseCachedExpression("1 + 1", null);
+
+		assertThat(this.parser.getExpressionCache()).isNull();
+		assertThat(second).isNotSameAs(first);
+		assertThat(second.getValue()).isEqualTo(2);
+	}
+
+	@Test
+	void sameExpressionIsSharedWithinParser() {
+		this.parser.setExpressionCacheLimit(2);
+		SpelExpressionCache cache = this.parser.getExpressionCache();
+		Expression first = this.parser.parseCachedExpression("1 + 1", null);
+		Expression second = this.parser.parseCachedExpression("1 + 1", null);
+
+		assertThat(second).isSameAs(first);
+		assertThat(cache.getMissCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void expressionIsNotSharedAcrossParsers() {
+		SpelExpressionParser other = new SpelExpressionParser();
+		this.parser.setExpressionCacheLimit(2);
+		other.setExpressionCacheLimit(2);
+
+		assertThat(other.parseCachedExpression("1 + 1", null))
+				.isNotSameAs(this.parser.parseCachedExpression("1 + 1", null));
+	}
+
+	@Test
+	void disablingCacheFallsBackToParsing() {
+		this.parser.setExpressionCacheLimit(2);
+		Expression first = this.parser.parseCachedExpression("1 + 1", null);
+		this.parser.setExpressionCacheLimit(0);
+
+		assertThat(this.parser.getExpressionCache()).isNull();
+		assertThat(this.parser.parseCachedExpression("1 + 1", null)).isNotSameAs(first);
+	}
+
+	@Test
+	void templateContextIsPartOfKey() {
+		this.parser.setExpressionCacheLimit(2);
+		Expression template = this.parser.parseCachedExpression("#{1 + 1}", new TemplateParserContext());
+		Expression other = this.parser.parseCachedExpression("#{1 + 1}", new TemplateParserContext("${", "}"));
+
+		assertThat(template.getValue()).isEqualTo(2);
+		assertThat(other.getValue()).isEqualTo("#{1 + 1}");
+		assertThat(this.parser.parseCachedExpression("#{1 + 1}", new TemplateParserContext())).isSameAs(template);
+	}
+
+	@Test
+	void leastRecentlyUsedExpressionIsEvicted() {
+		this.parser.setExpressionCacheLimit(2);
+		SpelExpressionCache cache = this.parser.getExpressionCache();
+		Expression first = this.parser.parseCachedExpression("1", null);
+		this.parser.parseCachedExpression("2", null);
+		this.parser.parseCachedExpression("3", null);
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(this.parser.parseCachedExpression("1", null)).isNotSameAs(first);
+		assertThat(cache.getMissCount()).isEqualTo(4);
+	}
+
+	@Test
+	void compilationIsCounted() {
+		SpelExpressionParser parser = new SpelExpressionParser(
+				new SpelParserConfiguration(SpelCompilerMode.IMMEDIATE, getClass().getClassLoader()));
+		parser.setExpressionCacheLimit(2);
+		SpelExpressionCache cache = parser.getExpressionCache();
+		Expression expression = parser.parseCachedExpression("'abc'.length()", null);
+
+		assertThat(expression.getValue()).isEqualTo(3);
+		assertThat(expression.getValue()).isEqualTo(3);
+		assertThat(cache.getCompileCount()).isEqualTo(1);
+		assertThat(parser.parseCachedExpression("'abc'.length()", null).getValue()).isEqualTo(3);
+		assertThat(cache.getCompileCount()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.beans.BeanWrapper;
+
+/**
+ * Benchmark for mapping rows to beans through {@link BeanPropertyRowMapper},
+ * comparing direct setter invocation, the BeanWrapper-based mapping that
+ * applies to customized subclasses and a handwritten {@link RowMapper}.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanPropertyRowMapperBenchmark {
+
+	private static final int ROW_COUNT = 1000;
+
+	private static final String[] COLUMNS = {"id", "name", "balance", "active", "score"};
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"direct", "beanWrapper", "handwritten"})
+		public String mapperType;
+
+		public RowMapper<Customer> rowMapper;
+
+		public ResultSet resultSet;
+
+		@Setup
+		public void setup() {
+			switch (this.mapperType) {
+				case "direct":
+					this.rowMapper = new BeanPropertyRowMapper<>(Customer.class);
+					break;
+				case "beanWrapper":
+					this.rowMapper = new BeanPropertyRowMapper<Customer>(Customer.class) {
+						@Override
+						protected void initBeanWrapper(BeanWrapper bw) {
+							super.initBeanWrapper(bw);
+						}
+					};
+					break;
+				case "handwritten":
+					this.rowMapper = (rs, rowNum) -> {
+						Customer customer = new Customer();
+						customer.setId(rs.getLong(1));
+						customer.setName(rs.getString(2));
+						customer.setBalance(rs.getBigDecimal(3));
+						customer.setActive(rs.getBoolean(4));
+						customer.setScore(rs.getDouble(5));
+						return customer;
+					};
+					break;
+				default:
+					throw new IllegalStateException("Unknown mapper type: " + this.mapperType);
+			}
+			this.resultSet = createResultSet();
+		}
+	}
+
+
+	@Benchmark
+	@OperationsPerInvocation(ROW_COUNT)
+	public void mapRows(BenchmarkState state, Blackhole bh) throws SQLException {
+		for (int i = 0; i < ROW_COUNT; i++) {
+			bh.consume(state.rowMapper.mapRow(state.resultSet, i));
+		}
+	}
+
+
+	/**
+	 * Create a ResultSet which returns the same row of values for every call,
+	 * keeping driver overhead out of the measurement.
+	 */
+	private static ResultSet createResultSet() {
+		BigDecimal balance = new BigDecimal("1234.56");
+		ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+				BeanPropertyRowMapperBenchmark.class.getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getColumnCount":
+							return COLUMNS.length;
+						case "getColumnLabel":
+						case "getColumnName":
+							return COLUMNS[(Integer) args[0] - 1];
+						default:
+							throw new UnsupportedOperationException(method.getName());
+					}
+				});
+		return (ResultSet) Proxy.newProxyInstance(
+				BeanPropertyRowMapperBenchmark.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getMetaData":
+							return metaData;
+						case "getLong":
+							return 42L;
+						case "getString":
+							return "Bubba";
+						case "getBigDecimal":
+							return balance;
+						case "getBoolean":
+							return true;
+						case "getDouble":
+							return 0.5d;
+						case "wasNull":
+							return false;
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return (proxy == args[0]);
+						default:
+							throw new UnsupportedOperationException(method.getName());
+					}
+				});
+	}
+
+
+	public static class Customer {
+
+		private long id;
+
+		private String name;
+
+		private BigDecimal balance;
+
+		private boolean active;
+
+		private double score;
+
+		public long getId() {
+			return this.id;
+		}
+
+		public void setId(long id) {
+			this.id = id;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public BigDecimal getBalance() {
+			return this.balance;
+		}
+
+		public void setBalance(BigDecimal balance) {
+			this.balance = balance;
+		}
+
+		public boolean isActive() {
+			return this.active;
+		}
+
+		public void setActive(boolean active) {
+			this.active = active;
+		}
+
+		public double getScore() {
+			return this.score;
+		}
+
+		public void setScore(double score) {
+			this.score = score;
+		}
+	}
+
+}
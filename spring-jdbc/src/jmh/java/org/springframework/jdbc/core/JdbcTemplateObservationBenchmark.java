@@ -0,0 +1,155 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.jdbc.core.observation.SlowQuerySampler;
+import org.springframework.jdbc.core.observation.StatementHistogramRecorder;
+
+/**
+ * Benchmark for the overhead of statement observation in {@link JdbcTemplate},
+ * against a no-op JDBC driver so that only template overhead is measured.
+ *
+ * <p>{@code none} runs without an observation listener and is expected to be
+ * on par with a JdbcTemplate predating the observation support; {@code histogram}
+ * records into a {@link StatementHistogramRecorder}, and {@code sampler} feeds a
+ * {@link SlowQuerySampler} with redacted parameter capture.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class JdbcTemplateObservationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"none", "histogram", "sampler"})
+		public String listener;
+
+		public JdbcTemplate jdbcTemplate;
+
+		@Setup
+		public void setup() {
+			this.jdbcTemplate = new JdbcTemplate(createDataSource());
+			switch (this.listener) {
+				case "none":
+					break;
+				case "histogram":
+					this.jdbcTemplate.setObservationListener(new StatementHistogramRecorder());
+					break;
+				case "sampler":
+					this.jdbcTemplate.setObservationListener(new SlowQuerySampler());
+					break;
+				default:
+					throw new IllegalStateException("Unknown listener: " + this.listener);
+			}
+		}
+	}
+
+
+	@Benchmark
+	public int update(BenchmarkState state) {
+		return state.jdbcTemplate.update("UPDATE item SET name = ? WHERE id = ?", "name", 42);
+	}
+
+	@Benchmark
+	public Integer queryForObject(BenchmarkState state) {
+		return state.jdbcTemplate.queryForObject("SELECT count FROM item WHERE id = ?",
+				(rs, rowNum) -> rs.getInt(1), 42);
+	}
+
+
+	/**
+	 * Create a DataSource whose statements return a single row
+	 * or update count without doing any actual work.
+	 */
+	private static DataSource createDataSource() {
+		ClassLoader classLoader = JdbcTemplateObservationBenchmark.class.getClassLoader();
+		PreparedStatement ps = (PreparedStatement) Proxy.newProxyInstance(
+				classLoader, new Class<?>[] {PreparedStatement.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "executeUpdate":
+							return 1;
+						case "executeQuery":
+							return createResultSet(classLoader);
+						default:
+							return defaultValue(method.getReturnType());
+					}
+				});
+		Connection con = (Connection) Proxy.newProxyInstance(
+				classLoader, new Class<?>[] {Connection.class},
+				(proxy, method, args) -> {
+					if (method.getName().equals("prepareStatement")) {
+						return ps;
+					}
+					return defaultValue(method.getReturnType());
+				});
+		return (DataSource) Proxy.newProxyInstance(
+				classLoader, new Class<?>[] {DataSource.class},
+				(proxy, method, args) -> {
+					if (method.getName().equals("getConnection")) {
+						return con;
+					}
+					return defaultValue(method.getReturnType());
+				});
+	}
+
+	private static ResultSet createResultSet(ClassLoader classLoader) {
+		boolean[] consumed = new boolean[1];
+		return (ResultSet) Proxy.newProxyInstance(
+				classLoader, new Class<?>[] {ResultSet.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "next":
+							boolean next = !consumed[0];
+							consumed[0] = true;
+							return next;
+						case "getInt":
+							return 1;
+						default:
+							return defaultValue(method.getReturnType());
+					}
+				});
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (type == boolean.class) {
+			return false;
+		}
+		if (type == int.class) {
+			return 0;
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		return null;
+	}
+
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.jdbc.core.ColumnarSqlRowSetResultSetExtractor;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
+
+/**
+ * Benchmark for in-memory {@link SqlRowSet} implementations, comparing a
+ * {@link ColumnarSqlRowSet} with a {@link ResultSetWrappingSqlRowSet} around
+ * a {@code CachedRowSet} as created by {@link SqlRowSetResultSetExtractor}.
+ *
+ * <p>{@code extract} measures reading a result into a row set; run it with the
+ * GC profiler ({@code -prof gc}) and compare {@code gc.alloc.rate.norm}, which
+ * approximates the footprint of the row set since almost all allocated memory
+ * is retained by it. {@code scan} measures iterating over all rows and reading
+ * every column through the typed accessors.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ColumnarSqlRowSetBenchmark {
+
+	private static final String[] COLUMNS = {"id", "quantity", "price", "status", "active"};
+
+	private static final int[] TYPES = {Types.INTEGER, Types.BIGINT, Types.DOUBLE, Types.VARCHAR, Types.BOOLEAN};
+
+	private static final String[] CLASS_NAMES = {"java.lang.Integer", "java.lang.Long",
+			"java.lang.Double", "java.lang.String", "java.lang.Boolean"};
+
+	private static final String[] STATUSES = {"NEW", "SHIPPED", "DELIVERED", "RETURNED"};
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"columnar", "cached"})
+		public String rowSetType;
+
+		@Param({"10000"})
+		public int rowCount;
+
+		public ResultSetExtractor<? extends SqlRowSet> extractor;
+
+		public Object[][] rows;
+
+		public SqlRowSet rowSet;
+
+		@Setup
+		public void setup() throws SQLException {
+			switch (this.rowSetType) {
+				case "columnar":
+					this.extractor = new ColumnarSqlRowSetResultSetExtractor();
+					break;
+				case "cached":
+					this.extractor = new SqlRowSetResultSetExtractor();
+					break;
+				default:
+					throw new IllegalStateException("Unknown row set type: " + this.rowSetType);
+			}
+			this.rows = new Object[this.rowCount][];
+			for (int i = 0; i < this.rowCount; i++) {
+				this.rows[i] = new Object[] {i, i * 1000L, i * 0.25d,
+						STATUSES[i % STATUSES.length], (i % 3 != 0 ? Boolean.TRUE : null)};
+			}
+			this.rowSet = this.extractor.extractData(createResultSet(this.rows));
+		}
+
+		@Setup(Level.Invocation)
+		public void rewind() {
+			this.rowSet.beforeFirst();
+		}
+	}
+
+
+	@Benchmark
+	public SqlRowSet extract(BenchmarkState state) throws SQLException {
+		return state.extractor.extractData(createResultSet(state.rows));
+	}
+
+	@Benchmark
+	public long scan(BenchmarkState state, Blackhole bh) {
+		SqlRowSet rowSet = state.rowSet;
+		long sum = 0;
+		while (rowSet.next()) {
+			sum += rowSet.getInt(1);
+			sum += rowSet.getLong(2);
+			sum += (long) rowSet.getDouble(3);
+			bh.consume(rowSet.getString(4));
+			if (rowSet.getBoolean(5)) {
+				sum++;
+			}
+		}
+		return sum;
+	}
+
+
+	/**
+	 * Create a forward-only ResultSet over the given rows, keeping driver
+	 * overhead out of the measurement.
+	 */
+	private static ResultSet createResultSet(Object[][] rows) {
+		ResultSetMetaData metaData = (ResultSetMetaData) Proxy.newProxyInstance(
+				ColumnarSqlRowSetBenchmark.class.getClassLoader(), new Class<?>[] {ResultSetMetaData.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getColumnCount":
+							return COLUMNS.length;
+						case "getColumnLabel":
+						case "getColumnName":
+							return COLUMNS[(Integer) args[0] - 1];
+						case "getColumnType":
+							return TYPES[(Integer) args[0] - 1];
+						case "getColumnClassName":
+							return CLASS_NAMES[(Integer) args[0] - 1];
+						case "getColumnTypeName":
+						case "getCatalogName":
+						case "getSchemaName":
+						case "getTableName":
+							return "";
+						default:
+							return defaultValue(method.getReturnType());
+					}
+				});
+		int[] cursor = {-1};
+		Object[] lastValue = new Object[1];
+		return (ResultSet) Proxy.newProxyInstance(
+				ColumnarSqlRowSetBenchmark.class.getClassLoader(), new Class<?>[] {ResultSet.class},
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+						case "getMetaData":
+							return metaData;
+						case "next":
+							return (++cursor[0] < rows.length);
+						case "getObject":
+						case "getInt":
+						case "getLong":
+						case "getDouble":
+						case "getString":
+						case "getBoolean":
+							Object value = rows[cursor[0]][(Integer) args[0] - 1];
+							lastValue[0] = value;
+							if (value == null) {
+								return defaultValue(method.getReturnType());
+							}
+							return (method.getReturnType() == String.class ? value.toString() : value);
+						case "wasNull":
+							return (lastValue[0] == null);
+						case "getType":
+							return ResultSet.TYPE_FORWARD_ONLY;
+						case "hashCode":
+							return System.identityHashCode(proxy);
+						case "equals":
+							return (proxy == args[0]);
+						default:
+							return defaultValue(method.getReturnType());
+					}
+				});
+	}
+
+	private static Object defaultValue(Class<?> type) {
+		if (type == boolean.class) {
+			return false;
+		}
+		if (type == int.class) {
+			return 0;
+		}
+		if (type == long.class) {
+			return 0L;
+		}
+		if (type == double.class) {
+			return 0d;
+		}
+		return null;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,9 @@ package org.springframework.jdbc.core;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.springframework.lang.Nullable;
 
@@ -27,7 +30,7 @@ import org.springframework.lang.Nullable;
  * @author Juergen Hoeller
  * @since 3.2.3
  */
-public class ArgumentPreparedStatementSetter implements PreparedStatementSetter, ParameterDisposer {
+public class ArgumentPreparedStatementSetter implements PreparedStatementSetter, ParameterDisposer, ParameterValueProvider {
 
 	@Nullable
 	private final Object[] args;
@@ -70,6 +73,11 @@ public class ArgumentPreparedStatementSetter implements PreparedStatementSetter,
 		}
 	}
 
+	@Override
+	public List<?> getParameterValues() {
+		return (this.args != null ? Arrays.asList(this.args) : Collections.emptyList());
+	}
+
 	@Override
 	public void cleanupParameters() {
 		StatementCreatorUtils.cleanupParameters(this.args);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,7 +19,10 @@ package org.springframework.jdbc.core;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.lang.Nullable;
@@ -31,7 +34,7 @@ import org.springframework.lang.Nullable;
  * @author Juergen Hoeller
  * @since 3.2.3
  */
-public class ArgumentTypePreparedStatementSetter implements PreparedStatementSetter, ParameterDisposer {
+public class ArgumentTypePreparedStatementSetter implements PreparedStatementSetter, ParameterDisposer, ParameterValueProvider {
 
 	@Nullable
 	private final Object[] args;
@@ -100,6 +103,11 @@ public class ArgumentTypePreparedStatementSetter implements PreparedStatementSet
 		StatementCreatorUtils.setParameterValue(ps, parameterPosition, argType, argValue);
 	}
 
+	@Override
+	public List<?> getParameterValues() {
+		return (this.args != null ? Arrays.asList(this.args) : Collections.emptyList());
+	}
+
 	@Override
 	public void cleanupParameters() {
 		StatementCreatorUtils.cleanupParameters(this.args);
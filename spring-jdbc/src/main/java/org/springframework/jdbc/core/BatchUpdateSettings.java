@@ -0,0 +1,190 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.time.Duration;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Settings for a streaming batch update through
+ * {@link JdbcOperations#batchUpdate(String, java.util.Iterator, BatchUpdateSettings, ParameterizedPreparedStatementSetter)}.
+ *
+ * <p>A batch update splits the given arguments into chunks which are sent to the
+ * database as individual JDBC batches. The chunk size may either be fixed or adapt
+ * to the observed execution time of previous chunks, aiming for a target time per
+ * chunk within the given bounds. Chunks may optionally be executed in parallel on
+ * separate connections, provided that no transaction is active for the caller.
+ *
+ * <pre class="code">
+ * BatchUpdateSettings settings = BatchUpdateSettings.adaptive(100, 10000, Duration.ofMillis(200))
+ *     .parallelism(4, taskExecutor);
+ * BatchUpdateStatistics stats = jdbcTemplate.batchUpdate(sql, rows.iterator(), settings, setter);
+ * </pre>
+ *
+ * @since 5.3.37
+ * @see BatchUpdateStatistics
+ */
+public final class BatchUpdateSettings {
+
+	private final int minBatchSize;
+
+	private final int maxBatchSize;
+
+	@Nullable
+	private final Duration targetBatchTime;
+
+	private int initialBatchSize;
+
+	private int parallelism = 1;
+
+	@Nullable
+	private TaskExecutor taskExecutor;
+
+
+	private BatchUpdateSettings(int minBatchSize, int maxBatchSize, @Nullable Duration targetBatchTime) {
+		Assert.isTrue(minBatchSize > 0, "Minimum batch size must be greater than 0");
+		Assert.isTrue(maxBatchSize >= minBatchSize, "Maximum batch size must not be smaller than minimum batch size");
+		this.minBatchSize = minBatchSize;
+		this.maxBatchSize = maxBatchSize;
+		this.targetBatchTime = targetBatchTime;
+		this.initialBatchSize = minBatchSize;
+	}
+
+
+	/**
+	 * Create settings for chunks of a fixed size.
+	 * @param batchSize the number of arguments per JDBC batch
+	 */
+	public static BatchUpdateSettings fixed(int batchSize) {
+		return new BatchUpdateSettings(batchSize, batchSize, null);
+	}
+
+	/**
+	 * Create settings for chunks which adapt their size to the execution time
+	 * of previous chunks, starting with the given minimum batch size.
+	 * @param minBatchSize the minimum number of arguments per JDBC batch
+	 * @param maxBatchSize the maximum number of arguments per JDBC batch
+	 * @param targetBatchTime the execution time to aim for per JDBC batch
+	 */
+	public static BatchUpdateSettings adaptive(int minBatchSize, int maxBatchSize, Duration targetBatchTime) {
+		Assert.notNull(targetBatchTime, "Target batch time must not be null");
+		Assert.isTrue(!targetBatchTime.isNegative() && !targetBatchTime.isZero(), "Target batch time must be positive");
+		return new BatchUpdateSettings(minBatchSize, maxBatchSize, targetBatchTime);
+	}
+
+
+	/**
+	 * Specify the size of the first chunk for adaptive settings.
+	 * <p>Default is the minimum batch size.
+	 * @param initialBatchSize the initial number of arguments per JDBC batch,
+	 * within the minimum and maximum batch size
+	 * @return this settings instance, for chaining
+	 */
+	public BatchUpdateSettings initialBatchSize(int initialBatchSize) {
+		Assert.isTrue(initialBatchSize >= this.minBatchSize && initialBatchSize <= this.maxBatchSize,
+				"Initial batch size must be within minimum and maximum batch size");
+		this.initialBatchSize = initialBatchSize;
+		return this;
+	}
+
+	/**
+	 * Execute up to the given number of chunks concurrently, each on a separate
+	 * connection obtained on a thread of the given executor.
+	 * <p>Parallel execution only applies if no transaction is active for the
+	 * calling thread; otherwise, all chunks are executed serially within the
+	 * transaction. The connection pool needs to provide at least the given
+	 * number of connections for the parallelism to be effective.
+	 * @param parallelism the maximum number of chunks in flight
+	 * @param taskExecutor the executor to run the chunks on
+	 * @return this settings instance, for chaining
+	 */
+	public BatchUpdateSettings parallelism(int parallelism, TaskExecutor taskExecutor) {
+		Assert.isTrue(parallelism > 0, "Parallelism must be greater than 0");
+		Assert.notNull(taskExecutor, "TaskExecutor must not be null");
+		this.parallelism = parallelism;
+		this.taskExecutor = taskExecutor;
+		return this;
+	}
+
+
+	/**
+	 * Return the minimum number of arguments per JDBC batch.
+	 */
+	public int getMinBatchSize() {
+		return this.minBatchSize;
+	}
+
+	/**
+	 * Return the maximum number of arguments per JDBC batch.
+	 */
+	public int getMaxBatchSize() {
+		return this.maxBatchSize;
+	}
+
+	/**
+	 * Return the number of arguments for the first JDBC batch.
+	 */
+	public int getInitialBatchSize() {
+		return this.initialBatchSize;
+	}
+
+	/**
+	 * Return the execution time to aim for per JDBC batch,
+	 * or {@code null} for a fixed batch size.
+	 */
+	@Nullable
+	public Duration getTargetBatchTime() {
+		return this.targetBatchTime;
+	}
+
+	/**
+	 * Return the maximum number of chunks executed concurrently.
+	 */
+	public int getParallelism() {
+		return this.parallelism;
+	}
+
+	/**
+	 * Return the executor for parallel chunks, if any.
+	 */
+	@Nullable
+	public TaskExecutor getTaskExecutor() {
+		return this.taskExecutor;
+	}
+
+
+	/**
+	 * Determine the size of the next chunk, based on the execution time of
+	 * the previous one: scaled towards the target time, moving halfway per
+	 * chunk in order to smooth out outliers.
+	 * @param batchSize the size requested for the previous chunk
+	 * @param items the number of arguments in the previous chunk
+	 * @param nanos the execution time of the previous chunk
+	 */
+	int nextBatchSize(int batchSize, int items, long nanos) {
+		if (this.targetBatchTime == null || items < batchSize || nanos <= 0) {
+			return batchSize;
+		}
+		double idealSize = (double) this.targetBatchTime.toNanos() * items / nanos;
+		long nextSize = Math.round((batchSize + idealSize) / 2);
+		return (int) Math.max(this.minBatchSize, Math.min(this.maxBatchSize, nextSize));
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Statement;
+import java.time.Duration;
+
+/**
+ * Statistics for a streaming batch update through
+ * {@link JdbcOperations#batchUpdate(String, java.util.Iterator, BatchUpdateSettings, ParameterizedPreparedStatementSetter)},
+ * aggregated over all chunks instead of exposing the update counts per row.
+ *
+ * @since 5.3.37
+ * @see BatchUpdateSettings
+ */
+public final class BatchUpdateStatistics {
+
+	private long itemCount;
+
+	private long batchCount;
+
+	private long affectedRowCount;
+
+	private boolean affectedRowCountKnown = true;
+
+	private long minBatchNanos = Long.MAX_VALUE;
+
+	private long maxBatchNanos;
+
+	private long totalBatchNanos;
+
+	private int lastBatchSize;
+
+	private long elapsedNanos;
+
+
+	BatchUpdateStatistics() {
+	}
+
+
+	/**
+	 * Record the execution of a single chunk.
+	 * @param items the number of arguments in the chunk
+	 * @param updateCounts the update counts returned by the JDBC driver
+	 * @param nanos the execution time of the chunk
+	 */
+	synchronized void recordBatch(int items, int[] updateCounts, long nanos) {
+		this.itemCount += items;
+		this.batchCount++;
+		for (int updateCount : updateCounts) {
+			if (updateCount >= 0) {
+				this.affectedRowCount += updateCount;
+			}
+			else if (updateCount == Statement.SUCCESS_NO_INFO) {
+				this.affectedRowCountKnown = false;
+			}
+		}
+		this.minBatchNanos = Math.min(this.minBatchNanos, nanos);
+		this.maxBatchNanos = Math.max(this.maxBatchNanos, nanos);
+		this.totalBatchNanos += nanos;
+		this.lastBatchSize = items;
+	}
+
+	synchronized void complete(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+
+	/**
+	 * Return the total number of arguments sent to the database.
+	 */
+	public synchronized long getItemCount() {
+		return this.itemCount;
+	}
+
+	/**
+	 * Return the number of JDBC batches executed.
+	 */
+	public synchronized long getBatchCount() {
+		return this.batchCount;
+	}
+
+	/**
+	 * Return the total number of affected rows reported by the JDBC driver.
+	 * @see #isAffectedRowCountKnown()
+	 */
+	public synchronized long getAffectedRowCount() {
+		return this.affectedRowCount;
+	}
+
+	/**
+	 * Return whether the JDBC driver reported an update count for every
+	 * argument, as opposed to {@link Statement#SUCCESS_NO_INFO} for some.
+	 */
+	public synchronized boolean isAffectedRowCountKnown() {
+		return this.affectedRowCountKnown;
+	}
+
+	/**
+	 * Return the execution time of the fastest chunk.
+	 */
+	public synchronized Duration getMinBatchTime() {
+		return Duration.ofNanos(this.batchCount > 0 ? this.minBatchNanos : 0);
+	}
+
+	/**
+	 * Return the execution time of the slowest chunk.
+	 */
+	public synchronized Duration getMaxBatchTime() {
+		return Duration.ofNanos(this.maxBatchNanos);
+	}
+
+	/**
+	 * Return the average execution time per chunk.
+	 */
+	public synchronized Duration getAverageBatchTime() {
+		return Duration.ofNanos(this.batchCount > 0 ? this.totalBatchNanos / this.batchCount : 0);
+	}
+
+	/**
+	 * Return the number of arguments in the most recently executed chunk,
+	 * reflecting the batch size that the adaptive sizing arrived at.
+	 */
+	public synchronized int getLastBatchSize() {
+		return this.lastBatchSize;
+	}
+
+	/**
+	 * Return the overall time for the batch update, including the retrieval
+	 * of arguments from the given iterator.
+	 */
+	public synchronized Duration getElapsedTime() {
+		return Duration.ofNanos(this.elapsedNanos);
+	}
+
+	/**
+	 * Return the number of arguments processed per second, based on the
+	 * overall time for the batch update.
+	 */
+	public synchronized double getItemsPerSecond() {
+		return (this.elapsedNanos > 0 ? this.itemCount * 1_000_000_000d / this.elapsedNanos : 0);
+	}
+
+
+	@Override
+	public synchronized String toString() {
+		return "BatchUpdateStatistics: " + this.itemCount + " items in " + this.batchCount + " batches, " +
+				this.affectedRowCount + " affected rows, " + String.format("%.1f", getItemsPerSecond()) +
+				" items/s, batch time min/avg/max " + getMinBatchTime().toMillis() + "/" +
+				getAverageBatchTime().toMillis() + "/" + getMaxBatchTime().toMillis() + " ms";
+	}
+
+}
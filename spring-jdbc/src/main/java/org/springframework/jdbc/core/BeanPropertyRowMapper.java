@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,14 +16,25 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyChangeEvent;
 import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 import org.apache.commons.logging.Log;
@@ -32,7 +43,9 @@ import org.apache.commons.logging.LogFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.BeanWrapper;
 import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.NotWritablePropertyException;
+import org.springframework.beans.SimpleTypeConverter;
 import org.springframework.beans.TypeConverter;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.core.convert.ConversionService;
@@ -43,6 +56,7 @@ import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -119,6 +133,14 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	@Nullable
 	private Set<String> mappedPropertyNames;
 
+	/** Column-to-property plan for the most recent result set. */
+	@Nullable
+	private volatile MappingPlan mappingPlan;
+
+	/** Whether setters may be invoked directly, lazily determined. */
+	@Nullable
+	private volatile Boolean directPropertyAccess;
+
 
 	/**
 	 * Create a new {@code BeanPropertyRowMapper} for bean-style configuration.
@@ -244,6 +266,7 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 */
 	protected void initialize(Class<T> mappedClass) {
 		this.mappedClass = mappedClass;
+		this.mappingPlan = null;
 		this.mappedProperties = new HashMap<>();
 		this.mappedPropertyNames = new HashSet<>();
 
@@ -269,6 +292,7 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		if (this.mappedProperties != null) {
 			this.mappedProperties.remove(lowerCaseName(propertyName));
 			this.mappedProperties.remove(underscoreName(propertyName));
+			this.mappingPlan = null;
 		}
 	}
 
@@ -318,61 +342,176 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 	 */
 	@Override
 	public T mapRow(ResultSet rs, int rowNumber) throws SQLException {
+		MappingPlan plan = obtainMappingPlan(rs, rowNumber);
+		if (plan.directAccess) {
+			return mapRowDirectly(rs, rowNumber, plan);
+		}
+
 		BeanWrapperImpl bw = new BeanWrapperImpl();
 		initBeanWrapper(bw);
 
 		T mappedObject = constructMappedInstance(rs, bw);
 		bw.setBeanInstance(mappedObject);
 
-		ResultSetMetaData rsmd = rs.getMetaData();
-		int columnCount = rsmd.getColumnCount();
 		Set<String> populatedProperties = (isCheckFullyPopulated() ? new HashSet<>() : null);
 
-		for (int index = 1; index <= columnCount; index++) {
-			String column = JdbcUtils.lookupColumnName(rsmd, index);
-			String property = lowerCaseName(StringUtils.delete(column, " "));
-			PropertyDescriptor pd = (this.mappedProperties != null ? this.mappedProperties.get(property) : null);
-			if (pd != null) {
-				try {
-					Object value = getColumnValue(rs, index, pd);
-					if (rowNumber == 0 && logger.isDebugEnabled()) {
-						logger.debug("Mapping column '" + column + "' to property '" + pd.getName() +
-								"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
-					}
-					try {
-						bw.setPropertyValue(pd.getName(), value);
-					}
-					catch (TypeMismatchException ex) {
-						if (value == null && isPrimitivesDefaultedForNullValue()) {
-							if (logger.isDebugEnabled()) {
-								String propertyType = ClassUtils.getQualifiedName(pd.getPropertyType());
-								logger.debug(String.format(
-										"Ignoring intercepted TypeMismatchException for row %d and column '%s' " +
-										"with null value when setting property '%s' of type '%s' on object: %s",
-										rowNumber, column, pd.getName(), propertyType, mappedObject), ex);
-							}
-						}
-						else {
-							throw ex;
-						}
-					}
-					if (populatedProperties != null) {
-						populatedProperties.add(pd.getName());
+		for (PropertyMapping mapping : plan.mappings) {
+			PropertyDescriptor pd = mapping.propertyDescriptor;
+			try {
+				Object value = getColumnValue(rs, mapping.index, pd);
+				setPropertyValue(bw, mapping, value, rowNumber);
+			}
+			catch (NotWritablePropertyException ex) {
+				throw new DataRetrievalFailureException(
+						"Unable to map column '" + mapping.column + "' to property '" + pd.getName() + "'", ex);
+			}
+			if (populatedProperties != null) {
+				populatedProperties.add(pd.getName());
+			}
+		}
+
+		checkFullyPopulated(populatedProperties);
+		return mappedObject;
+	}
+
+	/**
+	 * Map the current row through the setter handles of the given plan,
+	 * falling back to a {@link BeanWrapper} for values that need conversion.
+	 */
+	private T mapRowDirectly(ResultSet rs, int rowNumber, MappingPlan plan) throws SQLException {
+		SimpleTypeConverter tc = new SimpleTypeConverter();
+		ConversionService cs = getConversionService();
+		if (cs != null) {
+			tc.setConversionService(cs);
+		}
+		T mappedObject = constructMappedInstance(rs, tc);
+		BeanWrapperImpl bw = null;
+
+		Set<String> populatedProperties = (isCheckFullyPopulated() ? new HashSet<>() : null);
+
+		for (PropertyMapping mapping : plan.mappings) {
+			PropertyDescriptor pd = mapping.propertyDescriptor;
+			try {
+				Object value = (mapping.hasSetter() ? mapping.apply(rs, mappedObject) :
+						JdbcUtils.getResultSetValue(rs, mapping.index, pd.getPropertyType()));
+				if (value != PropertyMapping.NOT_APPLIED) {
+					// Needs conversion or null handling: go through a BeanWrapper
+					if (bw == null) {
+						bw = new BeanWrapperImpl();
+						initBeanWrapper(bw);
+						bw.setBeanInstance(mappedObject);
 					}
+					setPropertyValue(bw, mapping, value, rowNumber);
+				}
+				else if (rowNumber == 0 && logger.isDebugEnabled()) {
+					logger.debug("Mapping column '" + mapping.column + "' to property '" + pd.getName() +
+							"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
 				}
-				catch (NotWritablePropertyException ex) {
-					throw new DataRetrievalFailureException(
-							"Unable to map column '" + column + "' to property '" + pd.getName() + "'", ex);
+			}
+			catch (NotWritablePropertyException ex) {
+				throw new DataRetrievalFailureException(
+						"Unable to map column '" + mapping.column + "' to property '" + pd.getName() + "'", ex);
+			}
+			if (populatedProperties != null) {
+				populatedProperties.add(pd.getName());
+			}
+		}
+
+		checkFullyPopulated(populatedProperties);
+		return mappedObject;
+	}
+
+	private void setPropertyValue(BeanWrapper bw, PropertyMapping mapping, @Nullable Object value, int rowNumber) {
+		PropertyDescriptor pd = mapping.propertyDescriptor;
+		if (rowNumber == 0 && logger.isDebugEnabled()) {
+			logger.debug("Mapping column '" + mapping.column + "' to property '" + pd.getName() +
+					"' of type '" + ClassUtils.getQualifiedName(pd.getPropertyType()) + "'");
+		}
+		try {
+			bw.setPropertyValue(pd.getName(), value);
+		}
+		catch (TypeMismatchException ex) {
+			if (value == null && isPrimitivesDefaultedForNullValue()) {
+				if (logger.isDebugEnabled()) {
+					String propertyType = ClassUtils.getQualifiedName(pd.getPropertyType());
+					logger.debug(String.format(
+							"Ignoring intercepted TypeMismatchException for row %d and column '%s' " +
+							"with null value when setting property '%s' of type '%s' on object: %s",
+							rowNumber, mapping.column, pd.getName(), propertyType, bw.getWrappedInstance()), ex);
 				}
 			}
+			else {
+				throw ex;
+			}
 		}
+	}
 
+	private void checkFullyPopulated(@Nullable Set<String> populatedProperties) {
 		if (populatedProperties != null && !populatedProperties.equals(this.mappedPropertyNames)) {
 			throw new InvalidDataAccessApiUsageException("Given ResultSet does not contain all properties " +
 					"necessary to populate object of " + this.mappedClass + ": " + this.mappedPropertyNames);
 		}
+	}
 
-		return mappedObject;
+	/**
+	 * Obtain the column-to-property plan for the given ResultSet, resolving
+	 * it from the result set meta-data for the first row of every query.
+	 */
+	private MappingPlan obtainMappingPlan(ResultSet rs, int rowNumber) throws SQLException {
+		MappingPlan plan = this.mappingPlan;
+		if (plan != null && rowNumber > 0 && plan.isFor(rs)) {
+			return plan;
+		}
+		ResultSetMetaData rsmd = rs.getMetaData();
+		int columnCount = rsmd.getColumnCount();
+		String[] columns = new String[columnCount];
+		for (int index = 1; index <= columnCount; index++) {
+			columns[index - 1] = JdbcUtils.lookupColumnName(rsmd, index);
+		}
+		if (plan != null && plan.directAccess == isDirectPropertyAccessSupported() &&
+				Arrays.equals(plan.columns, columns)) {
+			plan = plan.forResultSet(rs);
+		}
+		else {
+			plan = buildMappingPlan(rs, columns);
+		}
+		this.mappingPlan = plan;
+		return plan;
+	}
+
+	private MappingPlan buildMappingPlan(ResultSet rs, String[] columns) {
+		boolean directAccess = isDirectPropertyAccessSupported();
+		List<PropertyMapping> mappings = new ArrayList<>(columns.length);
+		for (int index = 1; index <= columns.length; index++) {
+			String column = columns[index - 1];
+			String property = lowerCaseName(StringUtils.delete(column, " "));
+			PropertyDescriptor pd = (this.mappedProperties != null ? this.mappedProperties.get(property) : null);
+			if (pd != null) {
+				mappings.add(new PropertyMapping(index, column, pd, directAccess));
+			}
+		}
+		return new MappingPlan(rs, columns, mappings.toArray(new PropertyMapping[0]), directAccess);
+	}
+
+	/**
+	 * Determine whether setters may be invoked directly, i.e. whether the
+	 * customization hooks for property binding have not been overridden
+	 * and no custom conversion rules may apply to assignable values.
+	 */
+	boolean isDirectPropertyAccessSupported() {
+		Boolean directAccess = this.directPropertyAccess;
+		if (directAccess == null) {
+			directAccess = (isDeclaredLocally("initBeanWrapper", BeanWrapper.class) &&
+					isDeclaredLocally("getColumnValue", ResultSet.class, int.class, PropertyDescriptor.class));
+			this.directPropertyAccess = directAccess;
+		}
+		ConversionService cs = getConversionService();
+		return (directAccess && (cs == null || cs.getClass() == DefaultConversionService.class));
+	}
+
+	private boolean isDeclaredLocally(String methodName, Class<?>... paramTypes) {
+		Method method = ReflectionUtils.findMethod(getClass(), methodName, paramTypes);
+		return (method != null && method.getDeclaringClass() == BeanPropertyRowMapper.class);
 	}
 
 	/**
@@ -469,4 +608,211 @@ public class BeanPropertyRowMapper<T> implements RowMapper<T> {
 		return rowMapper;
 	}
 
+
+	/**
+	 * Column-to-property plan for a specific shape of result set, resolved
+	 * once per query and reused for all subsequent rows of the same query.
+	 */
+	private static final class MappingPlan {
+
+		private final WeakReference<ResultSet> resultSet;
+
+		final String[] columns;
+
+		final PropertyMapping[] mappings;
+
+		final boolean directAccess;
+
+		MappingPlan(ResultSet rs, String[] columns, PropertyMapping[] mappings, boolean directAccess) {
+			this.resultSet = new WeakReference<>(rs);
+			this.columns = columns;
+			this.mappings = mappings;
+			this.directAccess = directAccess;
+		}
+
+		boolean isFor(ResultSet rs) {
+			return (this.resultSet.get() == rs);
+		}
+
+		MappingPlan forResultSet(ResultSet rs) {
+			return (isFor(rs) ? this : new MappingPlan(rs, this.columns, this.mappings, this.directAccess));
+		}
+	}
+
+
+	/**
+	 * Mapping of a single column to a bean property, holding a setter handle
+	 * which allows for assigning values without going through a BeanWrapper.
+	 */
+	private static final class PropertyMapping {
+
+		private static final Object NOT_APPLIED = new Object();
+
+		private static final int GENERIC = 0;
+
+		private static final int INT = 1;
+
+		private static final int LONG = 2;
+
+		private static final int DOUBLE = 3;
+
+		private static final int BOOLEAN = 4;
+
+		final int index;
+
+		final String column;
+
+		final PropertyDescriptor propertyDescriptor;
+
+		private final Class<?> propertyType;
+
+		private final int kind;
+
+		@Nullable
+		private final MethodHandle setter;
+
+		PropertyMapping(int index, String column, PropertyDescriptor pd, boolean directAccess) {
+			this.index = index;
+			this.column = column;
+			this.propertyDescriptor = pd;
+			this.propertyType = pd.getPropertyType();
+			this.kind = determineKind(this.propertyType);
+			this.setter = (directAccess && isDirectlyAssignable(this.propertyType) ?
+					resolveSetter(pd.getWriteMethod(), this.kind) : null);
+		}
+
+		boolean hasSetter() {
+			return (this.setter != null);
+		}
+
+		/**
+		 * Read the column value and assign it through the setter handle, if possible.
+		 * @return {@code NOT_APPLIED} if the value has been assigned, or otherwise the
+		 * extracted value which needs to be applied through a BeanWrapper
+		 */
+		@Nullable
+		Object apply(ResultSet rs, Object target) throws SQLException {
+			MethodHandle setter = this.setter;
+			Assert.state(setter != null, "No setter handle available");
+			Object value = null;
+			try {
+				switch (this.kind) {
+					case INT: {
+						int intValue = rs.getInt(this.index);
+						if (rs.wasNull()) {
+							return null;
+						}
+						value = intValue;
+						setter.invokeExact(target, intValue);
+						return NOT_APPLIED;
+					}
+					case LONG: {
+						long longValue = rs.getLong(this.index);
+						if (rs.wasNull()) {
+							return null;
+						}
+						value = longValue;
+						setter.invokeExact(target, longValue);
+						return NOT_APPLIED;
+					}
+					case DOUBLE: {
+						double doubleValue = rs.getDouble(this.index);
+						if (rs.wasNull()) {
+							return null;
+						}
+						value = doubleValue;
+						setter.invokeExact(target, doubleValue);
+						return NOT_APPLIED;
+					}
+					case BOOLEAN: {
+						boolean booleanValue = rs.getBoolean(this.index);
+						if (rs.wasNull()) {
+							return null;
+						}
+						value = booleanValue;
+						setter.invokeExact(target, booleanValue);
+						return NOT_APPLIED;
+					}
+					default: {
+						value = JdbcUtils.getResultSetValue(rs, this.index, this.propertyType);
+						if (value != null ? !ClassUtils.isAssignableValue(this.propertyType, value) :
+								this.propertyType.isPrimitive()) {
+							return value;
+						}
+						setter.invokeExact(target, value);
+						return NOT_APPLIED;
+					}
+				}
+			}
+			catch (SQLException | Error ex) {
+				throw ex;
+			}
+			catch (ClassCastException ex) {
+				throw new TypeMismatchException(propertyChangeEvent(target, value), this.propertyType, ex);
+			}
+			catch (Throwable ex) {
+				throw new MethodInvocationException(propertyChangeEvent(target, value), ex);
+			}
+		}
+
+		private PropertyChangeEvent propertyChangeEvent(Object target, @Nullable Object value) {
+			return new PropertyChangeEvent(target, this.propertyDescriptor.getName(), null, value);
+		}
+
+		private static int determineKind(Class<?> type) {
+			if (type == int.class) {
+				return INT;
+			}
+			else if (type == long.class) {
+				return LONG;
+			}
+			else if (type == double.class) {
+				return DOUBLE;
+			}
+			else if (type == boolean.class) {
+				return BOOLEAN;
+			}
+			return GENERIC;
+		}
+
+		private static boolean isDirectlyAssignable(Class<?> type) {
+			// Container types may need element conversion even if assignable
+			return !(type.isArray() || Collection.class.isAssignableFrom(type) ||
+					Map.class.isAssignableFrom(type) || type == Optional.class);
+		}
+
+		@Nullable
+		private static MethodHandle resolveSetter(@Nullable Method writeMethod, int kind) {
+			if (writeMethod == null) {
+				return null;
+			}
+			Class<?> valueType;
+			switch (kind) {
+				case INT:
+					valueType = int.class;
+					break;
+				case LONG:
+					valueType = long.class;
+					break;
+				case DOUBLE:
+					valueType = double.class;
+					break;
+				case BOOLEAN:
+					valueType = boolean.class;
+					break;
+				default:
+					valueType = Object.class;
+			}
+			try {
+				ReflectionUtils.makeAccessible(writeMethod);
+				return MethodHandles.lookup().unreflect(writeMethod)
+						.asType(MethodType.methodType(void.class, Object.class, valueType));
+			}
+			catch (Throwable ex) {
+				// Not accessible through a method handle: use a BeanWrapper instead
+				return null;
+			}
+		}
+	}
+
 }
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.support.rowset.ColumnarSqlRowSet;
+
+/**
+ * {@link ResultSetExtractor} implementation that returns a {@link ColumnarSqlRowSet}
+ * for each given {@link ResultSet}, storing its data column by column in memory.
+ *
+ * <p>A memory-efficient alternative to {@link SqlRowSetResultSetExtractor} for
+ * results which are cached for a longer period of time.
+ *
+ * @since 5.3.37
+ * @see org.springframework.jdbc.support.rowset.ColumnarSqlRowSet
+ * @see SqlRowSetResultSetExtractor
+ */
+public class ColumnarSqlRowSetResultSetExtractor implements ResultSetExtractor<ColumnarSqlRowSet> {
+
+	@Override
+	public ColumnarSqlRowSet extractData(ResultSet rs) throws SQLException {
+		return new ColumnarSqlRowSet(rs);
+	}
+
+}
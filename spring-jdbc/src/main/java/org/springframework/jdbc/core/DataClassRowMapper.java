@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.jdbc.core;
 
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Constructor;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -69,6 +70,10 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 	@Nullable
 	private TypeDescriptor[] constructorParameterTypes;
 
+	/** Column indexes for the constructor parameters in the most recent result set. */
+	@Nullable
+	private volatile ParameterColumns parameterColumns;
+
 
 	/**
 	 * Create a new {@code DataClassRowMapper} for bean-style configuration.
@@ -90,6 +95,7 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 	@Override
 	protected void initialize(Class<T> mappedClass) {
 		super.initialize(mappedClass);
+		this.parameterColumns = null;
 
 		this.mappedConstructor = BeanUtils.getResolvableConstructor(mappedClass);
 		int paramCount = this.mappedConstructor.getParameterCount();
@@ -111,21 +117,13 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 
 		Object[] args;
 		if (this.constructorParameterNames != null && this.constructorParameterTypes != null) {
+			int[] indexes = obtainParameterColumns(rs);
+			boolean directAccess = isDirectPropertyAccessSupported();
 			args = new Object[this.constructorParameterNames.length];
 			for (int i = 0; i < args.length; i++) {
-				String name = this.constructorParameterNames[i];
-				int index;
-				try {
-					// Try direct name match first
-					index = rs.findColumn(lowerCaseName(name));
-				}
-				catch (SQLException ex) {
-					// Try underscored name match instead
-					index = rs.findColumn(underscoreName(name));
-				}
 				TypeDescriptor td = this.constructorParameterTypes[i];
-				Object value = getColumnValue(rs, index, td.getType());
-				args[i] = tc.convertIfNecessary(value, td.getType(), td);
+				Object value = getColumnValue(rs, indexes[i], td.getType());
+				args[i] = (directAccess && isAssignableAsIs(value, td) ? value : tc.convertIfNecessary(value, td.getType(), td));
 			}
 		}
 		else {
@@ -135,6 +133,37 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 		return BeanUtils.instantiateClass(this.mappedConstructor, args);
 	}
 
+	/**
+	 * Resolve the column index for each constructor parameter, reusing the
+	 * indexes determined for a previous row of the same result set.
+	 */
+	private int[] obtainParameterColumns(ResultSet rs) throws SQLException {
+		ParameterColumns parameterColumns = this.parameterColumns;
+		if (parameterColumns != null && parameterColumns.resultSet.get() == rs) {
+			return parameterColumns.indexes;
+		}
+		Assert.state(this.constructorParameterNames != null, "No constructor parameter names");
+		int[] indexes = new int[this.constructorParameterNames.length];
+		for (int i = 0; i < indexes.length; i++) {
+			String name = this.constructorParameterNames[i];
+			try {
+				// Try direct name match first
+				indexes[i] = rs.findColumn(lowerCaseName(name));
+			}
+			catch (SQLException ex) {
+				// Try underscored name match instead
+				indexes[i] = rs.findColumn(underscoreName(name));
+			}
+		}
+		this.parameterColumns = new ParameterColumns(rs, indexes);
+		return indexes;
+	}
+
+	private static boolean isAssignableAsIs(@Nullable Object value, TypeDescriptor td) {
+		return (value != null && td.getType().isInstance(value) &&
+				!td.isArray() && !td.isCollection() && !td.isMap());
+	}
+
 
 	/**
 	 * Static factory method to create a new {@code DataClassRowMapper}.
@@ -161,4 +190,20 @@ public class DataClassRowMapper<T> extends BeanPropertyRowMapper<T> {
 		return rowMapper;
 	}
 
+
+	/**
+	 * Constructor parameter column indexes for a specific result set.
+	 */
+	private static final class ParameterColumns {
+
+		final WeakReference<ResultSet> resultSet;
+
+		final int[] indexes;
+
+		ParameterColumns(ResultSet rs, int[] indexes) {
+			this.resultSet = new WeakReference<>(rs);
+			this.indexes = indexes;
+		}
+	}
+
 }
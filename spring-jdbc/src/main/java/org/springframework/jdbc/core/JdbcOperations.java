@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.jdbc.core;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
@@ -1033,6 +1034,28 @@ public interface JdbcOperations {
 	<T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
 			ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException;
 
+	/**
+	 * Execute a streaming batch update using the supplied SQL statement, consuming
+	 * the given arguments chunk by chunk. The arguments' values will be set using
+	 * the ParameterizedPreparedStatementSetter.
+	 * <p>In contrast to {@link #batchUpdate(String, Collection, int, ParameterizedPreparedStatementSetter)},
+	 * the arguments do not need to be held in memory, the chunk size may adapt to
+	 * the observed execution time of previous chunks, and chunks may be executed in
+	 * parallel on separate connections if no transaction is active. Instead of the
+	 * update counts per argument, aggregated statistics are returned.
+	 * @param sql the SQL statement to execute
+	 * @param batchArgs the arguments to consume, e.g. from a {@link Stream#iterator()}
+	 * @param settings the chunking and parallelism settings
+	 * @param pss the ParameterizedPreparedStatementSetter to use
+	 * @return the statistics for the executed batches
+	 * @throws DataAccessException if there is any problem issuing the update
+	 * @since 5.3.37
+	 * @see BatchUpdateSettings#fixed(int)
+	 * @see BatchUpdateSettings#adaptive(int, int, java.time.Duration)
+	 */
+	<T> BatchUpdateStatistics batchUpdate(String sql, Iterator<T> batchArgs, BatchUpdateSettings settings,
+			ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException;
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,29 +31,42 @@ import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Spliterator;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import javax.sql.DataSource;
 
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.TransientDataAccessResourceException;
 import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.InvalidResultSetAccessException;
 import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.observation.JdbcObservationListener;
+import org.springframework.jdbc.core.observation.ParameterCapture;
+import org.springframework.jdbc.core.observation.StatementObservation;
+import org.springframework.jdbc.datasource.ConnectionHolder;
 import org.springframework.jdbc.datasource.ConnectionProxy;
 import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.PreparedStatementCache;
 import org.springframework.jdbc.support.JdbcAccessor;
 import org.springframework.jdbc.support.JdbcUtils;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.LinkedCaseInsensitiveMap;
@@ -110,6 +123,10 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 	private static final String RETURN_UPDATE_COUNT_PREFIX = "#update-count-";
 
+	/** The statement observation in progress on the current thread, if any. */
+	private static final ThreadLocal<ObservationContext> currentObservation =
+			new NamedThreadLocal<>("Current JDBC statement observation");
+
 
 	/** If this variable is {@code false}, we will throw exceptions on SQL warnings. */
 	private boolean ignoreWarnings = true;
@@ -153,6 +170,16 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	 */
 	private boolean resultsMapCaseInsensitive = false;
 
+	/** Maximum number of PreparedStatements to cache per transactional Connection. */
+	private int statementCacheSize = 0;
+
+	/** Hit/miss statistics for statement caching, aggregated across Connections. */
+	private final PreparedStatementCache.Statistics statementCacheStatistics = new PreparedStatementCache.Statistics();
+
+	/** Listener to notify of each statement execution, if any. */
+	@Nullable
+	private JdbcObservationListener observationListener;
+
 
 	/**
 	 * Construct a new JdbcTemplate for bean usage.
@@ -319,6 +346,66 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return this.resultsMapCaseInsensitive;
 	}
 
+	/**
+	 * Set the maximum number of PreparedStatements to cache per Connection,
+	 * for reusing statements for repeatedly executed SQL.
+	 * <p>Default is 0, indicating no caching. A positive value activates an LRU
+	 * cache held by the {@link ConnectionHolder} that is bound to the thread
+	 * for a transaction or transaction synchronization, closing all cached
+	 * statements when the Connection gets released. Outside of such a scope,
+	 * statements are prepared for each operation as usual.
+	 * <p>Only worth activating if neither the connection pool nor the JDBC
+	 * driver caches statements, e.g. with a {@code DriverManagerDataSource}.
+	 * @since 5.3.37
+	 * @see ConnectionHolder#getPreparedStatementCache(int)
+	 * @see #getStatementCacheStatistics()
+	 */
+	public void setStatementCacheSize(int statementCacheSize) {
+		this.statementCacheSize = statementCacheSize;
+	}
+
+	/**
+	 * Return the maximum number of PreparedStatements to cache per Connection.
+	 * @since 5.3.37
+	 */
+	public int getStatementCacheSize() {
+		return this.statementCacheSize;
+	}
+
+	/**
+	 * Return the hit/miss statistics for statement caching through this
+	 * JdbcTemplate, aggregated across all Connections.
+	 * @since 5.3.37
+	 * @see #setStatementCacheSize
+	 */
+	public PreparedStatementCache.Statistics getStatementCacheStatistics() {
+		return this.statementCacheStatistics;
+	}
+
+	/**
+	 * Set a listener to notify of each statement executed through this
+	 * JdbcTemplate, with its SQL, execution time, row count and batch size.
+	 * <p>Default is none, in which case no observation state is collected at all.
+	 * Use {@link JdbcObservationListener#composite} for multiple listeners.
+	 * <p>Note that for {@code queryForStream} operations, the observation
+	 * ends when the stream has been opened, without a row count.
+	 * @since 5.3.37
+	 * @see org.springframework.jdbc.core.observation.StatementHistogramRecorder
+	 * @see org.springframework.jdbc.core.observation.SlowQuerySampler
+	 */
+	public void setObservationListener(@Nullable JdbcObservationListener observationListener) {
+		this.observationListener = observationListener;
+	}
+
+	/**
+	 * Return the listener to notify of each statement execution, if any.
+	 * @since 5.3.37
+	 */
+	@Nullable
+	public JdbcObservationListener getObservationListener() {
+		return this.observationListener;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with a plain java.sql.Connection
@@ -366,6 +453,26 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 				new CloseSuppressingInvocationHandler(con));
 	}
 
+	/**
+	 * Return a Connection proxy which serves PreparedStatements from the cache
+	 * of the transactional Connection, if statement caching is active and the
+	 * given Connection is the one bound to the thread.
+	 * @param con the JDBC Connection to prepare statements on
+	 * @return the Connection to pass to the PreparedStatementCreator
+	 * @see #setStatementCacheSize
+	 */
+	private Connection getStatementCachingConnection(Connection con) {
+		if (this.statementCacheSize > 0) {
+			ConnectionHolder conHolder =
+					(ConnectionHolder) TransactionSynchronizationManager.getResource(obtainDataSource());
+			if (conHolder != null && conHolder.isOpen() && conHolder.getConnection() == con) {
+				return conHolder.getPreparedStatementCache(this.statementCacheSize)
+						.getCachingConnection(this.statementCacheStatistics);
+			}
+		}
+		return con;
+	}
+
 
 	//-------------------------------------------------------------------------
 	// Methods dealing with static SQL (java.sql.Statement)
@@ -376,15 +483,22 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		Assert.notNull(action, "Callback object must not be null");
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		ObservationContext observation = startObservation(action, StatementObservation.Operation.EXECUTE);
 		Statement stmt = null;
 		try {
 			stmt = con.createStatement();
 			applyStatementSettings(stmt);
 			T result = action.doInStatement(stmt);
 			handleWarnings(stmt);
+			if (observation != null) {
+				observation.result = result;
+			}
 			return result;
 		}
 		catch (SQLException ex) {
+			if (observation != null) {
+				observation.exception = ex;
+			}
 			// Release Connection early, to avoid potential connection pool deadlock
 			// in the case when the exception translator hasn't been initialized yet.
 			if (stmt != null) {
@@ -397,7 +511,16 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			con = null;
 			throw translateException("StatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			if (observation != null) {
+				observation.exception = ex;
+			}
+			throw ex;
+		}
 		finally {
+			if (observation != null) {
+				finishObservation(observation);
+			}
 			if (closeResources) {
 				JdbcUtils.closeStatement(stmt);
 				DataSourceUtils.releaseConnection(con, getDataSource());
@@ -448,6 +571,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			@Override
 			@Nullable
 			public T doInStatement(Statement stmt) throws SQLException {
+				observe(StatementObservation.Operation.QUERY, null);
 				ResultSet rs = null;
 				try {
 					rs = stmt.executeQuery(sql);
@@ -481,6 +605,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		class StreamStatementCallback implements StatementCallback<Stream<T>>, SqlProvider {
 			@Override
 			public Stream<T> doInStatement(Statement stmt) throws SQLException {
+				observe(StatementObservation.Operation.QUERY, null);
 				ResultSet rs = stmt.executeQuery(sql);
 				Connection con = stmt.getConnection();
 				return new ResultSetSpliterator<>(rs, rowMapper).stream().onClose(() -> {
@@ -542,6 +667,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		class UpdateStatementCallback implements StatementCallback<Integer>, SqlProvider {
 			@Override
 			public Integer doInStatement(Statement stmt) throws SQLException {
+				observe(StatementObservation.Operation.UPDATE, null);
 				int rows = stmt.executeUpdate(sql);
 				if (logger.isTraceEnabled()) {
 					logger.trace("SQL update affected " + rows + " rows");
@@ -572,6 +698,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 
 			@Override
 			public int[] doInStatement(Statement stmt) throws SQLException, DataAccessException {
+				observe(StatementObservation.Operation.BATCH_UPDATE, null);
 				int[] rowsAffected = new int[sql.length];
 				if (JdbcUtils.supportsBatchUpdates(stmt.getConnection())) {
 					for (String sqlStmt : sql) {
@@ -641,15 +768,22 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		ObservationContext observation = startObservation(psc, StatementObservation.Operation.EXECUTE);
 		PreparedStatement ps = null;
 		try {
-			ps = psc.createPreparedStatement(con);
+			ps = psc.createPreparedStatement(getStatementCachingConnection(con));
 			applyStatementSettings(ps);
 			T result = action.doInPreparedStatement(ps);
 			handleWarnings(ps);
+			if (observation != null) {
+				observation.result = result;
+			}
 			return result;
 		}
 		catch (SQLException ex) {
+			if (observation != null) {
+				observation.exception = ex;
+			}
 			// Release Connection early, to avoid potential connection pool deadlock
 			// in the case when the exception translator hasn't been initialized yet.
 			if (psc instanceof ParameterDisposer) {
@@ -666,7 +800,16 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			con = null;
 			throw translateException("PreparedStatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			if (observation != null) {
+				observation.exception = ex;
+			}
+			throw ex;
+		}
 		finally {
+			if (observation != null) {
+				finishObservation(observation);
+			}
 			if (closeResources) {
 				if (psc instanceof ParameterDisposer) {
 					((ParameterDisposer) psc).cleanupParameters();
@@ -714,6 +857,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			@Override
 			@Nullable
 			public T doInPreparedStatement(PreparedStatement ps) throws SQLException {
+				observe(StatementObservation.Operation.QUERY, pss);
 				ResultSet rs = null;
 				try {
 					if (pss != null) {
@@ -832,6 +976,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			RowMapper<T> rowMapper) throws DataAccessException {
 
 		return result(execute(psc, ps -> {
+			observe(StatementObservation.Operation.QUERY, pss);
 			if (pss != null) {
 				pss.setValues(ps);
 			}
@@ -958,6 +1103,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		logger.debug("Executing prepared SQL update");
 
 		return updateCount(execute(psc, ps -> {
+			observe(StatementObservation.Operation.UPDATE, pss);
 			try {
 				if (pss != null) {
 					pss.setValues(ps);
@@ -989,6 +1135,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		logger.debug("Executing SQL update and returning generated keys");
 
 		return updateCount(execute(psc, ps -> {
+			observe(StatementObservation.Operation.UPDATE, null);
 			int rows = ps.executeUpdate();
 			List<Map<String, Object>> generatedKeys = generatedKeyHolder.getKeyList();
 			generatedKeys.clear();
@@ -1032,6 +1179,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 
 		int[] result = execute(sql, (PreparedStatementCallback<int[]>) ps -> {
+			observe(StatementObservation.Operation.BATCH_UPDATE, null);
 			try {
 				int batchSize = pss.getBatchSize();
 				InterruptibleBatchPreparedStatementSetter ipss =
@@ -1125,6 +1273,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			logger.debug("Executing SQL batch update [" + sql + "] with a batch size of " + batchSize);
 		}
 		int[][] result = execute(sql, (PreparedStatementCallback<int[][]>) ps -> {
+			observe(StatementObservation.Operation.BATCH_UPDATE, null);
 			List<int[]> rowsAffected = new ArrayList<>();
 			try {
 				boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
@@ -1166,6 +1315,163 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	}
 
 
+	@Override
+	public <T> BatchUpdateStatistics batchUpdate(String sql, Iterator<T> batchArgs, BatchUpdateSettings settings,
+			ParameterizedPreparedStatementSetter<T> pss) throws DataAccessException {
+
+		Assert.notNull(batchArgs, "Batch arguments must not be null");
+		Assert.notNull(settings, "BatchUpdateSettings must not be null");
+		TaskExecutor taskExecutor = settings.getTaskExecutor();
+		boolean parallel = (settings.getParallelism() > 1 && taskExecutor != null &&
+				!TransactionSynchronizationManager.isActualTransactionActive() &&
+				!TransactionSynchronizationManager.hasResource(obtainDataSource()));
+		if (logger.isDebugEnabled()) {
+			logger.debug("Executing SQL batch update [" + sql + "] with a batch size of " +
+					settings.getInitialBatchSize() + (settings.getTargetBatchTime() != null ?
+					" (adaptive up to " + settings.getMaxBatchSize() + ")" : "") +
+					(parallel ? " and a parallelism of " + settings.getParallelism() : ""));
+		}
+
+		BatchUpdateStatistics statistics = new BatchUpdateStatistics();
+		long startTime = System.nanoTime();
+		try {
+			if (parallel) {
+				executeBatchesInParallel(sql, batchArgs, settings, taskExecutor, pss, statistics);
+			}
+			else {
+				execute(sql, (PreparedStatementCallback<Object>) ps -> {
+					observe(StatementObservation.Operation.BATCH_UPDATE, null);
+					boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
+					int batchSize = settings.getInitialBatchSize();
+					while (batchArgs.hasNext()) {
+						batchSize = executeChunk(ps, batchArgs, batchSize, batchSupported, settings, pss, statistics);
+					}
+					return null;
+				});
+			}
+		}
+		finally {
+			statistics.complete(System.nanoTime() - startTime);
+			if (pss instanceof ParameterDisposer) {
+				((ParameterDisposer) pss).cleanupParameters();
+			}
+		}
+		if (logger.isDebugEnabled()) {
+			logger.debug(statistics);
+		}
+		return statistics;
+	}
+
+	/**
+	 * Materialize chunks on the calling thread and execute them concurrently,
+	 * each on a connection of its own, limiting the number of chunks in flight
+	 * to the configured parallelism.
+	 */
+	private <T> void executeBatchesInParallel(String sql, Iterator<T> batchArgs, BatchUpdateSettings settings,
+			TaskExecutor taskExecutor, ParameterizedPreparedStatementSetter<T> pss, BatchUpdateStatistics statistics) {
+
+		int parallelism = settings.getParallelism();
+		Semaphore permits = new Semaphore(parallelism);
+		AtomicInteger nextBatchSize = new AtomicInteger(settings.getInitialBatchSize());
+		AtomicReference<Throwable> failure = new AtomicReference<>();
+		try {
+			try {
+				while (batchArgs.hasNext() && failure.get() == null) {
+					int batchSize = nextBatchSize.get();
+					List<T> chunk = new ArrayList<>(batchSize);
+					while (chunk.size() < batchSize && batchArgs.hasNext()) {
+						chunk.add(batchArgs.next());
+					}
+					permits.acquire();
+					try {
+						taskExecutor.execute(() -> {
+							try {
+								execute(sql, (PreparedStatementCallback<Object>) ps -> {
+									observe(StatementObservation.Operation.BATCH_UPDATE, null);
+									boolean batchSupported = JdbcUtils.supportsBatchUpdates(ps.getConnection());
+									nextBatchSize.set(executeChunk(ps, chunk.iterator(), batchSize,
+											batchSupported, settings, pss, statistics));
+									return null;
+								});
+							}
+							catch (Throwable ex) {
+								failure.compareAndSet(null, ex);
+							}
+							finally {
+								permits.release();
+							}
+						});
+					}
+					catch (RuntimeException ex) {
+						permits.release();
+						throw ex;
+					}
+				}
+			}
+			finally {
+				// Wait for all chunks in flight
+				permits.acquire(parallelism);
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new TransientDataAccessResourceException("Interrupted while executing SQL batch update [" + sql + "]", ex);
+		}
+
+		Throwable ex = failure.get();
+		if (ex instanceof RuntimeException) {
+			throw (RuntimeException) ex;
+		}
+		else if (ex instanceof Error) {
+			throw (Error) ex;
+		}
+		else if (ex != null) {
+			throw new IllegalStateException("Unexpected exception in SQL batch update [" + sql + "]", ex);
+		}
+	}
+
+	/**
+	 * Execute a single chunk of up to the given number of arguments on the
+	 * given PreparedStatement, recording its execution time.
+	 * @return the size to use for the next chunk
+	 */
+	private <T> int executeChunk(PreparedStatement ps, Iterator<T> batchArgs, int batchSize, boolean batchSupported,
+			BatchUpdateSettings settings, ParameterizedPreparedStatementSetter<T> pss,
+			BatchUpdateStatistics statistics) throws SQLException {
+
+		long startTime = System.nanoTime();
+		int items = 0;
+		int[] updateCounts;
+		if (batchSupported) {
+			while (items < batchSize && batchArgs.hasNext()) {
+				pss.setValues(ps, batchArgs.next());
+				ps.addBatch();
+				items++;
+			}
+			updateCounts = ps.executeBatch();
+		}
+		else {
+			updateCounts = new int[batchSize];
+			while (items < batchSize && batchArgs.hasNext()) {
+				pss.setValues(ps, batchArgs.next());
+				updateCounts[items++] = ps.executeUpdate();
+			}
+			if (items < batchSize) {
+				int[] actualCounts = new int[items];
+				System.arraycopy(updateCounts, 0, actualCounts, 0, items);
+				updateCounts = actualCounts;
+			}
+		}
+		long nanos = System.nanoTime() - startTime;
+		statistics.recordBatch(items, updateCounts, nanos);
+		observeBatch(updateCounts);
+		if (logger.isTraceEnabled()) {
+			logger.trace("Sent SQL batch update with " + items + " items in " + (nanos / 1_000_000) + " ms");
+		}
+		return settings.nextBatchSize(batchSize, items, nanos);
+	}
+
+
 	//-------------------------------------------------------------------------
 	// Methods dealing with callable statements
 	//-------------------------------------------------------------------------
@@ -1183,15 +1489,22 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		}
 
 		Connection con = DataSourceUtils.getConnection(obtainDataSource());
+		ObservationContext observation = startObservation(csc, StatementObservation.Operation.CALL);
 		CallableStatement cs = null;
 		try {
 			cs = csc.createCallableStatement(con);
 			applyStatementSettings(cs);
 			T result = action.doInCallableStatement(cs);
 			handleWarnings(cs);
+			if (observation != null) {
+				observation.result = result;
+			}
 			return result;
 		}
 		catch (SQLException ex) {
+			if (observation != null) {
+				observation.exception = ex;
+			}
 			// Release Connection early, to avoid potential connection pool deadlock
 			// in the case when the exception translator hasn't been initialized yet.
 			if (csc instanceof ParameterDisposer) {
@@ -1208,7 +1521,16 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 			con = null;
 			throw translateException("CallableStatementCallback", sql, ex);
 		}
+		catch (RuntimeException | Error ex) {
+			if (observation != null) {
+				observation.exception = ex;
+			}
+			throw ex;
+		}
 		finally {
+			if (observation != null) {
+				finishObservation(observation);
+			}
 			if (csc instanceof ParameterDisposer) {
 				((ParameterDisposer) csc).cleanupParameters();
 			}
@@ -1603,6 +1925,127 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		return result;
 	}
 
+	/**
+	 * Start observing a statement execution if an observation listener is set.
+	 * @param sqlProvider the callback or creator that is potentially an SqlProvider
+	 * @param operation the default kind of operation, refined through {@link #observe}
+	 * @return the observation context, or {@code null} if not observing
+	 */
+	@Nullable
+	private ObservationContext startObservation(Object sqlProvider, StatementObservation.Operation operation) {
+		JdbcObservationListener listener = this.observationListener;
+		if (listener == null) {
+			return null;
+		}
+		ObservationContext observation =
+				new ObservationContext(listener, sqlProvider, operation, currentObservation.get());
+		currentObservation.set(observation);
+		return observation;
+	}
+
+	/**
+	 * Refine the current observation, if any, with the kind of operation
+	 * and the source of bind parameters.
+	 */
+	private void observe(StatementObservation.Operation operation, @Nullable Object parameterSource) {
+		if (this.observationListener != null) {
+			ObservationContext observation = currentObservation.get();
+			if (observation != null) {
+				observation.operation = operation;
+				if (parameterSource != null) {
+					observation.parameterSource = parameterSource;
+				}
+			}
+		}
+	}
+
+	private void observeRowCount(long rowCount) {
+		if (this.observationListener != null) {
+			ObservationContext observation = currentObservation.get();
+			if (observation != null) {
+				observation.rowCount = rowCount;
+			}
+		}
+	}
+
+	private void observeBatch(int[] updateCounts) {
+		if (this.observationListener != null) {
+			ObservationContext observation = currentObservation.get();
+			if (observation != null) {
+				observation.addBatch(updateCounts);
+			}
+		}
+	}
+
+	/**
+	 * Complete the given observation and notify its listener.
+	 * Row counts and batch sizes not recorded explicitly are derived
+	 * from the result of the operation.
+	 */
+	private void finishObservation(ObservationContext observation) {
+		long duration = System.nanoTime() - observation.startTime;
+		if (observation.previous != null) {
+			currentObservation.set(observation.previous);
+		}
+		else {
+			currentObservation.remove();
+		}
+
+		Object result = observation.result;
+		if (observation.exception == null && observation.batchSize == 0 &&
+				observation.rowCount == StatementObservation.UNKNOWN_ROW_COUNT) {
+			switch (observation.operation) {
+				case QUERY:
+					if (result instanceof Collection) {
+						observation.rowCount = ((Collection<?>) result).size();
+					}
+					break;
+				case UPDATE:
+					if (result instanceof Integer) {
+						observation.rowCount = (Integer) result;
+					}
+					break;
+				case BATCH_UPDATE:
+					if (result instanceof int[]) {
+						observation.addBatch((int[]) result);
+					}
+					else if (result instanceof int[][]) {
+						for (int[] updateCounts : (int[][]) result) {
+							observation.addBatch(updateCounts);
+						}
+					}
+					break;
+				default:
+					break;
+			}
+		}
+
+		JdbcObservationListener listener = observation.listener;
+		try {
+			listener.statementExecuted(new StatementObservation(observation.operation,
+					getSql(observation.sqlProvider), getObservedParameters(observation, listener.getParameterCapture()),
+					duration, observation.rowCount, observation.batchSize, observation.exception));
+		}
+		catch (RuntimeException ex) {
+			logger.warn("JdbcObservationListener threw exception", ex);
+		}
+	}
+
+	private static List<?> getObservedParameters(ObservationContext observation, ParameterCapture capture) {
+		if (capture == ParameterCapture.NONE || !(observation.parameterSource instanceof ParameterValueProvider)) {
+			return Collections.emptyList();
+		}
+		List<?> values = ((ParameterValueProvider) observation.parameterSource).getParameterValues();
+		List<Object> parameters = new ArrayList<>(values.size());
+		for (Object value : values) {
+			if (value instanceof SqlParameterValue) {
+				value = ((SqlParameterValue) value).getValue();
+			}
+			parameters.add(capture.render(value));
+		}
+		return parameters;
+	}
+
 
 	/**
 	 * Invocation handler that suppresses close calls on JDBC Connections.
@@ -1665,7 +2108,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	/**
 	 * Simple adapter for PreparedStatementCreator, allowing to use a plain SQL statement.
 	 */
-	private static class SimplePreparedStatementCreator implements PreparedStatementCreator, SqlProvider {
+	static class SimplePreparedStatementCreator implements PreparedStatementCreator, SqlProvider {
 
 		private final String sql;
 
@@ -1715,7 +2158,7 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 	 * <p>Uses a regular ResultSet, so we have to be careful when using it:
 	 * We don't use it for navigating since this could lead to unpredictable consequences.
 	 */
-	private static class RowCallbackHandlerResultSetExtractor implements ResultSetExtractor<Object> {
+	private class RowCallbackHandlerResultSetExtractor implements ResultSetExtractor<Object> {
 
 		private final RowCallbackHandler rch;
 
@@ -1726,14 +2169,71 @@ public class JdbcTemplate extends JdbcAccessor implements JdbcOperations {
 		@Override
 		@Nullable
 		public Object extractData(ResultSet rs) throws SQLException {
+			long rowCount = 0;
 			while (rs.next()) {
 				this.rch.processRow(rs);
+				rowCount++;
 			}
+			observeRowCount(rowCount);
 			return null;
 		}
 	}
 
 
+	/**
+	 * State of a statement observation in progress, bound to the current thread
+	 * while the statement executes and stacked for nested executions.
+	 */
+	private static final class ObservationContext {
+
+		final JdbcObservationListener listener;
+
+		final Object sqlProvider;
+
+		final long startTime = System.nanoTime();
+
+		@Nullable
+		final ObservationContext previous;
+
+		StatementObservation.Operation operation;
+
+		@Nullable
+		Object parameterSource;
+
+		long rowCount = StatementObservation.UNKNOWN_ROW_COUNT;
+
+		int batchSize;
+
+		@Nullable
+		Object result;
+
+		@Nullable
+		Throwable exception;
+
+		ObservationContext(JdbcObservationListener listener, Object sqlProvider,
+				StatementObservation.Operation operation, @Nullable ObservationContext previous) {
+
+			this.listener = listener;
+			this.sqlProvider = sqlProvider;
+			this.operation = operation;
+			this.parameterSource = sqlProvider;
+			this.previous = previous;
+		}
+
+		void addBatch(int[] updateCounts) {
+			this.batchSize += updateCounts.length;
+			if (this.rowCount == StatementObservation.UNKNOWN_ROW_COUNT) {
+				this.rowCount = 0;
+			}
+			for (int updateCount : updateCounts) {
+				if (updateCount > 0) {
+					this.rowCount += updateCount;
+				}
+			}
+		}
+	}
+
+
 	/**
 	 * Spliterator for queryForStream adaptation of a ResultSet to a Stream.
 	 * @since 5.3
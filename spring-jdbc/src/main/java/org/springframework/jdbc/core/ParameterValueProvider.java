@@ -0,0 +1,38 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.util.List;
+
+/**
+ * Internal interface to be implemented by statement setters and creators
+ * that can expose the bind parameter values they apply, for
+ * {@link org.springframework.jdbc.core.observation.JdbcObservationListener}
+ * notifications.
+ *
+ * @since 5.3.37
+ * @see JdbcTemplate#setObservationListener
+ */
+interface ParameterValueProvider {
+
+	/**
+	 * Return the bind parameter values in statement order,
+	 * possibly including {@link SqlParameterValue} wrappers.
+	 */
+	List<?> getParameterValues();
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -187,7 +187,8 @@ public class PreparedStatementCreatorFactory {
 	 * PreparedStatementCreator implementation returned by this class.
 	 */
 	private class PreparedStatementCreatorImpl
-			implements PreparedStatementCreator, PreparedStatementSetter, SqlProvider, ParameterDisposer {
+			implements PreparedStatementCreator, PreparedStatementSetter, SqlProvider, ParameterDisposer,
+			ParameterValueProvider {
 
 		private final String actualSql;
 
@@ -290,6 +291,11 @@ public class PreparedStatementCreatorFactory {
 			return sql;
 		}
 
+		@Override
+		public List<?> getParameterValues() {
+			return this.parameters;
+		}
+
 		@Override
 		public void cleanupParameters() {
 			StatementCreatorUtils.cleanupParameters(this.parameters);
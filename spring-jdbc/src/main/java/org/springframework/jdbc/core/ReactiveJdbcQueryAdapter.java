@@ -0,0 +1,260 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Adapter exposing {@link JdbcTemplate} queries as Reactor {@link Flux} streams,
+ * for reactive applications which still access a relational database via JDBC.
+ *
+ * <p>Each query is executed on the given {@link Scheduler} (by default,
+ * {@link Schedulers#boundedElastic()}), keeping blocking JDBC calls off the
+ * event loop. Rows are read from the {@code ResultSet} according to downstream
+ * demand only: iteration pauses whenever all requested elements have been
+ * emitted, while the JDBC driver fetches rows in chunks of the fetch size. The
+ * statement and connection are released once the result has been consumed,
+ * on error, and on cancellation.
+ *
+ * <p>Since queries run on a scheduler thread, they do not participate in
+ * transactions bound to the subscribing thread. Row mappers must not return
+ * {@code null} since {@code null} elements are not permitted in a {@code Flux}.
+ *
+ * <pre class="code">
+ * ReactiveJdbcQueryAdapter adapter = new ReactiveJdbcQueryAdapter(jdbcTemplate);
+ * adapter.setFetchSize(500);
+ * Flux&lt;Order&gt; orders = adapter.query("SELECT * FROM orders", orderRowMapper);
+ * </pre>
+ *
+ * @since 5.3.37
+ * @see JdbcTemplate#queryForStream(PreparedStatementCreator, PreparedStatementSetter, RowMapper)
+ */
+public class ReactiveJdbcQueryAdapter {
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private final Scheduler scheduler;
+
+	private int fetchSize = -1;
+
+
+	/**
+	 * Create a new {@code ReactiveJdbcQueryAdapter} for the given JdbcTemplate,
+	 * executing queries on {@link Schedulers#boundedElastic()}.
+	 * @param jdbcTemplate the JdbcTemplate to execute queries with
+	 */
+	public ReactiveJdbcQueryAdapter(JdbcTemplate jdbcTemplate) {
+		this(jdbcTemplate, Schedulers.boundedElastic());
+	}
+
+	/**
+	 * Create a new {@code ReactiveJdbcQueryAdapter} for the given JdbcTemplate.
+	 * @param jdbcTemplate the JdbcTemplate to execute queries with
+	 * @param scheduler the scheduler to execute queries on, typically bounded
+	 * in accordance with the size of the connection pool
+	 */
+	public ReactiveJdbcQueryAdapter(JdbcTemplate jdbcTemplate, Scheduler scheduler) {
+		Assert.notNull(jdbcTemplate, "JdbcTemplate must not be null");
+		Assert.notNull(scheduler, "Scheduler must not be null");
+		this.jdbcTemplate = jdbcTemplate;
+		this.scheduler = scheduler;
+	}
+
+
+	/**
+	 * Return the JdbcTemplate that this adapter executes queries with.
+	 */
+	public JdbcTemplate getJdbcTemplate() {
+		return this.jdbcTemplate;
+	}
+
+	/**
+	 * Return the scheduler that this adapter executes queries on.
+	 */
+	public Scheduler getScheduler() {
+		return this.scheduler;
+	}
+
+	/**
+	 * Set the fetch size for the queries executed by this adapter, overriding
+	 * the {@linkplain JdbcTemplate#setFetchSize fetch size of the JdbcTemplate}.
+	 * <p>Default is -1, indicating to use the settings of the JdbcTemplate.
+	 * A positive value allows drivers which would otherwise load the entire
+	 * result into memory to fetch rows in chunks as demand is signalled.
+	 * @see java.sql.Statement#setFetchSize
+	 */
+	public void setFetchSize(int fetchSize) {
+		this.fetchSize = fetchSize;
+	}
+
+	/**
+	 * Return the fetch size specified for this adapter.
+	 */
+	public int getFetchSize() {
+		return this.fetchSize;
+	}
+
+
+	/**
+	 * Query using a prepared statement, mapping each row to a result object
+	 * via a RowMapper and emitting the results according to downstream demand.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param pss a callback that knows how to set values on the prepared statement.
+	 * If this is {@code null}, the SQL will be assumed to contain no bind parameters.
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Flux, executing the query for each subscription
+	 */
+	public <T> Flux<T> query(PreparedStatementCreator psc, @Nullable PreparedStatementSetter pss,
+			RowMapper<T> rowMapper) {
+
+		Assert.notNull(psc, "PreparedStatementCreator must not be null");
+		Assert.notNull(rowMapper, "RowMapper must not be null");
+		PreparedStatementSetter setterToUse = (this.fetchSize != -1 ?
+				new FetchSizePreparedStatementSetter(this.fetchSize, pss) : pss);
+		return stream(() -> this.jdbcTemplate.queryForStream(psc, setterToUse, rowMapper));
+	}
+
+	/**
+	 * Query using a prepared statement, mapping each row to a result object
+	 * via a RowMapper and emitting the results according to downstream demand.
+	 * @param psc a callback that creates a PreparedStatement given a Connection
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Flux, executing the query for each subscription
+	 */
+	public <T> Flux<T> query(PreparedStatementCreator psc, RowMapper<T> rowMapper) {
+		return query(psc, null, rowMapper);
+	}
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a
+	 * PreparedStatementSetter implementation that knows how to bind values
+	 * to the query, mapping each row to a result object via a RowMapper.
+	 * @param sql the SQL query to execute
+	 * @param pss a callback that knows how to set values on the prepared statement.
+	 * If this is {@code null}, the SQL will be assumed to contain no bind parameters.
+	 * @param rowMapper a callback that will map one object per row
+	 * @return the result Flux, executing the query for each subscription
+	 */
+	public <T> Flux<T> query(String sql, @Nullable PreparedStatementSetter pss, RowMapper<T> rowMapper) {
+		return query(new JdbcTemplate.SimplePreparedStatementCreator(sql), pss, rowMapper);
+	}
+
+	/**
+	 * Query given SQL to create a prepared statement from SQL and a list of
+	 * arguments to bind to the query, mapping each row to a result object
+	 * via a RowMapper.
+	 * @param sql the SQL query to execute
+	 * @param rowMapper a callback that will map one object per row
+	 * @param args arguments to bind to the query
+	 * (leaving it to the PreparedStatement to guess the corresponding SQL type);
+	 * may also contain {@link SqlParameterValue} objects which indicate not
+	 * only the argument value but also the SQL type and optionally the scale
+	 * @return the result Flux, executing the query for each subscription
+	 */
+	public <T> Flux<T> query(String sql, RowMapper<T> rowMapper, @Nullable Object... args) {
+		return query(sql, this.jdbcTemplate.newArgPreparedStatementSetter(args), rowMapper);
+	}
+
+
+	/**
+	 * Emit the elements of the given Stream on demand, reading the next element
+	 * only once requested and closing the Stream on completion, error or cancel.
+	 * <p>Cancellation during an emission is deferred to the emitting thread,
+	 * so that the underlying JDBC resources are never closed concurrently
+	 * with an ongoing {@code ResultSet} access.
+	 */
+	private <T> Flux<T> stream(Supplier<Stream<T>> streamSupplier) {
+		return Flux.<T, StreamState<T>>generate(
+				() -> new StreamState<>(streamSupplier.get()),
+				(state, sink) -> {
+					if (state.iterator.hasNext()) {
+						sink.next(state.iterator.next());
+					}
+					else {
+						sink.complete();
+					}
+					return state;
+				},
+				StreamState::close)
+				.subscribeOn(this.scheduler);
+	}
+
+
+	/**
+	 * Holder for a query Stream and its iterator.
+	 */
+	private static class StreamState<T> {
+
+		private final Stream<T> stream;
+
+		final Iterator<T> iterator;
+
+		StreamState(Stream<T> stream) {
+			this.stream = stream;
+			this.iterator = stream.iterator();
+		}
+
+		void close() {
+			this.stream.close();
+		}
+	}
+
+
+	/**
+	 * PreparedStatementSetter applying a specific fetch size before
+	 * delegating to the given setter, if any.
+	 */
+	private static class FetchSizePreparedStatementSetter implements PreparedStatementSetter, ParameterDisposer {
+
+		private final int fetchSize;
+
+		@Nullable
+		private final PreparedStatementSetter delegate;
+
+		FetchSizePreparedStatementSetter(int fetchSize, @Nullable PreparedStatementSetter delegate) {
+			this.fetchSize = fetchSize;
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void setValues(PreparedStatement ps) throws SQLException {
+			ps.setFetchSize(this.fetchSize);
+			if (this.delegate != null) {
+				this.delegate.setValues(ps);
+			}
+		}
+
+		@Override
+		public void cleanupParameters() {
+			if (this.delegate instanceof ParameterDisposer) {
+				((ParameterDisposer) this.delegate).cleanupParameters();
+			}
+		}
+	}
+
+}
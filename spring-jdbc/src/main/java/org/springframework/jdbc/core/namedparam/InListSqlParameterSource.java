@@ -0,0 +1,192 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.namedparam;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.lang.Nullable;
+
+/**
+ * {@link SqlParameterSource} decorator which applies an {@link InListStrategy}
+ * to collection values of the target source, and which is able to split the
+ * source into chunks for collections exceeding the strategy's maximum list size.
+ *
+ * <p>Adapted values are cached per instance, so that repeated lookups for the
+ * same statement (SQL substitution, parameter declaration, value binding)
+ * consistently see the same value.
+ *
+ * @since 5.3.37
+ * @see NamedParameterJdbcTemplate#setInListStrategy
+ */
+class InListSqlParameterSource implements SqlParameterSource {
+
+	private final SqlParameterSource target;
+
+	private final InListStrategy strategy;
+
+	@Nullable
+	private final String overriddenName;
+
+	@Nullable
+	private final Object overriddenValue;
+
+	private final Map<String, Object> adaptedValues = new HashMap<>();
+
+
+	InListSqlParameterSource(SqlParameterSource target, InListStrategy strategy) {
+		this(target, strategy, null, null);
+	}
+
+	private InListSqlParameterSource(SqlParameterSource target, InListStrategy strategy,
+			@Nullable String overriddenName, @Nullable Object overriddenValue) {
+
+		this.target = target;
+		this.strategy = strategy;
+		this.overriddenName = overriddenName;
+		this.overriddenValue = overriddenValue;
+	}
+
+
+	@Override
+	public boolean hasValue(String paramName) {
+		return this.target.hasValue(paramName);
+	}
+
+	@Override
+	@Nullable
+	public Object getValue(String paramName) throws IllegalArgumentException {
+		if (this.adaptedValues.containsKey(paramName)) {
+			return this.adaptedValues.get(paramName);
+		}
+		Object value = adaptValue(paramName, getTargetValue(paramName));
+		this.adaptedValues.put(paramName, value);
+		return value;
+	}
+
+	@Override
+	public int getSqlType(String paramName) {
+		return this.target.getSqlType(paramName);
+	}
+
+	@Override
+	@Nullable
+	public String getTypeName(String paramName) {
+		return this.target.getTypeName(paramName);
+	}
+
+	@Override
+	@Nullable
+	public String[] getParameterNames() {
+		return this.target.getParameterNames();
+	}
+
+	@Nullable
+	private Object getTargetValue(String paramName) {
+		return (paramName.equals(this.overriddenName) ? this.overriddenValue : this.target.getValue(paramName));
+	}
+
+	@Nullable
+	private Object adaptValue(String paramName, @Nullable Object value) {
+		if (value instanceof SqlParameterValue) {
+			SqlParameterValue paramValue = (SqlParameterValue) value;
+			if (paramValue.getValue() instanceof Collection) {
+				return new SqlParameterValue(paramValue,
+						this.strategy.adaptCollection(paramName, (Collection<?>) paramValue.getValue()));
+			}
+		}
+		else if (value instanceof Collection) {
+			return this.strategy.adaptCollection(paramName, (Collection<?>) value);
+		}
+		return value;
+	}
+
+
+	/**
+	 * Split this parameter source into one source per chunk of the collection
+	 * parameter which exceeds the strategy's maximum list size, if any.
+	 * @param parsedSql the parsed SQL statement to bind the parameters to
+	 * @return a singleton list with this parameter source if no chunking
+	 * is necessary, or a list with one parameter source per chunk otherwise
+	 * @throws InvalidDataAccessApiUsageException if more than one
+	 * collection parameter exceeds the maximum list size
+	 */
+	List<SqlParameterSource> split(ParsedSql parsedSql) {
+		int maxListSize = this.strategy.getMaxListSize();
+		String chunkedName = null;
+		Collection<?> chunkedValues = null;
+		for (String paramName : new LinkedHashSet<>(parsedSql.getParameterNames())) {
+			if (!this.target.hasValue(paramName)) {
+				continue;
+			}
+			Collection<?> values = getCollection(getTargetValue(paramName));
+			if (values != null && values.size() > maxListSize) {
+				if (chunkedName != null) {
+					throw new InvalidDataAccessApiUsageException("Collection parameters '" + chunkedName +
+							"' and '" + paramName + "' both exceed the maximum IN-list size of " + maxListSize +
+							" - chunked execution is only supported for a single collection parameter");
+				}
+				chunkedName = paramName;
+				chunkedValues = values;
+			}
+		}
+		if (chunkedName == null || chunkedValues == null) {
+			return Collections.singletonList(this);
+		}
+
+		Object originalValue = getTargetValue(chunkedName);
+		List<?> elements = new ArrayList<>(chunkedValues);
+		List<SqlParameterSource> chunks = new ArrayList<>((elements.size() + maxListSize - 1) / maxListSize);
+		for (int from = 0; from < elements.size(); from += maxListSize) {
+			List<?> chunk = elements.subList(from, Math.min(from + maxListSize, elements.size()));
+			Object chunkValue = (originalValue instanceof SqlParameterValue ?
+					new SqlParameterValue((SqlParameterValue) originalValue, chunk) : chunk);
+			chunks.add(new InListSqlParameterSource(this.target, this.strategy, chunkedName, chunkValue));
+		}
+		return chunks;
+	}
+
+	/**
+	 * Assert that no collection parameter exceeds the strategy's maximum list
+	 * size, for operations which do not support chunked execution.
+	 * @param parsedSql the parsed SQL statement to bind the parameters to
+	 * @throws InvalidDataAccessApiUsageException if chunking would be necessary
+	 */
+	void assertNoChunking(ParsedSql parsedSql) {
+		if (split(parsedSql).size() > 1) {
+			throw new InvalidDataAccessApiUsageException("Collection parameter exceeds the maximum IN-list size of " +
+					this.strategy.getMaxListSize() + " - chunked execution is only supported for query operations " +
+					"with a RowMapper or RowCallbackHandler and for non-batch update operations");
+		}
+	}
+
+	@Nullable
+	private static Collection<?> getCollection(@Nullable Object value) {
+		if (value instanceof SqlParameterValue) {
+			value = ((SqlParameterValue) value).getValue();
+		}
+		return (value instanceof Collection ? (Collection<?>) value : null);
+	}
+
+}
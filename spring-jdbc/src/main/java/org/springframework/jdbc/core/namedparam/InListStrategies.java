@@ -0,0 +1,162 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.namedparam;
+
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.DisposableSqlTypeValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * Built-in {@link InListStrategy} implementations.
+ *
+ * @since 5.3.37
+ * @see InListStrategy
+ */
+abstract class InListStrategies {
+
+	static final InListStrategy EXPANDING = new ExpandingStrategy(Integer.MAX_VALUE);
+
+
+	/**
+	 * Strategy expanding each element into a placeholder, with optional chunking.
+	 */
+	static class ExpandingStrategy implements InListStrategy {
+
+		private final int maxListSize;
+
+		ExpandingStrategy(int maxListSize) {
+			Assert.isTrue(maxListSize > 0, "Maximum list size must be greater than 0");
+			this.maxListSize = maxListSize;
+		}
+
+		@Override
+		public Object adaptCollection(String paramName, Collection<?> values) {
+			return values;
+		}
+
+		@Override
+		public int getMaxListSize() {
+			return this.maxListSize;
+		}
+	}
+
+
+	/**
+	 * Strategy padding collections to power-of-two bucket sizes.
+	 */
+	static class PaddingStrategy extends ExpandingStrategy {
+
+		PaddingStrategy(int maxListSize) {
+			super(maxListSize);
+		}
+
+		@Override
+		public Object adaptCollection(String paramName, Collection<?> values) {
+			int size = values.size();
+			int paddedSize = paddedSize(size, getMaxListSize());
+			if (paddedSize == size) {
+				return values;
+			}
+			List<Object> padded = new ArrayList<>(paddedSize);
+			Object last = null;
+			for (Object value : values) {
+				padded.add(value);
+				last = value;
+			}
+			while (padded.size() < paddedSize) {
+				padded.add(last);
+			}
+			return padded;
+		}
+
+		static int paddedSize(int size, int maxListSize) {
+			if (size <= 1) {
+				return size;
+			}
+			int bucket = Integer.highestOneBit(size - 1) << 1;
+			return (bucket > 0 ? Math.min(bucket, maxListSize) : maxListSize);
+		}
+	}
+
+
+	/**
+	 * Strategy binding collections as a single SQL array parameter.
+	 */
+	static class SqlArrayStrategy implements InListStrategy {
+
+		private final String elementTypeName;
+
+		SqlArrayStrategy(String elementTypeName) {
+			Assert.hasText(elementTypeName, "Element type name must not be empty");
+			this.elementTypeName = elementTypeName;
+		}
+
+		@Override
+		public Object adaptCollection(String paramName, Collection<?> values) {
+			return new SqlArrayValue(this.elementTypeName, values.toArray());
+		}
+	}
+
+
+	/**
+	 * SqlTypeValue creating and binding a {@link java.sql.Array},
+	 * freeing it once the statement has been executed.
+	 */
+	private static class SqlArrayValue implements DisposableSqlTypeValue {
+
+		private final String elementTypeName;
+
+		private final Object[] elements;
+
+		@Nullable
+		private Array array;
+
+		SqlArrayValue(String elementTypeName, Object[] elements) {
+			this.elementTypeName = elementTypeName;
+			this.elements = elements;
+		}
+
+		@Override
+		public void setTypeValue(PreparedStatement ps, int paramIndex, int sqlType, @Nullable String typeName)
+				throws SQLException {
+
+			this.array = ps.getConnection().createArrayOf(this.elementTypeName, this.elements);
+			ps.setArray(paramIndex, this.array);
+		}
+
+		@Override
+		public void cleanup() {
+			if (this.array != null) {
+				try {
+					this.array.free();
+				}
+				catch (SQLException ex) {
+					// Ignore - the driver will release the array with the statement
+				}
+				this.array = null;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.namedparam;
+
+import java.util.Collection;
+
+/**
+ * Strategy for binding collection values of named parameters, typically
+ * used in {@code IN} clauses: e.g. {@code WHERE id IN (:ids)}.
+ *
+ * <p>By default, {@link NamedParameterJdbcTemplate} expands a collection into
+ * one placeholder per element, so that every distinct collection size leads to
+ * a distinct SQL statement for the JDBC driver and any statement cache. This
+ * strategy allows for adapting a collection before expansion: for example,
+ * {@linkplain #padding() padding} it to a bucket size, or binding it as a
+ * {@linkplain #sqlArray(String) single SQL array} parameter instead.
+ *
+ * <p>Furthermore, a strategy may specify a {@linkplain #getMaxListSize() maximum
+ * list size}, e.g. for databases with a limit on the number of elements in an
+ * {@code IN} list. Larger collections are split into chunks, executing the
+ * statement once per chunk and merging the results, for the operations which
+ * support this: {@code query} with a {@code RowMapper} or {@code RowCallbackHandler},
+ * and {@code queryForList}. {@code update} executes chunks as well but only
+ * within an active transaction, rejecting chunked execution otherwise since
+ * the chunks would not be applied atomically. All other operations reject
+ * collections exceeding the maximum list size.
+ *
+ * <p>Merged results are only equivalent to a single execution if each chunk
+ * selects a subset of the rows of the full statement, i.e. for a collection
+ * parameter in a positive {@code IN} clause which is combined with the rest of
+ * the {@code WHERE} clause through {@code AND}. In particular, chunking leads
+ * to incorrect results for {@code NOT IN (:ids)}, where each chunk excludes
+ * only its own elements, and for {@code IN} clauses within an {@code OR}
+ * condition, where rows matching the other side of the condition are returned
+ * once per chunk. Neither is detected by the template. The same applies to
+ * aggregates, ordering, and {@code DISTINCT}, which only take effect per chunk.
+ *
+ * @since 5.3.37
+ * @see NamedParameterJdbcTemplate#setInListStrategy
+ */
+@FunctionalInterface
+public interface InListStrategy {
+
+	/**
+	 * Adapt the given collection value of a named parameter.
+	 * @param paramName the name of the parameter
+	 * @param values the collection value, at most {@link #getMaxListSize()} elements
+	 * @return the collection to expand into one placeholder per element
+	 * (which may be the given collection itself), or a single value to bind
+	 * to a single placeholder, e.g. an {@link org.springframework.jdbc.core.SqlTypeValue}
+	 */
+	Object adaptCollection(String paramName, Collection<?> values);
+
+	/**
+	 * Return the maximum number of elements to bind per statement execution.
+	 * <p>The default implementation returns {@link Integer#MAX_VALUE},
+	 * indicating no chunking.
+	 */
+	default int getMaxListSize() {
+		return Integer.MAX_VALUE;
+	}
+
+
+	/**
+	 * Return a strategy expanding each collection element into a placeholder
+	 * of its own, as is the default behavior.
+	 */
+	static InListStrategy expanding() {
+		return InListStrategies.EXPANDING;
+	}
+
+	/**
+	 * Return a strategy expanding each collection element into a placeholder of
+	 * its own, splitting collections into chunks of the given maximum size.
+	 * @param maxListSize the maximum number of elements per execution,
+	 * e.g. 1000 for Oracle
+	 */
+	static InListStrategy expanding(int maxListSize) {
+		return new InListStrategies.ExpandingStrategy(maxListSize);
+	}
+
+	/**
+	 * Return a strategy padding collections to the next power of two by repeating
+	 * the last element, reducing the number of distinct SQL statements to
+	 * logarithmic in the maximum collection size.
+	 * <p>Only suitable for {@code IN} clauses where duplicate elements do not
+	 * affect the result.
+	 */
+	static InListStrategy padding() {
+		return new InListStrategies.PaddingStrategy(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Return a strategy padding collections to the next power of two by repeating
+	 * the last element, capped at the given maximum size and splitting larger
+	 * collections into chunks of that size.
+	 * @param maxListSize the maximum number of elements per execution,
+	 * e.g. 1000 for Oracle
+	 * @see #padding()
+	 */
+	static InListStrategy padding(int maxListSize) {
+		return new InListStrategies.PaddingStrategy(maxListSize);
+	}
+
+	/**
+	 * Return a strategy binding collections as a single {@link java.sql.Array}
+	 * parameter, created through {@link java.sql.Connection#createArrayOf}.
+	 * <p>The SQL statement needs to be written for an array parameter, e.g.
+	 * {@code WHERE id = ANY(:ids)} on PostgreSQL or {@code WHERE id IN (UNNEST(:ids))}
+	 * on H2, resulting in a single SQL statement for all collection sizes.
+	 * @param elementTypeName the SQL type name of the array elements,
+	 * e.g. "INTEGER" or "VARCHAR"
+	 */
+	static InListStrategy sqlArray(String elementTypeName) {
+		return new InListStrategies.SqlArrayStrategy(elementTypeName);
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,8 @@ package org.springframework.jdbc.core.namedparam;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -26,6 +28,7 @@ import java.util.stream.Stream;
 import javax.sql.DataSource;
 
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.core.BatchPreparedStatementSetter;
 import org.springframework.jdbc.core.ColumnMapRowMapper;
@@ -43,6 +46,7 @@ import org.springframework.jdbc.core.SqlRowSetResultSetExtractor;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.jdbc.support.rowset.SqlRowSet;
 import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 import org.springframework.util.ConcurrentLruCache;
 
@@ -53,7 +57,8 @@ import org.springframework.util.ConcurrentLruCache;
  * <p>This class delegates to a wrapped {@link #getJdbcOperations() JdbcTemplate}
  * once the substitution from named parameters to JDBC style '?' placeholders is
  * done at execution time. It also allows for expanding a {@link java.util.List}
- * of values to the appropriate number of placeholders.
+ * of values to the appropriate number of placeholders, optionally adapted
+ * through an {@link InListStrategy}.
  *
  * <p>An instance of this template class is thread-safe once configured.
  * The underlying {@link org.springframework.jdbc.core.JdbcTemplate} is
@@ -83,6 +88,10 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	private volatile ConcurrentLruCache<String, ParsedSql> parsedSqlCache =
 			new ConcurrentLruCache<>(DEFAULT_CACHE_LIMIT, NamedParameterUtils::parseSqlStatement);
 
+	/** Strategy for binding collection parameters, if any. */
+	@Nullable
+	private InListStrategy inListStrategy;
+
 
 	/**
 	 * Create a new NamedParameterJdbcTemplate for the given {@link DataSource}.
@@ -141,6 +150,33 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		return this.parsedSqlCache.sizeLimit();
 	}
 
+	/**
+	 * Specify a strategy for binding collection parameters, e.g. padding
+	 * collections to bucket sizes in order to bound the number of distinct
+	 * SQL statements, or splitting them into chunks of a maximum size.
+	 * <p>Default is none, expanding each collection element into a placeholder
+	 * of its own without chunking.
+	 * <p>Note that chunked execution of updates requires an active transaction,
+	 * and that chunked queries are only correct for collections in positive
+	 * {@code IN} clauses which are not part of an {@code OR} condition: see
+	 * {@link InListStrategy} for details.
+	 * @since 5.3.37
+	 * @see InListStrategy#padding(int)
+	 * @see InListStrategy#sqlArray(String)
+	 */
+	public void setInListStrategy(@Nullable InListStrategy inListStrategy) {
+		this.inListStrategy = inListStrategy;
+	}
+
+	/**
+	 * Return the strategy for binding collection parameters, if any.
+	 * @since 5.3.37
+	 */
+	@Nullable
+	public InListStrategy getInListStrategy() {
+		return this.inListStrategy;
+	}
+
 
 	@Override
 	@Nullable
@@ -190,7 +226,9 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	public void query(String sql, SqlParameterSource paramSource, RowCallbackHandler rch)
 			throws DataAccessException {
 
-		getJdbcOperations().query(getPreparedStatementCreator(sql, paramSource), rch);
+		for (SqlParameterSource chunk : splitInLists(sql, paramSource)) {
+			getJdbcOperations().query(getPreparedStatementCreator(sql, chunk), rch);
+		}
 	}
 
 	@Override
@@ -209,7 +247,15 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 	public <T> List<T> query(String sql, SqlParameterSource paramSource, RowMapper<T> rowMapper)
 			throws DataAccessException {
 
-		return getJdbcOperations().query(getPreparedStatementCreator(sql, paramSource), rowMapper);
+		List<SqlParameterSource> chunks = splitInLists(sql, paramSource);
+		if (chunks.size() == 1) {
+			return getJdbcOperations().query(getPreparedStatementCreator(sql, chunks.get(0)), rowMapper);
+		}
+		List<T> results = new ArrayList<>();
+		for (SqlParameterSource chunk : chunks) {
+			results.addAll(getJdbcOperations().query(getPreparedStatementCreator(sql, chunk), rowMapper));
+		}
+		return results;
 	}
 
 	@Override
@@ -328,7 +374,16 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 
 	@Override
 	public int update(String sql, SqlParameterSource paramSource) throws DataAccessException {
-		return getJdbcOperations().update(getPreparedStatementCreator(sql, paramSource));
+		List<SqlParameterSource> chunks = splitInLists(sql, paramSource);
+		if (chunks.size() > 1 && !TransactionSynchronizationManager.isActualTransactionActive()) {
+			throw new InvalidDataAccessApiUsageException("Collection parameter exceeds the maximum IN-list size " +
+					"for SQL [" + sql + "]: chunked updates require an active transaction");
+		}
+		int rowsAffected = 0;
+		for (SqlParameterSource chunk : chunks) {
+			rowsAffected += getJdbcOperations().update(getPreparedStatementCreator(sql, chunk));
+		}
+		return rowsAffected;
 	}
 
 	@Override
@@ -366,14 +421,25 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 		}
 
 		ParsedSql parsedSql = getParsedSql(sql);
-		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, batchArgs[0]);
+		SqlParameterSource[] batchArgsToUse = batchArgs;
+		InListStrategy inListStrategy = getInListStrategy();
+		if (inListStrategy != null) {
+			batchArgsToUse = new SqlParameterSource[batchArgs.length];
+			for (int i = 0; i < batchArgs.length; i++) {
+				InListSqlParameterSource paramSource = new InListSqlParameterSource(batchArgs[i], inListStrategy);
+				paramSource.assertNoChunking(parsedSql);
+				batchArgsToUse[i] = paramSource;
+			}
+		}
+		SqlParameterSource[] finalBatchArgs = batchArgsToUse;
+		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, finalBatchArgs[0]);
 
 		return getJdbcOperations().batchUpdate(
 				pscf.getSql(),
 				new BatchPreparedStatementSetter() {
 					@Override
 					public void setValues(PreparedStatement ps, int i) throws SQLException {
-						Object[] values = NamedParameterUtils.buildValueArray(parsedSql, batchArgs[i], null);
+						Object[] values = NamedParameterUtils.buildValueArray(parsedSql, finalBatchArgs[i], null);
 						pscf.newPreparedStatementSetter(values).setValues(ps);
 					}
 					@Override
@@ -421,14 +487,36 @@ public class NamedParameterJdbcTemplate implements NamedParameterJdbcOperations
 			@Nullable Consumer<PreparedStatementCreatorFactory> customizer) {
 
 		ParsedSql parsedSql = getParsedSql(sql);
-		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, paramSource);
+		SqlParameterSource paramSourceToUse = paramSource;
+		InListStrategy inListStrategy = getInListStrategy();
+		if (inListStrategy != null && !(paramSource instanceof InListSqlParameterSource)) {
+			InListSqlParameterSource inListSource = new InListSqlParameterSource(paramSource, inListStrategy);
+			inListSource.assertNoChunking(parsedSql);
+			paramSourceToUse = inListSource;
+		}
+		PreparedStatementCreatorFactory pscf = getPreparedStatementCreatorFactory(parsedSql, paramSourceToUse);
 		if (customizer != null) {
 			customizer.accept(pscf);
 		}
-		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSource, null);
+		Object[] params = NamedParameterUtils.buildValueArray(parsedSql, paramSourceToUse, null);
 		return pscf.newPreparedStatementCreator(params);
 	}
 
+	/**
+	 * Split the given parameter source into chunks according to the
+	 * {@link #setInListStrategy InListStrategy}, if any.
+	 * @param sql the SQL statement to execute
+	 * @param paramSource container of arguments to bind
+	 * @return the parameter sources to execute the statement with, one per chunk
+	 */
+	private List<SqlParameterSource> splitInLists(String sql, SqlParameterSource paramSource) {
+		InListStrategy inListStrategy = getInListStrategy();
+		if (inListStrategy == null) {
+			return Collections.singletonList(paramSource);
+		}
+		return new InListSqlParameterSource(paramSource, inListStrategy).split(getParsedSql(sql));
+	}
+
 	/**
 	 * Obtain a parsed representation of the given SQL statement.
 	 * <p>The default implementation uses an LRU cache with an upper limit of 256 entries.
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.observation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.util.Assert;
+
+/**
+ * Callback interface notified by {@link org.springframework.jdbc.core.JdbcTemplate}
+ * after each statement execution, successful or not.
+ *
+ * <p>Implementations are invoked synchronously on the executing thread, after
+ * the statement has completed but before its resources have been released,
+ * so they should be cheap and must not throw. When no listener is configured,
+ * JdbcTemplate does not collect any observation state at all.
+ *
+ * @since 5.3.37
+ * @see org.springframework.jdbc.core.JdbcTemplate#setObservationListener
+ * @see StatementHistogramRecorder
+ * @see SlowQuerySampler
+ */
+@FunctionalInterface
+public interface JdbcObservationListener {
+
+	/**
+	 * Receive the observation for a completed statement.
+	 * @param observation the statement observation
+	 */
+	void statementExecuted(StatementObservation observation);
+
+	/**
+	 * Return which form of the bind parameters this listener is interested in.
+	 * <p>The default is {@link ParameterCapture#NONE}, not exposing parameters
+	 * and avoiding any per-statement overhead for collecting them.
+	 */
+	default ParameterCapture getParameterCapture() {
+		return ParameterCapture.NONE;
+	}
+
+
+	/**
+	 * Create a composite listener that delegates to each of the given listeners
+	 * in order, capturing parameters at the most detailed level requested by
+	 * any of them.
+	 * @param listeners the listeners to delegate to
+	 * @return the composite listener
+	 */
+	static JdbcObservationListener composite(JdbcObservationListener... listeners) {
+		Assert.notEmpty(listeners, "At least one JdbcObservationListener is required");
+		if (listeners.length == 1) {
+			return listeners[0];
+		}
+		List<JdbcObservationListener> delegates = new ArrayList<>(Arrays.asList(listeners));
+		ParameterCapture capture = ParameterCapture.NONE;
+		for (JdbcObservationListener listener : delegates) {
+			if (listener.getParameterCapture().compareTo(capture) > 0) {
+				capture = listener.getParameterCapture();
+			}
+		}
+		ParameterCapture captureToUse = capture;
+		return new JdbcObservationListener() {
+			@Override
+			public void statementExecuted(StatementObservation observation) {
+				for (JdbcObservationListener delegate : delegates) {
+					delegate.statementExecuted(observation);
+				}
+			}
+			@Override
+			public ParameterCapture getParameterCapture() {
+				return captureToUse;
+			}
+		};
+	}
+
+}
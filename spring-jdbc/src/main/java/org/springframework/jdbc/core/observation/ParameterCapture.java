@@ -0,0 +1,65 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.observation;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Enumeration of the forms in which bind parameters may be exposed
+ * through a {@link StatementObservation}.
+ *
+ * @since 5.3.37
+ * @see JdbcObservationListener#getParameterCapture()
+ */
+public enum ParameterCapture {
+
+	/**
+	 * Do not expose bind parameters at all.
+	 */
+	NONE,
+
+	/**
+	 * Expose the type of each bind parameter only, e.g. {@code <String>},
+	 * keeping {@code null} values as-is. Suitable for logs and metrics
+	 * that must not contain sensitive data.
+	 */
+	REDACTED,
+
+	/**
+	 * Expose the actual bind parameter values.
+	 */
+	FULL;
+
+
+	/**
+	 * Render the given bind parameter value according to this capture mode.
+	 * @param value the parameter value (may be {@code null})
+	 * @return the value to expose ({@code null} for {@link #NONE})
+	 */
+	@Nullable
+	public Object render(@Nullable Object value) {
+		switch (this) {
+			case FULL:
+				return value;
+			case REDACTED:
+				return (value != null ? "<" + value.getClass().getSimpleName() + ">" : null);
+			default:
+				return null;
+		}
+	}
+
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.observation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link JdbcObservationListener} that retains the slowest statements which
+ * exceeded a given execution time threshold, keeping the top N by duration.
+ *
+ * <p>Statements below the threshold are merely counted, so the sampler adds
+ * negligible overhead to regular traffic. Bind parameters are captured in
+ * {@link ParameterCapture#REDACTED redacted} form by default.
+ *
+ * <p>Implements the {@link SlowQuerySamplerMBean} standard MBean interface,
+ * so an instance can be registered with an {@code MBeanServer} directly or
+ * through Spring's {@code MBeanExporter}.
+ *
+ * @since 5.3.37
+ * @see org.springframework.jdbc.core.JdbcTemplate#setObservationListener
+ */
+public class SlowQuerySampler implements JdbcObservationListener, SlowQuerySamplerMBean {
+
+	private static final Comparator<StatementObservation> BY_DURATION =
+			Comparator.comparingLong(StatementObservation::getDurationNanos);
+
+
+	private volatile long thresholdNanos = Duration.ofSeconds(1).toNanos();
+
+	private final int maxSamples;
+
+	private volatile ParameterCapture parameterCapture = ParameterCapture.REDACTED;
+
+	private final PriorityQueue<StatementObservation> samples;
+
+	private final LongAdder observedCount = new LongAdder();
+
+	private final LongAdder slowQueryCount = new LongAdder();
+
+
+	/**
+	 * Create a new SlowQuerySampler retaining the 10 slowest statements.
+	 */
+	public SlowQuerySampler() {
+		this(10);
+	}
+
+	/**
+	 * Create a new SlowQuerySampler.
+	 * @param maxSamples the maximum number of slow statements to retain
+	 */
+	public SlowQuerySampler(int maxSamples) {
+		Assert.isTrue(maxSamples > 0, "'maxSamples' must be positive");
+		this.maxSamples = maxSamples;
+		this.samples = new PriorityQueue<>(maxSamples, BY_DURATION);
+	}
+
+
+	/**
+	 * Set the execution time above which a statement is considered slow.
+	 * <p>Default is 1 second.
+	 */
+	public void setThreshold(Duration threshold) {
+		Assert.notNull(threshold, "Threshold must not be null");
+		this.thresholdNanos = threshold.toNanos();
+	}
+
+	/**
+	 * Return the execution time above which a statement is considered slow.
+	 */
+	public Duration getThreshold() {
+		return Duration.ofNanos(this.thresholdNanos);
+	}
+
+	@Override
+	public void setThresholdMillis(long thresholdMillis) {
+		setThreshold(Duration.ofMillis(thresholdMillis));
+	}
+
+	@Override
+	public long getThresholdMillis() {
+		return getThreshold().toMillis();
+	}
+
+	@Override
+	public int getMaxSamples() {
+		return this.maxSamples;
+	}
+
+	/**
+	 * Set the form in which bind parameters of slow statements are retained.
+	 * <p>Default is {@link ParameterCapture#REDACTED}.
+	 */
+	public void setParameterCapture(ParameterCapture parameterCapture) {
+		Assert.notNull(parameterCapture, "ParameterCapture must not be null");
+		this.parameterCapture = parameterCapture;
+	}
+
+	@Override
+	public ParameterCapture getParameterCapture() {
+		return this.parameterCapture;
+	}
+
+
+	@Override
+	public void statementExecuted(StatementObservation observation) {
+		this.observedCount.increment();
+		if (observation.getDurationNanos() < this.thresholdNanos) {
+			return;
+		}
+		this.slowQueryCount.increment();
+		synchronized (this.samples) {
+			if (this.samples.size() < this.maxSamples) {
+				this.samples.add(observation);
+			}
+			else if (BY_DURATION.compare(observation, this.samples.peek()) > 0) {
+				this.samples.poll();
+				this.samples.add(observation);
+			}
+		}
+	}
+
+	/**
+	 * Return the retained slow statements, slowest first.
+	 */
+	public List<StatementObservation> getSlowestQueries() {
+		List<StatementObservation> result;
+		synchronized (this.samples) {
+			result = new ArrayList<>(this.samples);
+		}
+		result.sort(BY_DURATION.reversed());
+		return result;
+	}
+
+	@Override
+	public long getObservedCount() {
+		return this.observedCount.sum();
+	}
+
+	@Override
+	public long getSlowQueryCount() {
+		return this.slowQueryCount.sum();
+	}
+
+	@Override
+	public String[] getTopQueries() {
+		return getSlowestQueries().stream().map(StatementObservation::toString).toArray(String[]::new);
+	}
+
+	@Override
+	public void reset() {
+		synchronized (this.samples) {
+			this.samples.clear();
+		}
+		this.observedCount.reset();
+		this.slowQueryCount.reset();
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.observation;
+
+/**
+ * Standard MBean management interface for a {@link SlowQuerySampler}.
+ *
+ * @since 5.3.37
+ */
+public interface SlowQuerySamplerMBean {
+
+	/**
+	 * Return the execution time threshold in milliseconds.
+	 */
+	long getThresholdMillis();
+
+	/**
+	 * Set the execution time threshold in milliseconds.
+	 */
+	void setThresholdMillis(long thresholdMillis);
+
+	/**
+	 * Return the maximum number of slow statements retained.
+	 */
+	int getMaxSamples();
+
+	/**
+	 * Return the number of statements observed since the last reset.
+	 */
+	long getObservedCount();
+
+	/**
+	 * Return the number of statements that exceeded the threshold since the last reset.
+	 */
+	long getSlowQueryCount();
+
+	/**
+	 * Return a description of each retained slow statement, slowest first.
+	 */
+	String[] getTopQueries();
+
+	/**
+	 * Discard all retained samples and reset the counters.
+	 */
+	void reset();
+
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.observation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link JdbcObservationListener} that aggregates execution times and row
+ * counts per SQL statement in memory, keeping a log-scale histogram of
+ * execution times for percentile estimates.
+ *
+ * <p>Recording is lock-free and allocation-free for statements seen before.
+ * The number of distinct statements tracked is bounded; further statements
+ * are aggregated under {@link #OTHER_STATEMENTS}.
+ *
+ * @since 5.3.37
+ * @see org.springframework.jdbc.core.JdbcTemplate#setObservationListener
+ */
+public class StatementHistogramRecorder implements JdbcObservationListener {
+
+	/**
+	 * Key under which statements beyond the maximum number of tracked
+	 * statements, as well as statements without known SQL, are aggregated.
+	 */
+	public static final String OTHER_STATEMENTS = "<other>";
+
+	/** Number of power-of-two microsecond buckets: up to about 9 minutes. */
+	private static final int BUCKET_COUNT = 30;
+
+
+	private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+	private volatile int maxStatements = 1000;
+
+
+	/**
+	 * Specify the maximum number of distinct SQL statements to track individually.
+	 * <p>Default is 1000. Further statements are aggregated under
+	 * {@link #OTHER_STATEMENTS}, protecting against unbounded growth with
+	 * dynamically generated SQL.
+	 */
+	public void setMaxStatements(int maxStatements) {
+		Assert.isTrue(maxStatements > 0, "'maxStatements' must be positive");
+		this.maxStatements = maxStatements;
+	}
+
+	/**
+	 * Return the maximum number of distinct SQL statements to track individually.
+	 */
+	public int getMaxStatements() {
+		return this.maxStatements;
+	}
+
+
+	@Override
+	public void statementExecuted(StatementObservation observation) {
+		getHistogram(observation.getSql()).record(observation);
+	}
+
+	private Histogram getHistogram(@Nullable String sql) {
+		String key = (sql != null ? sql : OTHER_STATEMENTS);
+		Histogram histogram = this.histograms.get(key);
+		if (histogram == null) {
+			if (this.histograms.size() >= this.maxStatements) {
+				key = OTHER_STATEMENTS;
+			}
+			histogram = this.histograms.computeIfAbsent(key, Histogram::new);
+		}
+		return histogram;
+	}
+
+	/**
+	 * Return a snapshot of the statistics for the given SQL statement.
+	 * @param sql the SQL statement (or {@link #OTHER_STATEMENTS})
+	 * @return the statistics, or {@code null} if the statement has not been recorded
+	 */
+	@Nullable
+	public StatementStatistics getStatistics(String sql) {
+		Histogram histogram = this.histograms.get(sql);
+		return (histogram != null ? histogram.snapshot() : null);
+	}
+
+	/**
+	 * Return snapshots of the statistics for all recorded statements,
+	 * ordered by total execution time, highest first.
+	 */
+	public List<StatementStatistics> getStatistics() {
+		List<StatementStatistics> result = new ArrayList<>(this.histograms.size());
+		for (Histogram histogram : this.histograms.values()) {
+			result.add(histogram.snapshot());
+		}
+		result.sort(Comparator.comparingLong(StatementStatistics::getTotalNanos).reversed());
+		return result;
+	}
+
+	/**
+	 * Discard all recorded statistics.
+	 */
+	public void reset() {
+		this.histograms.clear();
+	}
+
+
+	private static int bucketFor(long nanos) {
+		long micros = nanos / 1000;
+		int bucket = 64 - Long.numberOfLeadingZeros(micros);
+		return Math.min(bucket, BUCKET_COUNT - 1);
+	}
+
+	private static long bucketUpperBoundNanos(int bucket) {
+		return ((1L << bucket) - 1) * 1000 + 999;
+	}
+
+
+	/**
+	 * Mutable per-statement histogram, updated concurrently.
+	 */
+	private static class Histogram {
+
+		private final String sql;
+
+		private final LongAdder count = new LongAdder();
+
+		private final LongAdder errorCount = new LongAdder();
+
+		private final LongAdder totalNanos = new LongAdder();
+
+		private final LongAdder rowCount = new LongAdder();
+
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+		Histogram(String sql) {
+			this.sql = sql;
+		}
+
+		void record(StatementObservation observation) {
+			long nanos = observation.getDurationNanos();
+			this.count.increment();
+			if (!observation.isSuccessful()) {
+				this.errorCount.increment();
+			}
+			this.totalNanos.add(nanos);
+			if (observation.getRowCount() > 0) {
+				this.rowCount.add(observation.getRowCount());
+			}
+			long max = this.maxNanos.get();
+			while (nanos > max && !this.maxNanos.compareAndSet(max, nanos)) {
+				max = this.maxNanos.get();
+			}
+			this.buckets.incrementAndGet(bucketFor(nanos));
+		}
+
+		StatementStatistics snapshot() {
+			long[] bucketCounts = new long[BUCKET_COUNT];
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				bucketCounts[i] = this.buckets.get(i);
+			}
+			return new StatementStatistics(this.sql, this.count.sum(), this.errorCount.sum(),
+					this.totalNanos.sum(), this.maxNanos.get(), this.rowCount.sum(), bucketCounts);
+		}
+	}
+
+
+	/**
+	 * Point-in-time statistics for a single SQL statement.
+	 */
+	public static final class StatementStatistics {
+
+		private final String sql;
+
+		private final long count;
+
+		private final long errorCount;
+
+		private final long totalNanos;
+
+		private final long maxNanos;
+
+		private final long rowCount;
+
+		private final long[] bucketCounts;
+
+		StatementStatistics(String sql, long count, long errorCount, long totalNanos,
+				long maxNanos, long rowCount, long[] bucketCounts) {
+
+			this.sql = sql;
+			this.count = count;
+			this.errorCount = errorCount;
+			this.totalNanos = totalNanos;
+			this.maxNanos = maxNanos;
+			this.rowCount = rowCount;
+			this.bucketCounts = bucketCounts;
+		}
+
+		/**
+		 * Return the SQL statement (or {@link #OTHER_STATEMENTS}).
+		 */
+		public String getSql() {
+			return this.sql;
+		}
+
+		/**
+		 * Return the number of executions.
+		 */
+		public long getCount() {
+			return this.count;
+		}
+
+		/**
+		 * Return the number of failed executions.
+		 */
+		public long getErrorCount() {
+			return this.errorCount;
+		}
+
+		/**
+		 * Return the total execution time in nanoseconds.
+		 */
+		public long getTotalNanos() {
+			return this.totalNanos;
+		}
+
+		/**
+		 * Return the total execution time.
+		 */
+		public Duration getTotalTime() {
+			return Duration.ofNanos(this.totalNanos);
+		}
+
+		/**
+		 * Return the mean execution time.
+		 */
+		public Duration getMeanTime() {
+			return Duration.ofNanos(this.count > 0 ? this.totalNanos / this.count : 0);
+		}
+
+		/**
+		 * Return the maximum execution time.
+		 */
+		public Duration getMaxTime() {
+			return Duration.ofNanos(this.maxNanos);
+		}
+
+		/**
+		 * Return the total number of rows fetched or affected.
+		 */
+		public long getRowCount() {
+			return this.rowCount;
+		}
+
+		/**
+		 * Estimate the execution time below which the given fraction of
+		 * executions completed, e.g. {@code 0.99} for the 99th percentile.
+		 * <p>The estimate is the upper bound of the histogram bucket that the
+		 * percentile falls into, capped at the maximum execution time; it is
+		 * therefore accurate within a factor of two.
+		 * @param percentile the percentile as a fraction between 0 and 1
+		 * @return the estimated execution time
+		 */
+		public Duration getPercentile(double percentile) {
+			Assert.isTrue(percentile >= 0 && percentile <= 1, "Percentile must be between 0 and 1");
+			long total = 0;
+			for (long bucketCount : this.bucketCounts) {
+				total += bucketCount;
+			}
+			if (total == 0) {
+				return Duration.ZERO;
+			}
+			long threshold = Math.max(1, (long) Math.ceil(percentile * total));
+			long cumulative = 0;
+			for (int i = 0; i < this.bucketCounts.length; i++) {
+				cumulative += this.bucketCounts[i];
+				if (cumulative >= threshold) {
+					return Duration.ofNanos(Math.min(bucketUpperBoundNanos(i), this.maxNanos));
+				}
+			}
+			return Duration.ofNanos(this.maxNanos);
+		}
+
+		@Override
+		public String toString() {
+			return "StatementStatistics [" + this.sql + "]: count=" + this.count +
+					", errors=" + this.errorCount + ", mean=" + getMeanTime().toMillis() + " ms" +
+					", p99=" + getPercentile(0.99).toMillis() + " ms" +
+					", max=" + getMaxTime().toMillis() + " ms" + ", rows=" + this.rowCount;
+		}
+	}
+
+}
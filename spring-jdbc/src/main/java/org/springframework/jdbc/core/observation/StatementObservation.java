@@ -0,0 +1,181 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.observation;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Immutable record of a single statement execution as reported to a
+ * {@link JdbcObservationListener}.
+ *
+ * @since 5.3.37
+ */
+public final class StatementObservation {
+
+	/**
+	 * Constant indicating that the number of rows is not known,
+	 * e.g. for a stream query or a generic execute callback.
+	 */
+	public static final long UNKNOWN_ROW_COUNT = -1;
+
+
+	/**
+	 * The kind of JdbcTemplate operation that has been observed.
+	 */
+	public enum Operation {
+
+		/** A query, with the row count indicating the number of rows fetched. */
+		QUERY,
+
+		/** A single update, with the row count indicating the number of rows affected. */
+		UPDATE,
+
+		/** A batch update, with the row count indicating the total number of rows affected. */
+		BATCH_UPDATE,
+
+		/** A stored procedure call. */
+		CALL,
+
+		/** A generic statement or callback execution. */
+		EXECUTE
+	}
+
+
+	private final Operation operation;
+
+	@Nullable
+	private final String sql;
+
+	private final List<?> parameters;
+
+	private final long durationNanos;
+
+	private final long rowCount;
+
+	private final int batchSize;
+
+	@Nullable
+	private final Throwable exception;
+
+
+	/**
+	 * Create a new StatementObservation.
+	 * @param operation the kind of operation
+	 * @param sql the SQL statement, if known
+	 * @param parameters the bind parameters, in the form requested by the
+	 * listener's {@link ParameterCapture} (empty if not captured)
+	 * @param durationNanos the execution time in nanoseconds
+	 * @param rowCount the number of rows fetched or affected,
+	 * or {@link #UNKNOWN_ROW_COUNT}
+	 * @param batchSize the number of statements in a batch, or 0 if not a batch
+	 * @param exception the exception that the execution failed with, if any
+	 */
+	public StatementObservation(Operation operation, @Nullable String sql, List<?> parameters,
+			long durationNanos, long rowCount, int batchSize, @Nullable Throwable exception) {
+
+		this.operation = operation;
+		this.sql = sql;
+		this.parameters = parameters;
+		this.durationNanos = durationNanos;
+		this.rowCount = rowCount;
+		this.batchSize = batchSize;
+		this.exception = exception;
+	}
+
+
+	/**
+	 * Return the kind of operation that has been observed.
+	 */
+	public Operation getOperation() {
+		return this.operation;
+	}
+
+	/**
+	 * Return the SQL statement, if known.
+	 */
+	@Nullable
+	public String getSql() {
+		return this.sql;
+	}
+
+	/**
+	 * Return the bind parameters as captured for the listener,
+	 * or an empty list if not captured.
+	 * @see JdbcObservationListener#getParameterCapture()
+	 */
+	public List<?> getParameters() {
+		return this.parameters;
+	}
+
+	/**
+	 * Return the execution time in nanoseconds.
+	 */
+	public long getDurationNanos() {
+		return this.durationNanos;
+	}
+
+	/**
+	 * Return the execution time.
+	 */
+	public Duration getDuration() {
+		return Duration.ofNanos(this.durationNanos);
+	}
+
+	/**
+	 * Return the number of rows fetched (for queries) or affected (for updates),
+	 * or {@link #UNKNOWN_ROW_COUNT} if not known.
+	 */
+	public long getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Return the number of statements in a batch update, or 0 if not a batch.
+	 */
+	public int getBatchSize() {
+		return this.batchSize;
+	}
+
+	/**
+	 * Return whether the statement executed successfully.
+	 */
+	public boolean isSuccessful() {
+		return (this.exception == null);
+	}
+
+	/**
+	 * Return the exception that the execution failed with, if any.
+	 */
+	@Nullable
+	public Throwable getException() {
+		return this.exception;
+	}
+
+
+	@Override
+	public String toString() {
+		return this.operation + " [" + this.sql + "] took " + (this.durationNanos / 1_000_000) + " ms" +
+				(this.rowCount != UNKNOWN_ROW_COUNT ? ", rows=" + this.rowCount : "") +
+				(this.batchSize > 0 ? ", batchSize=" + this.batchSize : "") +
+				(!this.parameters.isEmpty() ? ", parameters=" + this.parameters : "") +
+				(this.exception != null ? ", failed with " + this.exception : "");
+	}
+
+}
@@ -0,0 +1,12 @@
+/**
+ * Observation SPI for statements executed through
+ * {@link org.springframework.jdbc.core.JdbcTemplate}: per-statement timing,
+ * row counts and batch sizes, with an in-memory histogram recorder and a
+ * slow query sampler as built-in listeners.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.jdbc.core.observation;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
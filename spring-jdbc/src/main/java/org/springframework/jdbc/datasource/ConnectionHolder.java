@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -60,6 +60,9 @@ public class ConnectionHolder extends ResourceHolderSupport {
 
 	private int savepointCounter = 0;
 
+	@Nullable
+	private PreparedStatementCache preparedStatementCache;
+
 
 	/**
 	 * Create a new ConnectionHolder for the given ConnectionHandle.
@@ -134,6 +137,7 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	 * argument) and setting a fresh Connection on resume.
 	 */
 	protected void setConnection(@Nullable Connection connection) {
+		closePreparedStatementCache();
 		if (this.currentConnection != null) {
 			if (this.connectionHandle != null) {
 				this.connectionHandle.releaseConnection(this.currentConnection);
@@ -187,6 +191,42 @@ public class ConnectionHolder extends ResourceHolderSupport {
 		return getConnection().setSavepoint(SAVEPOINT_NAME_PREFIX + this.savepointCounter);
 	}
 
+	/**
+	 * Return the cache of PreparedStatements for the current Connection,
+	 * creating it on first access.
+	 * <p>The cache is closed along with the Connection, i.e. on transaction
+	 * completion or when the Connection gets reset on suspend.
+	 * @param maxSize the maximum number of statements to keep,
+	 * applied if the cache is newly created
+	 * @since 5.3.37
+	 * @see #closePreparedStatementCache()
+	 */
+	public PreparedStatementCache getPreparedStatementCache(int maxSize) {
+		Connection con = getConnection();
+		PreparedStatementCache cache = this.preparedStatementCache;
+		if (cache == null || cache.getConnection() != con || cache.isClosed()) {
+			if (cache != null) {
+				cache.close();
+			}
+			cache = new PreparedStatementCache(con, maxSize);
+			this.preparedStatementCache = cache;
+		}
+		return cache;
+	}
+
+	/**
+	 * Close the cache of PreparedStatements for the current Connection, if any,
+	 * closing all cached statements. To be called before releasing the Connection.
+	 * @since 5.3.37
+	 */
+	public void closePreparedStatementCache() {
+		PreparedStatementCache cache = this.preparedStatementCache;
+		if (cache != null) {
+			this.preparedStatementCache = null;
+			cache.close();
+		}
+	}
+
 	/**
 	 * Releases the current Connection held by this ConnectionHolder.
 	 * <p>This is necessary for ConnectionHandles that expect "Connection borrowing",
@@ -209,6 +249,7 @@ public class ConnectionHolder extends ResourceHolderSupport {
 	@Override
 	public void clear() {
 		super.clear();
+		closePreparedStatementCache();
 		this.transactionActive = false;
 		this.savepointsSupported = null;
 		this.savepointCounter = 0;
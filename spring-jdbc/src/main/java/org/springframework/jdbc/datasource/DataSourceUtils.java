@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -499,6 +499,7 @@ public abstract class DataSourceUtils {
 					// a handle to it anymore. We will fetch a fresh Connection if the
 					// application accesses the ConnectionHolder again after resume,
 					// assuming that it will participate in the same transaction.
+					this.connectionHolder.closePreparedStatementCache();
 					releaseConnection(this.connectionHolder.getConnection(), this.dataSource);
 					this.connectionHolder.setConnection(null);
 				}
@@ -523,6 +524,7 @@ public abstract class DataSourceUtils {
 				TransactionSynchronizationManager.unbindResource(this.dataSource);
 				this.holderActive = false;
 				if (this.connectionHolder.hasConnection()) {
+					this.connectionHolder.closePreparedStatementCache();
 					releaseConnection(this.connectionHolder.getConnection(), this.dataSource);
 				}
 			}
@@ -539,6 +541,7 @@ public abstract class DataSourceUtils {
 				TransactionSynchronizationManager.unbindResourceIfPossible(this.dataSource);
 				this.holderActive = false;
 				if (this.connectionHolder.hasConnection()) {
+					this.connectionHolder.closePreparedStatementCache();
 					releaseConnection(this.connectionHolder.getConnection(), this.dataSource);
 					// Reset the ConnectionHolder: It might remain bound to the thread.
 					this.connectionHolder.setConnection(null);
@@ -0,0 +1,474 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * LRU cache of {@link PreparedStatement PreparedStatements} for a single JDBC
+ * {@link Connection}, for reusing statements for hot SQL within a transaction
+ * when neither the connection pool nor the driver caches statements.
+ *
+ * <p>Held by a {@link ConnectionHolder} and closed along with the transactional
+ * Connection. Statements are obtained through a {@linkplain #getCachingConnection
+ * caching Connection proxy}, keyed by the arguments of the {@code prepareStatement}
+ * variant called: the SQL plus result set type, concurrency and holdability flags
+ * or generated keys settings. Closing such a statement returns it to the cache,
+ * with parameters and batch cleared and fetch size, max rows and query timeout
+ * restored; statements with other modified settings are closed instead.
+ *
+ * <p>A statement is removed from the cache while in use, so concurrent use of
+ * the same SQL on the same Connection (e.g. by an open query Stream) leads to
+ * a separate statement which is closed on return if its key is cached already.
+ *
+ * @since 5.3.37
+ * @see ConnectionHolder#getPreparedStatementCache(int)
+ * @see org.springframework.jdbc.core.JdbcTemplate#setStatementCacheSize
+ */
+public class PreparedStatementCache {
+
+	private static final Log logger = LogFactory.getLog(PreparedStatementCache.class);
+
+	private final Connection connection;
+
+	private final int maxSize;
+
+	private final Map<StatementKey, PreparedStatement> statements;
+
+	private final Statistics statistics = new Statistics();
+
+	private boolean closed;
+
+
+	/**
+	 * Create a new {@code PreparedStatementCache} for the given Connection.
+	 * @param connection the target Connection to prepare statements on
+	 * @param maxSize the maximum number of statements to keep
+	 */
+	public PreparedStatementCache(Connection connection, int maxSize) {
+		Assert.notNull(connection, "Connection must not be null");
+		Assert.isTrue(maxSize > 0, "Cache size must be greater than 0");
+		this.connection = connection;
+		this.maxSize = maxSize;
+		this.statements = new LinkedHashMap<>(16, 0.75f, true);
+	}
+
+
+	/**
+	 * Return the target Connection that this cache prepares statements on.
+	 */
+	public Connection getConnection() {
+		return this.connection;
+	}
+
+	/**
+	 * Return the maximum number of statements to keep.
+	 */
+	public int getMaxSize() {
+		return this.maxSize;
+	}
+
+	/**
+	 * Return the number of statements currently cached.
+	 */
+	public synchronized int size() {
+		return this.statements.size();
+	}
+
+	/**
+	 * Return the hit/miss statistics of this cache.
+	 */
+	public Statistics getStatistics() {
+		return this.statistics;
+	}
+
+	/**
+	 * Return a proxy for the target Connection which serves {@code prepareStatement}
+	 * calls from this cache, delegating all other calls to the target Connection.
+	 * @param callerStatistics further statistics to record hits and misses in,
+	 * e.g. aggregated across transactions for a specific JdbcTemplate
+	 */
+	public Connection getCachingConnection(@Nullable Statistics callerStatistics) {
+		return (Connection) Proxy.newProxyInstance(
+				PreparedStatementCache.class.getClassLoader(),
+				new Class<?>[] {ConnectionProxy.class},
+				new CachingConnectionInvocationHandler(callerStatistics));
+	}
+
+	/**
+	 * Close all cached statements. Statements still in use are closed
+	 * once returned.
+	 */
+	public void close() {
+		synchronized (this) {
+			if (this.closed) {
+				return;
+			}
+			this.closed = true;
+		}
+		for (PreparedStatement ps : drain()) {
+			JdbcUtils.closeStatement(ps);
+		}
+	}
+
+	/**
+	 * Return whether this cache has been closed.
+	 */
+	public synchronized boolean isClosed() {
+		return this.closed;
+	}
+
+
+	private PreparedStatement prepareStatement(StatementKey key, @Nullable Statistics callerStatistics)
+			throws SQLException {
+
+		PreparedStatement ps;
+		synchronized (this) {
+			ps = (this.closed ? null : this.statements.remove(key));
+		}
+		if (ps != null) {
+			this.statistics.hits.incrementAndGet();
+			if (callerStatistics != null) {
+				callerStatistics.hits.incrementAndGet();
+			}
+		}
+		else {
+			this.statistics.misses.incrementAndGet();
+			if (callerStatistics != null) {
+				callerStatistics.misses.incrementAndGet();
+			}
+			ps = key.prepare(this.connection);
+		}
+		return (PreparedStatement) Proxy.newProxyInstance(
+				PreparedStatementCache.class.getClassLoader(),
+				new Class<?>[] {(ps instanceof CallableStatement ? CallableStatement.class : PreparedStatement.class)},
+				new CachedStatementInvocationHandler(key, ps));
+	}
+
+	private void returnStatement(StatementKey key, PreparedStatement ps) {
+		PreparedStatement evicted = null;
+		boolean keep;
+		synchronized (this) {
+			keep = (!this.closed && !this.statements.containsKey(key));
+			if (keep) {
+				this.statements.put(key, ps);
+				if (this.statements.size() > this.maxSize) {
+					Iterator<PreparedStatement> it = this.statements.values().iterator();
+					evicted = it.next();
+					it.remove();
+				}
+			}
+		}
+		if (!keep) {
+			JdbcUtils.closeStatement(ps);
+		}
+		if (evicted != null) {
+			this.statistics.evictions.incrementAndGet();
+			JdbcUtils.closeStatement(evicted);
+		}
+	}
+
+	private synchronized PreparedStatement[] drain() {
+		PreparedStatement[] result = this.statements.values().toArray(new PreparedStatement[0]);
+		this.statements.clear();
+		return result;
+	}
+
+
+	/**
+	 * Hit/miss statistics for statement caching.
+	 */
+	public static final class Statistics {
+
+		final AtomicLong hits = new AtomicLong();
+
+		final AtomicLong misses = new AtomicLong();
+
+		final AtomicLong evictions = new AtomicLong();
+
+		/**
+		 * Return the number of statements served from the cache.
+		 */
+		public long getHitCount() {
+			return this.hits.get();
+		}
+
+		/**
+		 * Return the number of statements newly prepared.
+		 */
+		public long getMissCount() {
+			return this.misses.get();
+		}
+
+		/**
+		 * Return the number of statements evicted from the cache.
+		 */
+		public long getEvictionCount() {
+			return this.evictions.get();
+		}
+
+		/**
+		 * Return the ratio of hits to all lookups, between 0 and 1.
+		 */
+		public double getHitRate() {
+			long hits = this.hits.get();
+			long lookups = hits + this.misses.get();
+			return (lookups > 0 ? (double) hits / lookups : 0);
+		}
+
+		@Override
+		public String toString() {
+			return "PreparedStatementCache.Statistics: hits=" + getHitCount() + ", misses=" + getMissCount() +
+					", evictions=" + getEvictionCount();
+		}
+	}
+
+
+	/**
+	 * Cache key, consisting of the {@code prepareStatement}/{@code prepareCall}
+	 * method and its arguments.
+	 */
+	private static final class StatementKey {
+
+		private final Method method;
+
+		private final Object[] args;
+
+		private final int hashCode;
+
+		StatementKey(Method method, Object[] args) {
+			this.method = method;
+			this.args = args;
+			this.hashCode = 31 * method.hashCode() + Arrays.deepHashCode(args);
+		}
+
+		PreparedStatement prepare(Connection con) throws SQLException {
+			try {
+				return (PreparedStatement) this.method.invoke(con, this.args);
+			}
+			catch (InvocationTargetException ex) {
+				if (ex.getTargetException() instanceof SQLException) {
+					throw (SQLException) ex.getTargetException();
+				}
+				throw new SQLException("Could not prepare statement", ex.getTargetException());
+			}
+			catch (IllegalAccessException ex) {
+				throw new SQLException("Could not prepare statement", ex);
+			}
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof StatementKey)) {
+				return false;
+			}
+			StatementKey otherKey = (StatementKey) other;
+			return (this.method.equals(otherKey.method) && Arrays.deepEquals(this.args, otherKey.args));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
+
+	/**
+	 * Invocation handler for a caching Connection proxy.
+	 */
+	private class CachingConnectionInvocationHandler implements InvocationHandler {
+
+		@Nullable
+		private final Statistics callerStatistics;
+
+		CachingConnectionInvocationHandler(@Nullable Statistics callerStatistics) {
+			this.callerStatistics = callerStatistics;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					return (proxy == args[0]);
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "getTargetConnection":
+					return connection;
+				case "prepareStatement":
+				case "prepareCall":
+					if (args != null && args.length > 0 && args[0] instanceof String) {
+						return prepareStatement(new StatementKey(method, args.clone()), this.callerStatistics);
+					}
+					break;
+			}
+			try {
+				return method.invoke(connection, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+
+	/**
+	 * Invocation handler for a cached statement, returning the statement
+	 * to the cache on close and rejecting further use afterwards.
+	 */
+	private class CachedStatementInvocationHandler implements InvocationHandler {
+
+		private final StatementKey key;
+
+		private final PreparedStatement target;
+
+		@Nullable
+		private Integer originalFetchSize;
+
+		@Nullable
+		private Integer originalMaxRows;
+
+		@Nullable
+		private Integer originalQueryTimeout;
+
+		private boolean settingsChanged;
+
+		private boolean batched;
+
+		private boolean closed;
+
+		CachedStatementInvocationHandler(StatementKey key, PreparedStatement target) {
+			this.key = key;
+			this.target = target;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, @Nullable Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					return (proxy == args[0]);
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "isClosed":
+					return (this.closed || this.target.isClosed());
+				case "close":
+					if (!this.closed) {
+						this.closed = true;
+						release();
+					}
+					return null;
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "setFetchSize":
+					if (this.originalFetchSize == null && !this.closed) {
+						this.originalFetchSize = this.target.getFetchSize();
+					}
+					break;
+				case "setMaxRows":
+					if (this.originalMaxRows == null && !this.closed) {
+						this.originalMaxRows = this.target.getMaxRows();
+					}
+					break;
+				case "setQueryTimeout":
+					if (this.originalQueryTimeout == null && !this.closed) {
+						this.originalQueryTimeout = this.target.getQueryTimeout();
+					}
+					break;
+				case "addBatch":
+					this.batched = true;
+					break;
+				case "setLargeMaxRows":
+				case "setFetchDirection":
+				case "setMaxFieldSize":
+				case "setEscapeProcessing":
+				case "setPoolable":
+				case "setCursorName":
+					this.settingsChanged = true;
+					break;
+			}
+			if (this.closed) {
+				throw new SQLException("Statement has been closed and returned to the cache");
+			}
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+
+		private void release() {
+			// Uncommon statement settings have no reliable "unset" value: discard the statement
+			if (this.settingsChanged) {
+				if (logger.isTraceEnabled()) {
+					logger.trace("Closing PreparedStatement with modified settings instead of caching it");
+				}
+				JdbcUtils.closeStatement(this.target);
+				return;
+			}
+			try {
+				if (this.originalFetchSize != null) {
+					this.target.setFetchSize(this.originalFetchSize);
+				}
+				if (this.originalMaxRows != null) {
+					this.target.setMaxRows(this.originalMaxRows);
+				}
+				if (this.originalQueryTimeout != null) {
+					this.target.setQueryTimeout(this.originalQueryTimeout);
+				}
+				this.target.clearParameters();
+				if (this.batched) {
+					this.target.clearBatch();
+				}
+				this.target.clearWarnings();
+			}
+			catch (SQLException ex) {
+				logger.debug("Could not reset PreparedStatement for reuse", ex);
+				JdbcUtils.closeStatement(this.target);
+				return;
+			}
+			returnStatement(this.key, this.target);
+		}
+	}
+
+}
@@ -0,0 +1,458 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.lang.Nullable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * DataSource that routes read-only transactions to a pool of replica DataSources
+ * and everything else to a primary DataSource, based on the
+ * {@linkplain TransactionSynchronizationManager#isCurrentTransactionReadOnly()
+ * read-only flag} of the current transaction, e.g. as declared through
+ * {@code @Transactional(readOnly = true)}.
+ *
+ * <p>Transaction managers such as
+ * {@link org.springframework.jdbc.datasource.DataSourceTransactionManager} obtain a
+ * Connection before the read-only flag of a new transaction is exposed. Therefore,
+ * this router returns lazy Connection handles by default, as provided by a
+ * {@link LazyConnectionDataSourceProxy}, determining the actual target
+ * DataSource once the first Statement is created. There is no need to wrap
+ * this router in a separate {@code LazyConnectionDataSourceProxy}.
+ *
+ * <p>Replicas are chosen through {@link LoadBalancing#ROUND_ROBIN round-robin}
+ * (the default) or {@link LoadBalancing#LEAST_ACTIVE least-active} balancing.
+ * Within a transaction with active synchronization, the chosen target is bound to
+ * the transaction: all Connections obtained for the same transaction are routed
+ * to the same replica (or the primary), even when obtained outside of Spring's
+ * {@link org.springframework.jdbc.datasource.DataSourceUtils} Connection handling.
+ *
+ * <p>To avoid reading stale data from lagging replicas right after a write, a
+ * {@linkplain #setPrimaryPinningWindow primary pinning window} can be specified:
+ * after a read-write transaction commits on the primary, read-only transactions
+ * on the same thread keep using the primary until the window has elapsed. For
+ * request-scoped pinning on thread pools, call {@link #clearPrimaryPinning()} at the
+ * start or end of each request; {@link #pinToPrimary()} pins explicitly, e.g. after
+ * non-transactional writes which this router cannot detect.
+ *
+ * <p>Target DataSources can be specified as DataSource instances or as data source
+ * names, to be resolved through a {@link #setDataSourceLookup DataSourceLookup}.
+ *
+ * @since 5.3.37
+ * @see #setPrimaryDataSource
+ * @see #setReplicaDataSources
+ * @see org.springframework.transaction.annotation.Transactional#readOnly()
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+	/** The lookup key of the primary DataSource. */
+	public static final String PRIMARY_KEY = "primary";
+
+	/** The prefix of the lookup keys of replica DataSources, followed by their index. */
+	public static final String REPLICA_KEY_PREFIX = "replica-";
+
+
+	/**
+	 * Strategy for choosing a replica for a read-only transaction.
+	 */
+	public enum LoadBalancing {
+
+		/** Cycle through all replicas in turn. */
+		ROUND_ROBIN,
+
+		/** Choose the replica with the fewest Connections currently in use through this router. */
+		LEAST_ACTIVE
+	}
+
+
+	@Nullable
+	private Object primaryDataSource;
+
+	@Nullable
+	private List<?> replicaDataSources;
+
+	private LoadBalancing loadBalancing = LoadBalancing.ROUND_ROBIN;
+
+	private Duration primaryPinningWindow = Duration.ZERO;
+
+	private boolean lazyConnectionFetching = true;
+
+	private String[] replicaKeys = new String[0];
+
+	private AtomicInteger[] activeConnections = new AtomicInteger[0];
+
+	private final AtomicInteger nextReplica = new AtomicInteger();
+
+	private final ThreadLocal<Long> lastPrimaryWrite = new NamedThreadLocal<>("Last primary write");
+
+	/** Key for binding the chosen lookup key to the current transaction. */
+	private final Object transactionLookupKey = new Object();
+
+	@Nullable
+	private LazyConnectionDataSourceProxy lazyConnectionProxy;
+
+
+	/**
+	 * Specify the primary DataSource, used for all operations except
+	 * read-only transactions.
+	 * <p>The value can either be a {@link DataSource} instance or a data source
+	 * name String (to be resolved via a {@link #setDataSourceLookup DataSourceLookup}).
+	 */
+	public void setPrimaryDataSource(Object primaryDataSource) {
+		this.primaryDataSource = primaryDataSource;
+	}
+
+	/**
+	 * Specify the replica DataSources to route read-only transactions to.
+	 * If none are specified, read-only transactions use the primary as well.
+	 * <p>The values can either be {@link DataSource} instances or data source
+	 * name Strings (to be resolved via a {@link #setDataSourceLookup DataSourceLookup}).
+	 */
+	public void setReplicaDataSources(List<?> replicaDataSources) {
+		this.replicaDataSources = replicaDataSources;
+	}
+
+	/**
+	 * Specify the strategy for choosing a replica for a read-only transaction.
+	 * <p>Default is {@link LoadBalancing#ROUND_ROBIN}.
+	 */
+	public void setLoadBalancing(LoadBalancing loadBalancing) {
+		Assert.notNull(loadBalancing, "LoadBalancing must not be null");
+		this.loadBalancing = loadBalancing;
+	}
+
+	/**
+	 * Specify for how long read-only transactions on a thread keep using the
+	 * primary after a read-write transaction committed on that thread, covering
+	 * the replication lag of the replicas.
+	 * <p>Default is {@link Duration#ZERO}, not pinning to the primary at all.
+	 * @see #pinToPrimary()
+	 * @see #clearPrimaryPinning()
+	 */
+	public void setPrimaryPinningWindow(Duration primaryPinningWindow) {
+		Assert.isTrue(!primaryPinningWindow.isNegative(), "Primary pinning window must not be negative");
+		this.primaryPinningWindow = primaryPinningWindow;
+	}
+
+	/**
+	 * Specify whether to return lazy Connection handles which determine their
+	 * target DataSource on first actual use.
+	 * <p>Default is "true", which is necessary for transaction managers which
+	 * obtain a Connection before exposing the read-only flag of a transaction.
+	 * Switch this to "false" if Connections are only ever obtained once the
+	 * transaction has been fully initialized, e.g. with JTA.
+	 */
+	public void setLazyConnectionFetching(boolean lazyConnectionFetching) {
+		this.lazyConnectionFetching = lazyConnectionFetching;
+	}
+
+
+	@Override
+	public void afterPropertiesSet() {
+		if (this.primaryDataSource == null) {
+			throw new IllegalArgumentException("Property 'primaryDataSource' is required");
+		}
+		List<?> replicas = this.replicaDataSources;
+		int replicaCount = (replicas != null ? replicas.size() : 0);
+		Map<Object, Object> targetDataSources = new LinkedHashMap<>();
+		targetDataSources.put(PRIMARY_KEY, this.primaryDataSource);
+		this.replicaKeys = new String[replicaCount];
+		this.activeConnections = new AtomicInteger[replicaCount];
+		for (int i = 0; i < replicaCount; i++) {
+			this.replicaKeys[i] = REPLICA_KEY_PREFIX + i;
+			this.activeConnections[i] = new AtomicInteger();
+			targetDataSources.put(this.replicaKeys[i], replicas.get(i));
+		}
+		setTargetDataSources(targetDataSources);
+		setDefaultTargetDataSource(this.primaryDataSource);
+		setLenientFallback(false);
+		super.afterPropertiesSet();
+
+		if (this.lazyConnectionFetching) {
+			this.lazyConnectionProxy = new LazyConnectionDataSourceProxy(new RoutedConnectionDataSource());
+		}
+	}
+
+
+	/**
+	 * Pin read-only transactions on the current thread to the primary
+	 * for the {@linkplain #setPrimaryPinningWindow primary pinning window},
+	 * e.g. after a write outside of a transaction.
+	 */
+	public void pinToPrimary() {
+		this.lastPrimaryWrite.set(System.nanoTime());
+	}
+
+	/**
+	 * Clear any pinning of the current thread to the primary.
+	 */
+	public void clearPrimaryPinning() {
+		this.lastPrimaryWrite.remove();
+	}
+
+	/**
+	 * Return whether read-only transactions on the current thread are currently
+	 * pinned to the primary.
+	 */
+	public boolean isPinnedToPrimary() {
+		Long lastWrite = this.lastPrimaryWrite.get();
+		if (lastWrite == null) {
+			return false;
+		}
+		if (System.nanoTime() - lastWrite < this.primaryPinningWindow.toNanos()) {
+			return true;
+		}
+		this.lastPrimaryWrite.remove();
+		return false;
+	}
+
+	/**
+	 * Return the number of Connections currently in use for the replica with the
+	 * given index, as tracked for {@link LoadBalancing#LEAST_ACTIVE} balancing.
+	 * @param replicaIndex the index of the replica in the
+	 * {@link #setReplicaDataSources replica list}
+	 */
+	public int getActiveConnectionCount(int replicaIndex) {
+		return this.activeConnections[replicaIndex].get();
+	}
+
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (this.lazyConnectionProxy != null) {
+			return this.lazyConnectionProxy.getConnection();
+		}
+		return getRoutedConnection(null, null);
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		if (this.lazyConnectionProxy != null) {
+			return this.lazyConnectionProxy.getConnection(username, password);
+		}
+		return getRoutedConnection(username, password);
+	}
+
+	/**
+	 * Obtain a Connection from the DataSource for the current lookup key,
+	 * tracking its use for {@link LoadBalancing#LEAST_ACTIVE} balancing.
+	 */
+	private Connection getRoutedConnection(@Nullable String username, @Nullable String password)
+			throws SQLException {
+
+		Object lookupKey = determineCurrentLookupKey();
+		DataSource dataSource = getResolvedDataSources().get(lookupKey);
+		Assert.state(dataSource != null, () -> "No DataSource for lookup key [" + lookupKey + "]");
+		Connection con = (username != null ? dataSource.getConnection(username, password) :
+				dataSource.getConnection());
+		int replicaIndex = replicaIndex(lookupKey);
+		if (replicaIndex < 0 || this.loadBalancing != LoadBalancing.LEAST_ACTIVE) {
+			return con;
+		}
+		AtomicInteger counter = this.activeConnections[replicaIndex];
+		counter.incrementAndGet();
+		return (Connection) Proxy.newProxyInstance(ReadWriteRoutingDataSource.class.getClassLoader(),
+				new Class<?>[] {Connection.class}, new ActiveConnectionInvocationHandler(con, counter));
+	}
+
+	/**
+	 * Determine the lookup key for the current thread: a replica for read-only
+	 * transactions, unless pinned to the primary, and the primary otherwise.
+	 * Within a synchronized transaction, the key is bound to the transaction.
+	 */
+	@Override
+	protected Object determineCurrentLookupKey() {
+		boolean synchronizationActive = TransactionSynchronizationManager.isSynchronizationActive();
+		if (synchronizationActive) {
+			Object boundKey = TransactionSynchronizationManager.getResource(this.transactionLookupKey);
+			if (boundKey != null) {
+				return boundKey;
+			}
+		}
+		Object lookupKey;
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() &&
+				this.replicaKeys.length > 0 && !isPinnedToPrimary()) {
+			lookupKey = this.replicaKeys[chooseReplica()];
+		}
+		else {
+			lookupKey = PRIMARY_KEY;
+		}
+		if (synchronizationActive) {
+			boolean readWrite = (TransactionSynchronizationManager.isActualTransactionActive() &&
+					!TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+			TransactionSynchronizationManager.bindResource(this.transactionLookupKey, lookupKey);
+			TransactionSynchronizationManager.registerSynchronization(
+					new LookupKeySynchronization(lookupKey, readWrite));
+		}
+		return lookupKey;
+	}
+
+	private int chooseReplica() {
+		int start = Math.floorMod(this.nextReplica.getAndIncrement(), this.replicaKeys.length);
+		if (this.loadBalancing == LoadBalancing.ROUND_ROBIN) {
+			return start;
+		}
+		int chosen = start;
+		int fewest = Integer.MAX_VALUE;
+		for (int i = 0; i < this.replicaKeys.length; i++) {
+			int candidate = (start + i) % this.replicaKeys.length;
+			int active = this.activeConnections[candidate].get();
+			if (active < fewest) {
+				chosen = candidate;
+				fewest = active;
+			}
+		}
+		return chosen;
+	}
+
+	private int replicaIndex(Object lookupKey) {
+		for (int i = 0; i < this.replicaKeys.length; i++) {
+			if (this.replicaKeys[i].equals(lookupKey)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+
+	/**
+	 * Target of the lazy Connection proxy, routing on actual Connection retrieval.
+	 */
+	private class RoutedConnectionDataSource extends AbstractDataSource {
+
+		@Override
+		public Connection getConnection() throws SQLException {
+			return getRoutedConnection(null, null);
+		}
+
+		@Override
+		public Connection getConnection(String username, String password) throws SQLException {
+			return getRoutedConnection(username, password);
+		}
+
+		@Override
+		public String toString() {
+			return ReadWriteRoutingDataSource.this.toString();
+		}
+	}
+
+
+	/**
+	 * Synchronization keeping a transaction on its lookup key, and pinning
+	 * the current thread to the primary after a read-write transaction commits.
+	 */
+	private class LookupKeySynchronization implements TransactionSynchronization {
+
+		private final Object lookupKey;
+
+		private final boolean readWrite;
+
+		LookupKeySynchronization(Object lookupKey, boolean readWrite) {
+			this.lookupKey = lookupKey;
+			this.readWrite = readWrite;
+		}
+
+		@Override
+		public void suspend() {
+			TransactionSynchronizationManager.unbindResourceIfPossible(transactionLookupKey);
+		}
+
+		@Override
+		public void resume() {
+			TransactionSynchronizationManager.bindResource(transactionLookupKey, this.lookupKey);
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(transactionLookupKey);
+			if (this.readWrite && status == STATUS_COMMITTED && !primaryPinningWindow.isZero()) {
+				pinToPrimary();
+			}
+		}
+	}
+
+
+	/**
+	 * Invocation handler tracking a replica Connection as active until closed.
+	 */
+	private static class ActiveConnectionInvocationHandler implements InvocationHandler {
+
+		private final Connection target;
+
+		private final AtomicInteger activeConnections;
+
+		private boolean closed;
+
+		ActiveConnectionInvocationHandler(Connection target, AtomicInteger activeConnections) {
+			this.target = target;
+			this.activeConnections = activeConnections;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "equals":
+					return (proxy == args[0]);
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "isWrapperFor":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return true;
+					}
+					break;
+				case "close":
+					if (!this.closed) {
+						this.closed = true;
+						this.activeConnections.decrementAndGet();
+					}
+					break;
+			}
+			try {
+				return method.invoke(this.target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+	}
+
+}
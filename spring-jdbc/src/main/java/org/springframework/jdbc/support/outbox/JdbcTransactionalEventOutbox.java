@@ -0,0 +1,485 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.outbox;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.Ordered;
+import org.springframework.core.serializer.DefaultDeserializer;
+import org.springframework.core.serializer.DefaultSerializer;
+import org.springframework.core.serializer.Deserializer;
+import org.springframework.core.serializer.Serializer;
+import org.springframework.core.serializer.support.SerializationFailedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.lang.Nullable;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.event.TransactionalApplicationListener;
+import org.springframework.transaction.event.TransactionalEventOutbox;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+/**
+ * {@link TransactionalEventOutbox} implementation that stores events in a
+ * database table, using batch inserts through a {@link JdbcTemplate} on the
+ * given {@link DataSource}.
+ *
+ * <p>Events stored within a transaction are buffered until
+ * {@code beforeCommit}, then inserted in a single batch. With a
+ * {@link org.springframework.jdbc.datasource.DataSourceTransactionManager}
+ * (or {@link org.springframework.jdbc.support.JdbcTransactionManager}) for the
+ * same {@code DataSource}, those inserts take part in the publishing
+ * transaction. Events are therefore committed or rolled back together with
+ * the business data.
+ *
+ * <p>Stored events are dispatched by {@link #dispatchPendingEvents()}, which
+ * reads up to {@link #setBatchSize batchSize} events for the registered
+ * listeners, in the order of their {@code SEQ} column. It
+ * hands each event to its listener and deletes the events it delivered.
+ * If a {@link #setTaskScheduler TaskScheduler} is configured, that method is
+ * called periodically while this outbox is {@link #start() running}, and
+ * right after each commit that stored events. A failed event stays in the
+ * table and is retried on subsequent runs. After {@link #setMaxAttempts
+ * maxAttempts} failures it is no longer dispatched, but remains available
+ * for inspection.
+ *
+ * <p>Delivery is at-least-once: a listener may see an event again if the
+ * process stops between listener invocation and removal of the event.
+ * Several instances polling the same table may dispatch the same event
+ * concurrently. Use a table per instance, or an externally coordinated
+ * poller, in such a scenario.
+ *
+ * <p>Events are serialized with a {@link DefaultSerializer} by default.
+ * For a {@link PayloadApplicationEvent}, only the payload is stored; it is
+ * wrapped in a new {@code PayloadApplicationEvent} with this outbox as source
+ * when dispatched. Other events are stored as a whole. Note that
+ * {@link java.util.EventObject#getSource() event sources} are not
+ * serializable, so they are {@code null} after dispatch.
+ *
+ * <p>The table is expected to look as follows, with a binary type suitable
+ * for the database in place of {@code BLOB}. {@code SEQ} needs to be assigned
+ * ascending values on insert by the database, e.g. as an identity or
+ * auto-increment column; {@code CREATED_AT} only records the creation time
+ * in milliseconds for inspection purposes.
+ *
+ * <pre class="code">
+ * CREATE TABLE EVENT_OUTBOX (
+ *   SEQ BIGINT GENERATED BY DEFAULT AS IDENTITY,
+ *   ID VARCHAR(36) NOT NULL PRIMARY KEY,
+ *   LISTENER_ID VARCHAR(1000) NOT NULL,
+ *   PAYLOAD BLOB NOT NULL,
+ *   CREATED_AT BIGINT NOT NULL,
+ *   ATTEMPTS INTEGER NOT NULL
+ * )</pre>
+ *
+ * <p>An index on {@code (LISTENER_ID, SEQ)} is recommended for larger tables.
+ *
+ * @since 5.3.37
+ * @see org.springframework.transaction.event.TransactionalEventListenerFactory#setOutbox
+ */
+public class JdbcTransactionalEventOutbox implements TransactionalEventOutbox, SmartLifecycle, BeanClassLoaderAware {
+
+	/**
+	 * The default name of the outbox table: "EVENT_OUTBOX".
+	 */
+	public static final String DEFAULT_TABLE_NAME = "EVENT_OUTBOX";
+
+	/**
+	 * The default number of events to dispatch per run: 100.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+
+	protected final Log logger = LogFactory.getLog(getClass());
+
+	private final JdbcTemplate jdbcTemplate;
+
+	private String tableName = DEFAULT_TABLE_NAME;
+
+	private int batchSize = DEFAULT_BATCH_SIZE;
+
+	private int maxAttempts = 3;
+
+	private Serializer<Object> serializer = new DefaultSerializer();
+
+	@Nullable
+	private Deserializer<Object> deserializer;
+
+	@Nullable
+	private TaskScheduler taskScheduler;
+
+	private Duration pollInterval = Duration.ofSeconds(1);
+
+	private final Map<String, TransactionalApplicationListener<?>> listeners = new ConcurrentHashMap<>();
+
+	private final ReentrantLock dispatchLock = new ReentrantLock();
+
+	@Nullable
+	private volatile ScheduledFuture<?> pollTask;
+
+
+	/**
+	 * Create a new {@code JdbcTransactionalEventOutbox} for the given
+	 * {@code DataSource}.
+	 * @param dataSource the DataSource to store events in, typically the one
+	 * managed by the application's transaction manager
+	 */
+	public JdbcTransactionalEventOutbox(DataSource dataSource) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setMaxRows(DEFAULT_BATCH_SIZE);
+		this.jdbcTemplate.setFetchSize(DEFAULT_BATCH_SIZE);
+	}
+
+
+	/**
+	 * Set the name of the outbox table.
+	 * <p>Default is {@value #DEFAULT_TABLE_NAME}.
+	 */
+	public void setTableName(String tableName) {
+		Assert.hasText(tableName, "Table name must not be empty");
+		this.tableName = tableName;
+	}
+
+	/**
+	 * Set the maximum number of events to dispatch per
+	 * {@link #dispatchPendingEvents()} run.
+	 * <p>Default is {@value #DEFAULT_BATCH_SIZE}.
+	 */
+	public void setBatchSize(int batchSize) {
+		Assert.isTrue(batchSize > 0, "Batch size must be greater than 0");
+		this.batchSize = batchSize;
+		this.jdbcTemplate.setMaxRows(batchSize);
+		this.jdbcTemplate.setFetchSize(batchSize);
+	}
+
+	/**
+	 * Set the number of dispatch attempts per event, after which a failing
+	 * event remains in the table without being dispatched again.
+	 * <p>Default is 3.
+	 */
+	public void setMaxAttempts(int maxAttempts) {
+		Assert.isTrue(maxAttempts > 0, "Max attempts must be greater than 0");
+		this.maxAttempts = maxAttempts;
+	}
+
+	/**
+	 * Set the {@link Serializer} for stored events.
+	 * <p>Default is a {@link DefaultSerializer}.
+	 */
+	public void setSerializer(Serializer<Object> serializer) {
+		Assert.notNull(serializer, "Serializer must not be null");
+		this.serializer = serializer;
+	}
+
+	/**
+	 * Set the {@link Deserializer} for stored events.
+	 * <p>Default is a {@link DefaultDeserializer} for the bean class loader.
+	 */
+	public void setDeserializer(Deserializer<Object> deserializer) {
+		Assert.notNull(deserializer, "Deserializer must not be null");
+		this.deserializer = deserializer;
+	}
+
+	/**
+	 * Set the {@link TaskScheduler} to dispatch stored events with.
+	 * <p>If not set, {@link #dispatchPendingEvents()} needs to be called
+	 * by the application.
+	 */
+	public void setTaskScheduler(@Nullable TaskScheduler taskScheduler) {
+		this.taskScheduler = taskScheduler;
+	}
+
+	/**
+	 * Set the delay between the end of one dispatch run and the start of the
+	 * next, when dispatching through a {@link #setTaskScheduler TaskScheduler}.
+	 * <p>Default is 1 second.
+	 */
+	public void setPollInterval(Duration pollInterval) {
+		Assert.isTrue(!pollInterval.isNegative() && !pollInterval.isZero(), "Poll interval must be positive");
+		this.pollInterval = pollInterval;
+	}
+
+	@Override
+	public void setBeanClassLoader(ClassLoader classLoader) {
+		if (this.deserializer == null) {
+			this.deserializer = new DefaultDeserializer(classLoader);
+		}
+	}
+
+
+	@Override
+	public void registerListener(TransactionalApplicationListener<?> listener) {
+		String listenerId = listener.getListenerId();
+		Assert.hasLength(listenerId, () -> "Listener id required for outbox dispatch: " + listener);
+		TransactionalApplicationListener<?> existing = this.listeners.putIfAbsent(listenerId, listener);
+		if (existing != null && existing != listener) {
+			throw new IllegalStateException("Duplicate listener id '" + listenerId + "' for " + listener +
+					" and " + existing + " - specify a unique id for outbox dispatch");
+		}
+	}
+
+	@Override
+	public void store(ApplicationEvent event, TransactionalApplicationListener<?> listener) {
+		Assert.state(TransactionSynchronizationManager.isSynchronizationActive(),
+				"Transaction synchronization is not active");
+		Object[] row = new Object[] {UUID.randomUUID().toString(), listener.getListenerId(),
+				serialize(event), System.currentTimeMillis()};
+		PendingEvents pendingEvents = (PendingEvents) TransactionSynchronizationManager.getResource(this);
+		if (pendingEvents == null) {
+			pendingEvents = new PendingEvents();
+			TransactionSynchronizationManager.bindResource(this, pendingEvents);
+			TransactionSynchronizationManager.registerSynchronization(pendingEvents);
+		}
+		pendingEvents.add(row);
+	}
+
+	private byte[] serialize(ApplicationEvent event) {
+		Object value = (event instanceof PayloadApplicationEvent ?
+				((PayloadApplicationEvent<?>) event).getPayload() : event);
+		try {
+			return this.serializer.serializeToByteArray(value);
+		}
+		catch (IOException ex) {
+			throw new SerializationFailedException("Failed to serialize outbox event: " + event, ex);
+		}
+	}
+
+	private ApplicationEvent deserialize(byte[] payload) {
+		Deserializer<Object> deserializer = this.deserializer;
+		if (deserializer == null) {
+			deserializer = new DefaultDeserializer();
+			this.deserializer = deserializer;
+		}
+		Object value;
+		try {
+			value = deserializer.deserializeFromByteArray(payload);
+		}
+		catch (IOException ex) {
+			throw new SerializationFailedException("Failed to deserialize outbox event", ex);
+		}
+		return (value instanceof ApplicationEvent ? (ApplicationEvent) value :
+				new PayloadApplicationEvent<>(this, value));
+	}
+
+	private void insert(List<Object[]> rows) {
+		String sql = "INSERT INTO " + this.tableName +
+				" (ID, LISTENER_ID, PAYLOAD, CREATED_AT, ATTEMPTS) VALUES (?, ?, ?, ?, 0)";
+		if (rows.size() == 1) {
+			this.jdbcTemplate.update(sql, rows.get(0));
+		}
+		else {
+			this.jdbcTemplate.batchUpdate(sql, rows);
+		}
+	}
+
+
+	/**
+	 * Dispatch the next batch of stored events to their listeners, in order of
+	 * insertion, removing successfully dispatched events from the table.
+	 * <p>Returns immediately if a dispatch run is already in progress.
+	 * Only events for registered listeners are read: events for listeners
+	 * that have not been registered yet are left untouched for a later run,
+	 * without taking up room in the batch.
+	 * @return the number of events dispatched successfully
+	 */
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public int dispatchPendingEvents() {
+		if (!this.dispatchLock.tryLock()) {
+			return 0;
+		}
+		try {
+			List<String> listenerIds = new ArrayList<>(this.listeners.keySet());
+			if (listenerIds.isEmpty()) {
+				return 0;
+			}
+			StringBuilder sql = new StringBuilder("SELECT ID, LISTENER_ID, PAYLOAD, ATTEMPTS FROM ")
+					.append(this.tableName).append(" WHERE ATTEMPTS < ? AND LISTENER_ID IN (");
+			Object[] args = new Object[listenerIds.size() + 1];
+			args[0] = this.maxAttempts;
+			for (int i = 0; i < listenerIds.size(); i++) {
+				sql.append(i > 0 ? ", ?" : "?");
+				args[i + 1] = listenerIds.get(i);
+			}
+			sql.append(") ORDER BY SEQ");
+			List<StoredEvent> storedEvents = this.jdbcTemplate.query(sql.toString(),
+					(rs, rowNum) -> new StoredEvent(rs.getString(1), rs.getString(2), rs.getBytes(3), rs.getInt(4)),
+					args);
+			List<Object[]> dispatched = new ArrayList<>(storedEvents.size());
+			List<Object[]> failed = new ArrayList<>();
+			for (StoredEvent storedEvent : storedEvents) {
+				TransactionalApplicationListener listener = this.listeners.get(storedEvent.listenerId);
+				Assert.state(listener != null, "No listener registered for selected outbox event");
+				try {
+					listener.processEvent(deserialize(storedEvent.payload));
+					dispatched.add(new Object[] {storedEvent.id});
+				}
+				catch (RuntimeException | Error ex) {
+					failed.add(new Object[] {storedEvent.id});
+					if (storedEvent.attempts + 1 >= this.maxAttempts) {
+						logger.error("Giving up on outbox event " + storedEvent.id + " for listener '" +
+								storedEvent.listenerId + "' after " + this.maxAttempts + " attempts", ex);
+					}
+					else if (logger.isWarnEnabled()) {
+						logger.warn("Failed to dispatch outbox event " + storedEvent.id + " to listener '" +
+								storedEvent.listenerId + "' - will retry", ex);
+					}
+				}
+			}
+			if (!dispatched.isEmpty()) {
+				this.jdbcTemplate.batchUpdate("DELETE FROM " + this.tableName + " WHERE ID = ?", dispatched);
+			}
+			if (!failed.isEmpty()) {
+				this.jdbcTemplate.batchUpdate(
+						"UPDATE " + this.tableName + " SET ATTEMPTS = ATTEMPTS + 1 WHERE ID = ?", failed);
+			}
+			return dispatched.size();
+		}
+		finally {
+			this.dispatchLock.unlock();
+		}
+	}
+
+	private void dispatchQuietly() {
+		try {
+			dispatchPendingEvents();
+		}
+		catch (DataAccessException | SerializationFailedException ex) {
+			logger.warn("Failed to dispatch outbox events", ex);
+		}
+	}
+
+
+	@Override
+	public void start() {
+		TaskScheduler taskScheduler = this.taskScheduler;
+		if (taskScheduler != null && this.pollTask == null) {
+			this.pollTask = taskScheduler.scheduleWithFixedDelay(this::dispatchQuietly, this.pollInterval);
+		}
+	}
+
+	@Override
+	public void stop() {
+		ScheduledFuture<?> pollTask = this.pollTask;
+		if (pollTask != null) {
+			pollTask.cancel(false);
+			this.pollTask = null;
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return (this.pollTask != null);
+	}
+
+
+	/**
+	 * Events stored within the current transaction, inserted before commit.
+	 */
+	private class PendingEvents implements TransactionSynchronization {
+
+		private final List<Object[]> rows = new ArrayList<>();
+
+		private boolean flushed;
+
+		public void add(Object[] row) {
+			if (this.flushed) {
+				// Stored by a synchronization running after ours: insert right away
+				insert(Collections.singletonList(row));
+			}
+			else {
+				this.rows.add(row);
+			}
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.LOWEST_PRECEDENCE;
+		}
+
+		@Override
+		public void suspend() {
+			// Events stored within an inner transaction need a separate holder
+			TransactionSynchronizationManager.unbindResource(JdbcTransactionalEventOutbox.this);
+		}
+
+		@Override
+		public void resume() {
+			TransactionSynchronizationManager.bindResource(JdbcTransactionalEventOutbox.this, this);
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			if (!this.rows.isEmpty()) {
+				insert(this.rows);
+			}
+			this.flushed = true;
+		}
+
+		@Override
+		public void afterCommit() {
+			TaskScheduler taskScheduler = JdbcTransactionalEventOutbox.this.taskScheduler;
+			if (taskScheduler != null && isRunning()) {
+				taskScheduler.schedule(JdbcTransactionalEventOutbox.this::dispatchQuietly, Instant.now());
+			}
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResourceIfPossible(JdbcTransactionalEventOutbox.this);
+		}
+	}
+
+
+	private static class StoredEvent {
+
+		final String id;
+
+		final String listenerId;
+
+		final byte[] payload;
+
+		final int attempts;
+
+		StoredEvent(String id, String listenerId, byte[] payload, int attempts) {
+			this.id = id;
+			this.listenerId = listenerId;
+			this.payload = payload;
+			this.attempts = attempts;
+		}
+	}
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Provides a JDBC-backed transactional outbox for durable,
+ * asynchronous dispatch of transactional application events.
+ */
+@NonNullApi
+@NonNullFields
+package org.springframework.jdbc.support.outbox;
+
+import org.springframework.lang.NonNullApi;
+import org.springframework.lang.NonNullFields;
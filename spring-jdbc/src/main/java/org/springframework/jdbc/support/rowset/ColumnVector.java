@@ -0,0 +1,538 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.sql.rowset.serial.SerialArray;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Storage for the values of a single column in a {@link ColumnarSqlRowSet},
+ * specialized for primitive values to avoid boxing each value, with a null
+ * bitmap tracking SQL {@code NULL} values.
+ *
+ * <p>Row indexes are 0-based. Values are appended while reading a
+ * {@link ResultSet}, after which {@link #trimToSize(int)} releases excess capacity.
+ *
+ * @since 5.3.37
+ */
+@SuppressWarnings("serial")
+abstract class ColumnVector implements Serializable {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final BitSet nulls = new BitSet();
+
+
+	/**
+	 * Create a column vector for the given column type, preferring the Java class
+	 * name reported by the driver and falling back to the SQL type otherwise.
+	 * @param sqlType the SQL type of the column, as defined in {@link Types}
+	 * @param className the fully-qualified class name of values returned by
+	 * {@link ResultSet#getObject(int)}, if known
+	 */
+	static ColumnVector forColumn(int sqlType, @Nullable String className) {
+		if (className != null) {
+			switch (className) {
+				case "java.lang.Integer":
+					return new IntVector();
+				case "java.lang.Long":
+					return new LongVector();
+				case "java.lang.Double":
+					return new DoubleVector();
+				case "java.lang.Boolean":
+					return new BooleanVector();
+				case "java.lang.String":
+					return new StringVector();
+				default:
+					return new ObjectVector();
+			}
+		}
+		switch (sqlType) {
+			case Types.TINYINT:
+			case Types.SMALLINT:
+			case Types.INTEGER:
+				return new IntVector();
+			case Types.BIGINT:
+				return new LongVector();
+			case Types.FLOAT:
+			case Types.DOUBLE:
+				return new DoubleVector();
+			case Types.BOOLEAN:
+				return new BooleanVector();
+			case Types.CHAR:
+			case Types.VARCHAR:
+			case Types.LONGVARCHAR:
+			case Types.NCHAR:
+			case Types.NVARCHAR:
+			case Types.LONGNVARCHAR:
+				return new StringVector();
+			default:
+				return new ObjectVector();
+		}
+	}
+
+
+	/**
+	 * Append the value of the given column in the current row of the ResultSet.
+	 * @param rs the ResultSet positioned on the row to read
+	 * @param columnIndex the 1-based index of the column
+	 * @param row the 0-based index of the row to store the value at
+	 */
+	final void append(ResultSet rs, int columnIndex, int row) throws SQLException {
+		if (!read(rs, columnIndex, row)) {
+			this.nulls.set(row);
+		}
+	}
+
+	/**
+	 * Read and store the column value for the given row.
+	 * @return {@code true} if a value was stored, {@code false} for SQL {@code NULL}
+	 */
+	protected abstract boolean read(ResultSet rs, int columnIndex, int row) throws SQLException;
+
+	/**
+	 * Release excess capacity once all rows have been appended.
+	 */
+	abstract void trimToSize(int rowCount);
+
+	final boolean isNull(int row) {
+		return this.nulls.get(row);
+	}
+
+	/**
+	 * Return the value at the given non-null row as the Java type
+	 * that {@link ResultSet#getObject(int)} returned, or as its
+	 * materialized form for LOB and array values.
+	 */
+	abstract Object getObject(int row);
+
+	int getInt(int row) throws SQLException {
+		return toNumber(getObject(row)).intValue();
+	}
+
+	long getLong(int row) throws SQLException {
+		return toNumber(getObject(row)).longValue();
+	}
+
+	double getDouble(int row) throws SQLException {
+		return toNumber(getObject(row)).doubleValue();
+	}
+
+	boolean getBoolean(int row) throws SQLException {
+		Object value = getObject(row);
+		if (value instanceof Boolean) {
+			return (Boolean) value;
+		}
+		if (value instanceof String) {
+			String str = ((String) value).trim();
+			return (str.equalsIgnoreCase("true") || str.equals("1"));
+		}
+		return (toNumber(value).doubleValue() != 0);
+	}
+
+	BigDecimal getBigDecimal(int row) throws SQLException {
+		Object value = getObject(row);
+		if (value instanceof BigDecimal) {
+			return (BigDecimal) value;
+		}
+		return new BigDecimal(value.toString().trim());
+	}
+
+	String getString(int row) {
+		return getObject(row).toString();
+	}
+
+	static int grow(int capacity, int row) {
+		return Math.max(Math.max(capacity * 2, INITIAL_CAPACITY), row + 1);
+	}
+
+	private static Number toNumber(Object value) throws SQLException {
+		if (value instanceof Number) {
+			return (Number) value;
+		}
+		if (value instanceof Boolean) {
+			return ((Boolean) value ? 1 : 0);
+		}
+		if (value instanceof String) {
+			try {
+				return new BigDecimal(((String) value).trim());
+			}
+			catch (NumberFormatException ex) {
+				throw new SQLException("Cannot convert value '" + value + "' to a number", ex);
+			}
+		}
+		throw new SQLException("Cannot convert value of type [" + value.getClass().getName() + "] to a number");
+	}
+
+
+	/**
+	 * Vector of {@code int} values.
+	 */
+	static class IntVector extends ColumnVector {
+
+		private int[] values = new int[0];
+
+		@Override
+		protected boolean read(ResultSet rs, int columnIndex, int row) throws SQLException {
+			if (row >= this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+			}
+			this.values[row] = rs.getInt(columnIndex);
+			return !rs.wasNull();
+		}
+
+		@Override
+		void trimToSize(int rowCount) {
+			this.values = Arrays.copyOf(this.values, rowCount);
+		}
+
+		@Override
+		Object getObject(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		int getInt(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		long getLong(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		double getDouble(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		boolean getBoolean(int row) {
+			return (this.values[row] != 0);
+		}
+
+		@Override
+		BigDecimal getBigDecimal(int row) {
+			return BigDecimal.valueOf(this.values[row]);
+		}
+
+		@Override
+		String getString(int row) {
+			return Integer.toString(this.values[row]);
+		}
+	}
+
+
+	/**
+	 * Vector of {@code long} values.
+	 */
+	static class LongVector extends ColumnVector {
+
+		private long[] values = new long[0];
+
+		@Override
+		protected boolean read(ResultSet rs, int columnIndex, int row) throws SQLException {
+			if (row >= this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+			}
+			this.values[row] = rs.getLong(columnIndex);
+			return !rs.wasNull();
+		}
+
+		@Override
+		void trimToSize(int rowCount) {
+			this.values = Arrays.copyOf(this.values, rowCount);
+		}
+
+		@Override
+		Object getObject(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		int getInt(int row) {
+			return (int) this.values[row];
+		}
+
+		@Override
+		long getLong(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		double getDouble(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		boolean getBoolean(int row) {
+			return (this.values[row] != 0);
+		}
+
+		@Override
+		BigDecimal getBigDecimal(int row) {
+			return BigDecimal.valueOf(this.values[row]);
+		}
+
+		@Override
+		String getString(int row) {
+			return Long.toString(this.values[row]);
+		}
+	}
+
+
+	/**
+	 * Vector of {@code double} values.
+	 */
+	static class DoubleVector extends ColumnVector {
+
+		private double[] values = new double[0];
+
+		@Override
+		protected boolean read(ResultSet rs, int columnIndex, int row) throws SQLException {
+			if (row >= this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+			}
+			this.values[row] = rs.getDouble(columnIndex);
+			return !rs.wasNull();
+		}
+
+		@Override
+		void trimToSize(int rowCount) {
+			this.values = Arrays.copyOf(this.values, rowCount);
+		}
+
+		@Override
+		Object getObject(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		int getInt(int row) {
+			return (int) this.values[row];
+		}
+
+		@Override
+		long getLong(int row) {
+			return (long) this.values[row];
+		}
+
+		@Override
+		double getDouble(int row) {
+			return this.values[row];
+		}
+
+		@Override
+		boolean getBoolean(int row) {
+			return (this.values[row] != 0);
+		}
+
+		@Override
+		BigDecimal getBigDecimal(int row) {
+			return BigDecimal.valueOf(this.values[row]);
+		}
+
+		@Override
+		String getString(int row) {
+			return Double.toString(this.values[row]);
+		}
+	}
+
+
+	/**
+	 * Vector of {@code boolean} values, stored as a bitmap.
+	 */
+	static class BooleanVector extends ColumnVector {
+
+		private final BitSet values = new BitSet();
+
+		@Override
+		protected boolean read(ResultSet rs, int columnIndex, int row) throws SQLException {
+			this.values.set(row, rs.getBoolean(columnIndex));
+			return !rs.wasNull();
+		}
+
+		@Override
+		void trimToSize(int rowCount) {
+			// BitSet only allocates words for rows set so far
+		}
+
+		@Override
+		Object getObject(int row) {
+			return this.values.get(row);
+		}
+
+		@Override
+		int getInt(int row) {
+			return (this.values.get(row) ? 1 : 0);
+		}
+
+		@Override
+		long getLong(int row) {
+			return getInt(row);
+		}
+
+		@Override
+		double getDouble(int row) {
+			return getInt(row);
+		}
+
+		@Override
+		boolean getBoolean(int row) {
+			return this.values.get(row);
+		}
+
+		@Override
+		BigDecimal getBigDecimal(int row) {
+			return BigDecimal.valueOf(getInt(row));
+		}
+	}
+
+
+	/**
+	 * Vector of dictionary-encoded {@code String} values: each distinct
+	 * value is stored once, with an {@code int} code per row.
+	 */
+	static class StringVector extends ColumnVector {
+
+		private int[] codes = new int[0];
+
+		private String[] dictionary = new String[0];
+
+		private int dictionarySize;
+
+		@Nullable
+		private transient Map<String, Integer> dictionaryIndex = new HashMap<>();
+
+		@Override
+		protected boolean read(ResultSet rs, int columnIndex, int row) throws SQLException {
+			String value = rs.getString(columnIndex);
+			if (value == null) {
+				return false;
+			}
+			if (row >= this.codes.length) {
+				this.codes = Arrays.copyOf(this.codes, grow(this.codes.length, row));
+			}
+			Map<String, Integer> index = this.dictionaryIndex;
+			if (index == null) {
+				throw new IllegalStateException("Column vector already trimmed");
+			}
+			Integer code = index.get(value);
+			if (code == null) {
+				code = this.dictionarySize;
+				if (code == this.dictionary.length) {
+					this.dictionary = Arrays.copyOf(this.dictionary, grow(this.dictionary.length, code));
+				}
+				this.dictionary[code] = value;
+				this.dictionarySize++;
+				index.put(value, code);
+			}
+			this.codes[row] = code;
+			return true;
+		}
+
+		@Override
+		void trimToSize(int rowCount) {
+			this.codes = Arrays.copyOf(this.codes, rowCount);
+			this.dictionary = Arrays.copyOf(this.dictionary, this.dictionarySize);
+			this.dictionaryIndex = null;
+		}
+
+		@Override
+		Object getObject(int row) {
+			return this.dictionary[this.codes[row]];
+		}
+
+		@Override
+		String getString(int row) {
+			return this.dictionary[this.codes[row]];
+		}
+
+		/**
+		 * Return the number of distinct values in this column.
+		 */
+		int getDictionarySize() {
+			return this.dictionarySize;
+		}
+	}
+
+
+	/**
+	 * Vector of arbitrary values, e.g. {@code BigDecimal} or {@code Timestamp}.
+	 * <p>Locator-based values are materialized on read since they are only
+	 * valid while the underlying connection is open: {@link Blob} values as
+	 * {@code byte[]}, {@link Clob} values as {@code String}, and {@link Array}
+	 * values as {@link SerialArray}.
+	 */
+	static class ObjectVector extends ColumnVector {
+
+		private Object[] values = new Object[0];
+
+		@Override
+		protected boolean read(ResultSet rs, int columnIndex, int row) throws SQLException {
+			Object value = rs.getObject(columnIndex);
+			if (value == null) {
+				return false;
+			}
+			if (row >= this.values.length) {
+				this.values = Arrays.copyOf(this.values, grow(this.values.length, row));
+			}
+			this.values[row] = materialize(value);
+			return true;
+		}
+
+		private static Object materialize(Object value) throws SQLException {
+			if (value instanceof Blob) {
+				Blob blob = (Blob) value;
+				return blob.getBytes(1, (int) blob.length());
+			}
+			if (value instanceof Clob) {
+				Clob clob = (Clob) value;
+				return clob.getSubString(1, (int) clob.length());
+			}
+			if (value instanceof Array) {
+				return new SerialArray((Array) value);
+			}
+			return value;
+		}
+
+		@Override
+		void trimToSize(int rowCount) {
+			this.values = Arrays.copyOf(this.values, rowCount);
+		}
+
+		@Override
+		Object getObject(int row) {
+			return this.values[row];
+		}
+	}
+
+}
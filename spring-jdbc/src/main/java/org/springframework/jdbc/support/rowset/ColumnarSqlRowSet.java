@@ -0,0 +1,715 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.jdbc.InvalidResultSetAccessException;
+import org.springframework.lang.Nullable;
+import org.springframework.util.CollectionUtils;
+
+/**
+ * Disconnected, in-memory implementation of Spring's {@link SqlRowSet} interface
+ * which reads all rows of a {@link ResultSet} upfront and stores them column by
+ * column rather than row by row.
+ *
+ * <p>In contrast to a {@link ResultSetWrappingSqlRowSet} around a
+ * {@code javax.sql.rowset.CachedRowSet}, which holds every value as a boxed
+ * object within a row object, columns of {@code Integer}, {@code Long},
+ * {@code Double} and {@code Boolean} values are stored as primitive arrays,
+ * and {@code String} columns are dictionary-encoded, storing each distinct
+ * value once along with an {@code int} code per row. SQL {@code NULL} values are
+ * tracked in a bitmap per column. All other values are stored as returned by
+ * {@link ResultSet#getObject(int)}. This considerably reduces the memory
+ * footprint of large cached results, in particular for numeric columns and
+ * low-cardinality text columns, and avoids boxing for primitive accessors.
+ *
+ * <p>Since LOB and array locators are only valid while the connection is open,
+ * such values are materialized when reading the {@code ResultSet}: BLOB values
+ * as {@code byte[]}, CLOB values as {@code String}, and ARRAY values as
+ * {@link javax.sql.rowset.serial.SerialArray}.
+ *
+ * <p>The full navigation API is supported, including scrolling backwards and
+ * absolute or relative positioning. Column labels are resolved by exact match
+ * first and case-insensitively otherwise, preserving the first matching column
+ * for any given label.
+ *
+ * <p>Typically obtained through a
+ * {@link org.springframework.jdbc.core.ColumnarSqlRowSetResultSetExtractor}, e.g.
+ * {@code jdbcTemplate.query(sql, new ColumnarSqlRowSetResultSetExtractor())}.
+ * An instance is not thread-safe with respect to its cursor; however, the
+ * underlying data is immutable and shared by {@link #copy() copies}.
+ *
+ * @since 5.3.37
+ * @see ResultSetWrappingSqlRowSet
+ * @see org.springframework.jdbc.core.ColumnarSqlRowSetResultSetExtractor
+ */
+public class ColumnarSqlRowSet implements SqlRowSet {
+
+	private static final long serialVersionUID = 1L;
+
+	private final ColumnarSqlRowSetMetaData rowSetMetaData;
+
+	private final ColumnVector[] columns;
+
+	@SuppressWarnings("serial")
+	private final Map<String, Integer> columnLabelMap;
+
+	@SuppressWarnings("serial")
+	private final Map<String, Integer> lowerCaseColumnLabelMap;
+
+	private final int rowCount;
+
+	/** Current cursor position: 0 before the first row, rowCount + 1 after the last. */
+	private int cursor;
+
+	private boolean wasNull;
+
+
+	/**
+	 * Create a new {@code ColumnarSqlRowSet}, reading all remaining rows of the
+	 * given {@link ResultSet}.
+	 * <p>The ResultSet is not closed; this is left to the caller, e.g. a
+	 * {@link org.springframework.jdbc.core.JdbcTemplate} query operation.
+	 * @param resultSet the ResultSet to read, positioned before the first row
+	 * @throws SQLException if thrown by JDBC methods
+	 */
+	public ColumnarSqlRowSet(ResultSet resultSet) throws SQLException {
+		ResultSetMetaData rsmd = resultSet.getMetaData();
+		this.rowSetMetaData = new ColumnarSqlRowSetMetaData(rsmd);
+		int columnCount = rsmd.getColumnCount();
+		this.columns = new ColumnVector[columnCount];
+		this.columnLabelMap = CollectionUtils.newHashMap(columnCount);
+		this.lowerCaseColumnLabelMap = CollectionUtils.newHashMap(columnCount);
+		for (int i = 1; i <= columnCount; i++) {
+			this.columns[i - 1] = ColumnVector.forColumn(rsmd.getColumnType(i), rsmd.getColumnClassName(i));
+			String label = rsmd.getColumnLabel(i);
+			if (label != null) {
+				// Make sure to preserve first matching column for any given name,
+				// as defined in ResultSet's type-level javadoc.
+				this.columnLabelMap.putIfAbsent(label, i);
+				this.lowerCaseColumnLabelMap.putIfAbsent(label.toLowerCase(Locale.ENGLISH), i);
+			}
+		}
+		int row = 0;
+		while (resultSet.next()) {
+			for (int i = 0; i < columnCount; i++) {
+				this.columns[i].append(resultSet, i + 1, row);
+			}
+			row++;
+		}
+		for (ColumnVector column : this.columns) {
+			column.trimToSize(row);
+		}
+		this.rowCount = row;
+	}
+
+	/**
+	 * Copy constructor, sharing the data of the given row set.
+	 */
+	private ColumnarSqlRowSet(ColumnarSqlRowSet original) {
+		this.rowSetMetaData = original.rowSetMetaData;
+		this.columns = original.columns;
+		this.columnLabelMap = original.columnLabelMap;
+		this.lowerCaseColumnLabelMap = original.lowerCaseColumnLabelMap;
+		this.rowCount = original.rowCount;
+	}
+
+
+	/**
+	 * Return the number of rows in this row set.
+	 */
+	public int getRowCount() {
+		return this.rowCount;
+	}
+
+	/**
+	 * Return a new row set sharing the data of this row set, with an independent
+	 * cursor positioned before the first row, e.g. for concurrent scans of a
+	 * cached result.
+	 */
+	public ColumnarSqlRowSet copy() {
+		return new ColumnarSqlRowSet(this);
+	}
+
+	@Override
+	public SqlRowSetMetaData getMetaData() {
+		return this.rowSetMetaData;
+	}
+
+	@Override
+	public int findColumn(String columnLabel) throws InvalidResultSetAccessException {
+		Integer columnIndex = this.columnLabelMap.get(columnLabel);
+		if (columnIndex == null) {
+			columnIndex = this.lowerCaseColumnLabelMap.get(columnLabel.toLowerCase(Locale.ENGLISH));
+			if (columnIndex == null) {
+				throw new InvalidResultSetAccessException(new SQLException("Invalid column label: " + columnLabel));
+			}
+		}
+		return columnIndex;
+	}
+
+
+	// RowSet methods for extracting data values
+
+	@Override
+	@Nullable
+	public BigDecimal getBigDecimal(int columnIndex) throws InvalidResultSetAccessException {
+		ColumnVector column = getColumn(columnIndex);
+		if (checkNull(column)) {
+			return null;
+		}
+		try {
+			return column.getBigDecimal(this.cursor - 1);
+		}
+		catch (SQLException | NumberFormatException ex) {
+			throw conversionFailure(columnIndex, BigDecimal.class, ex);
+		}
+	}
+
+	@Override
+	@Nullable
+	public BigDecimal getBigDecimal(String columnLabel) throws InvalidResultSetAccessException {
+		return getBigDecimal(findColumn(columnLabel));
+	}
+
+	@Override
+	public boolean getBoolean(int columnIndex) throws InvalidResultSetAccessException {
+		ColumnVector column = getColumn(columnIndex);
+		if (checkNull(column)) {
+			return false;
+		}
+		try {
+			return column.getBoolean(this.cursor - 1);
+		}
+		catch (SQLException ex) {
+			throw conversionFailure(columnIndex, boolean.class, ex);
+		}
+	}
+
+	@Override
+	public boolean getBoolean(String columnLabel) throws InvalidResultSetAccessException {
+		return getBoolean(findColumn(columnLabel));
+	}
+
+	@Override
+	public byte getByte(int columnIndex) throws InvalidResultSetAccessException {
+		return (byte) getInt(columnIndex);
+	}
+
+	@Override
+	public byte getByte(String columnLabel) throws InvalidResultSetAccessException {
+		return getByte(findColumn(columnLabel));
+	}
+
+	@Override
+	@Nullable
+	public Date getDate(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getObject(columnIndex);
+		if (value == null || value instanceof Date) {
+			return (Date) value;
+		}
+		if (value instanceof java.util.Date) {
+			return new Date(((java.util.Date) value).getTime());
+		}
+		if (value instanceof LocalDate) {
+			return Date.valueOf((LocalDate) value);
+		}
+		if (value instanceof LocalDateTime) {
+			return Date.valueOf(((LocalDateTime) value).toLocalDate());
+		}
+		if (value instanceof String) {
+			try {
+				return Date.valueOf(((String) value).trim());
+			}
+			catch (IllegalArgumentException ex) {
+				throw conversionFailure(columnIndex, Date.class, ex);
+			}
+		}
+		throw conversionFailure(columnIndex, Date.class, null);
+	}
+
+	@Override
+	@Nullable
+	public Date getDate(String columnLabel) throws InvalidResultSetAccessException {
+		return getDate(findColumn(columnLabel));
+	}
+
+	@Override
+	@Nullable
+	public Date getDate(int columnIndex, Calendar cal) throws InvalidResultSetAccessException {
+		Date date = getDate(columnIndex);
+		if (date == null) {
+			return null;
+		}
+		Calendar source = Calendar.getInstance();
+		source.setTime(date);
+		Calendar target = (Calendar) cal.clone();
+		target.clear();
+		target.set(source.get(Calendar.YEAR), source.get(Calendar.MONTH), source.get(Calendar.DAY_OF_MONTH));
+		return new Date(target.getTimeInMillis());
+	}
+
+	@Override
+	@Nullable
+	public Date getDate(String columnLabel, Calendar cal) throws InvalidResultSetAccessException {
+		return getDate(findColumn(columnLabel), cal);
+	}
+
+	@Override
+	public double getDouble(int columnIndex) throws InvalidResultSetAccessException {
+		ColumnVector column = getColumn(columnIndex);
+		if (checkNull(column)) {
+			return 0;
+		}
+		try {
+			return column.getDouble(this.cursor - 1);
+		}
+		catch (SQLException ex) {
+			throw conversionFailure(columnIndex, double.class, ex);
+		}
+	}
+
+	@Override
+	public double getDouble(String columnLabel) throws InvalidResultSetAccessException {
+		return getDouble(findColumn(columnLabel));
+	}
+
+	@Override
+	public float getFloat(int columnIndex) throws InvalidResultSetAccessException {
+		return (float) getDouble(columnIndex);
+	}
+
+	@Override
+	public float getFloat(String columnLabel) throws InvalidResultSetAccessException {
+		return getFloat(findColumn(columnLabel));
+	}
+
+	@Override
+	public int getInt(int columnIndex) throws InvalidResultSetAccessException {
+		ColumnVector column = getColumn(columnIndex);
+		if (checkNull(column)) {
+			return 0;
+		}
+		try {
+			return column.getInt(this.cursor - 1);
+		}
+		catch (SQLException ex) {
+			throw conversionFailure(columnIndex, int.class, ex);
+		}
+	}
+
+	@Override
+	public int getInt(String columnLabel) throws InvalidResultSetAccessException {
+		return getInt(findColumn(columnLabel));
+	}
+
+	@Override
+	public long getLong(int columnIndex) throws InvalidResultSetAccessException {
+		ColumnVector column = getColumn(columnIndex);
+		if (checkNull(column)) {
+			return 0;
+		}
+		try {
+			return column.getLong(this.cursor - 1);
+		}
+		catch (SQLException ex) {
+			throw conversionFailure(columnIndex, long.class, ex);
+		}
+	}
+
+	@Override
+	public long getLong(String columnLabel) throws InvalidResultSetAccessException {
+		return getLong(findColumn(columnLabel));
+	}
+
+	@Override
+	@Nullable
+	public String getNString(int columnIndex) throws InvalidResultSetAccessException {
+		return getString(columnIndex);
+	}
+
+	@Override
+	@Nullable
+	public String getNString(String columnLabel) throws InvalidResultSetAccessException {
+		return getNString(findColumn(columnLabel));
+	}
+
+	@Override
+	@Nullable
+	public Object getObject(int columnIndex) throws InvalidResultSetAccessException {
+		ColumnVector column = getColumn(columnIndex);
+		return (checkNull(column) ? null : column.getObject(this.cursor - 1));
+	}
+
+	@Override
+	@Nullable
+	public Object getObject(String columnLabel) throws InvalidResultSetAccessException {
+		return getObject(findColumn(columnLabel));
+	}
+
+	/**
+	 * This implementation ignores the given type map, since values are
+	 * materialized when reading the ResultSet.
+	 */
+	@Override
+	@Nullable
+	public Object getObject(int columnIndex, Map<String, Class<?>> map) throws InvalidResultSetAccessException {
+		return getObject(columnIndex);
+	}
+
+	@Override
+	@Nullable
+	public Object getObject(String columnLabel, Map<String, Class<?>> map) throws InvalidResultSetAccessException {
+		return getObject(findColumn(columnLabel), map);
+	}
+
+	@Override
+	@Nullable
+	@SuppressWarnings("unchecked")
+	public <T> T getObject(int columnIndex, Class<T> type) throws InvalidResultSetAccessException {
+		Object value = getObject(columnIndex);
+		if (value == null || type.isInstance(value)) {
+			return (T) value;
+		}
+		if (type == String.class) {
+			return (T) getString(columnIndex);
+		}
+		if (type == Integer.class) {
+			return (T) Integer.valueOf(getInt(columnIndex));
+		}
+		if (type == Long.class) {
+			return (T) Long.valueOf(getLong(columnIndex));
+		}
+		if (type == Double.class) {
+			return (T) Double.valueOf(getDouble(columnIndex));
+		}
+		if (type == Float.class) {
+			return (T) Float.valueOf(getFloat(columnIndex));
+		}
+		if (type == Short.class) {
+			return (T) Short.valueOf(getShort(columnIndex));
+		}
+		if (type == Byte.class) {
+			return (T) Byte.valueOf(getByte(columnIndex));
+		}
+		if (type == Boolean.class) {
+			return (T) Boolean.valueOf(getBoolean(columnIndex));
+		}
+		if (type == BigDecimal.class) {
+			return (T) getBigDecimal(columnIndex);
+		}
+		if (type == Date.class) {
+			return (T) getDate(columnIndex);
+		}
+		if (type == Time.class) {
+			return (T) getTime(columnIndex);
+		}
+		if (type == Timestamp.class) {
+			return (T) getTimestamp(columnIndex);
+		}
+		if (type == LocalDate.class) {
+			Date date = getDate(columnIndex);
+			return (T) (date != null ? date.toLocalDate() : null);
+		}
+		if (type == LocalTime.class) {
+			Time time = getTime(columnIndex);
+			return (T) (time != null ? time.toLocalTime() : null);
+		}
+		if (type == LocalDateTime.class) {
+			Timestamp timestamp = getTimestamp(columnIndex);
+			return (T) (timestamp != null ? timestamp.toLocalDateTime() : null);
+		}
+		throw conversionFailure(columnIndex, type, null);
+	}
+
+	@Override
+	@Nullable
+	public <T> T getObject(String columnLabel, Class<T> type) throws InvalidResultSetAccessException {
+		return getObject(findColumn(columnLabel), type);
+	}
+
+	@Override
+	public short getShort(int columnIndex) throws InvalidResultSetAccessException {
+		return (short) getInt(columnIndex);
+	}
+
+	@Override
+	public short getShort(String columnLabel) throws InvalidResultSetAccessException {
+		return getShort(findColumn(columnLabel));
+	}
+
+	@Override
+	@Nullable
+	public String getString(int columnIndex) throws InvalidResultSetAccessException {
+		ColumnVector column = getColumn(columnIndex);
+		return (checkNull(column) ? null : column.getString(this.cursor - 1));
+	}
+
+	@Override
+	@Nullable
+	public String getString(String columnLabel) throws InvalidResultSetAccessException {
+		return getString(findColumn(columnLabel));
+	}
+
+	@Override
+	@Nullable
+	public Time getTime(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getObject(columnIndex);
+		if (value == null || value instanceof Time) {
+			return (Time) value;
+		}
+		if (value instanceof java.util.Date) {
+			return new Time(((java.util.Date) value).getTime());
+		}
+		if (value instanceof LocalTime) {
+			return Time.valueOf((LocalTime) value);
+		}
+		if (value instanceof LocalDateTime) {
+			return Time.valueOf(((LocalDateTime) value).toLocalTime());
+		}
+		if (value instanceof String) {
+			try {
+				return Time.valueOf(((String) value).trim());
+			}
+			catch (IllegalArgumentException ex) {
+				throw conversionFailure(columnIndex, Time.class, ex);
+			}
+		}
+		throw conversionFailure(columnIndex, Time.class, null);
+	}
+
+	@Override
+	@Nullable
+	public Time getTime(String columnLabel) throws InvalidResultSetAccessException {
+		return getTime(findColumn(columnLabel));
+	}
+
+	@Override
+	@Nullable
+	public Time getTime(int columnIndex, Calendar cal) throws InvalidResultSetAccessException {
+		Time time = getTime(columnIndex);
+		if (time == null) {
+			return null;
+		}
+		Calendar source = Calendar.getInstance();
+		source.setTime(time);
+		Calendar target = (Calendar) cal.clone();
+		target.clear();
+		target.set(1970, Calendar.JANUARY, 1, source.get(Calendar.HOUR_OF_DAY),
+				source.get(Calendar.MINUTE), source.get(Calendar.SECOND));
+		target.set(Calendar.MILLISECOND, source.get(Calendar.MILLISECOND));
+		return new Time(target.getTimeInMillis());
+	}
+
+	@Override
+	@Nullable
+	public Time getTime(String columnLabel, Calendar cal) throws InvalidResultSetAccessException {
+		return getTime(findColumn(columnLabel), cal);
+	}
+
+	@Override
+	@Nullable
+	public Timestamp getTimestamp(int columnIndex) throws InvalidResultSetAccessException {
+		Object value = getObject(columnIndex);
+		if (value == null || value instanceof Timestamp) {
+			return (Timestamp) value;
+		}
+		if (value instanceof java.util.Date) {
+			return new Timestamp(((java.util.Date) value).getTime());
+		}
+		if (value instanceof LocalDateTime) {
+			return Timestamp.valueOf((LocalDateTime) value);
+		}
+		if (value instanceof LocalDate) {
+			return Timestamp.valueOf(((LocalDate) value).atStartOfDay());
+		}
+		if (value instanceof String) {
+			try {
+				return Timestamp.valueOf(((String) value).trim());
+			}
+			catch (IllegalArgumentException ex) {
+				throw conversionFailure(columnIndex, Timestamp.class, ex);
+			}
+		}
+		throw conversionFailure(columnIndex, Timestamp.class, null);
+	}
+
+	@Override
+	@Nullable
+	public Timestamp getTimestamp(String columnLabel) throws InvalidResultSetAccessException {
+		return getTimestamp(findColumn(columnLabel));
+	}
+
+	@Override
+	@Nullable
+	public Timestamp getTimestamp(int columnIndex, Calendar cal) throws InvalidResultSetAccessException {
+		Timestamp timestamp = getTimestamp(columnIndex);
+		if (timestamp == null) {
+			return null;
+		}
+		Calendar source = Calendar.getInstance();
+		source.setTime(timestamp);
+		Calendar target = (Calendar) cal.clone();
+		target.clear();
+		target.set(source.get(Calendar.YEAR), source.get(Calendar.MONTH), source.get(Calendar.DAY_OF_MONTH),
+				source.get(Calendar.HOUR_OF_DAY), source.get(Calendar.MINUTE), source.get(Calendar.SECOND));
+		Timestamp result = new Timestamp(target.getTimeInMillis());
+		result.setNanos(timestamp.getNanos());
+		return result;
+	}
+
+	@Override
+	@Nullable
+	public Timestamp getTimestamp(String columnLabel, Calendar cal) throws InvalidResultSetAccessException {
+		return getTimestamp(findColumn(columnLabel), cal);
+	}
+
+
+	// RowSet navigation methods
+
+	@Override
+	public boolean absolute(int row) throws InvalidResultSetAccessException {
+		int target = (row >= 0 ? row : this.rowCount + 1 + row);
+		return moveTo(target);
+	}
+
+	@Override
+	public void afterLast() throws InvalidResultSetAccessException {
+		this.cursor = this.rowCount + 1;
+	}
+
+	@Override
+	public void beforeFirst() throws InvalidResultSetAccessException {
+		this.cursor = 0;
+	}
+
+	@Override
+	public boolean first() throws InvalidResultSetAccessException {
+		return moveTo(1);
+	}
+
+	@Override
+	public int getRow() throws InvalidResultSetAccessException {
+		return (isOnRow() ? this.cursor : 0);
+	}
+
+	@Override
+	public boolean isAfterLast() throws InvalidResultSetAccessException {
+		return (this.rowCount > 0 && this.cursor > this.rowCount);
+	}
+
+	@Override
+	public boolean isBeforeFirst() throws InvalidResultSetAccessException {
+		return (this.rowCount > 0 && this.cursor == 0);
+	}
+
+	@Override
+	public boolean isFirst() throws InvalidResultSetAccessException {
+		return (this.rowCount > 0 && this.cursor == 1);
+	}
+
+	@Override
+	public boolean isLast() throws InvalidResultSetAccessException {
+		return (this.rowCount > 0 && this.cursor == this.rowCount);
+	}
+
+	@Override
+	public boolean last() throws InvalidResultSetAccessException {
+		return moveTo(this.rowCount);
+	}
+
+	@Override
+	public boolean next() throws InvalidResultSetAccessException {
+		if (this.cursor <= this.rowCount) {
+			this.cursor++;
+		}
+		return isOnRow();
+	}
+
+	@Override
+	public boolean previous() throws InvalidResultSetAccessException {
+		if (this.cursor > 0) {
+			this.cursor--;
+		}
+		return isOnRow();
+	}
+
+	@Override
+	public boolean relative(int rows) throws InvalidResultSetAccessException {
+		return moveTo(this.cursor + rows);
+	}
+
+	@Override
+	public boolean wasNull() throws InvalidResultSetAccessException {
+		return this.wasNull;
+	}
+
+
+	private boolean isOnRow() {
+		return (this.cursor > 0 && this.cursor <= this.rowCount);
+	}
+
+	private boolean moveTo(int target) {
+		if (target <= 0) {
+			this.cursor = 0;
+			return false;
+		}
+		if (target > this.rowCount) {
+			this.cursor = this.rowCount + 1;
+			return false;
+		}
+		this.cursor = target;
+		return true;
+	}
+
+	private ColumnVector getColumn(int columnIndex) {
+		if (columnIndex < 1 || columnIndex > this.columns.length) {
+			throw new InvalidResultSetAccessException(new SQLException("Invalid column index: " + columnIndex));
+		}
+		if (!isOnRow()) {
+			throw new InvalidResultSetAccessException(new SQLException("Invalid cursor position: not on a row"));
+		}
+		return this.columns[columnIndex - 1];
+	}
+
+	private boolean checkNull(ColumnVector column) {
+		this.wasNull = column.isNull(this.cursor - 1);
+		return this.wasNull;
+	}
+
+	private InvalidResultSetAccessException conversionFailure(
+			int columnIndex, Class<?> targetType, @Nullable Exception cause) {
+
+		SQLException ex = new SQLException("Cannot convert value of column " + columnIndex +
+				" to type [" + targetType.getName() + "]", cause);
+		return new InvalidResultSetAccessException(ex);
+	}
+
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.io.Serializable;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+
+import org.springframework.jdbc.InvalidResultSetAccessException;
+
+/**
+ * Disconnected {@link SqlRowSetMetaData} implementation which copies all column
+ * metadata from a {@link ResultSetMetaData} instance upfront.
+ *
+ * <p>Used by {@link ColumnarSqlRowSet}.
+ *
+ * @since 5.3.37
+ * @see ColumnarSqlRowSet#getMetaData()
+ */
+class ColumnarSqlRowSetMetaData implements SqlRowSetMetaData, Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private final ColumnMetaData[] columns;
+
+
+	ColumnarSqlRowSetMetaData(ResultSetMetaData rsmd) throws SQLException {
+		this.columns = new ColumnMetaData[rsmd.getColumnCount()];
+		for (int i = 0; i < this.columns.length; i++) {
+			this.columns[i] = new ColumnMetaData(rsmd, i + 1);
+		}
+	}
+
+
+	@Override
+	public String getCatalogName(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).catalogName;
+	}
+
+	@Override
+	public String getColumnClassName(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).columnClassName;
+	}
+
+	@Override
+	public int getColumnCount() throws InvalidResultSetAccessException {
+		return this.columns.length;
+	}
+
+	@Override
+	public String[] getColumnNames() throws InvalidResultSetAccessException {
+		String[] columnNames = new String[this.columns.length];
+		for (int i = 0; i < this.columns.length; i++) {
+			columnNames[i] = this.columns[i].columnName;
+		}
+		return columnNames;
+	}
+
+	@Override
+	public int getColumnDisplaySize(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).columnDisplaySize;
+	}
+
+	@Override
+	public String getColumnLabel(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).columnLabel;
+	}
+
+	@Override
+	public String getColumnName(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).columnName;
+	}
+
+	@Override
+	public int getColumnType(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).columnType;
+	}
+
+	@Override
+	public String getColumnTypeName(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).columnTypeName;
+	}
+
+	@Override
+	public int getPrecision(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).precision;
+	}
+
+	@Override
+	public int getScale(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).scale;
+	}
+
+	@Override
+	public String getSchemaName(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).schemaName;
+	}
+
+	@Override
+	public String getTableName(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).tableName;
+	}
+
+	@Override
+	public boolean isCaseSensitive(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).caseSensitive;
+	}
+
+	@Override
+	public boolean isCurrency(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).currency;
+	}
+
+	@Override
+	public boolean isSigned(int columnIndex) throws InvalidResultSetAccessException {
+		return getColumn(columnIndex).signed;
+	}
+
+	private ColumnMetaData getColumn(int columnIndex) {
+		if (columnIndex < 1 || columnIndex > this.columns.length) {
+			throw new InvalidResultSetAccessException(new SQLException("Invalid column index: " + columnIndex));
+		}
+		return this.columns[columnIndex - 1];
+	}
+
+
+	/**
+	 * Copy of the metadata of a single column.
+	 */
+	@SuppressWarnings("serial")
+	private static class ColumnMetaData implements Serializable {
+
+		final String catalogName;
+
+		final String columnClassName;
+
+		final int columnDisplaySize;
+
+		final String columnLabel;
+
+		final String columnName;
+
+		final int columnType;
+
+		final String columnTypeName;
+
+		final int precision;
+
+		final int scale;
+
+		final String schemaName;
+
+		final String tableName;
+
+		final boolean caseSensitive;
+
+		final boolean currency;
+
+		final boolean signed;
+
+		ColumnMetaData(ResultSetMetaData rsmd, int columnIndex) throws SQLException {
+			this.catalogName = rsmd.getCatalogName(columnIndex);
+			this.columnClassName = rsmd.getColumnClassName(columnIndex);
+			this.columnDisplaySize = rsmd.getColumnDisplaySize(columnIndex);
+			this.columnLabel = rsmd.getColumnLabel(columnIndex);
+			this.columnName = rsmd.getColumnName(columnIndex);
+			this.columnType = rsmd.getColumnType(columnIndex);
+			this.columnTypeName = rsmd.getColumnTypeName(columnIndex);
+			this.precision = rsmd.getPrecision(columnIndex);
+			this.scale = rsmd.getScale(columnIndex);
+			this.schemaName = rsmd.getSchemaName(columnIndex);
+			this.tableName = rsmd.getTableName(columnIndex);
+			this.caseSensitive = rsmd.isCaseSensitive(columnIndex);
+			this.currency = rsmd.isCurrency(columnIndex);
+			this.signed = rsmd.isSigned(columnIndex);
+		}
+	}
+
+}
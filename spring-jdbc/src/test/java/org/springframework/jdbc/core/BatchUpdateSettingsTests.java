@@ -0,0 +1,77 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link BatchUpdateSettings}.
+ */
+class BatchUpdateSettingsTests {
+
+	@Test
+	void fixedBatchSizeDoesNotAdapt() {
+		BatchUpdateSettings settings = BatchUpdateSettings.fixed(100);
+		assertThat(settings.getInitialBatchSize()).isEqualTo(100);
+		assertThat(settings.nextBatchSize(100, 100, 1)).isEqualTo(100);
+		assertThat(settings.nextBatchSize(100, 100, Long.MAX_VALUE)).isEqualTo(100);
+	}
+
+	@Test
+	void adaptiveBatchSizeGrowsForFastBatches() {
+		BatchUpdateSettings settings = BatchUpdateSettings.adaptive(10, 10000, Duration.ofMillis(100));
+		assertThat(settings.nextBatchSize(100, 100, Duration.ofMillis(10).toNanos())).isEqualTo(550);
+	}
+
+	@Test
+	void adaptiveBatchSizeShrinksForSlowBatches() {
+		BatchUpdateSettings settings = BatchUpdateSettings.adaptive(10, 10000, Duration.ofMillis(100));
+		assertThat(settings.nextBatchSize(100, 100, Duration.ofSeconds(1).toNanos())).isEqualTo(55);
+	}
+
+	@Test
+	void adaptiveBatchSizeStaysWithinBounds() {
+		BatchUpdateSettings settings = BatchUpdateSettings.adaptive(50, 200, Duration.ofMillis(100));
+		assertThat(settings.nextBatchSize(100, 100, 1)).isEqualTo(200);
+		assertThat(settings.nextBatchSize(100, 100, Duration.ofMinutes(1).toNanos())).isEqualTo(50);
+	}
+
+	@Test
+	void adaptiveBatchSizeIgnoresPartialBatches() {
+		BatchUpdateSettings settings = BatchUpdateSettings.adaptive(10, 10000, Duration.ofMillis(100))
+				.initialBatchSize(100);
+		assertThat(settings.getInitialBatchSize()).isEqualTo(100);
+		assertThat(settings.nextBatchSize(100, 3, 1)).isEqualTo(100);
+	}
+
+	@Test
+	void invalidSettings() {
+		assertThatIllegalArgumentException().isThrownBy(() -> BatchUpdateSettings.fixed(0));
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				BatchUpdateSettings.adaptive(100, 10, Duration.ofMillis(100)));
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				BatchUpdateSettings.adaptive(10, 100, Duration.ZERO));
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				BatchUpdateSettings.adaptive(10, 100, Duration.ofMillis(100)).initialBatchSize(1000));
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,10 +16,15 @@
 
 package org.springframework.jdbc.core;
 
+import java.beans.PropertyEditorSupport;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.MethodInvocationException;
 import org.springframework.beans.TypeMismatchException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.core.test.ConcretePerson;
@@ -165,6 +170,46 @@ class BeanPropertyRowMapperTests extends AbstractRowMapperTests {
 		mock.verifyClosed();
 	}
 
+	@Test
+	void mappingWithSameMapperForDifferentColumnLayouts() throws Exception {
+		BeanPropertyRowMapper<ConcretePerson> mapper = new BeanPropertyRowMapper<>(ConcretePerson.class);
+		Mock mock = new Mock();
+		verifyPerson(mock.getJdbcTemplate().queryForObject("select name, age, birth_date, balance from people", mapper));
+		mock.verifyClosed();
+		mock = new Mock(MockType.FOUR);
+		verifyPerson(mock.getJdbcTemplate().queryForObject("select name, age, birthdate, balance from people", mapper));
+		mock.verifyClosed();
+	}
+
+	@Test
+	void mappingWithCustomizedBeanWrapper() throws Exception {
+		BeanPropertyRowMapper<Person> mapper = new BeanPropertyRowMapper<Person>(Person.class) {
+			@Override
+			protected void initBeanWrapper(BeanWrapper bw) {
+				super.initBeanWrapper(bw);
+				bw.registerCustomEditor(String.class, "name", new PropertyEditorSupport() {
+					@Override
+					public void setValue(Object value) {
+						super.setValue(((String) value).toUpperCase());
+					}
+				});
+			}
+		};
+		Mock mock = new Mock();
+		List<Person> result = mock.getJdbcTemplate().query("select name, age, birth_date, balance from people", mapper);
+		assertThat(result).singleElement().extracting(Person::getName).isEqualTo("BUBBA");
+		mock.verifyClosed();
+	}
+
+	@Test
+	void mappingWithFailingSetter() throws Exception {
+		BeanPropertyRowMapper<FailingPerson> mapper = new BeanPropertyRowMapper<>(FailingPerson.class);
+		Mock mock = new Mock();
+		assertThatExceptionOfType(MethodInvocationException.class)
+				.isThrownBy(() -> mock.getJdbcTemplate().query("select name, age, birth_date, balance from people", mapper))
+				.withCauseInstanceOf(IllegalStateException.class);
+	}
+
 	@ParameterizedTest
 	@CsvSource({
 		"age, age",
@@ -179,4 +224,13 @@ class BeanPropertyRowMapperTests extends AbstractRowMapperTests {
 		assertThat(mapper.underscoreName(input)).isEqualTo(expected);
 	}
 
+
+	public static class FailingPerson extends Person {
+
+		@Override
+		public void setName(String name) {
+			throw new IllegalStateException("Name not settable");
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -75,4 +75,21 @@ class DataClassRowMapperTests extends AbstractRowMapperTests {
 		mock.verifyClosed();
 	}
 
+	@Test
+	void staticQueryWithSameDataClassMapperForDifferentColumnLayouts() throws Exception {
+		DataClassRowMapper<ConstructorPersonWithSetters> mapper =
+				new DataClassRowMapper<>(ConstructorPersonWithSetters.class);
+		for (MockType type : new MockType[] {MockType.FOUR, MockType.ONE}) {
+			Mock mock = new Mock(type);
+			ConstructorPersonWithSetters person = mock.getJdbcTemplate().queryForObject(
+					"select name, age, birthdate, balance from people", mapper);
+			assertThat(person.name()).isEqualTo("BUBBA");
+			assertThat(person.age()).isEqualTo(22L);
+			assertThat(person.birthDate()).usingComparator(Date::compareTo).isEqualTo(new Date(1221222L));
+			assertThat(person.balance()).isEqualTo(new BigDecimal("1234.56"));
+
+			mock.verifyClosed();
+		}
+	}
+
 }
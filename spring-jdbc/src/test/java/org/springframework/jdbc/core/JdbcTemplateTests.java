@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -38,6 +38,7 @@ import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.BadSqlGrammarException;
@@ -46,9 +47,11 @@ import org.springframework.jdbc.SQLWarningException;
 import org.springframework.jdbc.UncategorizedSQLException;
 import org.springframework.jdbc.core.support.AbstractInterruptibleBatchPreparedStatementSetter;
 import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
 import org.springframework.jdbc.datasource.SingleConnectionDataSource;
 import org.springframework.jdbc.support.SQLErrorCodeSQLExceptionTranslator;
 import org.springframework.jdbc.support.SQLStateSQLExceptionTranslator;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.LinkedCaseInsensitiveMap;
 import org.springframework.util.StringUtils;
 
@@ -776,6 +779,136 @@ public class JdbcTemplateTests {
 		verify(this.connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testStreamingBatchUpdateWithFixedBatchSize() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300, 400, 500);
+
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 1}, new int[] {1, 1}, new int[] {1});
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		BatchUpdateStatistics statistics =
+				template.batchUpdate(sql, ids.iterator(), BatchUpdateSettings.fixed(2), setter);
+		assertThat(statistics.getItemCount()).isEqualTo(5);
+		assertThat(statistics.getBatchCount()).isEqualTo(3);
+		assertThat(statistics.getAffectedRowCount()).isEqualTo(5);
+		assertThat(statistics.isAffectedRowCountKnown()).isTrue();
+		assertThat(statistics.getLastBatchSize()).isEqualTo(1);
+
+		verify(this.preparedStatement, times(5)).addBatch();
+		verify(this.preparedStatement, times(3)).executeBatch();
+		for (Integer id : ids) {
+			verify(this.preparedStatement).setInt(1, id);
+		}
+		verify(this.preparedStatement).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testStreamingBatchUpdateWithNoBatchSupport() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300);
+
+		given(this.preparedStatement.executeUpdate()).willReturn(1, 2, Statement.SUCCESS_NO_INFO);
+		mockDatabaseMetaData(false);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+
+		BatchUpdateStatistics statistics =
+				template.batchUpdate(sql, ids.iterator(), BatchUpdateSettings.fixed(2), setter);
+		assertThat(statistics.getItemCount()).isEqualTo(3);
+		assertThat(statistics.getBatchCount()).isEqualTo(2);
+		assertThat(statistics.getAffectedRowCount()).isEqualTo(3);
+		assertThat(statistics.isAffectedRowCountKnown()).isFalse();
+
+		verify(this.preparedStatement, never()).addBatch();
+		verify(this.preparedStatement, times(3)).executeUpdate();
+		verify(this.preparedStatement).close();
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testStreamingBatchUpdateInParallel() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300, 400, 500, 600);
+
+		given(this.preparedStatement.executeBatch()).willReturn(new int[] {1, 1});
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+		BatchUpdateSettings settings = BatchUpdateSettings.fixed(2).parallelism(2, new SimpleAsyncTaskExecutor());
+
+		BatchUpdateStatistics statistics = template.batchUpdate(sql, ids.iterator(), settings, setter);
+		assertThat(statistics.getItemCount()).isEqualTo(6);
+		assertThat(statistics.getBatchCount()).isEqualTo(3);
+		assertThat(statistics.getAffectedRowCount()).isEqualTo(6);
+
+		verify(this.preparedStatement, times(6)).addBatch();
+		verify(this.preparedStatement, times(3)).close();
+		verify(this.connection, times(3)).close();
+	}
+
+	@Test
+	public void testStreamingBatchUpdateInParallelWithFailure() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		final List<Integer> ids = Arrays.asList(100, 200, 300, 400);
+
+		given(this.preparedStatement.executeBatch()).willThrow(new SQLException("Bad update", "42000"));
+		mockDatabaseMetaData(true);
+
+		ParameterizedPreparedStatementSetter<Integer> setter = (ps, argument) -> ps.setInt(1, argument.intValue());
+		JdbcTemplate template = new JdbcTemplate(this.dataSource, false);
+		BatchUpdateSettings settings = BatchUpdateSettings.fixed(2).parallelism(2, new SimpleAsyncTaskExecutor());
+
+		assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+				template.batchUpdate(sql, ids.iterator(), settings, setter));
+		verify(this.connection, atLeastOnce()).close();
+	}
+
+	@Test
+	public void testStatementCachingWithinTransaction() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+		given(this.connection.getAutoCommit()).willReturn(false);
+
+		JdbcTemplate template = new JdbcTemplate(this.dataSource);
+		template.setStatementCacheSize(10);
+		TransactionTemplate tt = new TransactionTemplate(new DataSourceTransactionManager(this.dataSource));
+		tt.executeWithoutResult(status -> {
+			template.update(sql, 1);
+			template.update(sql, 2);
+			template.update(sql, 3);
+		});
+
+		verify(this.connection, times(1)).prepareStatement(sql);
+		verify(this.preparedStatement, times(3)).executeUpdate();
+		verify(this.preparedStatement).close();
+		verify(this.connection).commit();
+		verify(this.connection).close();
+		assertThat(template.getStatementCacheStatistics().getHitCount()).isEqualTo(2);
+		assertThat(template.getStatementCacheStatistics().getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testStatementCachingOutsideOfTransaction() throws Exception {
+		final String sql = "UPDATE NOSUCHTABLE SET DATE_DISPATCHED = SYSDATE WHERE ID = ?";
+		given(this.preparedStatement.executeUpdate()).willReturn(1);
+
+		JdbcTemplate template = new JdbcTemplate(this.dataSource);
+		template.setStatementCacheSize(10);
+		template.update(sql, 1);
+		template.update(sql, 2);
+
+		verify(this.connection, times(2)).prepareStatement(sql);
+		verify(this.preparedStatement, times(2)).close();
+		assertThat(template.getStatementCacheStatistics().getMissCount()).isEqualTo(0);
+	}
+
 	@Test
 	public void testCouldNotGetConnectionForOperationOrExceptionTranslator() throws SQLException {
 		SQLException sqlException = new SQLException("foo", "07xxx");
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import org.springframework.dao.DataAccessException;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link ReactiveJdbcQueryAdapter}.
+ */
+class ReactiveJdbcQueryAdapterTests {
+
+	private static final String SQL = "SELECT AGE FROM CUSTMR WHERE ID > ?";
+
+	private static final RowMapper<Integer> ROW_MAPPER = (rs, rowNum) -> rs.getInt(1);
+
+	private final Connection connection = mock(Connection.class);
+
+	private final DataSource dataSource = mock(DataSource.class);
+
+	private final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+	private final ResultSet resultSet = mock(ResultSet.class);
+
+	private ReactiveJdbcQueryAdapter adapter;
+
+
+	@BeforeEach
+	void setup() throws Exception {
+		given(this.dataSource.getConnection()).willReturn(this.connection);
+		given(this.connection.prepareStatement(anyString())).willReturn(this.preparedStatement);
+		given(this.preparedStatement.executeQuery()).willReturn(this.resultSet);
+		given(this.preparedStatement.getConnection()).willReturn(this.connection);
+		this.adapter = new ReactiveJdbcQueryAdapter(new JdbcTemplate(this.dataSource), Schedulers.immediate());
+	}
+
+
+	@Test
+	void queryEmitsAllRows() throws Exception {
+		given(this.resultSet.next()).willReturn(true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(11, 12);
+
+		StepVerifier.create(this.adapter.query(SQL, ROW_MAPPER, 3))
+				.expectNext(11, 12)
+				.verifyComplete();
+
+		verify(this.preparedStatement).setObject(1, 3);
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	void queryHonorsDemand() throws Exception {
+		given(this.resultSet.next()).willReturn(true, true, true, false);
+		given(this.resultSet.getInt(1)).willReturn(11, 12, 13);
+
+		StepVerifier.create(this.adapter.query(SQL, ROW_MAPPER, 3), 0)
+				.expectSubscription()
+				.then(() -> verifyRowsRead(0))
+				.thenRequest(1)
+				.expectNext(11)
+				.then(() -> verifyRowsRead(1))
+				.thenRequest(2)
+				.expectNext(12, 13)
+				.thenRequest(1)
+				.verifyComplete();
+
+		verify(this.connection).close();
+	}
+
+	@Test
+	void queryReleasesConnectionOnCancel() throws Exception {
+		given(this.resultSet.next()).willReturn(true);
+		given(this.resultSet.getInt(1)).willReturn(11);
+
+		StepVerifier.create(this.adapter.query(SQL, ROW_MAPPER, 3), 1)
+				.expectNext(11)
+				.thenCancel()
+				.verify();
+
+		verify(this.resultSet, times(1)).next();
+		verify(this.resultSet).close();
+		verify(this.preparedStatement).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	void queryWithFetchSize() throws Exception {
+		given(this.resultSet.next()).willReturn(false);
+		this.adapter.setFetchSize(50);
+
+		StepVerifier.create(this.adapter.query(SQL, ROW_MAPPER, 3))
+				.verifyComplete();
+
+		verify(this.preparedStatement).setFetchSize(50);
+		verify(this.preparedStatement).setObject(1, 3);
+		verify(this.connection).close();
+	}
+
+	@Test
+	void queryWithTranslatedException() throws Exception {
+		given(this.resultSet.next()).willThrow(new SQLException("Bad row", "42000"));
+
+		StepVerifier.create(this.adapter.query(SQL, ROW_MAPPER, 3))
+				.expectError(DataAccessException.class)
+				.verify();
+
+		verify(this.resultSet).close();
+		verify(this.connection).close();
+	}
+
+	@Test
+	void queryIsDeferredUntilSubscription() throws Exception {
+		this.adapter.query(SQL, ROW_MAPPER, 3);
+
+		verify(this.dataSource, never()).getConnection();
+	}
+
+
+	private void verifyRowsRead(int count) {
+		try {
+			verify(this.resultSet, times(count)).next();
+		}
+		catch (SQLException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+}
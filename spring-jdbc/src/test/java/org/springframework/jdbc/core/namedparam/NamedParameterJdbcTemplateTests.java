@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package org.springframework.jdbc.core.namedparam;
 
+import java.sql.Array;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.PreparedStatement;
@@ -26,9 +27,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import javax.sql.DataSource;
@@ -36,15 +41,19 @@ import javax.sql.DataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InOrder;
 
+import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.jdbc.Customer;
 import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCallback;
 import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.BDDMockito.given;
@@ -53,6 +62,7 @@ import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
 /**
  * @author Rick Evans
@@ -586,4 +596,157 @@ public class NamedParameterJdbcTemplateTests {
 		verify(connection, atLeastOnce()).close();
 	}
 
+	@Test
+	public void testQueryWithPaddingInListStrategy() throws SQLException {
+		given(resultSet.next()).willReturn(true, false);
+		given(resultSet.getInt(1)).willReturn(1);
+
+		namedParameterTemplate.setInListStrategy(InListStrategy.padding());
+		params.put("ids", Arrays.asList(1, 2, 3));
+		List<Integer> ids = namedParameterTemplate.query(
+				"select id from custmr where id in (:ids)", params, (rs, rowNum) -> rs.getInt(1));
+
+		assertThat(ids).containsExactly(1);
+		verify(connection).prepareStatement("select id from custmr where id in (?, ?, ?, ?)");
+		verify(preparedStatement).setObject(1, 1);
+		verify(preparedStatement).setObject(2, 2);
+		verify(preparedStatement).setObject(3, 3);
+		verify(preparedStatement).setObject(4, 3);
+		verify(preparedStatement).close();
+		verify(connection).close();
+	}
+
+	@Test
+	public void testQueryWithChunkingInListStrategy() throws SQLException {
+		given(resultSet.next()).willReturn(true, false, true, false);
+		given(resultSet.getInt(1)).willReturn(1, 3);
+
+		namedParameterTemplate.setInListStrategy(InListStrategy.expanding(2));
+		params.put("ids", new SqlParameterValue(Types.INTEGER, Arrays.asList(1, 2, 3)));
+		params.put("country", "UK");
+		List<Integer> ids = namedParameterTemplate.query(
+				"select id from custmr where id in (:ids) and country = :country", params,
+				(rs, rowNum) -> rs.getInt(1));
+
+		assertThat(ids).containsExactly(1, 3);
+		InOrder inOrder = inOrder(connection, preparedStatement);
+		inOrder.verify(connection).prepareStatement("select id from custmr where id in (?, ?) and country = ?");
+		inOrder.verify(preparedStatement).setObject(1, 1, Types.INTEGER);
+		inOrder.verify(preparedStatement).setObject(2, 2, Types.INTEGER);
+		inOrder.verify(preparedStatement).setString(3, "UK");
+		inOrder.verify(connection).prepareStatement("select id from custmr where id in (?) and country = ?");
+		inOrder.verify(preparedStatement).setObject(1, 3, Types.INTEGER);
+		inOrder.verify(preparedStatement).setString(2, "UK");
+		verify(preparedStatement, times(2)).close();
+	}
+
+	@Test
+	public void testUpdateWithChunkingInListStrategy() throws SQLException {
+		given(preparedStatement.executeUpdate()).willReturn(2, 1);
+
+		namedParameterTemplate.setInListStrategy(InListStrategy.padding(2));
+		params.put("ids", Arrays.asList(1, 2, 3));
+		int rowsAffected;
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		try {
+			rowsAffected = namedParameterTemplate.update("delete from custmr where id in (:ids)", params);
+		}
+		finally {
+			TransactionSynchronizationManager.setActualTransactionActive(false);
+		}
+
+		assertThat(rowsAffected).isEqualTo(3);
+		verify(connection, times(2)).prepareStatement("delete from custmr where id in (?, ?)");
+		verify(preparedStatement).setObject(1, 1);
+		verify(preparedStatement).setObject(2, 2);
+		verify(preparedStatement).setObject(1, 3);
+		verify(preparedStatement).setObject(2, 3);
+	}
+
+	@Test
+	public void testUpdateWithChunkingInListStrategyWithoutTransaction() {
+		namedParameterTemplate.setInListStrategy(InListStrategy.padding(2));
+		params.put("ids", Arrays.asList(1, 2, 3));
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				namedParameterTemplate.update("delete from custmr where id in (:ids)", params));
+		verifyNoInteractions(connection);
+	}
+
+	@Test
+	public void testUpdateWithinMaximumListSizeWithoutTransaction() throws SQLException {
+		given(preparedStatement.executeUpdate()).willReturn(2);
+
+		namedParameterTemplate.setInListStrategy(InListStrategy.padding(2));
+		params.put("ids", Arrays.asList(1, 2));
+		int rowsAffected = namedParameterTemplate.update("delete from custmr where id in (:ids)", params);
+
+		assertThat(rowsAffected).isEqualTo(2);
+		verify(connection).prepareStatement("delete from custmr where id in (?, ?)");
+	}
+
+	@Test
+	public void testQueryForRowSetWithChunkingInListStrategy() {
+		namedParameterTemplate.setInListStrategy(InListStrategy.expanding(2));
+		params.put("ids", Arrays.asList(1, 2, 3));
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				namedParameterTemplate.queryForRowSet("select id from custmr where id in (:ids)", params));
+		verifyNoInteractions(connection);
+	}
+
+	@Test
+	public void testQueryWithChunkingInListStrategyAndMultipleLargeLists() {
+		namedParameterTemplate.setInListStrategy(InListStrategy.expanding(2));
+		params.put("ids", Arrays.asList(1, 2, 3));
+		params.put("countries", Arrays.asList("UK", "US", "DE"));
+
+		assertThatExceptionOfType(InvalidDataAccessApiUsageException.class).isThrownBy(() ->
+				namedParameterTemplate.query(
+						"select id from custmr where id in (:ids) and country in (:countries)", params));
+		verifyNoInteractions(connection);
+	}
+
+	@Test
+	public void testQueryWithSqlArrayInListStrategy() throws SQLException {
+		Array array = mock(Array.class);
+		given(connection.createArrayOf("INTEGER", new Object[] {1, 2, 3})).willReturn(array);
+		given(resultSet.next()).willReturn(false);
+
+		namedParameterTemplate.setInListStrategy(InListStrategy.sqlArray("INTEGER"));
+		params.put("ids", Arrays.asList(1, 2, 3));
+		List<Integer> ids = namedParameterTemplate.query(
+				"select id from custmr where id = any(:ids)", params, (rs, rowNum) -> rs.getInt(1));
+
+		assertThat(ids).isEmpty();
+		verify(connection).prepareStatement("select id from custmr where id = any(?)");
+		verify(preparedStatement).setArray(1, array);
+		verify(array).free();
+		verify(preparedStatement).close();
+	}
+
+	@Test
+	public void testDistinctStatementsWithPaddingInListStrategy() throws SQLException {
+		assertThat(distinctStatementsForListSizes(null)).hasSize(100);
+		assertThat(distinctStatementsForListSizes(InListStrategy.padding())).hasSize(8);
+		assertThat(distinctStatementsForListSizes(InListStrategy.padding(50))).hasSize(7);
+	}
+
+	private Set<String> distinctStatementsForListSizes(InListStrategy inListStrategy) throws SQLException {
+		Connection connection = mock(Connection.class);
+		given(dataSource.getConnection()).willReturn(connection);
+		given(connection.prepareStatement(anyString())).willReturn(preparedStatement);
+		given(resultSet.next()).willReturn(false);
+		namedParameterTemplate.setInListStrategy(inListStrategy);
+
+		for (int size = 1; size <= 100; size++) {
+			params.put("ids", IntStream.rangeClosed(1, size).boxed().collect(Collectors.toList()));
+			namedParameterTemplate.query("select id from custmr where id in (:ids)", params,
+					(rs, rowNum) -> rs.getInt(1));
+		}
+		ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+		verify(connection, atLeastOnce()).prepareStatement(sql.capture());
+		return new HashSet<>(sql.getAllValues());
+	}
+
 }
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.observation;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SqlParameterValue;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.observation.StatementObservation.Operation;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link JdbcObservationListener} notifications from
+ * {@link JdbcTemplate}.
+ */
+class JdbcTemplateObservationTests {
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private final List<StatementObservation> observations = new ArrayList<>();
+
+	private ParameterCapture parameterCapture = ParameterCapture.NONE;
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("CREATE TABLE item (id INTEGER, name VARCHAR(50))");
+		this.jdbcTemplate.setObservationListener(new JdbcObservationListener() {
+			@Override
+			public void statementExecuted(StatementObservation observation) {
+				observations.add(observation);
+			}
+			@Override
+			public ParameterCapture getParameterCapture() {
+				return parameterCapture;
+			}
+		});
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void updateAndQuery() {
+		this.jdbcTemplate.update("INSERT INTO item VALUES (?, ?)", 1, "one");
+		this.jdbcTemplate.update("INSERT INTO item VALUES (2, 'two')");
+		List<String> names = this.jdbcTemplate.queryForList("SELECT name FROM item ORDER BY id", String.class);
+		assertThat(names).containsExactly("one", "two");
+
+		assertThat(this.observations).hasSize(3);
+		StatementObservation insert = this.observations.get(0);
+		assertThat(insert.getOperation()).isEqualTo(Operation.UPDATE);
+		assertThat(insert.getSql()).isEqualTo("INSERT INTO item VALUES (?, ?)");
+		assertThat(insert.getRowCount()).isEqualTo(1);
+		assertThat(insert.getParameters()).isEmpty();
+		assertThat(insert.isSuccessful()).isTrue();
+		assertThat(insert.getDurationNanos()).isPositive();
+		assertThat(this.observations.get(1).getOperation()).isEqualTo(Operation.UPDATE);
+		assertThat(this.observations.get(1).getRowCount()).isEqualTo(1);
+		StatementObservation query = this.observations.get(2);
+		assertThat(query.getOperation()).isEqualTo(Operation.QUERY);
+		assertThat(query.getRowCount()).isEqualTo(2);
+		assertThat(query.getBatchSize()).isZero();
+	}
+
+	@Test
+	void rowCallbackHandlerRowCount() {
+		this.jdbcTemplate.batchUpdate("INSERT INTO item VALUES (?, ?)",
+				Arrays.asList(new Object[] {1, "one"}, new Object[] {2, "two"}, new Object[] {3, "three"}));
+		this.observations.clear();
+
+		List<String> names = new ArrayList<>();
+		this.jdbcTemplate.query("SELECT name FROM item WHERE id > ?", rs -> {
+			names.add(rs.getString(1));
+		}, 1);
+		assertThat(names).hasSize(2);
+		assertThat(this.observations).singleElement().satisfies(observation -> {
+			assertThat(observation.getOperation()).isEqualTo(Operation.QUERY);
+			assertThat(observation.getRowCount()).isEqualTo(2);
+		});
+	}
+
+	@Test
+	void batchUpdate() {
+		this.jdbcTemplate.batchUpdate("INSERT INTO item VALUES (?, ?)",
+				Arrays.asList(new Object[] {1, "one"}, new Object[] {2, "two"}, new Object[] {3, "three"}));
+		this.jdbcTemplate.batchUpdate("INSERT INTO item VALUES (?, ?)",
+				Arrays.asList(new Object[] {4, "four"}, new Object[] {5, "five"}), 1,
+				(ps, args) -> {
+					ps.setObject(1, args[0]);
+					ps.setObject(2, args[1]);
+				});
+
+		assertThat(this.observations).hasSize(2);
+		assertThat(this.observations).allSatisfy(observation ->
+				assertThat(observation.getOperation()).isEqualTo(Operation.BATCH_UPDATE));
+		assertThat(this.observations.get(0).getBatchSize()).isEqualTo(3);
+		assertThat(this.observations.get(0).getRowCount()).isEqualTo(3);
+		assertThat(this.observations.get(1).getBatchSize()).isEqualTo(2);
+		assertThat(this.observations.get(1).getRowCount()).isEqualTo(2);
+	}
+
+	@Test
+	void failedStatement() {
+		assertThatExceptionOfType(DataAccessException.class).isThrownBy(() ->
+				this.jdbcTemplate.update("INSERT INTO missing VALUES (1)"));
+		assertThat(this.observations).singleElement().satisfies(observation -> {
+			assertThat(observation.isSuccessful()).isFalse();
+			assertThat(observation.getException()).isNotNull();
+			assertThat(observation.getSql()).isEqualTo("INSERT INTO missing VALUES (1)");
+			assertThat(observation.getRowCount()).isEqualTo(StatementObservation.UNKNOWN_ROW_COUNT);
+		});
+	}
+
+	@Test
+	void redactedParameters() {
+		this.parameterCapture = ParameterCapture.REDACTED;
+		this.jdbcTemplate.update("INSERT INTO item VALUES (?, ?)",
+				new SqlParameterValue(Types.INTEGER, 1), null);
+		assertThat(this.observations).singleElement().satisfies(observation ->
+				assertThat(observation.getParameters()).containsExactly("<Integer>", null));
+	}
+
+	@Test
+	void fullParametersWithNamedParameters() {
+		this.parameterCapture = ParameterCapture.FULL;
+		NamedParameterJdbcTemplate namedTemplate = new NamedParameterJdbcTemplate(this.jdbcTemplate);
+		namedTemplate.update("INSERT INTO item VALUES (:id, :name)",
+				new MapSqlParameterSource("id", 7).addValue("name", "seven"));
+		List<Integer> ids = namedTemplate.queryForList("SELECT id FROM item WHERE name = :name",
+				Collections.singletonMap("name", "seven"), Integer.class);
+		assertThat(ids).containsExactly(7);
+
+		assertThat(this.observations).hasSize(2);
+		assertThat(this.observations.get(0).getSql()).isEqualTo("INSERT INTO item VALUES (?, ?)");
+		assertThat(this.observations.get(0).getParameters()).containsExactly(7, "seven");
+		assertThat(this.observations.get(1).getParameters()).containsExactly("seven");
+		assertThat(this.observations.get(1).getRowCount()).isEqualTo(1);
+	}
+
+	@Test
+	void noObservationsWithoutListener() {
+		this.jdbcTemplate.setObservationListener(null);
+		this.jdbcTemplate.update("INSERT INTO item VALUES (1, 'one')");
+		assertThat(this.observations).isEmpty();
+	}
+
+	@Test
+	void listenerExceptionDoesNotAffectStatement() {
+		this.jdbcTemplate.setObservationListener(observation -> {
+			throw new IllegalStateException("listener failure");
+		});
+		assertThat(this.jdbcTemplate.update("INSERT INTO item VALUES (1, 'one')")).isEqualTo(1);
+	}
+
+	@Test
+	void compositeListener() {
+		StatementHistogramRecorder recorder = new StatementHistogramRecorder();
+		SlowQuerySampler sampler = new SlowQuerySampler();
+		sampler.setParameterCapture(ParameterCapture.FULL);
+		JdbcObservationListener composite = JdbcObservationListener.composite(recorder, sampler);
+		assertThat(composite.getParameterCapture()).isEqualTo(ParameterCapture.FULL);
+
+		this.jdbcTemplate.setObservationListener(composite);
+		this.jdbcTemplate.update("INSERT INTO item VALUES (1, 'one')");
+		assertThat(recorder.getStatistics("INSERT INTO item VALUES (1, 'one')").getCount()).isEqualTo(1);
+		assertThat(sampler.getObservedCount()).isEqualTo(1);
+	}
+
+}
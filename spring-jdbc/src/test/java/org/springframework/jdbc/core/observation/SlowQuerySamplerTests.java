@@ -0,0 +1,93 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.observation;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.Collections;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.observation.StatementObservation.Operation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link SlowQuerySampler}.
+ */
+class SlowQuerySamplerTests {
+
+	private final SlowQuerySampler sampler = new SlowQuerySampler(2);
+
+
+	@Test
+	void retainsSlowestAboveThreshold() {
+		this.sampler.setThreshold(Duration.ofMillis(100));
+		record("SELECT fast", 10);
+		record("SELECT slow1", 150);
+		record("SELECT slow2", 300);
+		record("SELECT slow3", 200);
+
+		assertThat(this.sampler.getObservedCount()).isEqualTo(4);
+		assertThat(this.sampler.getSlowQueryCount()).isEqualTo(3);
+		assertThat(this.sampler.getSlowestQueries()).extracting(StatementObservation::getSql)
+				.containsExactly("SELECT slow2", "SELECT slow3");
+		assertThat(this.sampler.getTopQueries()).hasSize(2);
+		assertThat(this.sampler.getTopQueries()[0]).contains("SELECT slow2").contains("300 ms");
+
+		this.sampler.reset();
+		assertThat(this.sampler.getSlowestQueries()).isEmpty();
+		assertThat(this.sampler.getObservedCount()).isZero();
+	}
+
+	@Test
+	void redactsParametersByDefault() {
+		assertThat(this.sampler.getParameterCapture()).isEqualTo(ParameterCapture.REDACTED);
+		this.sampler.setParameterCapture(ParameterCapture.NONE);
+		assertThat(this.sampler.getParameterCapture()).isEqualTo(ParameterCapture.NONE);
+	}
+
+	@Test
+	void registersAsStandardMBean() throws Exception {
+		MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		ObjectName name = new ObjectName("org.springframework.jdbc:type=SlowQuerySampler,name=test");
+		server.registerMBean(this.sampler, name);
+		try {
+			server.setAttribute(name, new Attribute("ThresholdMillis", 50L));
+			assertThat(this.sampler.getThreshold()).isEqualTo(Duration.ofMillis(50));
+			record("SELECT slow", 60);
+			assertThat(server.getAttribute(name, "SlowQueryCount")).isEqualTo(1L);
+			assertThat((String[]) server.getAttribute(name, "TopQueries")).hasSize(1);
+			server.invoke(name, "reset", null, null);
+			assertThat(this.sampler.getSlowQueryCount()).isZero();
+		}
+		finally {
+			server.unregisterMBean(name);
+		}
+	}
+
+
+	private void record(String sql, long millis) {
+		this.sampler.statementExecuted(new StatementObservation(Operation.QUERY, sql,
+				Collections.emptyList(), Duration.ofMillis(millis).toNanos(), 1, 0, null));
+	}
+
+}
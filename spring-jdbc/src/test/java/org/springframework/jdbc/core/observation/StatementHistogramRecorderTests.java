@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.core.observation;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.observation.StatementHistogramRecorder.StatementStatistics;
+import org.springframework.jdbc.core.observation.StatementObservation.Operation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link StatementHistogramRecorder}.
+ */
+class StatementHistogramRecorderTests {
+
+	private final StatementHistogramRecorder recorder = new StatementHistogramRecorder();
+
+
+	@Test
+	void aggregatesPerStatement() {
+		record("SELECT 1", Duration.ofMillis(2), 1);
+		record("SELECT 1", Duration.ofMillis(4), 1);
+		record("SELECT 2", Duration.ofMillis(10), 5);
+
+		StatementStatistics statistics = this.recorder.getStatistics("SELECT 1");
+		assertThat(statistics).isNotNull();
+		assertThat(statistics.getCount()).isEqualTo(2);
+		assertThat(statistics.getErrorCount()).isZero();
+		assertThat(statistics.getRowCount()).isEqualTo(2);
+		assertThat(statistics.getTotalTime()).isEqualTo(Duration.ofMillis(6));
+		assertThat(statistics.getMeanTime()).isEqualTo(Duration.ofMillis(3));
+		assertThat(statistics.getMaxTime()).isEqualTo(Duration.ofMillis(4));
+
+		List<StatementStatistics> all = this.recorder.getStatistics();
+		assertThat(all).extracting(StatementStatistics::getSql).containsExactly("SELECT 2", "SELECT 1");
+	}
+
+	@Test
+	void percentileEstimates() {
+		for (int i = 0; i < 99; i++) {
+			record("SELECT 1", Duration.ofMillis(1), 1);
+		}
+		record("SELECT 1", Duration.ofMillis(500), 1);
+
+		StatementStatistics statistics = this.recorder.getStatistics("SELECT 1");
+		assertThat(statistics).isNotNull();
+		Duration median = statistics.getPercentile(0.5);
+		assertThat(median).isBetween(Duration.ofMillis(1), Duration.ofMillis(2));
+		Duration p99 = statistics.getPercentile(0.99);
+		assertThat(p99).isBetween(Duration.ofMillis(1), Duration.ofMillis(2));
+		assertThat(statistics.getPercentile(1.0)).isEqualTo(Duration.ofMillis(500));
+	}
+
+	@Test
+	void maxStatements() {
+		this.recorder.setMaxStatements(2);
+		record("SELECT 1", Duration.ofMillis(1), 1);
+		record("SELECT 2", Duration.ofMillis(1), 1);
+		record("SELECT 3", Duration.ofMillis(1), 1);
+		record("SELECT 4", Duration.ofMillis(1), 1);
+		record("SELECT 1", Duration.ofMillis(1), 1);
+
+		assertThat(this.recorder.getStatistics("SELECT 1").getCount()).isEqualTo(2);
+		assertThat(this.recorder.getStatistics("SELECT 3")).isNull();
+		assertThat(this.recorder.getStatistics(StatementHistogramRecorder.OTHER_STATEMENTS).getCount()).isEqualTo(2);
+	}
+
+	@Test
+	void failuresAndReset() {
+		this.recorder.statementExecuted(new StatementObservation(Operation.UPDATE, "UPDATE x",
+				Collections.emptyList(), 1000, StatementObservation.UNKNOWN_ROW_COUNT, 0, new IllegalStateException()));
+		StatementStatistics statistics = this.recorder.getStatistics("UPDATE x");
+		assertThat(statistics).isNotNull();
+		assertThat(statistics.getErrorCount()).isEqualTo(1);
+		assertThat(statistics.getRowCount()).isZero();
+
+		this.recorder.reset();
+		assertThat(this.recorder.getStatistics()).isEmpty();
+	}
+
+
+	private void record(String sql, Duration duration, long rows) {
+		this.recorder.statementExecuted(new StatementObservation(
+				Operation.QUERY, sql, Collections.emptyList(), duration.toNanos(), rows, 0, null));
+	}
+
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests for {@link PreparedStatementCache}.
+ */
+class PreparedStatementCacheTests {
+
+	private static final String SQL = "SELECT NAME FROM CUSTMR WHERE ID = ?";
+
+	private static final String OTHER_SQL = "UPDATE CUSTMR SET NAME = ? WHERE ID = ?";
+
+	private final Connection connection = mock(Connection.class);
+
+	private final PreparedStatement preparedStatement = mock(PreparedStatement.class);
+
+	private final PreparedStatement otherPreparedStatement = mock(PreparedStatement.class);
+
+
+	@BeforeEach
+	void setup() throws SQLException {
+		given(this.connection.prepareStatement(SQL)).willReturn(this.preparedStatement);
+		given(this.connection.prepareStatement(OTHER_SQL)).willReturn(this.otherPreparedStatement);
+	}
+
+
+	@Test
+	void statementIsReusedAfterClose() throws SQLException {
+		PreparedStatementCache cache = new PreparedStatementCache(this.connection, 10);
+		Connection con = cache.getCachingConnection(null);
+
+		PreparedStatement ps = con.prepareStatement(SQL);
+		ps.setInt(1, 42);
+		ps.close();
+		assertThat(ps.isClosed()).isTrue();
+		con.prepareStatement(SQL).close();
+
+		verify(this.connection, times(1)).prepareStatement(SQL);
+		verify(this.preparedStatement).setInt(1, 42);
+		verify(this.preparedStatement, times(2)).clearParameters();
+		verify(this.preparedStatement, never()).close();
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.getStatistics().getHitCount()).isEqualTo(1);
+		assertThat(cache.getStatistics().getMissCount()).isEqualTo(1);
+		assertThat(cache.getStatistics().getHitRate()).isEqualTo(0.5);
+	}
+
+	@Test
+	void statementIsKeyedByFlags() throws SQLException {
+		PreparedStatement keysStatement = mock(PreparedStatement.class);
+		given(this.connection.prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS)).willReturn(keysStatement);
+		PreparedStatementCache cache = new PreparedStatementCache(this.connection, 10);
+		Connection con = cache.getCachingConnection(null);
+
+		con.prepareStatement(SQL).close();
+		con.prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS).close();
+		con.prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS).close();
+
+		verify(this.connection, times(1)).prepareStatement(SQL);
+		verify(this.connection, times(1)).prepareStatement(SQL, Statement.RETURN_GENERATED_KEYS);
+		assertThat(cache.size()).isEqualTo(2);
+	}
+
+	@Test
+	void statementInUseIsNotShared() throws SQLException {
+		PreparedStatement secondStatement = mock(PreparedStatement.class);
+		given(this.connection.prepareStatement(SQL)).willReturn(this.preparedStatement, secondStatement);
+		PreparedStatementCache cache = new PreparedStatementCache(this.connection, 10);
+		Connection con = cache.getCachingConnection(null);
+
+		PreparedStatement ps1 = con.prepareStatement(SQL);
+		PreparedStatement ps2 = con.prepareStatement(SQL);
+		ps1.close();
+		ps2.close();
+
+		verify(this.connection, times(2)).prepareStatement(SQL);
+		verify(this.preparedStatement, never()).close();
+		verify(secondStatement).close();
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void leastRecentlyUsedStatementIsEvicted() throws SQLException {
+		PreparedStatementCache cache = new PreparedStatementCache(this.connection, 1);
+		Connection con = cache.getCachingConnection(null);
+
+		con.prepareStatement(SQL).close();
+		con.prepareStatement(OTHER_SQL).close();
+
+		verify(this.preparedStatement).close();
+		verify(this.otherPreparedStatement, never()).close();
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.getStatistics().getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void statementSettingsAreRestored() throws SQLException {
+		given(this.preparedStatement.getFetchSize()).willReturn(0);
+		PreparedStatementCache cache = new PreparedStatementCache(this.connection, 10);
+		Connection con = cache.getCachingConnection(null);
+
+		PreparedStatement ps = con.prepareStatement(SQL);
+		ps.setFetchSize(100);
+		ps.addBatch();
+		ps.close();
+
+		verify(this.preparedStatement).setFetchSize(100);
+		verify(this.preparedStatement).setFetchSize(0);
+		verify(this.preparedStatement).clearBatch();
+		verify(this.preparedStatement, never()).close();
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	void statementWithUncommonSettingsIsClosed() throws SQLException {
+		PreparedStatementCache cache = new PreparedStatementCache(this.connection, 10);
+		Connection con = cache.getCachingConnection(null);
+
+		PreparedStatement ps = con.prepareStatement(SQL);
+		ps.setCursorName("cursor");
+		ps.close();
+
+		verify(this.preparedStatement).close();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void closedStatementRejectsFurtherUse() throws SQLException {
+		PreparedStatementCache cache = new PreparedStatementCache(this.connection, 10);
+		PreparedStatement ps = cache.getCachingConnection(null).prepareStatement(SQL);
+		ps.close();
+
+		assertThatExceptionOfType(SQLException.class).isThrownBy(ps::executeQuery);
+		verify(this.preparedStatement, never()).executeQuery();
+	}
+
+	@Test
+	void closeClosesCachedAndReturnedStatements() throws SQLException {
+		PreparedStatementCache cache = new PreparedStatementCache(this.connection, 10);
+		Connection con = cache.getCachingConnection(null);
+		con.prepareStatement(SQL).close();
+		PreparedStatement inUse = con.prepareStatement(OTHER_SQL);
+
+		cache.close();
+		verify(this.preparedStatement).close();
+		verify(this.otherPreparedStatement, never()).close();
+
+		inUse.close();
+		verify(this.otherPreparedStatement).close();
+		assertThat(cache.isClosed()).isTrue();
+		assertThat(cache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void callerStatisticsAreRecorded() throws SQLException {
+		PreparedStatementCache cache = new PreparedStatementCache(this.connection, 10);
+		PreparedStatementCache.Statistics statistics = new PreparedStatementCache.Statistics();
+
+		cache.getCachingConnection(statistics).prepareStatement(SQL).close();
+		cache.getCachingConnection(statistics).prepareStatement(SQL).close();
+
+		assertThat(statistics.getHitCount()).isEqualTo(1);
+		assertThat(statistics.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	void connectionHolderClosesCacheOnClear() throws SQLException {
+		ConnectionHolder holder = new ConnectionHolder(this.connection);
+		PreparedStatementCache cache = holder.getPreparedStatementCache(10);
+		assertThat(holder.getPreparedStatementCache(10)).isSameAs(cache);
+		cache.getCachingConnection(null).prepareStatement(SQL).close();
+
+		holder.clear();
+		assertThat(cache.isClosed()).isTrue();
+		verify(this.preparedStatement).close();
+		assertThat(holder.getPreparedStatementCache(10)).isNotSameAs(cache);
+	}
+
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.datasource.lookup;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Integration tests for {@link ReadWriteRoutingDataSource},
+ * routing between multiple embedded H2 databases.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+	private EmbeddedDatabase primary;
+
+	private EmbeddedDatabase replica1;
+
+	private EmbeddedDatabase replica2;
+
+	private ReadWriteRoutingDataSource dataSource;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private TransactionTemplate readWriteTemplate;
+
+	private TransactionTemplate readOnlyTemplate;
+
+
+	@BeforeEach
+	void setup() {
+		this.primary = createDatabase("primary");
+		this.replica1 = createDatabase("replica1");
+		this.replica2 = createDatabase("replica2");
+		this.dataSource = new ReadWriteRoutingDataSource();
+		this.dataSource.setPrimaryDataSource(this.primary);
+		this.dataSource.setReplicaDataSources(Arrays.asList(this.replica1, this.replica2));
+	}
+
+	private void initialize() {
+		this.dataSource.afterPropertiesSet();
+		this.jdbcTemplate = new JdbcTemplate(this.dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(this.dataSource);
+		this.readWriteTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTemplate = new TransactionTemplate(transactionManager);
+		this.readOnlyTemplate.setReadOnly(true);
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.dataSource.clearPrimaryPinning();
+		this.primary.shutdown();
+		this.replica1.shutdown();
+		this.replica2.shutdown();
+	}
+
+
+	@Test
+	void primaryDataSourceIsRequired() {
+		assertThatIllegalArgumentException().isThrownBy(
+				() -> new ReadWriteRoutingDataSource().afterPropertiesSet());
+	}
+
+	@Test
+	void nonTransactionalAccessRoutesToPrimary() {
+		initialize();
+		assertThat(currentNode()).isEqualTo("primary");
+		assertThat(currentNode()).isEqualTo("primary");
+	}
+
+	@Test
+	void readWriteTransactionRoutesToPrimary() {
+		initialize();
+		assertThat(this.readWriteTemplate.execute(status -> currentNode())).isEqualTo("primary");
+	}
+
+	@Test
+	void readOnlyTransactionsRouteToReplicasRoundRobin() {
+		initialize();
+		assertThat(this.readOnlyTemplate.execute(status -> currentNode())).isEqualTo("replica1");
+		assertThat(this.readOnlyTemplate.execute(status -> currentNode())).isEqualTo("replica2");
+		assertThat(this.readOnlyTemplate.execute(status -> currentNode())).isEqualTo("replica1");
+	}
+
+	@Test
+	void readOnlyTransactionStaysOnSameReplica() {
+		initialize();
+		this.readOnlyTemplate.executeWithoutResult(status -> {
+			String node = currentNode();
+			assertThat(node).startsWith("replica");
+			// Connections obtained outside of DataSourceUtils still go to the same replica
+			assertThat(nodeOfNewConnection()).isEqualTo(node);
+			assertThat(nodeOfNewConnection()).isEqualTo(node);
+		});
+	}
+
+	@Test
+	void nestedReadWriteTransactionRoutesToPrimary() {
+		initialize();
+		TransactionTemplate requiresNew = new TransactionTemplate(this.readWriteTemplate.getTransactionManager());
+		requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readOnlyTemplate.executeWithoutResult(status -> {
+			String node = currentNode();
+			assertThat(node).startsWith("replica");
+			assertThat(requiresNew.execute(inner -> currentNode())).isEqualTo("primary");
+			assertThat(nodeOfNewConnection()).isEqualTo(node);
+		});
+	}
+
+	@Test
+	void noReplicasRoutesToPrimary() {
+		this.dataSource.setReplicaDataSources(Arrays.asList());
+		initialize();
+		assertThat(this.readOnlyTemplate.execute(status -> currentNode())).isEqualTo("primary");
+	}
+
+	@Test
+	void pinsToPrimaryAfterReadWriteTransaction() throws Exception {
+		this.dataSource.setPrimaryPinningWindow(Duration.ofMinutes(1));
+		initialize();
+		assertThat(this.readOnlyTemplate.execute(status -> currentNode())).isEqualTo("replica1");
+
+		this.readWriteTemplate.executeWithoutResult(status ->
+				this.jdbcTemplate.update("UPDATE node SET name = name"));
+		assertThat(this.dataSource.isPinnedToPrimary()).isTrue();
+		assertThat(this.readOnlyTemplate.execute(status -> currentNode())).isEqualTo("primary");
+
+		AtomicReference<String> otherThreadNode = new AtomicReference<>();
+		Thread thread = new Thread(() -> otherThreadNode.set(this.readOnlyTemplate.execute(status -> currentNode())));
+		thread.start();
+		thread.join();
+		assertThat(otherThreadNode.get()).startsWith("replica");
+
+		this.dataSource.clearPrimaryPinning();
+		assertThat(this.readOnlyTemplate.execute(status -> currentNode())).startsWith("replica");
+	}
+
+	@Test
+	void doesNotPinToPrimaryAfterRollback() {
+		this.dataSource.setPrimaryPinningWindow(Duration.ofMinutes(1));
+		initialize();
+		this.readWriteTemplate.executeWithoutResult(status -> {
+			this.jdbcTemplate.update("UPDATE node SET name = name");
+			status.setRollbackOnly();
+		});
+		assertThat(this.dataSource.isPinnedToPrimary()).isFalse();
+		assertThat(this.readOnlyTemplate.execute(status -> currentNode())).startsWith("replica");
+	}
+
+	@Test
+	void pinningExpiresAfterWindow() throws Exception {
+		this.dataSource.setPrimaryPinningWindow(Duration.ofMillis(1));
+		initialize();
+		this.dataSource.pinToPrimary();
+		Thread.sleep(10);
+		assertThat(this.dataSource.isPinnedToPrimary()).isFalse();
+		assertThat(this.readOnlyTemplate.execute(status -> currentNode())).startsWith("replica");
+	}
+
+	@Test
+	void leastActiveBalancing() throws SQLException {
+		this.dataSource.setLoadBalancing(ReadWriteRoutingDataSource.LoadBalancing.LEAST_ACTIVE);
+		this.dataSource.setLazyConnectionFetching(false);
+		initialize();
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		try (Connection con1 = this.dataSource.getConnection()) {
+			assertThat(nodeOf(con1)).isEqualTo("replica1");
+			assertThat(this.dataSource.getActiveConnectionCount(0)).isEqualTo(1);
+			try (Connection con2 = this.dataSource.getConnection()) {
+				assertThat(nodeOf(con2)).isEqualTo("replica2");
+			}
+			assertThat(this.dataSource.getActiveConnectionCount(1)).isEqualTo(0);
+			// Round-robin would choose replica1 here
+			try (Connection con3 = this.dataSource.getConnection()) {
+				assertThat(nodeOf(con3)).isEqualTo("replica2");
+			}
+		}
+		finally {
+			TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+		}
+		assertThat(this.dataSource.getActiveConnectionCount(0)).isEqualTo(0);
+	}
+
+
+	private String currentNode() {
+		return this.jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+	}
+
+	private String nodeOfNewConnection() {
+		try (Connection con = this.dataSource.getConnection()) {
+			return nodeOf(con);
+		}
+		catch (SQLException ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static String nodeOf(Connection con) throws SQLException {
+		try (Statement stmt = con.createStatement(); ResultSet rs = stmt.executeQuery("SELECT name FROM node")) {
+			rs.next();
+			return rs.getString(1);
+		}
+	}
+
+	private static EmbeddedDatabase createDatabase(String node) {
+		EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+		jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+		jdbcTemplate.update("INSERT INTO node VALUES (?)", node);
+		return database;
+	}
+
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.outbox;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalApplicationListener;
+import org.springframework.transaction.event.TransactionalApplicationListenerAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link JdbcTransactionalEventOutbox}.
+ */
+class JdbcTransactionalEventOutboxTests {
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+	private DataSourceTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	private JdbcTransactionalEventOutbox outbox;
+
+	private final List<String> received = new ArrayList<>();
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder().generateUniqueName(true).build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("CREATE TABLE EVENT_OUTBOX (SEQ BIGINT GENERATED BY DEFAULT AS IDENTITY, " +
+				"ID VARCHAR(36) NOT NULL PRIMARY KEY, " +
+				"LISTENER_ID VARCHAR(1000) NOT NULL, PAYLOAD BLOB NOT NULL, CREATED_AT BIGINT NOT NULL, " +
+				"ATTEMPTS INTEGER NOT NULL)");
+		this.transactionManager = new DataSourceTransactionManager(this.database);
+		this.transactionTemplate = new TransactionTemplate(this.transactionManager);
+		this.outbox = new JdbcTransactionalEventOutbox(this.database);
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void storesEventsOnCommitAndDispatchesLater() {
+		TransactionalApplicationListener<PayloadApplicationEvent<String>> listener = createListener("listener");
+		this.outbox.registerListener(listener);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.outbox.store(new PayloadApplicationEvent<>(this, "one"), listener);
+			this.outbox.store(new PayloadApplicationEvent<>(this, "two"), listener);
+			assertThat(countStoredEvents()).isEqualTo(0);
+		});
+		assertThat(countStoredEvents()).isEqualTo(2);
+		assertThat(this.received).isEmpty();
+
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(2);
+		assertThat(this.received).containsExactlyInAnyOrder("one", "two");
+		assertThat(countStoredEvents()).isEqualTo(0);
+	}
+
+	@Test
+	void discardsEventsOnRollback() {
+		TransactionalApplicationListener<PayloadApplicationEvent<String>> listener = createListener("listener");
+		this.outbox.registerListener(listener);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.outbox.store(new PayloadApplicationEvent<>(this, "one"), listener);
+			status.setRollbackOnly();
+		});
+		assertThat(countStoredEvents()).isEqualTo(0);
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(0);
+		assertThat(this.received).isEmpty();
+	}
+
+	@Test
+	void dispatchesInBatches() {
+		TransactionalApplicationListener<PayloadApplicationEvent<String>> listener = createListener("listener");
+		this.outbox.registerListener(listener);
+		this.outbox.setBatchSize(2);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < 5; i++) {
+				this.outbox.store(new PayloadApplicationEvent<>(this, "event" + i), listener);
+			}
+		});
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(2);
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(2);
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(1);
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(0);
+		assertThat(this.received).hasSize(5);
+	}
+
+	@Test
+	void retriesFailedEventsUpToMaxAttempts() {
+		TransactionalApplicationListenerAdapter<PayloadApplicationEvent<String>> listener =
+				new TransactionalApplicationListenerAdapter<>(event -> {
+					this.received.add(event.getPayload());
+					throw new IllegalStateException("failed");
+				});
+		listener.setListenerId("failing");
+		this.outbox.registerListener(listener);
+		this.outbox.setMaxAttempts(2);
+
+		this.transactionTemplate.executeWithoutResult(status ->
+				this.outbox.store(new PayloadApplicationEvent<>(this, "one"), listener));
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(0);
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(0);
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(0);
+		assertThat(this.received).containsExactly("one", "one");
+		assertThat(this.jdbcTemplate.queryForObject("SELECT ATTEMPTS FROM EVENT_OUTBOX", Integer.class))
+				.isEqualTo(2);
+	}
+
+	@Test
+	void defersEventsForUnknownListener() {
+		TransactionalApplicationListener<PayloadApplicationEvent<String>> listener = createListener("listener");
+
+		this.transactionTemplate.executeWithoutResult(status ->
+				this.outbox.store(new PayloadApplicationEvent<>(this, "one"), listener));
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(0);
+		assertThat(countStoredEvents()).isEqualTo(1);
+
+		this.outbox.registerListener(listener);
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(1);
+		assertThat(this.received).containsExactly("one");
+	}
+
+	@Test
+	void dispatchesInInsertionOrder() {
+		TransactionalApplicationListener<PayloadApplicationEvent<String>> listener = createListener("listener");
+		this.outbox.registerListener(listener);
+
+		for (int i = 0; i < 10; i++) {
+			String payload = "event" + i;
+			this.transactionTemplate.executeWithoutResult(status ->
+					this.outbox.store(new PayloadApplicationEvent<>(this, payload), listener));
+		}
+		this.jdbcTemplate.update("UPDATE EVENT_OUTBOX SET CREATED_AT = 0");
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(10);
+		assertThat(this.received).containsExactly("event0", "event1", "event2", "event3", "event4",
+				"event5", "event6", "event7", "event8", "event9");
+	}
+
+	@Test
+	void unknownListenerEventsDoNotBlockDispatch() {
+		TransactionalApplicationListener<PayloadApplicationEvent<String>> unknown = createListener("unknown");
+		TransactionalApplicationListener<PayloadApplicationEvent<String>> listener = createListener("listener");
+		this.outbox.registerListener(listener);
+		this.outbox.setBatchSize(2);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			for (int i = 0; i < 3; i++) {
+				this.outbox.store(new PayloadApplicationEvent<>(this, "unknown" + i), unknown);
+			}
+			this.outbox.store(new PayloadApplicationEvent<>(this, "one"), listener);
+		});
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(1);
+		assertThat(this.received).containsExactly("one");
+		assertThat(countStoredEvents()).isEqualTo(3);
+	}
+
+	@Test
+	void storesEventsOfInnerTransactionSeparately() {
+		TransactionalApplicationListener<PayloadApplicationEvent<String>> listener = createListener("listener");
+		this.outbox.registerListener(listener);
+		TransactionTemplate requiresNew = new TransactionTemplate(this.transactionManager);
+		requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.outbox.store(new PayloadApplicationEvent<>(this, "outer"), listener);
+			requiresNew.executeWithoutResult(innerStatus ->
+					this.outbox.store(new PayloadApplicationEvent<>(this, "inner"), listener));
+			this.outbox.store(new PayloadApplicationEvent<>(this, "outer2"), listener);
+			status.setRollbackOnly();
+		});
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(1);
+		assertThat(this.received).containsExactly("inner");
+
+		this.transactionTemplate.executeWithoutResult(status -> {
+			this.outbox.store(new PayloadApplicationEvent<>(this, "outer"), listener);
+			requiresNew.executeWithoutResult(innerStatus -> {
+				this.outbox.store(new PayloadApplicationEvent<>(this, "inner"), listener);
+				innerStatus.setRollbackOnly();
+			});
+			this.outbox.store(new PayloadApplicationEvent<>(this, "outer2"), listener);
+		});
+		this.received.clear();
+		assertThat(this.outbox.dispatchPendingEvents()).isEqualTo(2);
+		assertThat(this.received).containsExactly("outer", "outer2");
+	}
+
+	@Test
+	void rejectsDuplicateListenerId() {
+		this.outbox.registerListener(createListener("listener"));
+		assertThatIllegalStateException().isThrownBy(() -> this.outbox.registerListener(createListener("listener")));
+	}
+
+	@Test
+	void rejectsStoreWithoutTransaction() {
+		TransactionalApplicationListener<PayloadApplicationEvent<String>> listener = createListener("listener");
+		assertThatIllegalStateException().isThrownBy(() ->
+				this.outbox.store(new PayloadApplicationEvent<>(this, "one"), listener));
+	}
+
+
+	private TransactionalApplicationListener<PayloadApplicationEvent<String>> createListener(String id) {
+		TransactionalApplicationListenerAdapter<PayloadApplicationEvent<String>> listener =
+				new TransactionalApplicationListenerAdapter<>(event -> this.received.add(event.getPayload()));
+		listener.setListenerId(id);
+		return listener;
+	}
+
+	private int countStoredEvents() {
+		Integer count = this.jdbcTemplate.queryForObject("SELECT COUNT(*) FROM EVENT_OUTBOX", Integer.class);
+		return (count != null ? count : 0);
+	}
+
+}
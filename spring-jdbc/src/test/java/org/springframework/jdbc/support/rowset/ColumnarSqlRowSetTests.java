@@ -0,0 +1,300 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.jdbc.support.rowset;
+
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.testfixture.io.SerializationTestUtils;
+import org.springframework.jdbc.InvalidResultSetAccessException;
+import org.springframework.jdbc.core.ColumnarSqlRowSetResultSetExtractor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * Tests for {@link ColumnarSqlRowSet}.
+ */
+class ColumnarSqlRowSetTests {
+
+	private static final String QUERY =
+			"SELECT id, big, score, name, active, amount, created FROM item ORDER BY id";
+
+	private EmbeddedDatabase database;
+
+	private JdbcTemplate jdbcTemplate;
+
+
+	@BeforeEach
+	void setup() {
+		this.database = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.build();
+		this.jdbcTemplate = new JdbcTemplate(this.database);
+		this.jdbcTemplate.execute("CREATE TABLE item (id INTEGER, big BIGINT, score DOUBLE, name VARCHAR(50), " +
+				"active BOOLEAN, amount DECIMAL(10,2), created TIMESTAMP)");
+		this.jdbcTemplate.update("INSERT INTO item VALUES (1, 10000000000, 0.5, 'red', TRUE, 12.50, " +
+				"TIMESTAMP '2024-01-02 03:04:05')");
+		this.jdbcTemplate.update("INSERT INTO item VALUES (2, NULL, NULL, 'green', FALSE, NULL, NULL)");
+		this.jdbcTemplate.update("INSERT INTO item VALUES (3, -1, 1.5, 'red', NULL, 0.01, " +
+				"TIMESTAMP '2024-02-03 04:05:06')");
+		this.jdbcTemplate.update("INSERT INTO item VALUES (4, 7, 2.0, NULL, TRUE, 1, NULL)");
+	}
+
+	@AfterEach
+	void shutdown() {
+		this.database.shutdown();
+	}
+
+
+	@Test
+	void primitiveValuesAndNulls() {
+		ColumnarSqlRowSet rowSet = query();
+		assertThat(rowSet.getRowCount()).isEqualTo(4);
+
+		assertThat(rowSet.next()).isTrue();
+		assertThat(rowSet.getInt("id")).isEqualTo(1);
+		assertThat(rowSet.getLong("big")).isEqualTo(10000000000L);
+		assertThat(rowSet.getDouble("score")).isEqualTo(0.5);
+		assertThat(rowSet.getString("name")).isEqualTo("red");
+		assertThat(rowSet.getBoolean("active")).isTrue();
+		assertThat(rowSet.getBigDecimal("amount")).isEqualTo(new BigDecimal("12.50"));
+		assertThat(rowSet.getTimestamp("created")).isEqualTo(Timestamp.valueOf("2024-01-02 03:04:05"));
+		assertThat(rowSet.wasNull()).isFalse();
+
+		assertThat(rowSet.next()).isTrue();
+		assertThat(rowSet.getLong("big")).isEqualTo(0L);
+		assertThat(rowSet.wasNull()).isTrue();
+		assertThat(rowSet.getObject("score")).isNull();
+		assertThat(rowSet.wasNull()).isTrue();
+		assertThat(rowSet.getString("name")).isEqualTo("green");
+		assertThat(rowSet.wasNull()).isFalse();
+		assertThat(rowSet.getBoolean("active")).isFalse();
+		assertThat(rowSet.wasNull()).isFalse();
+		assertThat(rowSet.getBigDecimal("amount")).isNull();
+		assertThat(rowSet.getTimestamp("created")).isNull();
+
+		assertThat(rowSet.next()).isTrue();
+		assertThat(rowSet.getBoolean("active")).isFalse();
+		assertThat(rowSet.wasNull()).isTrue();
+
+		assertThat(rowSet.next()).isTrue();
+		assertThat(rowSet.getString("name")).isNull();
+		assertThat(rowSet.wasNull()).isTrue();
+		assertThat(rowSet.next()).isFalse();
+	}
+
+	@Test
+	void objectValuesMatchCachedRowSet() {
+		ColumnarSqlRowSet rowSet = query();
+		SqlRowSet cachedRowSet = this.jdbcTemplate.queryForRowSet(QUERY);
+		int columnCount = rowSet.getMetaData().getColumnCount();
+		while (cachedRowSet.next()) {
+			assertThat(rowSet.next()).isTrue();
+			for (int i = 1; i <= columnCount; i++) {
+				assertThat(rowSet.getObject(i)).isEqualTo(cachedRowSet.getObject(i));
+				assertThat(rowSet.getString(i)).isEqualTo(cachedRowSet.getString(i));
+			}
+		}
+		assertThat(rowSet.next()).isFalse();
+	}
+
+	@Test
+	void navigation() {
+		ColumnarSqlRowSet rowSet = query();
+		assertThat(rowSet.isBeforeFirst()).isTrue();
+		assertThat(rowSet.getRow()).isEqualTo(0);
+
+		assertThat(rowSet.last()).isTrue();
+		assertThat(rowSet.isLast()).isTrue();
+		assertThat(rowSet.getInt(1)).isEqualTo(4);
+
+		assertThat(rowSet.previous()).isTrue();
+		assertThat(rowSet.getRow()).isEqualTo(3);
+
+		assertThat(rowSet.absolute(-4)).isTrue();
+		assertThat(rowSet.isFirst()).isTrue();
+		assertThat(rowSet.getInt(1)).isEqualTo(1);
+
+		assertThat(rowSet.relative(2)).isTrue();
+		assertThat(rowSet.getInt(1)).isEqualTo(3);
+
+		assertThat(rowSet.relative(5)).isFalse();
+		assertThat(rowSet.isAfterLast()).isTrue();
+		assertThat(rowSet.getRow()).isEqualTo(0);
+		assertThat(rowSet.previous()).isTrue();
+		assertThat(rowSet.getInt(1)).isEqualTo(4);
+
+		assertThat(rowSet.absolute(0)).isFalse();
+		assertThat(rowSet.isBeforeFirst()).isTrue();
+		assertThat(rowSet.previous()).isFalse();
+
+		rowSet.afterLast();
+		assertThat(rowSet.next()).isFalse();
+		assertThat(rowSet.isAfterLast()).isTrue();
+
+		assertThat(rowSet.first()).isTrue();
+		assertThat(rowSet.getInt(1)).isEqualTo(1);
+		rowSet.beforeFirst();
+		assertThat(rowSet.isBeforeFirst()).isTrue();
+	}
+
+	@Test
+	void emptyResult() {
+		ColumnarSqlRowSet rowSet = this.jdbcTemplate.query(
+				"SELECT id, name FROM item WHERE id < 0", new ColumnarSqlRowSetResultSetExtractor());
+		assertThat(rowSet.getRowCount()).isEqualTo(0);
+		assertThat(rowSet.isBeforeFirst()).isFalse();
+		assertThat(rowSet.first()).isFalse();
+		assertThat(rowSet.next()).isFalse();
+		assertThat(rowSet.isAfterLast()).isFalse();
+		assertThat(rowSet.getMetaData().getColumnCount()).isEqualTo(2);
+	}
+
+	@Test
+	void conversions() {
+		ColumnarSqlRowSet rowSet = query();
+		assertThat(rowSet.next()).isTrue();
+		assertThat(rowSet.getString("id")).isEqualTo("1");
+		assertThat(rowSet.getBigDecimal("id")).isEqualTo(BigDecimal.ONE);
+		assertThat(rowSet.getDouble("big")).isEqualTo(1.0E10);
+		assertThat(rowSet.getInt("amount")).isEqualTo(12);
+		assertThat(rowSet.getShort("id")).isEqualTo((short) 1);
+		assertThat(rowSet.getObject("id", Long.class)).isEqualTo(1L);
+		assertThat(rowSet.getObject("created", LocalDateTime.class))
+				.isEqualTo(LocalDateTime.of(2024, 1, 2, 3, 4, 5));
+		assertThat(rowSet.getDate("created")).hasToString("2024-01-02");
+
+		assertThatExceptionOfType(InvalidResultSetAccessException.class)
+				.isThrownBy(() -> rowSet.getInt("name"));
+	}
+
+	@Test
+	void columnLabels() {
+		ColumnarSqlRowSet rowSet = this.jdbcTemplate.query(
+				"SELECT id AS \"Key\", name AS \"key\", name FROM item ORDER BY id",
+				new ColumnarSqlRowSetResultSetExtractor());
+		assertThat(rowSet.findColumn("Key")).isEqualTo(1);
+		assertThat(rowSet.findColumn("key")).isEqualTo(2);
+		assertThat(rowSet.findColumn("KEY")).isEqualTo(1);
+		assertThat(rowSet.findColumn("name")).isEqualTo(3);
+		assertThatExceptionOfType(InvalidResultSetAccessException.class)
+				.isThrownBy(() -> rowSet.findColumn("unknown"));
+	}
+
+	@Test
+	void invalidAccess() {
+		ColumnarSqlRowSet rowSet = query();
+		assertThatExceptionOfType(InvalidResultSetAccessException.class)
+				.isThrownBy(() -> rowSet.getInt(1));
+		rowSet.next();
+		assertThatExceptionOfType(InvalidResultSetAccessException.class)
+				.isThrownBy(() -> rowSet.getInt(0));
+		assertThatExceptionOfType(InvalidResultSetAccessException.class)
+				.isThrownBy(() -> rowSet.getInt(8));
+	}
+
+	@Test
+	void metaData() {
+		SqlRowSetMetaData metaData = query().getMetaData();
+		assertThat(metaData.getColumnCount()).isEqualTo(7);
+		assertThat(metaData.getColumnNames()).containsExactly(
+				"ID", "BIG", "SCORE", "NAME", "ACTIVE", "AMOUNT", "CREATED");
+		assertThat(metaData.getColumnType(1)).isEqualTo(Types.INTEGER);
+		assertThat(metaData.getColumnClassName(4)).isEqualTo(String.class.getName());
+		assertThat(metaData.getScale(6)).isEqualTo(2);
+	}
+
+	@Test
+	void copyHasIndependentCursor() {
+		ColumnarSqlRowSet rowSet = query();
+		rowSet.last();
+		ColumnarSqlRowSet copy = rowSet.copy();
+		assertThat(copy.isBeforeFirst()).isTrue();
+		assertThat(copy.next()).isTrue();
+		assertThat(copy.getInt(1)).isEqualTo(1);
+		assertThat(rowSet.getInt(1)).isEqualTo(4);
+	}
+
+	@Test
+	void serialization() throws Exception {
+		ColumnarSqlRowSet rowSet = SerializationTestUtils.serializeAndDeserialize(query());
+		assertThat(rowSet.absolute(3)).isTrue();
+		assertThat(rowSet.getString("name")).isEqualTo("red");
+		assertThat(rowSet.getDouble("score")).isEqualTo(1.5);
+		assertThat(rowSet.getMetaData().getColumnLabel(1)).isEqualTo("ID");
+	}
+
+	@Test
+	void lobAndArrayValuesAfterConnectionClosed() throws Exception {
+		this.jdbcTemplate.execute("CREATE TABLE document (id INTEGER, content BLOB, text CLOB, tags INTEGER ARRAY)");
+		this.jdbcTemplate.update("INSERT INTO document VALUES (?, ?, ?, ARRAY[1, 2, 3])",
+				1, new byte[] {1, 2, 3}, "lorem ipsum");
+		this.jdbcTemplate.update("INSERT INTO document VALUES (2, NULL, NULL, NULL)");
+
+		ColumnarSqlRowSet rowSet = this.jdbcTemplate.query(
+				"SELECT id, content, text, tags FROM document ORDER BY id", new ColumnarSqlRowSetResultSetExtractor());
+		assertThat(rowSet).isNotNull();
+		this.database.shutdown();
+
+		assertThat(rowSet.next()).isTrue();
+		assertThat(rowSet.getObject("content")).isEqualTo(new byte[] {1, 2, 3});
+		assertThat(rowSet.getString("text")).isEqualTo("lorem ipsum");
+		assertThat(rowSet.getObject("tags")).isInstanceOf(Array.class);
+		assertThat((Object[]) ((Array) rowSet.getObject("tags")).getArray()).containsExactly(1, 2, 3);
+		assertThat(rowSet.next()).isTrue();
+		assertThat(rowSet.getObject("content")).isNull();
+		assertThat(rowSet.getString("text")).isNull();
+		assertThat(rowSet.getObject("tags")).isNull();
+
+		rowSet = SerializationTestUtils.serializeAndDeserialize(rowSet);
+		assertThat(rowSet.first()).isTrue();
+		assertThat(rowSet.getString("text")).isEqualTo("lorem ipsum");
+	}
+
+	@Test
+	void dictionaryEncodedStrings() throws Exception {
+		ColumnVector.StringVector vector = new ColumnVector.StringVector();
+		this.jdbcTemplate.query("SELECT name FROM item ORDER BY id", rs -> {
+			vector.append(rs, 1, rs.getRow() - 1);
+		});
+		vector.trimToSize(4);
+		assertThat(vector.getDictionarySize()).isEqualTo(2);
+		assertThat(vector.getString(0)).isSameAs(vector.getString(2));
+		assertThat(vector.isNull(3)).isTrue();
+	}
+
+
+	private ColumnarSqlRowSet query() {
+		ColumnarSqlRowSet rowSet = this.jdbcTemplate.query(QUERY, new ColumnarSqlRowSetResultSetExtractor());
+		assertThat(rowSet).isNotNull();
+		return rowSet;
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -716,7 +716,9 @@ public class HibernateTransactionManager extends AbstractPlatformTransactionMana
 
 		// Remove the JDBC connection holder from the thread, if exposed.
 		if (getDataSource() != null) {
-			TransactionSynchronizationManager.unbindResource(getDataSource());
+			ConnectionHolder conHolder =
+					(ConnectionHolder) TransactionSynchronizationManager.unbindResource(getDataSource());
+			conHolder.closePreparedStatementCache();
 		}
 
 		SessionImplementor session = txObject.getSessionHolder().getSession().unwrap(SessionImplementor.class);
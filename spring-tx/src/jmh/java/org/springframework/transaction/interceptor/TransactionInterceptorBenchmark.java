@@ -0,0 +1,151 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.interceptor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Benchmark for the per-invocation overhead of {@link TransactionInterceptor}
+ * for an annotated {@code PROPAGATION_REQUIRED} method, against a transaction
+ * manager that does not do any actual resource work.
+ *
+ * <p>{@code newTransaction} invokes the method without a transaction in progress,
+ * so that each invocation begins and commits a transaction; {@code joinExisting}
+ * invokes it within an enclosing transaction that the invocation participates in.
+ */
+@BenchmarkMode(Mode.Throughput)
+public class TransactionInterceptorBenchmark {
+
+	@State(Scope.Thread)
+	public static class BenchmarkState {
+
+		public NoOpTransactionManager transactionManager;
+
+		public Service service;
+
+		@Setup
+		public void setup() {
+			this.transactionManager = new NoOpTransactionManager();
+			TransactionInterceptor interceptor = new TransactionInterceptor(
+					this.transactionManager, new AnnotationTransactionAttributeSource());
+			ProxyFactory proxyFactory = new ProxyFactory(new DefaultService());
+			proxyFactory.addAdvice(interceptor);
+			this.service = (Service) proxyFactory.getProxy();
+		}
+	}
+
+	@State(Scope.Thread)
+	public static class EnclosingTransactionState {
+
+		public TransactionStatus status;
+
+		@Setup(Level.Iteration)
+		public void begin(BenchmarkState state) {
+			this.status = state.transactionManager.getTransaction(TransactionDefinition.withDefaults());
+		}
+
+		@TearDown(Level.Iteration)
+		public void commit(BenchmarkState state) {
+			state.transactionManager.commit(this.status);
+		}
+	}
+
+
+	@Benchmark
+	public int newTransaction(BenchmarkState state) {
+		return state.service.required();
+	}
+
+	@Benchmark
+	public int joinExisting(BenchmarkState state, EnclosingTransactionState enclosing) {
+		return state.service.required();
+	}
+
+
+	public interface Service {
+
+		int required();
+	}
+
+
+	static class DefaultService implements Service {
+
+		private int counter;
+
+		@Override
+		@Transactional
+		public int required() {
+			return ++this.counter;
+		}
+	}
+
+
+	/**
+	 * Transaction manager binding a marker resource to the thread for the
+	 * duration of a transaction, without any actual resource work.
+	 */
+	@SuppressWarnings("serial")
+	static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+		private final Object resourceKey = new Object();
+
+		@Override
+		protected Object doGetTransaction() {
+			return new Object[] {TransactionSynchronizationManager.getResource(this.resourceKey)};
+		}
+
+		@Override
+		protected boolean isExistingTransaction(Object transaction) {
+			return (((Object[]) transaction)[0] != null);
+		}
+
+		@Override
+		protected void doBegin(Object transaction, TransactionDefinition definition) {
+			TransactionSynchronizationManager.bindResource(this.resourceKey, Boolean.TRUE);
+		}
+
+		@Override
+		protected void doCommit(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doRollback(DefaultTransactionStatus status) {
+		}
+
+		@Override
+		protected void doCleanupAfterCompletion(Object transaction) {
+			TransactionSynchronizationManager.unbindResource(this.resourceKey);
+		}
+	}
+
+}
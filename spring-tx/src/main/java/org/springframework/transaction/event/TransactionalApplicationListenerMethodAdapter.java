@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import org.springframework.context.event.ApplicationListenerMethodAdapter;
 import org.springframework.context.event.EventListener;
 import org.springframework.context.event.GenericApplicationListener;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.util.Assert;
 
@@ -38,6 +39,11 @@ import org.springframework.util.Assert;
  * when Spring's transaction management is enabled. For other cases, registering
  * a bean of type {@link TransactionalEventListenerFactory} is required.
  *
+ * <p>If a {@link TransactionalEventOutbox} is set, events for an
+ * {@link TransactionPhase#AFTER_COMMIT} listener are handed to the outbox
+ * within the publishing transaction. The outbox then dispatches them
+ * asynchronously after commit, instead of the committing thread.
+ *
  * @author Stephane Nicoll
  * @author Juergen Hoeller
  * @since 5.3
@@ -54,6 +60,9 @@ public class TransactionalApplicationListenerMethodAdapter extends ApplicationLi
 
 	private final List<SynchronizationCallback> callbacks = new CopyOnWriteArrayList<>();
 
+	@Nullable
+	private TransactionalEventOutbox outbox;
+
 
 	/**
 	 * Construct a new TransactionalApplicationListenerMethodAdapter.
@@ -84,13 +93,37 @@ public class TransactionalApplicationListenerMethodAdapter extends ApplicationLi
 		this.callbacks.add(callback);
 	}
 
+	/**
+	 * Set a {@link TransactionalEventOutbox} to store events in for asynchronous
+	 * dispatch, if this listener runs in the {@link TransactionPhase#AFTER_COMMIT}
+	 * phase. Ignored for any other phase.
+	 * <p>Note that {@link #addCallback synchronization callbacks} do not apply
+	 * to events dispatched from an outbox.
+	 * @since 5.3.37
+	 */
+	public void setOutbox(@Nullable TransactionalEventOutbox outbox) {
+		if (outbox != null && getTransactionPhase() == TransactionPhase.AFTER_COMMIT) {
+			outbox.registerListener(this);
+			this.outbox = outbox;
+		}
+		else {
+			this.outbox = null;
+		}
+	}
+
 
 	@Override
 	public void onApplicationEvent(ApplicationEvent event) {
 		if (TransactionSynchronizationManager.isSynchronizationActive() &&
 				TransactionSynchronizationManager.isActualTransactionActive()) {
-			TransactionSynchronizationManager.registerSynchronization(
-					new TransactionalApplicationListenerSynchronization<>(event, this, this.callbacks));
+			TransactionalEventOutbox outbox = this.outbox;
+			if (outbox != null) {
+				outbox.store(event, this);
+			}
+			else {
+				TransactionSynchronizationManager.registerSynchronization(
+						new TransactionalApplicationListenerSynchronization<>(event, this, this.callbacks));
+			}
 		}
 		else if (this.fallbackExecution) {
 			if (getTransactionPhase() == TransactionPhase.AFTER_ROLLBACK && logger.isWarnEnabled()) {
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,7 @@ import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.EventListenerFactory;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.lang.Nullable;
 
 /**
  * {@link EventListenerFactory} implementation that handles {@link TransactionalEventListener}
@@ -35,6 +36,9 @@ public class TransactionalEventListenerFactory implements EventListenerFactory,
 
 	private int order = 50;
 
+	@Nullable
+	private TransactionalEventOutbox outbox;
+
 
 	public void setOrder(int order) {
 		this.order = order;
@@ -45,6 +49,16 @@ public class TransactionalEventListenerFactory implements EventListenerFactory,
 		return this.order;
 	}
 
+	/**
+	 * Set a {@link TransactionalEventOutbox} for durable, asynchronous dispatch
+	 * to {@link TransactionPhase#AFTER_COMMIT} listeners created by this factory.
+	 * @since 5.3.37
+	 * @see TransactionalApplicationListenerMethodAdapter#setOutbox
+	 */
+	public void setOutbox(@Nullable TransactionalEventOutbox outbox) {
+		this.outbox = outbox;
+	}
+
 
 	@Override
 	public boolean supportsMethod(Method method) {
@@ -53,7 +67,10 @@ public class TransactionalEventListenerFactory implements EventListenerFactory,
 
 	@Override
 	public ApplicationListener<?> createApplicationListener(String beanName, Class<?> type, Method method) {
-		return new TransactionalApplicationListenerMethodAdapter(beanName, type, method);
+		TransactionalApplicationListenerMethodAdapter listener =
+				new TransactionalApplicationListenerMethodAdapter(beanName, type, method);
+		listener.setOutbox(this.outbox);
+		return listener;
 	}
 
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Strategy for durably storing events for {@link TransactionPhase#AFTER_COMMIT}
+ * listeners as part of the publishing transaction, for asynchronous dispatch
+ * once that transaction has committed.
+ *
+ * <p>This takes listener invocation off the committing thread. Because events
+ * are stored along with the business data, they also survive a crash between
+ * commit and delivery. Implementations dispatch events via
+ * {@link TransactionalApplicationListener#processEvent}, typically with
+ * at-least-once semantics. Listeners should therefore be idempotent.
+ *
+ * @since 5.3.37
+ * @see TransactionalEventListenerFactory#setOutbox
+ * @see TransactionalApplicationListenerMethodAdapter#setOutbox
+ */
+public interface TransactionalEventOutbox {
+
+	/**
+	 * Register the given listener as a dispatch target, keyed by its
+	 * {@link TransactionalApplicationListener#getListenerId() listener id}.
+	 * <p>Listeners are registered upfront, so that events stored before
+	 * a restart can be dispatched once the application is running again.
+	 * @param listener the listener to register
+	 */
+	void registerListener(TransactionalApplicationListener<?> listener);
+
+	/**
+	 * Store the given event for later dispatch to the given listener.
+	 * <p>Called within an active, synchronized transaction. The event must be
+	 * written as part of that transaction, or not at all.
+	 * @param event the event to store
+	 * @param listener the listener to dispatch the event to
+	 */
+	void store(ApplicationEvent event, TransactionalApplicationListener<?> listener);
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -36,6 +36,7 @@ import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.BeanFactoryAnnotationUtils;
 import org.springframework.core.CoroutinesUtils;
 import org.springframework.core.KotlinDetector;
+import org.springframework.core.MethodClassKey;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.NamedThreadLocal;
 import org.springframework.core.ReactiveAdapter;
@@ -53,6 +54,7 @@ import org.springframework.transaction.support.CallbackPreferringPlatformTransac
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
 import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.util.StringUtils;
 
 /**
@@ -185,6 +187,21 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	private final ConcurrentMap<Method, ReactiveTransactionSupport> transactionSupportCache =
 			new ConcurrentReferenceHashMap<>(1024);
 
+	private final ConcurrentMap<Object, TransactionInvocationPlan> invocationPlanCache =
+			new ConcurrentReferenceHashMap<>(1024);
+
+	/**
+	 * Whether {@link #determineTransactionManager} has been overridden,
+	 * in which case it gets consulted for every invocation.
+	 */
+	private final boolean customTransactionManagerDetermination;
+
+	/**
+	 * Whether {@link #methodIdentification(Method, Class)} has been overridden,
+	 * in which case invocation plans do not get cached.
+	 */
+	private final boolean customMethodIdentification;
+
 
 	protected TransactionAspectSupport() {
 		if (reactiveStreamsPresent) {
@@ -193,6 +210,14 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		else {
 			this.reactiveAdapterRegistry = null;
 		}
+		Method determineMethod = ReflectionUtils.findMethod(
+				getClass(), "determineTransactionManager", TransactionAttribute.class);
+		this.customTransactionManagerDetermination =
+				(determineMethod != null && determineMethod.getDeclaringClass() != TransactionAspectSupport.class);
+		Method identificationMethod = ReflectionUtils.findMethod(
+				getClass(), "methodIdentification", Method.class, Class.class);
+		this.customMethodIdentification =
+				(identificationMethod != null && identificationMethod.getDeclaringClass() != TransactionAspectSupport.class);
 	}
 
 
@@ -203,6 +228,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManagerBeanName(@Nullable String transactionManagerBeanName) {
 		this.transactionManagerBeanName = transactionManagerBeanName;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -224,6 +250,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionManager(@Nullable TransactionManager transactionManager) {
 		this.transactionManager = transactionManager;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -252,6 +279,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		NameMatchTransactionAttributeSource tas = new NameMatchTransactionAttributeSource();
 		tas.setProperties(transactionAttributes);
 		this.transactionAttributeSource = tas;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -264,6 +292,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSources(TransactionAttributeSource... transactionAttributeSources) {
 		this.transactionAttributeSource = new CompositeTransactionAttributeSource(transactionAttributeSources);
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -277,6 +306,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	 */
 	public void setTransactionAttributeSource(@Nullable TransactionAttributeSource transactionAttributeSource) {
 		this.transactionAttributeSource = transactionAttributeSource;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -293,6 +323,7 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	@Override
 	public void setBeanFactory(@Nullable BeanFactory beanFactory) {
 		this.beanFactory = beanFactory;
+		this.invocationPlanCache.clear();
 	}
 
 	/**
@@ -337,9 +368,10 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 			final InvocationCallback invocation) throws Throwable {
 
 		// If the transaction attribute is null, the method is non-transactional.
-		TransactionAttributeSource tas = getTransactionAttributeSource();
-		final TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
-		final TransactionManager tm = determineTransactionManager(txAttr);
+		TransactionInvocationPlan plan = getInvocationPlan(method, targetClass);
+		final TransactionAttribute txAttr = plan.transactionAttribute;
+		final TransactionManager tm = (plan.transactionManagerResolved ?
+				plan.transactionManager : determineTransactionManager(txAttr));
 
 		if (this.reactiveAdapterRegistry != null && tm instanceof ReactiveTransactionManager) {
 			boolean isSuspendingFunction = KotlinDetector.isSuspendingFunction(method);
@@ -375,11 +407,13 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		}
 
 		PlatformTransactionManager ptm = asPlatformTransactionManager(tm);
-		final String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+		final String joinpointIdentification = plan.joinpointIdentification;
 
 		if (txAttr == null || !(ptm instanceof CallbackPreferringPlatformTransactionManager)) {
 			// Standard transaction demarcation with getTransaction and commit/rollback calls.
-			TransactionInfo txInfo = createTransactionIfNecessary(ptm, txAttr, joinpointIdentification);
+			// The plan's named attribute spares createTransactionIfNecessary a per-call wrapper.
+			TransactionInfo txInfo = createTransactionIfNecessary(
+					ptm, plan.namedTransactionAttribute, joinpointIdentification);
 
 			Object retVal;
 			try {
@@ -470,11 +504,39 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 		}
 	}
 
+	/**
+	 * Obtain the invocation plan for the given method, resolving the transaction
+	 * attribute, the transaction manager and the joinpoint identification on
+	 * first invocation and reusing them for subsequent invocations.
+	 * <p>The transaction manager is only held in the plan if
+	 * {@link #determineTransactionManager} has not been overridden.
+	 * Plans are only cached for an {@link AbstractFallbackTransactionAttributeSource},
+	 * which caches its attributes itself, and if {@link #methodIdentification(Method, Class)}
+	 * has not been overridden: otherwise, they get resolved for every invocation.
+	 */
+	private TransactionInvocationPlan getInvocationPlan(Method method, @Nullable Class<?> targetClass) {
+		Object cacheKey = new MethodClassKey(method, targetClass);
+		TransactionInvocationPlan plan = this.invocationPlanCache.get(cacheKey);
+		if (plan == null) {
+			TransactionAttributeSource tas = getTransactionAttributeSource();
+			TransactionAttribute txAttr = (tas != null ? tas.getTransactionAttribute(method, targetClass) : null);
+			String joinpointIdentification = methodIdentification(method, targetClass, txAttr);
+			plan = (this.customTransactionManagerDetermination ?
+					new TransactionInvocationPlan(txAttr, joinpointIdentification) :
+					new TransactionInvocationPlan(txAttr, joinpointIdentification, determineTransactionManager(txAttr)));
+			if (tas instanceof AbstractFallbackTransactionAttributeSource && !this.customMethodIdentification) {
+				this.invocationPlanCache.put(cacheKey, plan);
+			}
+		}
+		return plan;
+	}
+
 	/**
 	 * Clear the transaction manager cache.
 	 */
 	protected void clearTransactionManagerCache() {
 		this.transactionManagerCache.clear();
+		this.invocationPlanCache.clear();
 		this.beanFactory = null;
 	}
 
@@ -712,6 +774,56 @@ public abstract class TransactionAspectSupport implements BeanFactoryAware, Init
 	}
 
 
+	/**
+	 * Per-method invocation plan: the transaction attribute as resolved from the
+	 * {@link TransactionAttributeSource}, the same attribute with the joinpoint
+	 * identification applied as default transaction name, and the transaction
+	 * manager if it can be determined upfront.
+	 */
+	private static final class TransactionInvocationPlan {
+
+		@Nullable
+		final TransactionAttribute transactionAttribute;
+
+		@Nullable
+		final TransactionAttribute namedTransactionAttribute;
+
+		final String joinpointIdentification;
+
+		final boolean transactionManagerResolved;
+
+		@Nullable
+		final TransactionManager transactionManager;
+
+		TransactionInvocationPlan(@Nullable TransactionAttribute txAttr, String joinpointIdentification) {
+			this(txAttr, joinpointIdentification, false, null);
+		}
+
+		TransactionInvocationPlan(@Nullable TransactionAttribute txAttr, String joinpointIdentification,
+				@Nullable TransactionManager transactionManager) {
+
+			this(txAttr, joinpointIdentification, true, transactionManager);
+		}
+
+		@SuppressWarnings("serial")
+		private TransactionInvocationPlan(@Nullable TransactionAttribute txAttr, String joinpointIdentification,
+				boolean transactionManagerResolved, @Nullable TransactionManager transactionManager) {
+
+			this.transactionAttribute = txAttr;
+			this.namedTransactionAttribute = (txAttr != null && txAttr.getName() == null ?
+					new DelegatingTransactionAttribute(txAttr) {
+						@Override
+						public String getName() {
+							return joinpointIdentification;
+						}
+					} : txAttr);
+			this.joinpointIdentification = joinpointIdentification;
+			this.transactionManagerResolved = transactionManagerResolved;
+			this.transactionManager = transactionManager;
+		}
+	}
+
+
 	/**
 	 * Opaque object used to hold transaction information. Subclasses
 	 * must pass it back to methods on this class, but not see its internals.
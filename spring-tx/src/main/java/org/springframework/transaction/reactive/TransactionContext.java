@@ -16,14 +16,17 @@
 
 package org.springframework.transaction.reactive;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 
+import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
-import org.springframework.util.function.SingletonSupplier;
 
 /**
  * Mutable transaction context that encapsulates transactional synchronizations and
@@ -31,6 +34,11 @@ import org.springframework.util.function.SingletonSupplier;
  * held by an outer {@link TransactionContextHolder} or referenced directly within
  * from the subscriber context.
  *
+ * <p>As of 5.3.37, the resource map and the context id are created lazily,
+ * and the sorted snapshot of registered synchronizations is cached until
+ * a further synchronization gets registered or the synchronization set is
+ * exposed through {@link #getSynchronizations()}.
+ *
  * @author Mark Paluch
  * @author Juergen Hoeller
  * @since 5.2
@@ -42,13 +50,18 @@ public class TransactionContext {
 	@Nullable
 	private final TransactionContext parent;
 
-	private final SingletonSupplier<UUID> contextId = SingletonSupplier.of(UUID::randomUUID);
+	@Nullable
+	private volatile UUID contextId;
 
-	private final Map<Object, Object> resources = new LinkedHashMap<>();
+	@Nullable
+	private Map<Object, Object> resources;
 
 	@Nullable
 	private Set<TransactionSynchronization> synchronizations;
 
+	@Nullable
+	private List<TransactionSynchronization> sortedSynchronizations;
+
 	@Nullable
 	private volatile String currentTransactionName;
 
@@ -85,20 +98,114 @@ public class TransactionContext {
 
 	@Deprecated
 	public UUID getContextId() {
-		return this.contextId.obtain();
+		UUID contextId = this.contextId;
+		if (contextId == null) {
+			synchronized (this) {
+				contextId = this.contextId;
+				if (contextId == null) {
+					contextId = UUID.randomUUID();
+					this.contextId = contextId;
+				}
+			}
+		}
+		return contextId;
 	}
 
 	public Map<Object, Object> getResources() {
-		return this.resources;
+		Map<Object, Object> resources = this.resources;
+		if (resources == null) {
+			resources = new LinkedHashMap<>(4);
+			this.resources = resources;
+		}
+		return resources;
+	}
+
+	/**
+	 * Look up the resource for the given key without initializing the
+	 * resource map if none has been bound yet.
+	 */
+	@Nullable
+	Object getResource(Object key) {
+		Map<Object, Object> resources = this.resources;
+		return (resources != null ? resources.get(key) : null);
+	}
+
+	/**
+	 * Remove the resource for the given key without initializing the
+	 * resource map if none has been bound yet.
+	 */
+	@Nullable
+	Object removeResource(Object key) {
+		Map<Object, Object> resources = this.resources;
+		return (resources != null ? resources.remove(key) : null);
 	}
 
 	public void setSynchronizations(@Nullable Set<TransactionSynchronization> synchronizations) {
 		this.synchronizations = synchronizations;
+		this.sortedSynchronizations = null;
 	}
 
+	/**
+	 * Return the mutable set of active synchronizations, if any.
+	 * <p>Since the caller may modify the returned set, this discards
+	 * the cached sorted snapshot of the synchronizations.
+	 */
 	@Nullable
 	public Set<TransactionSynchronization> getSynchronizations() {
-		return this.synchronizations;
+		Set<TransactionSynchronization> synchs = this.synchronizations;
+		if (synchs != null) {
+			this.sortedSynchronizations = null;
+		}
+		return synchs;
+	}
+
+	/**
+	 * Return whether transaction synchronization is active,
+	 * without exposing the synchronization set.
+	 */
+	boolean isSynchronizationActive() {
+		return (this.synchronizations != null);
+	}
+
+	/**
+	 * Add the given synchronization to the active synchronization set,
+	 * invalidating the cached sorted snapshot if it has not been registered yet.
+	 * @return {@code false} if synchronization is not active
+	 */
+	boolean registerSynchronization(TransactionSynchronization synchronization) {
+		Set<TransactionSynchronization> synchs = this.synchronizations;
+		if (synchs == null) {
+			return false;
+		}
+		if (synchs.add(synchronization)) {
+			this.sortedSynchronizations = null;
+		}
+		return true;
+	}
+
+	/**
+	 * Return an unmodifiable snapshot of the active synchronizations in order,
+	 * sorting them only if the set has been modified or exposed since the
+	 * previous call.
+	 * @return the sorted snapshot, or {@code null} if synchronization is not active
+	 */
+	@Nullable
+	List<TransactionSynchronization> getSortedSynchronizations() {
+		Set<TransactionSynchronization> synchs = this.synchronizations;
+		if (synchs == null) {
+			return null;
+		}
+		List<TransactionSynchronization> sorted = this.sortedSynchronizations;
+		if (sorted == null) {
+			if (synchs.isEmpty()) {
+				return Collections.emptyList();
+			}
+			List<TransactionSynchronization> sortedSynchs = new ArrayList<>(synchs);
+			AnnotationAwareOrderComparator.sort(sortedSynchs);
+			sorted = Collections.unmodifiableList(sortedSynchs);
+			this.sortedSynchronizations = sorted;
+		}
+		return sorted;
 	}
 
 	public void setCurrentTransactionName(@Nullable String currentTransactionName) {
@@ -138,6 +245,7 @@ public class TransactionContext {
 
 	public void clear() {
 		this.synchronizations = null;
+		this.sortedSynchronizations = null;
 		this.currentTransactionName = null;
 		this.currentTransactionReadOnly = false;
 		this.currentTransactionIsolationLevel = null;
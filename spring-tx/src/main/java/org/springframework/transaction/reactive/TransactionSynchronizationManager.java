@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2023 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,16 +16,12 @@
 
 package org.springframework.transaction.reactive;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
 import reactor.core.publisher.Mono;
 
-import org.springframework.core.annotation.AnnotationAwareOrderComparator;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.NoTransactionException;
 import org.springframework.util.Assert;
@@ -118,7 +114,7 @@ public class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private Object doGetResource(Object actualKey) {
-		return this.transactionContext.getResources().get(actualKey);
+		return this.transactionContext.getResource(actualKey);
 	}
 
 	/**
@@ -169,8 +165,7 @@ public class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private Object doUnbindResource(Object actualKey) {
-		Map<Object, Object> map = this.transactionContext.getResources();
-		return map.remove(actualKey);
+		return this.transactionContext.removeResource(actualKey);
 	}
 
 
@@ -184,7 +179,7 @@ public class TransactionSynchronizationManager {
 	 * @see #registerSynchronization
 	 */
 	public boolean isSynchronizationActive() {
-		return (this.transactionContext.getSynchronizations() != null);
+		return this.transactionContext.isSynchronizationActive();
 	}
 
 	/**
@@ -213,11 +208,9 @@ public class TransactionSynchronizationManager {
 			throws IllegalStateException {
 
 		Assert.notNull(synchronization, "TransactionSynchronization must not be null");
-		Set<TransactionSynchronization> synchs = this.transactionContext.getSynchronizations();
-		if (synchs == null) {
+		if (!this.transactionContext.registerSynchronization(synchronization)) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
-		synchs.add(synchronization);
 	}
 
 	/**
@@ -228,22 +221,15 @@ public class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization
 	 */
 	public List<TransactionSynchronization> getSynchronizations() throws IllegalStateException {
-		Set<TransactionSynchronization> synchs = this.transactionContext.getSynchronizations();
-		if (synchs == null) {
-			throw new IllegalStateException("Transaction synchronization is not active");
-		}
 		// Return unmodifiable snapshot, to avoid ConcurrentModificationExceptions
 		// while iterating and invoking synchronization callbacks that in turn
-		// might register further synchronizations.
-		if (synchs.isEmpty()) {
-			return Collections.emptyList();
-		}
-		else {
-			// Sort lazily here, not in registerSynchronization.
-			List<TransactionSynchronization> sortedSynchs = new ArrayList<>(synchs);
-			AnnotationAwareOrderComparator.sort(sortedSynchs);
-			return Collections.unmodifiableList(sortedSynchs);
+		// might register further synchronizations. Sorted lazily here, not in
+		// registerSynchronization, and cached until the next registration.
+		List<TransactionSynchronization> synchs = this.transactionContext.getSortedSynchronizations();
+		if (synchs == null) {
+			throw new IllegalStateException("Transaction synchronization is not active");
 		}
+		return synchs;
 	}
 
 	/**
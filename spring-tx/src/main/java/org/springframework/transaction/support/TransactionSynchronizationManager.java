@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,8 +18,8 @@ package org.springframework.transaction.support;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.LinkedHashSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -61,6 +61,10 @@ import org.springframework.util.Assert;
  * within a JTA transaction, e.g. a JDBC Connection or a Hibernate Session for
  * any given DataSource or SessionFactory, respectively.
  *
+ * <p>As of 5.3.37, all of this state is held in a single context object per
+ * thread, storing the typical one or two bound resources in a small array and
+ * sorting registered synchronizations only when new ones have been added.
+ *
  * @author Juergen Hoeller
  * @since 02.06.2003
  * @see #isSynchronizationActive
@@ -73,23 +77,39 @@ import org.springframework.util.Assert;
  */
 public abstract class TransactionSynchronizationManager {
 
-	private static final ThreadLocal<Map<Object, Object>> resources =
-			new NamedThreadLocal<>("Transactional resources");
-
-	private static final ThreadLocal<Set<TransactionSynchronization>> synchronizations =
-			new NamedThreadLocal<>("Transaction synchronizations");
+	private static final ThreadLocal<SynchronizationContext> context =
+			new NamedThreadLocal<>("Transaction synchronization context");
 
-	private static final ThreadLocal<String> currentTransactionName =
-			new NamedThreadLocal<>("Current transaction name");
 
-	private static final ThreadLocal<Boolean> currentTransactionReadOnly =
-			new NamedThreadLocal<>("Current transaction read-only status");
+	/**
+	 * Return the context bound to the current thread, or {@code null} if none.
+	 */
+	@Nullable
+	private static SynchronizationContext currentContext() {
+		return context.get();
+	}
 
-	private static final ThreadLocal<Integer> currentTransactionIsolationLevel =
-			new NamedThreadLocal<>("Current transaction isolation level");
+	/**
+	 * Return the context bound to the current thread, binding a new one if none.
+	 */
+	private static SynchronizationContext obtainContext() {
+		SynchronizationContext ctx = context.get();
+		if (ctx == null) {
+			ctx = new SynchronizationContext();
+			context.set(ctx);
+		}
+		return ctx;
+	}
 
-	private static final ThreadLocal<Boolean> actualTransactionActive =
-			new NamedThreadLocal<>("Actual transaction active");
+	/**
+	 * Remove the entire ThreadLocal once the given context does not hold any state
+	 * anymore, not retaining anything on pooled threads in between transactions.
+	 */
+	private static void releaseIfEmpty(SynchronizationContext ctx) {
+		if (ctx.isEmpty()) {
+			context.remove();
+		}
+	}
 
 
 	//-------------------------------------------------------------------------
@@ -106,8 +126,9 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #hasResource
 	 */
 	public static Map<Object, Object> getResourceMap() {
-		Map<Object, Object> map = resources.get();
-		return (map != null ? Collections.unmodifiableMap(map) : Collections.emptyMap());
+		SynchronizationContext ctx = currentContext();
+		return (ctx != null && ctx.resourceCount > 0 ?
+				Collections.unmodifiableMap(ctx.getResourceMap()) : Collections.emptyMap());
 	}
 
 	/**
@@ -140,18 +161,16 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private static Object doGetResource(Object actualKey) {
-		Map<Object, Object> map = resources.get();
-		if (map == null) {
+		SynchronizationContext ctx = currentContext();
+		if (ctx == null) {
 			return null;
 		}
-		Object value = map.get(actualKey);
+		Object value = ctx.getResource(actualKey);
 		// Transparently remove ResourceHolder that was marked as void...
 		if (value instanceof ResourceHolder && ((ResourceHolder) value).isVoid()) {
-			map.remove(actualKey);
+			ctx.removeResource(actualKey);
 			// Remove entire ThreadLocal if empty...
-			if (map.isEmpty()) {
-				resources.remove();
-			}
+			releaseIfEmpty(ctx);
 			value = null;
 		}
 		return value;
@@ -167,13 +186,7 @@ public abstract class TransactionSynchronizationManager {
 	public static void bindResource(Object key, Object value) throws IllegalStateException {
 		Object actualKey = TransactionSynchronizationUtils.unwrapResourceIfNecessary(key);
 		Assert.notNull(value, "Value must not be null");
-		Map<Object, Object> map = resources.get();
-		// set ThreadLocal Map if none found
-		if (map == null) {
-			map = new HashMap<>();
-			resources.set(map);
-		}
-		Object oldValue = map.put(actualKey, value);
+		Object oldValue = obtainContext().putResource(actualKey, value);
 		// Transparently suppress a ResourceHolder that was marked as void...
 		if (oldValue instanceof ResourceHolder && ((ResourceHolder) oldValue).isVoid()) {
 			oldValue = null;
@@ -216,15 +229,13 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	private static Object doUnbindResource(Object actualKey) {
-		Map<Object, Object> map = resources.get();
-		if (map == null) {
+		SynchronizationContext ctx = currentContext();
+		if (ctx == null) {
 			return null;
 		}
-		Object value = map.remove(actualKey);
+		Object value = ctx.removeResource(actualKey);
 		// Remove entire ThreadLocal if empty...
-		if (map.isEmpty()) {
-			resources.remove();
-		}
+		releaseIfEmpty(ctx);
 		// Transparently suppress a ResourceHolder that was marked as void...
 		if (value instanceof ResourceHolder && ((ResourceHolder) value).isVoid()) {
 			value = null;
@@ -243,7 +254,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #registerSynchronization
 	 */
 	public static boolean isSynchronizationActive() {
-		return (synchronizations.get() != null);
+		SynchronizationContext ctx = currentContext();
+		return (ctx != null && ctx.synchronizationActive);
 	}
 
 	/**
@@ -255,7 +267,7 @@ public abstract class TransactionSynchronizationManager {
 		if (isSynchronizationActive()) {
 			throw new IllegalStateException("Cannot activate transaction synchronization - already active");
 		}
-		synchronizations.set(new LinkedHashSet<>());
+		obtainContext().synchronizationActive = true;
 	}
 
 	/**
@@ -272,11 +284,11 @@ public abstract class TransactionSynchronizationManager {
 			throws IllegalStateException {
 
 		Assert.notNull(synchronization, "TransactionSynchronization must not be null");
-		Set<TransactionSynchronization> synchs = synchronizations.get();
-		if (synchs == null) {
+		SynchronizationContext ctx = currentContext();
+		if (ctx == null || !ctx.synchronizationActive) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
-		synchs.add(synchronization);
+		ctx.registerSynchronization(synchronization);
 	}
 
 	/**
@@ -287,22 +299,14 @@ public abstract class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization
 	 */
 	public static List<TransactionSynchronization> getSynchronizations() throws IllegalStateException {
-		Set<TransactionSynchronization> synchs = synchronizations.get();
-		if (synchs == null) {
+		SynchronizationContext ctx = currentContext();
+		if (ctx == null || !ctx.synchronizationActive) {
 			throw new IllegalStateException("Transaction synchronization is not active");
 		}
 		// Return unmodifiable snapshot, to avoid ConcurrentModificationExceptions
 		// while iterating and invoking synchronization callbacks that in turn
 		// might register further synchronizations.
-		if (synchs.isEmpty()) {
-			return Collections.emptyList();
-		}
-		else {
-			// Sort lazily here, not in registerSynchronization.
-			List<TransactionSynchronization> sortedSynchs = new ArrayList<>(synchs);
-			OrderComparator.sort(sortedSynchs);
-			return Collections.unmodifiableList(sortedSynchs);
-		}
+		return ctx.getSynchronizationSnapshot();
 	}
 
 	/**
@@ -314,7 +318,9 @@ public abstract class TransactionSynchronizationManager {
 		if (!isSynchronizationActive()) {
 			throw new IllegalStateException("Cannot deactivate transaction synchronization - not active");
 		}
-		synchronizations.remove();
+		SynchronizationContext ctx = obtainContext();
+		ctx.clearSynchronizations();
+		releaseIfEmpty(ctx);
 	}
 
 
@@ -329,7 +335,11 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#getName()
 	 */
 	public static void setCurrentTransactionName(@Nullable String name) {
-		currentTransactionName.set(name);
+		SynchronizationContext ctx = (name != null ? obtainContext() : currentContext());
+		if (ctx != null) {
+			ctx.currentTransactionName = name;
+			releaseIfEmpty(ctx);
+		}
 	}
 
 	/**
@@ -340,7 +350,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static String getCurrentTransactionName() {
-		return currentTransactionName.get();
+		SynchronizationContext ctx = currentContext();
+		return (ctx != null ? ctx.currentTransactionName : null);
 	}
 
 	/**
@@ -351,7 +362,11 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#isReadOnly()
 	 */
 	public static void setCurrentTransactionReadOnly(boolean readOnly) {
-		currentTransactionReadOnly.set(readOnly ? Boolean.TRUE : null);
+		SynchronizationContext ctx = (readOnly ? obtainContext() : currentContext());
+		if (ctx != null) {
+			ctx.currentTransactionReadOnly = readOnly;
+			releaseIfEmpty(ctx);
+		}
 	}
 
 	/**
@@ -367,7 +382,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see TransactionSynchronization#beforeCommit(boolean)
 	 */
 	public static boolean isCurrentTransactionReadOnly() {
-		return (currentTransactionReadOnly.get() != null);
+		SynchronizationContext ctx = currentContext();
+		return (ctx != null && ctx.currentTransactionReadOnly);
 	}
 
 	/**
@@ -387,7 +403,11 @@ public abstract class TransactionSynchronizationManager {
 	 * @see org.springframework.transaction.TransactionDefinition#getIsolationLevel()
 	 */
 	public static void setCurrentTransactionIsolationLevel(@Nullable Integer isolationLevel) {
-		currentTransactionIsolationLevel.set(isolationLevel);
+		SynchronizationContext ctx = (isolationLevel != null ? obtainContext() : currentContext());
+		if (ctx != null) {
+			ctx.currentTransactionIsolationLevel = isolationLevel;
+			releaseIfEmpty(ctx);
+		}
 	}
 
 	/**
@@ -409,7 +429,8 @@ public abstract class TransactionSynchronizationManager {
 	 */
 	@Nullable
 	public static Integer getCurrentTransactionIsolationLevel() {
-		return currentTransactionIsolationLevel.get();
+		SynchronizationContext ctx = currentContext();
+		return (ctx != null ? ctx.currentTransactionIsolationLevel : null);
 	}
 
 	/**
@@ -419,7 +440,11 @@ public abstract class TransactionSynchronizationManager {
 	 * with an actual transaction; {@code false} to reset that marker
 	 */
 	public static void setActualTransactionActive(boolean active) {
-		actualTransactionActive.set(active ? Boolean.TRUE : null);
+		SynchronizationContext ctx = (active ? obtainContext() : currentContext());
+		if (ctx != null) {
+			ctx.actualTransactionActive = active;
+			releaseIfEmpty(ctx);
+		}
 	}
 
 	/**
@@ -434,7 +459,8 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #isSynchronizationActive()
 	 */
 	public static boolean isActualTransactionActive() {
-		return (actualTransactionActive.get() != null);
+		SynchronizationContext ctx = currentContext();
+		return (ctx != null && ctx.actualTransactionActive);
 	}
 
 
@@ -448,11 +474,181 @@ public abstract class TransactionSynchronizationManager {
 	 * @see #setActualTransactionActive
 	 */
 	public static void clear() {
-		synchronizations.remove();
-		currentTransactionName.remove();
-		currentTransactionReadOnly.remove();
-		currentTransactionIsolationLevel.remove();
-		actualTransactionActive.remove();
+		SynchronizationContext ctx = currentContext();
+		if (ctx != null) {
+			ctx.clearSynchronizations();
+			ctx.currentTransactionName = null;
+			ctx.currentTransactionReadOnly = false;
+			ctx.currentTransactionIsolationLevel = null;
+			ctx.actualTransactionActive = false;
+			releaseIfEmpty(ctx);
+		}
+	}
+
+
+	/**
+	 * Holder for all transaction synchronization state of a single thread.
+	 * <p>Resources are kept as alternating key/value pairs in a small array,
+	 * looked up by linear scan: transactions rarely bind more than one or two
+	 * resources, so this beats hashing and does not allocate per entry.
+	 */
+	private static final class SynchronizationContext {
+
+		private static final int INITIAL_RESOURCE_CAPACITY = 2;
+
+		@Nullable
+		private Object[] resources;
+
+		private int resourceCount;
+
+		private boolean synchronizationActive;
+
+		@Nullable
+		private List<TransactionSynchronization> synchronizations;
+
+		@Nullable
+		private Set<TransactionSynchronization> registeredSynchronizations;
+
+		private boolean synchronizationsSorted = true;
+
+		@Nullable
+		private List<TransactionSynchronization> synchronizationSnapshot;
+
+		@Nullable
+		private String currentTransactionName;
+
+		private boolean currentTransactionReadOnly;
+
+		@Nullable
+		private Integer currentTransactionIsolationLevel;
+
+		private boolean actualTransactionActive;
+
+		private int indexOfResource(Object key) {
+			Object[] resources = this.resources;
+			if (resources != null) {
+				for (int i = 0; i < this.resourceCount; i++) {
+					Object candidate = resources[i << 1];
+					if (candidate == key || candidate.equals(key)) {
+						return i;
+					}
+				}
+			}
+			return -1;
+		}
+
+		@Nullable
+		Object getResource(Object key) {
+			int index = indexOfResource(key);
+			return (index >= 0 ? this.resources[(index << 1) + 1] : null);
+		}
+
+		@Nullable
+		Object putResource(Object key, Object value) {
+			int index = indexOfResource(key);
+			if (index >= 0) {
+				int valueIndex = (index << 1) + 1;
+				Object oldValue = this.resources[valueIndex];
+				this.resources[valueIndex] = value;
+				return oldValue;
+			}
+			Object[] resources = this.resources;
+			if (resources == null) {
+				resources = new Object[INITIAL_RESOURCE_CAPACITY << 1];
+				this.resources = resources;
+			}
+			else if (resources.length == this.resourceCount << 1) {
+				Object[] newResources = new Object[resources.length << 1];
+				System.arraycopy(resources, 0, newResources, 0, resources.length);
+				resources = newResources;
+				this.resources = resources;
+			}
+			int keyIndex = this.resourceCount << 1;
+			resources[keyIndex] = key;
+			resources[keyIndex + 1] = value;
+			this.resourceCount++;
+			return null;
+		}
+
+		@Nullable
+		Object removeResource(Object key) {
+			int index = indexOfResource(key);
+			if (index < 0) {
+				return null;
+			}
+			Object[] resources = this.resources;
+			int keyIndex = index << 1;
+			Object oldValue = resources[keyIndex + 1];
+			int tail = (this.resourceCount << 1) - keyIndex - 2;
+			if (tail > 0) {
+				// Keep binding order for getResourceMap()
+				System.arraycopy(resources, keyIndex + 2, resources, keyIndex, tail);
+			}
+			this.resourceCount--;
+			resources[this.resourceCount << 1] = null;
+			resources[(this.resourceCount << 1) + 1] = null;
+			return oldValue;
+		}
+
+		Map<Object, Object> getResourceMap() {
+			Map<Object, Object> map = new LinkedHashMap<>(this.resourceCount * 2);
+			for (int i = 0; i < this.resourceCount; i++) {
+				map.put(this.resources[i << 1], this.resources[(i << 1) + 1]);
+			}
+			return map;
+		}
+
+		void registerSynchronization(TransactionSynchronization synchronization) {
+			List<TransactionSynchronization> synchs = this.synchronizations;
+			Set<TransactionSynchronization> registered = this.registeredSynchronizations;
+			if (synchs == null || registered == null) {
+				synchs = new ArrayList<>(4);
+				registered = new HashSet<>(8);
+				this.synchronizations = synchs;
+				this.registeredSynchronizations = registered;
+			}
+			if (!registered.add(synchronization)) {
+				return;
+			}
+			synchs.add(synchronization);
+			this.synchronizationsSorted = false;
+			this.synchronizationSnapshot = null;
+		}
+
+		List<TransactionSynchronization> getSynchronizationSnapshot() {
+			List<TransactionSynchronization> snapshot = this.synchronizationSnapshot;
+			if (snapshot == null) {
+				List<TransactionSynchronization> synchs = this.synchronizations;
+				if (synchs == null || synchs.isEmpty()) {
+					return Collections.emptyList();
+				}
+				// Sort lazily here, not in registerSynchronization - and in place,
+				// so that subsequent snapshots only sort again after a registration.
+				// Since the sort is stable, this is equivalent to sorting in
+				// registration order each time.
+				if (!this.synchronizationsSorted) {
+					OrderComparator.sort(synchs);
+					this.synchronizationsSorted = true;
+				}
+				snapshot = Collections.unmodifiableList(new ArrayList<>(synchs));
+				this.synchronizationSnapshot = snapshot;
+			}
+			return snapshot;
+		}
+
+		void clearSynchronizations() {
+			this.synchronizationActive = false;
+			this.synchronizations = null;
+			this.registeredSynchronizations = null;
+			this.synchronizationsSorted = true;
+			this.synchronizationSnapshot = null;
+		}
+
+		boolean isEmpty() {
+			return (this.resourceCount == 0 && !this.synchronizationActive &&
+					this.currentTransactionName == null && !this.currentTransactionReadOnly &&
+					this.currentTransactionIsolationLevel == null && !this.actualTransactionActive);
+		}
 	}
 
 }
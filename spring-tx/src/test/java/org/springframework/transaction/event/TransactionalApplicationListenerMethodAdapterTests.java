@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2022 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,9 +17,12 @@
 package org.springframework.transaction.event;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import org.springframework.context.ApplicationEvent;
 import org.springframework.context.PayloadApplicationEvent;
 import org.springframework.context.event.ApplicationListenerMethodAdapter;
 import org.springframework.core.ResolvableType;
@@ -123,6 +126,39 @@ public class TransactionalApplicationListenerMethodAdapterTests {
 		assertThat(adapter.getListenerId()).endsWith("identifier");
 	}
 
+	@Test
+	public void storesAfterCommitEventInOutbox() {
+		Method m = ReflectionUtils.findMethod(SampleEvents.class, "identified", String.class);
+		CapturingSynchronizationCallback callback = new CapturingSynchronizationCallback();
+		CapturingOutbox outbox = new CapturingOutbox();
+		PayloadApplicationEvent<String> event = new PayloadApplicationEvent<>(this, "event");
+
+		TransactionalApplicationListenerMethodAdapter adapter = createTestInstance(m);
+		adapter.addCallback(callback);
+		adapter.setOutbox(outbox);
+		assertThat(outbox.listeners).containsExactly(adapter);
+
+		runInTransaction(() -> adapter.onApplicationEvent(event));
+		assertThat(outbox.events).containsExactly(event);
+		assertThat(callback.preEvent).isNull();
+	}
+
+	@Test
+	public void ignoresOutboxForOtherPhases() {
+		Method m = ReflectionUtils.findMethod(SampleEvents.class, "throwing", String.class);
+		CapturingOutbox outbox = new CapturingOutbox();
+		PayloadApplicationEvent<String> event = new PayloadApplicationEvent<>(this, "event");
+
+		TransactionalApplicationListenerMethodAdapter adapter = createTestInstance(m);
+		adapter.setOutbox(outbox);
+		assertThat(outbox.listeners).isEmpty();
+
+		assertThatRuntimeException()
+				.isThrownBy(() -> runInTransaction(() -> adapter.onApplicationEvent(event)))
+				.withMessage("event");
+		assertThat(outbox.events).isEmpty();
+	}
+
 
 	private static void assertPhase(Method method, TransactionPhase expected) {
 		assertThat(method).as("Method must not be null").isNotNull();
@@ -167,6 +203,25 @@ public class TransactionalApplicationListenerMethodAdapterTests {
 	}
 
 
+	private static class CapturingOutbox implements TransactionalEventOutbox {
+
+		final List<TransactionalApplicationListener<?>> listeners = new ArrayList<>();
+
+		final List<ApplicationEvent> events = new ArrayList<>();
+
+		@Override
+		public void registerListener(TransactionalApplicationListener<?> listener) {
+			this.listeners.add(listener);
+		}
+
+		@Override
+		public void store(ApplicationEvent event, TransactionalApplicationListener<?> listener) {
+			assertThat(this.listeners).contains(listener);
+			this.events.add(event);
+		}
+	}
+
+
 	static class SampleEvents {
 
 		@TransactionalEventListener
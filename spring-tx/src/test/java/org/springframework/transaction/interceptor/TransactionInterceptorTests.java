@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2020 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,9 @@
 package org.springframework.transaction.interceptor;
 
 import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 import org.junit.jupiter.api.Test;
@@ -24,6 +27,8 @@ import org.junit.jupiter.api.Test;
 import org.springframework.aop.framework.ProxyFactory;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.NoSuchBeanDefinitionException;
+import org.springframework.beans.testfixture.beans.ITestBean;
+import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.core.testfixture.io.SerializationTestUtils;
 import org.springframework.lang.Nullable;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -31,9 +36,11 @@ import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.TransactionException;
 import org.springframework.transaction.TransactionManager;
 import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
@@ -262,6 +269,126 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 	}
 
 
+	@Test
+	public void invocationPlanResolvedOnce() {
+		TransactionAttributeSource tas = mock(AbstractFallbackTransactionAttributeSource.class);
+		DefaultTransactionAttribute attribute = new DefaultTransactionAttribute();
+		given(tas.getTransactionAttribute(getNameMethod, TestBean.class)).willReturn(attribute);
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		TransactionStatus status = mock(TransactionStatus.class);
+		given(ptm.getTransaction(attribute)).willReturn(status);
+
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setTransactionManager(ptm);
+		ti.setTransactionAttributeSource(tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean("name", 42));
+		pf.addAdvice(ti);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		assertThat(proxy.getName()).isEqualTo("name");
+		assertThat(proxy.getName()).isEqualTo("name");
+		verify(tas, times(1)).getTransactionAttribute(getNameMethod, TestBean.class);
+		verify(ptm, times(2)).commit(status);
+
+		// Changing the attribute source discards resolved plans
+		ti.setTransactionAttributeSource(tas);
+		assertThat(proxy.getName()).isEqualTo("name");
+		verify(tas, times(2)).getTransactionAttribute(getNameMethod, TestBean.class);
+	}
+
+	@Test
+	public void invocationPlanAppliesMethodIdentificationAsName() {
+		TransactionAttributeSource tas = mock(TransactionAttributeSource.class);
+		given(tas.getTransactionAttribute(getNameMethod, TestBean.class)).willReturn(new DefaultTransactionAttribute());
+		RecordingTransactionManager ptm = new RecordingTransactionManager();
+
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setTransactionManager(ptm);
+		ti.setTransactionAttributeSource(tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(ti);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		proxy.getName();
+		proxy.getName();
+		assertThat(ptm.names).containsExactly(
+				"org.springframework.beans.testfixture.beans.TestBean.getName",
+				"org.springframework.beans.testfixture.beans.TestBean.getName");
+	}
+
+	@Test
+	public void overriddenTransactionManagerDeterminationConsultedPerInvocation() {
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(getNameMethod, new DefaultTransactionAttribute());
+		PlatformTransactionManager ptm1 = mock(PlatformTransactionManager.class);
+		PlatformTransactionManager ptm2 = mock(PlatformTransactionManager.class);
+		PlatformTransactionManager[] current = {ptm1};
+
+		TransactionInterceptor ti = new TransactionInterceptor() {
+			@Override
+			protected TransactionManager determineTransactionManager(@Nullable TransactionAttribute txAttr) {
+				return current[0];
+			}
+		};
+		ti.setTransactionAttributeSource(tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(ti);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		proxy.getName();
+		current[0] = ptm2;
+		proxy.getName();
+		verify(ptm1).getTransaction(any());
+		verify(ptm2).getTransaction(any());
+	}
+
+	@Test
+	public void invocationPlanNotCachedForCustomTransactionAttributeSource() {
+		TransactionAttributeSource tas = mock(TransactionAttributeSource.class);
+		DefaultTransactionAttribute attribute = new DefaultTransactionAttribute();
+		given(tas.getTransactionAttribute(getNameMethod, TestBean.class)).willReturn(attribute, (TransactionAttribute) null);
+		PlatformTransactionManager ptm = mock(PlatformTransactionManager.class);
+		TransactionStatus status = mock(TransactionStatus.class);
+		given(ptm.getTransaction(attribute)).willReturn(status);
+
+		TransactionInterceptor ti = new TransactionInterceptor();
+		ti.setTransactionManager(ptm);
+		ti.setTransactionAttributeSource(tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean("name", 42));
+		pf.addAdvice(ti);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		assertThat(proxy.getName()).isEqualTo("name");
+		assertThat(proxy.getName()).isEqualTo("name");
+		verify(tas, times(2)).getTransactionAttribute(getNameMethod, TestBean.class);
+		verify(ptm, times(1)).getTransaction(attribute);
+		verify(ptm, times(1)).commit(status);
+	}
+
+	@Test
+	public void overriddenMethodIdentificationConsultedPerInvocation() {
+		MapTransactionAttributeSource tas = new MapTransactionAttributeSource();
+		tas.register(getNameMethod, new DefaultTransactionAttribute());
+		RecordingTransactionManager ptm = new RecordingTransactionManager();
+		int[] counter = {0};
+
+		TransactionInterceptor ti = new TransactionInterceptor() {
+			@Override
+			protected String methodIdentification(Method method, @Nullable Class<?> targetClass) {
+				return method.getName() + "-" + (++counter[0]);
+			}
+		};
+		ti.setTransactionManager(ptm);
+		ti.setTransactionAttributeSource(tas);
+		ProxyFactory pf = new ProxyFactory(new TestBean());
+		pf.addAdvice(ti);
+		ITestBean proxy = (ITestBean) pf.getProxy();
+
+		proxy.getName();
+		proxy.getName();
+		assertThat(ptm.names).containsExactly("getName-1", "getName-2");
+	}
+
 	private TransactionInterceptor createTransactionInterceptor(BeanFactory beanFactory,
 			String transactionManagerName, PlatformTransactionManager transactionManager) {
 
@@ -305,6 +432,26 @@ public class TransactionInterceptorTests extends AbstractTransactionAspectTests
 	}
 
 
+	private static class RecordingTransactionManager implements PlatformTransactionManager {
+
+		final List<String> names = new ArrayList<>();
+
+		@Override
+		public TransactionStatus getTransaction(@Nullable TransactionDefinition definition) {
+			this.names.add(definition != null ? definition.getName() : null);
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+
+
 	/**
 	 * We won't use this: we just want to know it's serializable.
 	 */
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.reactive;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.Ordered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link TransactionContext} synchronization handling.
+ */
+class TransactionContextTests {
+
+	@Test
+	void sortedSynchronizationsAreCachedUntilRegistration() {
+		TransactionContext context = new TransactionContext();
+		TransactionSynchronizationManager synchronizationManager = new TransactionSynchronizationManager(context);
+		TransactionSynchronization late = new OrderedSynchronization(10);
+		TransactionSynchronization early = new OrderedSynchronization(1);
+
+		synchronizationManager.initSynchronization();
+		synchronizationManager.registerSynchronization(late);
+		synchronizationManager.registerSynchronization(early);
+		List<TransactionSynchronization> synchs = synchronizationManager.getSynchronizations();
+		assertThat(synchs).containsExactly(early, late);
+		assertThat(synchronizationManager.isSynchronizationActive()).isTrue();
+		assertThat(synchronizationManager.getSynchronizations()).isSameAs(synchs);
+
+		TransactionSynchronization middle = new OrderedSynchronization(5);
+		synchronizationManager.registerSynchronization(middle);
+		assertThat(synchronizationManager.getSynchronizations()).containsExactly(early, middle, late);
+	}
+
+	@Test
+	void sortedSynchronizationsReflectChangesThroughExposedSet() {
+		TransactionContext context = new TransactionContext();
+		TransactionSynchronizationManager synchronizationManager = new TransactionSynchronizationManager(context);
+		TransactionSynchronization first = new OrderedSynchronization(1);
+		TransactionSynchronization second = new OrderedSynchronization(2);
+		TransactionSynchronization third = new OrderedSynchronization(3);
+
+		context.setSynchronizations(new LinkedHashSet<>());
+		synchronizationManager.registerSynchronization(first);
+		synchronizationManager.registerSynchronization(second);
+		assertThat(synchronizationManager.getSynchronizations()).containsExactly(first, second);
+
+		// Replacing an element keeps the size of the set unchanged
+		context.getSynchronizations().remove(second);
+		context.getSynchronizations().add(third);
+		assertThat(synchronizationManager.getSynchronizations()).containsExactly(first, third);
+	}
+
+
+	private static class OrderedSynchronization implements TransactionSynchronization, Ordered {
+
+		private final int order;
+
+		OrderedSynchronization(int order) {
+			this.order = order;
+		}
+
+		@Override
+		public int getOrder() {
+			return this.order;
+		}
+	}
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2002-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.transaction.support;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.Ordered;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link TransactionSynchronizationManager}.
+ */
+class TransactionSynchronizationManagerTests {
+
+	@AfterEach
+	void verifyTransactionSynchronizationManagerState() {
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+		assertThat(TransactionSynchronizationManager.isSynchronizationActive()).isFalse();
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionName()).isNull();
+		assertThat(TransactionSynchronizationManager.isCurrentTransactionReadOnly()).isFalse();
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionIsolationLevel()).isNull();
+		assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+	}
+
+
+	@Test
+	void bindAndUnbindResources() {
+		Object key1 = new Object();
+		Object key2 = new Object();
+		Object key3 = new Object();
+		TransactionSynchronizationManager.bindResource(key1, "value1");
+		TransactionSynchronizationManager.bindResource(key2, "value2");
+		TransactionSynchronizationManager.bindResource(key3, "value3");
+
+		assertThat(TransactionSynchronizationManager.getResource(key1)).isEqualTo("value1");
+		assertThat(TransactionSynchronizationManager.getResource(key2)).isEqualTo("value2");
+		assertThat(TransactionSynchronizationManager.getResource(key3)).isEqualTo("value3");
+		assertThat(TransactionSynchronizationManager.getResourceMap()).containsKeys(key1, key2, key3);
+		assertThatIllegalStateException().isThrownBy(() ->
+				TransactionSynchronizationManager.bindResource(key2, "other"));
+
+		assertThat(TransactionSynchronizationManager.unbindResource(key2)).isEqualTo("value2");
+		assertThat(TransactionSynchronizationManager.hasResource(key2)).isFalse();
+		assertThat(TransactionSynchronizationManager.getResource(key1)).isEqualTo("value1");
+		assertThat(TransactionSynchronizationManager.getResource(key3)).isEqualTo("value3");
+		assertThat(TransactionSynchronizationManager.unbindResourceIfPossible(key2)).isNull();
+		assertThatIllegalStateException().isThrownBy(() ->
+				TransactionSynchronizationManager.unbindResource(key2));
+
+		assertThat(TransactionSynchronizationManager.unbindResource(key1)).isEqualTo("value1");
+		assertThat(TransactionSynchronizationManager.unbindResource(key3)).isEqualTo("value3");
+	}
+
+	@Test
+	void voidResourceHolderIsRemovedTransparently() {
+		Object key = new Object();
+		ResourceHolderSupport holder = new ResourceHolderSupport() {};
+		TransactionSynchronizationManager.bindResource(key, holder);
+		holder.unbound();
+
+		assertThat(TransactionSynchronizationManager.getResource(key)).isNull();
+		assertThat(TransactionSynchronizationManager.getResourceMap()).isEmpty();
+	}
+
+	@Test
+	void synchronizationsAreSortedAndDeduplicated() {
+		TransactionSynchronization late = new OrderedSynchronization(10);
+		TransactionSynchronization early = new OrderedSynchronization(1);
+		TransactionSynchronization unordered = new TransactionSynchronization() {};
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			TransactionSynchronizationManager.registerSynchronization(unordered);
+			TransactionSynchronizationManager.registerSynchronization(late);
+			TransactionSynchronizationManager.registerSynchronization(early);
+			TransactionSynchronizationManager.registerSynchronization(late);
+
+			List<TransactionSynchronization> synchs = TransactionSynchronizationManager.getSynchronizations();
+			assertThat(synchs).containsExactly(early, late, unordered);
+			assertThat(TransactionSynchronizationManager.getSynchronizations()).isSameAs(synchs);
+
+			TransactionSynchronization middle = new OrderedSynchronization(5);
+			TransactionSynchronizationManager.registerSynchronization(middle);
+			assertThat(synchs).containsExactly(early, late, unordered);
+			assertThat(TransactionSynchronizationManager.getSynchronizations())
+					.containsExactly(early, middle, late, unordered);
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+		assertThatIllegalStateException().isThrownBy(TransactionSynchronizationManager::getSynchronizations);
+	}
+
+	@Test
+	void manySynchronizationsAreDeduplicated() {
+		List<TransactionSynchronization> registered = new ArrayList<>();
+		for (int i = 0; i < 1000; i++) {
+			registered.add(new OrderedSynchronization(i));
+		}
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			registered.forEach(TransactionSynchronizationManager::registerSynchronization);
+			registered.forEach(TransactionSynchronizationManager::registerSynchronization);
+			assertThat(TransactionSynchronizationManager.getSynchronizations()).isEqualTo(registered);
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+
+		TransactionSynchronizationManager.initSynchronization();
+		try {
+			TransactionSynchronizationManager.registerSynchronization(registered.get(0));
+			assertThat(TransactionSynchronizationManager.getSynchronizations()).containsExactly(registered.get(0));
+		}
+		finally {
+			TransactionSynchronizationManager.clearSynchronization();
+		}
+	}
+
+	@Test
+	void clearResetsCharacteristicsButRetainsResources() {
+		Object key = new Object();
+		TransactionSynchronizationManager.bindResource(key, "value");
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setCurrentTransactionName("tx");
+		TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+		TransactionSynchronizationManager.setCurrentTransactionIsolationLevel(2);
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+
+		TransactionSynchronizationManager.clear();
+
+		assertThat(TransactionSynchronizationManager.isSynchronizationActive()).isFalse();
+		assertThat(TransactionSynchronizationManager.getCurrentTransactionName()).isNull();
+		assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+		assertThat(TransactionSynchronizationManager.getResource(key)).isEqualTo("value");
+		TransactionSynchronizationManager.unbindResource(key);
+	}
+
+
+	private static class OrderedSynchronization implements TransactionSynchronization, Ordered {
+
+		private final int order;
+
+		OrderedSynchronization(int order) {
+			this.order = order;
+		}
+
+		@Override
+		public int getOrder() {
+			return this.order;
+		}
+	}
+
+}
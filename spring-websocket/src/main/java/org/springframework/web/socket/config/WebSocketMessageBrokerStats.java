@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2021 the original author or authors.
+ * Copyright 2002-2024 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -31,6 +31,7 @@ import org.springframework.core.task.TaskExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
 import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.concurrent.HashedWheelTaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 import org.springframework.web.socket.messaging.StompSubProtocolHandler;
@@ -204,6 +205,10 @@ public class WebSocketMessageBrokerStats implements SmartInitializingSingleton {
 			return getExecutorStatsInfo(((ThreadPoolTaskScheduler) this.sockJsTaskScheduler)
 					.getScheduledThreadPoolExecutor());
 		}
+		if (this.sockJsTaskScheduler instanceof HashedWheelTaskScheduler) {
+			return getExecutorStatsInfo(((HashedWheelTaskScheduler) this.sockJsTaskScheduler)
+					.getThreadPoolExecutor());
+		}
 		return "unknown";
 	}
 